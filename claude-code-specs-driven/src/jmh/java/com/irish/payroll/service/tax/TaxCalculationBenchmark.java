@@ -0,0 +1,140 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.ChargeBasis;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second of the scalar tax engines against the columnar batch path.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaxCalculationBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int TAX_YEAR = 2025;
+
+    @Param({"BIG_DECIMAL", "CENTS"})
+    private TaxEngine scalarEngine;
+
+    private TaxCalculationService taxCalculationService;
+
+    private Employee[] employees;
+
+    private BigDecimal[] grossPays;
+
+    private TaxBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaxScheduleCache taxScheduleCache = new TaxScheduleCache();
+        ReflectionTestUtils.setField(taxScheduleCache, "maxEntries", 16L);
+        taxScheduleCache.init();
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, List.of(
+                band(TaxType.PAYE, "0", "42000", "0.20"),
+                band(TaxType.PAYE, "42000", null, "0.40"),
+                band(TaxType.USC, "0", "12012", "0.005"),
+                band(TaxType.USC, "12012", "25760", "0.02"),
+                band(TaxType.USC, "25760", "70044", "0.04"),
+                band(TaxType.USC, "70044", null, "0.08"),
+                prsiBand(PayFrequency.WEEKLY, "352"),
+                prsiBand(PayFrequency.MONTHLY, "1526"))));
+
+        PayeCalculationService payeService = new PayeCalculationService();
+        UscCalculationService uscService = new UscCalculationService();
+        PrsiCalculationService prsiService = new PrsiCalculationService();
+        CentsTaxCalculator centsTaxCalculator = new CentsTaxCalculator();
+        BatchTaxCalculator batchTaxCalculator = new BatchTaxCalculator();
+
+        taxCalculationService = new TaxCalculationService();
+        ReflectionTestUtils.setField(taxCalculationService, "payeService", payeService);
+        ReflectionTestUtils.setField(taxCalculationService, "prsiService", prsiService);
+        ReflectionTestUtils.setField(taxCalculationService, "uscService", uscService);
+        ReflectionTestUtils.setField(taxCalculationService, "centsTaxCalculator", centsTaxCalculator);
+        ReflectionTestUtils.setField(taxCalculationService, "batchTaxCalculator", batchTaxCalculator);
+        ReflectionTestUtils.setField(taxCalculationService, "taxScheduleCache", taxScheduleCache);
+        ReflectionTestUtils.setField(taxCalculationService, "engine", scalarEngine);
+
+        // Monthly and weekly pay spread across every band, with a mix of credits
+        Random random = new Random(42);
+        employees = new Employee[ROWS];
+        grossPays = new BigDecimal[ROWS];
+        batch = new TaxBatch(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            PayFrequency frequency = random.nextBoolean() ? PayFrequency.MONTHLY : PayFrequency.WEEKLY;
+            long grossCents = 20_000 + random.nextInt(frequency == PayFrequency.MONTHLY ? 1_500_000 : 350_000);
+            long creditCents = random.nextInt(4) == 0 ? 0 : 375_000;
+
+            Employee employee = new Employee();
+            employee.setPayFrequency(frequency);
+            employee.setTaxCreditsAnnual(BigDecimal.valueOf(creditCents, 2));
+            employees[i] = employee;
+            grossPays[i] = BigDecimal.valueOf(grossCents, 2);
+            batch.add(grossCents, creditCents, frequency);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void scalar(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(taxCalculationService.calculateAllTaxes(employees[i], grossPays[i], TAX_YEAR));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long[] batch() {
+        taxCalculationService.calculateBatch(batch, TAX_YEAR);
+        return batch.getNetCents();
+    }
+
+    private static TaxConfiguration band(TaxType type, String lower, String upper, String rate) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(TAX_YEAR);
+        band.setTaxType(type);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal(rate));
+        band.setIsActive(true);
+        band.setEffectiveFrom(LocalDate.of(2025, 1, 1));
+        return band;
+    }
+
+    private static TaxConfiguration prsiBand(PayFrequency frequency, String threshold) {
+        TaxConfiguration band = band(TaxType.PRSI, threshold, null, "0.04");
+        band.setPayFrequency(frequency);
+        band.setChargeBasis(ChargeBasis.WHOLE_INCOME);
+        return band;
+    }
+}
@@ -0,0 +1,61 @@
+package com.irish.payroll.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration for the partitioned payroll run engine.
+ */
+@Configuration
+public class PayrollRunConfig {
+
+    @Value("${payroll.run.parallelism:0}")
+    private int parallelism;
+
+    @Value("${payroll.run.job-concurrency:2}")
+    private int jobConcurrency;
+
+    @Value("${payroll.run.job-queue-capacity:10}")
+    private int jobQueueCapacity;
+
+    /**
+     * Bounded worker pool used to compute payroll chunks in parallel.
+     * A parallelism of 0 sizes the pool to the available processors.
+     */
+    @Bean(name = "payrollRunExecutor", destroyMethod = "shutdown")
+    public ExecutorService payrollRunExecutor() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, namedThreadFactory("payroll-run-"));
+    }
+
+    /**
+     * Dedicated executor for asynchronous payroll run jobs, keeping long runs
+     * off the web request threads. Each job fans out onto the run executor.
+     */
+    @Bean(name = "payrollJobExecutor")
+    public ThreadPoolTaskExecutor payrollJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobConcurrency);
+        executor.setMaxPoolSize(jobConcurrency);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("payroll-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
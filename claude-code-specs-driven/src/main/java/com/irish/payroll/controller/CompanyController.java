@@ -0,0 +1,46 @@
+package com.irish.payroll.controller;
+
+import com.irish.payroll.dto.request.CompanyCreateRequest;
+import com.irish.payroll.dto.response.CompanyResponse;
+import com.irish.payroll.service.CompanyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for company management.
+ */
+@RestController
+@RequestMapping("/api/companies")
+@Tag(name = "Companies", description = "Company management endpoints")
+public class CompanyController {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @PostMapping
+    @Operation(summary = "Create company", description = "Create a new company")
+    public ResponseEntity<CompanyResponse> createCompany(@Valid @RequestBody CompanyCreateRequest request) {
+        CompanyResponse response = companyService.createCompany(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all companies", description = "Get all active companies")
+    public ResponseEntity<List<CompanyResponse>> getAllCompanies() {
+        return ResponseEntity.ok(companyService.getAllActiveCompanies());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get company by ID", description = "Get company details by ID")
+    public ResponseEntity<CompanyResponse> getCompany(@PathVariable UUID id) {
+        return ResponseEntity.ok(companyService.getCompany(id));
+    }
+}
@@ -1,8 +1,12 @@
 package com.irish.payroll.controller;
 
 import com.irish.payroll.dto.request.EmployeeCreateRequest;
+import com.irish.payroll.dto.response.CursorPageResponse;
 import com.irish.payroll.dto.response.EmployeeResponse;
+import com.irish.payroll.dto.response.EmployeeSummaryResponse;
+import com.irish.payroll.dto.response.PayslipHistoryResponse;
 import com.irish.payroll.service.EmployeeService;
+import com.irish.payroll.service.PayslipService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -11,7 +15,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,6 +28,9 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private PayslipService payslipService;
+
     @PostMapping
     @Operation(summary = "Create employee", description = "Create a new employee")
     public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody EmployeeCreateRequest request) {
@@ -33,10 +39,14 @@ public class EmployeeController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all employees", description = "Get all active employees")
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-        List<EmployeeResponse> employees = employeeService.getAllActiveEmployees();
-        return ResponseEntity.ok(employees);
+    @Operation(summary = "Get employees",
+               description = "Get a page of employees ordered by last name; pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPageResponse<EmployeeSummaryResponse>> getEmployees(
+            @RequestParam(defaultValue = "true") boolean active,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(employeeService.getEmployeePage(active, department, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -46,6 +56,18 @@ public class EmployeeController {
         return ResponseEntity.ok(employee);
     }
 
+    @GetMapping("/{id}/payslips")
+    @Operation(summary = "Get employee payslip history",
+               description = "Get a page of an employee's payslips, newest first, optionally for one tax year; "
+                       + "pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPageResponse<PayslipHistoryResponse>> getPayslipHistory(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Integer taxYear,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int limit) {
+        return ResponseEntity.ok(payslipService.getPayslipHistory(id, taxYear, cursor, limit));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Deactivate employee", description = "Deactivate an employee")
     public ResponseEntity<Void> deactivateEmployee(@PathVariable UUID id) {
@@ -1,17 +1,32 @@
 package com.irish.payroll.controller;
 
+import com.irish.payroll.dto.request.PayrollBatchRunRequest;
 import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.dto.response.PayrollBatchRunResponse;
+import com.irish.payroll.dto.response.PayrollPreviewResponse;
+import com.irish.payroll.dto.response.PayrollRecalculationResponse;
 import com.irish.payroll.dto.response.PayrollResponse;
+import com.irish.payroll.dto.response.PayrollRunJobResponse;
+import com.irish.payroll.dto.response.PayrollSummaryResponse;
+import com.irish.payroll.dto.response.PayslipResponse;
 import com.irish.payroll.service.PayrollService;
+import com.irish.payroll.service.run.CompanyPayrollScheduler;
+import com.irish.payroll.service.run.PayrollRunJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -25,6 +40,12 @@ public class PayrollController {
     @Autowired
     private PayrollService payrollService;
 
+    @Autowired
+    private PayrollRunJobService payrollRunJobService;
+
+    @Autowired
+    private CompanyPayrollScheduler companyPayrollScheduler;
+
     @PostMapping("/process")
     @Operation(summary = "Process payroll", description = "Process payroll for a period")
     public ResponseEntity<PayrollResponse> processPayroll(@Valid @RequestBody PayrollRunRequest request) {
@@ -32,17 +53,96 @@ public class PayrollController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/preview")
+    @Operation(summary = "Preview payroll", description = "Compute payroll for a period without saving it; results are cached briefly")
+    public ResponseEntity<PayrollPreviewResponse> previewPayroll(@Valid @RequestBody PayrollRunRequest request,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "50") int size,
+                                                                 @RequestParam(defaultValue = "employee") String sort) {
+        return ResponseEntity.ok(payrollService.previewPayroll(request, page, size, sort));
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit payroll job", description = "Queue a payroll run and return its job id immediately")
+    public ResponseEntity<PayrollRunJobResponse> submitPayrollJob(@Valid @RequestBody PayrollRunRequest request) {
+        PayrollRunJobResponse job = payrollRunJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/payrolls/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @PostMapping("/jobs/batch")
+    @Operation(summary = "Submit payroll jobs per company",
+               description = "Queue one payroll run per company for a period; companies run concurrently")
+    public ResponseEntity<PayrollBatchRunResponse> submitPayrollBatch(@Valid @RequestBody PayrollBatchRunRequest request) {
+        return ResponseEntity.accepted().body(companyPayrollScheduler.submit(request));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get payroll job status", description = "Get phase, throughput and ETA of a payroll job")
+    public ResponseEntity<PayrollRunJobResponse> getPayrollJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(payrollRunJobService.getJob(jobId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream payroll job progress", description = "Server-sent events with payroll job progress")
+    public SseEmitter streamPayrollJob(@PathVariable UUID jobId) {
+        return payrollRunJobService.subscribe(jobId);
+    }
+
+    @DeleteMapping("/jobs/{jobId}")
+    @Operation(summary = "Cancel payroll job", description = "Cancel a payroll job and roll back its committed chunks")
+    public ResponseEntity<PayrollRunJobResponse> cancelPayrollJob(@PathVariable UUID jobId) {
+        return ResponseEntity.accepted().body(payrollRunJobService.cancel(jobId));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get payroll by ID", description = "Get payroll details with all payslips")
-    public ResponseEntity<PayrollResponse> getPayroll(@PathVariable UUID id) {
-        PayrollResponse payroll = payrollService.getPayroll(id);
+    @Operation(summary = "Get payroll by ID",
+               description = "Get payroll details with all payslips, or only the header and totals")
+    public ResponseEntity<PayrollResponse> getPayroll(@PathVariable UUID id,
+                                                      @RequestParam(defaultValue = "true") boolean includePayslips) {
+        PayrollResponse payroll = payrollService.getPayroll(id, includePayslips);
         return ResponseEntity.ok(payroll);
     }
 
+    @GetMapping("/{id}/payslips")
+    @Operation(summary = "Get payroll payslips",
+               description = "Get a page of a payroll's payslips, optionally by department and net pay range; "
+                       + "pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPageResponse<PayslipResponse>> getPayslips(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) BigDecimal minNetPay,
+            @RequestParam(required = false) BigDecimal maxNetPay,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(payrollService.getPayslips(id, department, minNetPay, maxNetPay, sort, cursor, limit));
+    }
+
+    @PostMapping("/{id}/recalculate")
+    @Operation(summary = "Recalculate draft payroll", description = "Recompute only payslips whose employee inputs changed")
+    public ResponseEntity<PayrollRecalculationResponse> recalculateDraft(@PathVariable UUID id) {
+        return ResponseEntity.ok(payrollService.recalculateDraft(id));
+    }
+
+    @PostMapping("/{id}/finalise")
+    @Operation(summary = "Finalise draft payroll", description = "Mark a reviewed DRAFT payroll as PROCESSED")
+    public ResponseEntity<PayrollResponse> finaliseDraft(@PathVariable UUID id) {
+        return ResponseEntity.ok(payrollService.finaliseDraft(id));
+    }
+
     @GetMapping
-    @Operation(summary = "Get all payrolls", description = "Get all payrolls ordered by date")
-    public ResponseEntity<List<PayrollResponse>> getAllPayrolls() {
-        List<PayrollResponse> payrolls = payrollService.getAllPayrolls();
-        return ResponseEntity.ok(payrolls);
+    @Operation(summary = "Get payrolls",
+               description = "Get a page of payroll summaries with totals and payslip counts, newest first, "
+                       + "optionally for one company and periods overlapping a date range; "
+                       + "pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPageResponse<PayrollSummaryResponse>> getPayrolls(
+            @RequestParam(required = false) UUID companyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(payrollService.getPayrollSummaries(companyId, from, to, cursor, limit));
     }
 }
@@ -0,0 +1,39 @@
+package com.irish.payroll.controller;
+
+import com.irish.payroll.service.tax.TaxQuoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * REST controller for tax quotes outside a payroll run.
+ */
+@RestController
+@RequestMapping("/api/tax")
+@Tag(name = "Tax", description = "Tax quote endpoints")
+public class TaxQuoteController {
+
+    @Autowired
+    private TaxQuoteService taxQuoteService;
+
+    @PostMapping(value = "/quotes",
+                 consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Quote taxes in bulk",
+               description = "Stream PAYE, PRSI, USC and net pay for NDJSON or a JSON array of grossPay, "
+                       + "taxCreditsAnnual and payFrequency records; one NDJSON line per record, in order")
+    public void quoteTaxes(@RequestParam(required = false) Integer taxYear,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        int year = taxYear != null ? taxYear : LocalDate.now().getYear();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        taxQuoteService.streamQuotes(request.getInputStream(), response.getOutputStream(), year);
+    }
+}
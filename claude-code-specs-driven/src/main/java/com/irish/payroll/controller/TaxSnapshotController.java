@@ -0,0 +1,53 @@
+package com.irish.payroll.controller;
+
+import com.irish.payroll.dto.request.TaxSnapshotRequest;
+import com.irish.payroll.dto.response.TaxSnapshotResponse;
+import com.irish.payroll.service.tax.TaxSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for versioned tax configuration snapshots.
+ */
+@RestController
+@RequestMapping("/api/tax/snapshots")
+@Tag(name = "Tax Configuration", description = "Tax configuration snapshot endpoints")
+public class TaxSnapshotController {
+
+    @Autowired
+    private TaxSnapshotService taxSnapshotService;
+
+    @PostMapping
+    @Operation(summary = "Stage snapshot",
+               description = "Validate and store a complete set of tax bands as a new snapshot version, not yet in use")
+    public ResponseEntity<TaxSnapshotResponse> stageSnapshot(@Valid @RequestBody TaxSnapshotRequest request) {
+        TaxSnapshotResponse response = taxSnapshotService.stage(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/{version}/activate")
+    @Operation(summary = "Activate snapshot",
+               description = "Use a staged or retired snapshot for new payroll runs and tax quotes without a restart")
+    public ResponseEntity<TaxSnapshotResponse> activateSnapshot(@PathVariable long version) {
+        return ResponseEntity.ok(taxSnapshotService.activate(version));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all snapshots", description = "Get every snapshot version, newest first")
+    public ResponseEntity<List<TaxSnapshotResponse>> getSnapshots() {
+        return ResponseEntity.ok(taxSnapshotService.getSnapshots());
+    }
+
+    @GetMapping("/{version}")
+    @Operation(summary = "Get snapshot", description = "Get a snapshot with its tax bands")
+    public ResponseEntity<TaxSnapshotResponse> getSnapshot(@PathVariable long version) {
+        return ResponseEntity.ok(taxSnapshotService.getSnapshot(version));
+    }
+}
@@ -0,0 +1,33 @@
+package com.irish.payroll.controller;
+
+import com.irish.payroll.dto.response.YtdBalanceRepairResponse;
+import com.irish.payroll.service.ytd.YtdBalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for maintaining running YTD balances.
+ */
+@RestController
+@RequestMapping("/api/ytd-balances")
+@Tag(name = "YTD Balances", description = "YTD balance verification and repair endpoints")
+public class YtdBalanceController {
+
+    @Autowired
+    private YtdBalanceService ytdBalanceService;
+
+    @GetMapping("/{taxYear}/verify")
+    @Operation(summary = "Verify YTD balances", description = "Compare YTD balances for a tax year with the payslip ledger")
+    public ResponseEntity<YtdBalanceRepairResponse> verifyBalances(@PathVariable int taxYear) {
+        return ResponseEntity.ok(ytdBalanceService.verifyBalances(taxYear));
+    }
+
+    @PostMapping("/{taxYear}/repair")
+    @Operation(summary = "Repair YTD balances", description = "Rebuild YTD balances for a tax year from the payslip ledger")
+    public ResponseEntity<YtdBalanceRepairResponse> repairBalances(@PathVariable int taxYear) {
+        return ResponseEntity.ok(ytdBalanceService.repairBalances(taxYear));
+    }
+}
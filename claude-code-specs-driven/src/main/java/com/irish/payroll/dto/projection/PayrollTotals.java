@@ -0,0 +1,85 @@
+package com.irish.payroll.dto.projection;
+
+import com.irish.payroll.entity.Payslip;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Summed amounts and count of a set of payslips belonging to one payroll.
+ */
+public class PayrollTotals {
+
+    public static final PayrollTotals ZERO = new PayrollTotals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+
+    private final BigDecimal gross;
+    private final BigDecimal paye;
+    private final BigDecimal prsi;
+    private final BigDecimal usc;
+    private final BigDecimal net;
+    private final long payslipCount;
+
+    public PayrollTotals(BigDecimal gross, BigDecimal paye, BigDecimal prsi, BigDecimal usc,
+                         BigDecimal net, Long payslipCount) {
+        this.gross = gross != null ? gross : BigDecimal.ZERO;
+        this.paye = paye != null ? paye : BigDecimal.ZERO;
+        this.prsi = prsi != null ? prsi : BigDecimal.ZERO;
+        this.usc = usc != null ? usc : BigDecimal.ZERO;
+        this.net = net != null ? net : BigDecimal.ZERO;
+        this.payslipCount = payslipCount != null ? payslipCount : 0L;
+    }
+
+    /**
+     * Totals of the given payslips.
+     */
+    public static PayrollTotals of(Collection<Payslip> payslips) {
+        BigDecimal gross = BigDecimal.ZERO;
+        BigDecimal paye = BigDecimal.ZERO;
+        BigDecimal prsi = BigDecimal.ZERO;
+        BigDecimal usc = BigDecimal.ZERO;
+        BigDecimal net = BigDecimal.ZERO;
+        for (Payslip payslip : payslips) {
+            gross = gross.add(payslip.getGrossPay());
+            paye = paye.add(payslip.getPayeDeduction());
+            prsi = prsi.add(payslip.getPrsiDeduction());
+            usc = usc.add(payslip.getUscDeduction());
+            net = net.add(payslip.getNetPay());
+        }
+        return new PayrollTotals(gross, paye, prsi, usc, net, (long) payslips.size());
+    }
+
+    /**
+     * Totals of these payslips together with another set.
+     */
+    public PayrollTotals plus(PayrollTotals other) {
+        return new PayrollTotals(gross.add(other.gross), paye.add(other.paye), prsi.add(other.prsi),
+                usc.add(other.usc), net.add(other.net), payslipCount + other.payslipCount);
+    }
+
+    // Getters
+
+    public BigDecimal getGross() {
+        return gross;
+    }
+
+    public BigDecimal getPaye() {
+        return paye;
+    }
+
+    public BigDecimal getPrsi() {
+        return prsi;
+    }
+
+    public BigDecimal getUsc() {
+        return usc;
+    }
+
+    public BigDecimal getNet() {
+        return net;
+    }
+
+    public long getPayslipCount() {
+        return payslipCount;
+    }
+}
@@ -0,0 +1,79 @@
+package com.irish.payroll.dto.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Year-to-date payslip sums for a single employee.
+ */
+public class YtdTotals {
+
+    private final UUID employeeId;
+    private final BigDecimal gross;
+    private final BigDecimal paye;
+    private final BigDecimal prsi;
+    private final BigDecimal usc;
+    private final BigDecimal net;
+    private final long payslipCount;
+
+    public YtdTotals(UUID employeeId, BigDecimal gross, BigDecimal paye, BigDecimal prsi,
+                     BigDecimal usc, BigDecimal net, Long payslipCount) {
+        this.employeeId = employeeId;
+        this.gross = gross != null ? gross : BigDecimal.ZERO;
+        this.paye = paye != null ? paye : BigDecimal.ZERO;
+        this.prsi = prsi != null ? prsi : BigDecimal.ZERO;
+        this.usc = usc != null ? usc : BigDecimal.ZERO;
+        this.net = net != null ? net : BigDecimal.ZERO;
+        this.payslipCount = payslipCount != null ? payslipCount : 0L;
+    }
+
+    /**
+     * Totals for an employee with no payslips in the tax year.
+     */
+    public static YtdTotals zero(UUID employeeId) {
+        return new YtdTotals(employeeId, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+    }
+
+    // Getters
+
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public BigDecimal getGross() {
+        return gross;
+    }
+
+    public BigDecimal getPaye() {
+        return paye;
+    }
+
+    public BigDecimal getPrsi() {
+        return prsi;
+    }
+
+    public BigDecimal getUsc() {
+        return usc;
+    }
+
+    public BigDecimal getNet() {
+        return net;
+    }
+
+    public long getPayslipCount() {
+        return payslipCount;
+    }
+
+    /**
+     * Whether these totals hold the same amounts as another set, ignoring scale.
+     */
+    public boolean sameAmounts(YtdTotals other) {
+        return gross.compareTo(other.gross) == 0
+                && paye.compareTo(other.paye) == 0
+                && prsi.compareTo(other.prsi) == 0
+                && usc.compareTo(other.usc) == 0
+                && net.compareTo(other.net) == 0
+                && payslipCount == other.payslipCount;
+    }
+}
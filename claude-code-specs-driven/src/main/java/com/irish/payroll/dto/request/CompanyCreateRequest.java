@@ -0,0 +1,46 @@
+package com.irish.payroll.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for creating a new company.
+ */
+public class CompanyCreateRequest {
+
+    @NotBlank(message = "Company name is required")
+    @Size(max = 200)
+    private String name;
+
+    @Size(max = 20)
+    private String registrationNumber;
+
+    @Size(max = 20)
+    private String employerNumber;
+
+    // Getters and Setters
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRegistrationNumber() {
+        return registrationNumber;
+    }
+
+    public void setRegistrationNumber(String registrationNumber) {
+        this.registrationNumber = registrationNumber;
+    }
+
+    public String getEmployerNumber() {
+        return employerNumber;
+    }
+
+    public void setEmployerNumber(String employerNumber) {
+        this.employerNumber = employerNumber;
+    }
+}
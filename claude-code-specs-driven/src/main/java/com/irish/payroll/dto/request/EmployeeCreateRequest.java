@@ -6,12 +6,15 @@ import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.UUID;
 
 /**
  * DTO for creating a new employee.
  */
 public class EmployeeCreateRequest {
 
+    private UUID companyId;
+
     @ValidPpsNumber
     private String ppsNumber;
 
@@ -38,6 +41,9 @@ public class EmployeeCreateRequest {
     @Size(max = 100)
     private String department;
 
+    /**
+     * Annual gross salary; each payslip pays one period's share of it.
+     */
     @NotNull(message = "Gross salary is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Gross salary must be greater than 0")
     private BigDecimal grossSalary;
@@ -53,6 +59,17 @@ public class EmployeeCreateRequest {
 
     // Getters and Setters
 
+    /**
+     * Employing company; the default company when omitted.
+     */
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
     public String getPpsNumber() {
         return ppsNumber;
     }
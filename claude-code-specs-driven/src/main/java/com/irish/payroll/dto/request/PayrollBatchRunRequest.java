@@ -0,0 +1,85 @@
+package com.irish.payroll.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for running payroll for several companies over the same period.
+ */
+public class PayrollBatchRunRequest {
+
+    private List<UUID> companyIds = new ArrayList<>();
+
+    @NotNull(message = "Pay period start date is required")
+    private LocalDate payPeriodStart;
+
+    @NotNull(message = "Pay period end date is required")
+    private LocalDate payPeriodEnd;
+
+    @NotNull(message = "Payment date is required")
+    private LocalDate paymentDate;
+
+    private boolean draft;
+
+    private Boolean memoizeTaxes;
+
+    // Getters and Setters
+
+    /**
+     * Companies to run payroll for; every active company when empty.
+     */
+    public List<UUID> getCompanyIds() {
+        return companyIds;
+    }
+
+    public void setCompanyIds(List<UUID> companyIds) {
+        this.companyIds = companyIds;
+    }
+
+    public LocalDate getPayPeriodStart() {
+        return payPeriodStart;
+    }
+
+    public void setPayPeriodStart(LocalDate payPeriodStart) {
+        this.payPeriodStart = payPeriodStart;
+    }
+
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public void setPayPeriodEnd(LocalDate payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+
+    public LocalDate getPaymentDate() {
+        return paymentDate;
+    }
+
+    public void setPaymentDate(LocalDate paymentDate) {
+        this.paymentDate = paymentDate;
+    }
+
+    public boolean isDraft() {
+        return draft;
+    }
+
+    public void setDraft(boolean draft) {
+        this.draft = draft;
+    }
+
+    /**
+     * Whether each run memoizes tax results; the configured default when omitted.
+     */
+    public Boolean getMemoizeTaxes() {
+        return memoizeTaxes;
+    }
+
+    public void setMemoizeTaxes(Boolean memoizeTaxes) {
+        this.memoizeTaxes = memoizeTaxes;
+    }
+}
@@ -3,12 +3,15 @@ package com.irish.payroll.dto.request;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
+import java.util.UUID;
 
 /**
  * DTO for initiating a payroll run.
  */
 public class PayrollRunRequest {
 
+    private UUID companyId;
+
     @NotNull(message = "Pay period start date is required")
     private LocalDate payPeriodStart;
 
@@ -18,8 +21,23 @@ public class PayrollRunRequest {
     @NotNull(message = "Payment date is required")
     private LocalDate paymentDate;
 
+    private boolean draft;
+
+    private Boolean memoizeTaxes;
+
     // Getters and Setters
 
+    /**
+     * Company to run payroll for; the default company when omitted.
+     */
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
     public LocalDate getPayPeriodStart() {
         return payPeriodStart;
     }
@@ -43,4 +61,27 @@ public class PayrollRunRequest {
     public void setPaymentDate(LocalDate paymentDate) {
         this.paymentDate = paymentDate;
     }
+
+    /**
+     * Whether the payroll is left in DRAFT for review instead of being marked PROCESSED.
+     */
+    public boolean isDraft() {
+        return draft;
+    }
+
+    public void setDraft(boolean draft) {
+        this.draft = draft;
+    }
+
+    /**
+     * Whether employees with identical tax inputs share one tax calculation;
+     * the configured default when omitted.
+     */
+    public Boolean getMemoizeTaxes() {
+        return memoizeTaxes;
+    }
+
+    public void setMemoizeTaxes(Boolean memoizeTaxes) {
+        this.memoizeTaxes = memoizeTaxes;
+    }
 }
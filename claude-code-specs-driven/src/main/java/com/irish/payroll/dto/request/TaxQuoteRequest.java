@@ -0,0 +1,62 @@
+package com.irish.payroll.dto.request;
+
+import com.irish.payroll.entity.PayFrequency;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one record of a bulk tax quote.
+ */
+public class TaxQuoteRequest {
+
+    private String id;
+
+    private BigDecimal grossPay;
+
+    private BigDecimal taxCreditsAnnual;
+
+    private PayFrequency payFrequency;
+
+    // Getters and Setters
+
+    /**
+     * Caller's reference for the record, echoed on its quote.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gross pay for the period, in whole cents.
+     */
+    public BigDecimal getGrossPay() {
+        return grossPay;
+    }
+
+    public void setGrossPay(BigDecimal grossPay) {
+        this.grossPay = grossPay;
+    }
+
+    /**
+     * Annual tax credits in whole cents; none when omitted.
+     */
+    public BigDecimal getTaxCreditsAnnual() {
+        return taxCreditsAnnual;
+    }
+
+    public void setTaxCreditsAnnual(BigDecimal taxCreditsAnnual) {
+        this.taxCreditsAnnual = taxCreditsAnnual;
+    }
+
+    public PayFrequency getPayFrequency() {
+        return payFrequency;
+    }
+
+    public void setPayFrequency(PayFrequency payFrequency) {
+        this.payFrequency = payFrequency;
+    }
+}
@@ -0,0 +1,40 @@
+package com.irish.payroll.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for staging a new tax configuration snapshot.
+ * The bands replace the whole configuration, for every year and tax type.
+ */
+public class TaxSnapshotRequest {
+
+    @Size(max = 200)
+    private String description;
+
+    @Valid
+    @NotEmpty(message = "At least one tax band is required")
+    private List<TaxBandRequest> bands = new ArrayList<>();
+
+    // Getters and Setters
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<TaxBandRequest> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<TaxBandRequest> bands) {
+        this.bands = bands;
+    }
+}
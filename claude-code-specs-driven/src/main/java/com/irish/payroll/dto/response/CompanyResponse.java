@@ -0,0 +1,57 @@
+package com.irish.payroll.dto.response;
+
+import java.util.UUID;
+
+/**
+ * DTO for company response.
+ */
+public class CompanyResponse {
+
+    private UUID id;
+    private String name;
+    private String registrationNumber;
+    private String employerNumber;
+    private Boolean isActive;
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRegistrationNumber() {
+        return registrationNumber;
+    }
+
+    public void setRegistrationNumber(String registrationNumber) {
+        this.registrationNumber = registrationNumber;
+    }
+
+    public String getEmployerNumber() {
+        return employerNumber;
+    }
+
+    public void setEmployerNumber(String employerNumber) {
+        this.employerNumber = employerNumber;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean active) {
+        isActive = active;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.UUID;
 public class EmployeeResponse {
 
     private UUID id;
+    private UUID companyId;
     private String ppsNumber;
     private String firstName;
     private String lastName;
@@ -35,6 +36,14 @@ public class EmployeeResponse {
         this.id = id;
     }
 
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
     public String getPpsNumber() {
         return ppsNumber;
     }
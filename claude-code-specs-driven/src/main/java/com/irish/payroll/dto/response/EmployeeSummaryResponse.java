@@ -0,0 +1,113 @@
+package com.irish.payroll.dto.response;
+
+import com.irish.payroll.entity.PayFrequency;
+
+import java.util.UUID;
+
+/**
+ * DTO for an employee in a listing. Selected directly by the listing query,
+ * so only these columns are read and no entity is loaded.
+ */
+public class EmployeeSummaryResponse {
+
+    private UUID id;
+    private UUID companyId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String jobTitle;
+    private String department;
+    private PayFrequency payFrequency;
+    private Boolean isActive;
+
+    public EmployeeSummaryResponse() {
+    }
+
+    public EmployeeSummaryResponse(UUID id, UUID companyId, String firstName, String lastName, String email,
+                                   String jobTitle, String department, PayFrequency payFrequency,
+                                   Boolean isActive) {
+        this.id = id;
+        this.companyId = companyId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.jobTitle = jobTitle;
+        this.department = department;
+        this.payFrequency = payFrequency;
+        this.isActive = isActive;
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public PayFrequency getPayFrequency() {
+        return payFrequency;
+    }
+
+    public void setPayFrequency(PayFrequency payFrequency) {
+        this.payFrequency = payFrequency;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+}
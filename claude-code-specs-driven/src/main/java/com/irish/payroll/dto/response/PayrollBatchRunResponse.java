@@ -0,0 +1,37 @@
+package com.irish.payroll.dto.response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of submitting payroll runs for several companies.
+ */
+public class PayrollBatchRunResponse {
+
+    private List<PayrollRunJobResponse> jobs = new ArrayList<>();
+    private Map<UUID, String> rejected = new LinkedHashMap<>();
+
+    // Getters and Setters
+
+    public List<PayrollRunJobResponse> getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(List<PayrollRunJobResponse> jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Companies whose run was not submitted, with the reason.
+     */
+    public Map<UUID, String> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Map<UUID, String> rejected) {
+        this.rejected = rejected;
+    }
+}
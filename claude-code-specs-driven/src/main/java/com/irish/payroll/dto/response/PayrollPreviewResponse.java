@@ -0,0 +1,160 @@
+package com.irish.payroll.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for an unsaved payroll preview: aggregate totals and one page of payslips.
+ */
+public class PayrollPreviewResponse {
+
+    private UUID companyId;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private int taxYear;
+    private Long taxConfigVersion;
+    private LocalDateTime generatedAt;
+    private int employeeCount;
+    private BigDecimal totalGross;
+    private BigDecimal totalPaye;
+    private BigDecimal totalPrsi;
+    private BigDecimal totalUsc;
+    private BigDecimal totalNet;
+    private int page;
+    private int size;
+    private int totalPages;
+    private List<PayslipResponse> payslips;
+
+    // Getters and Setters
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
+    public LocalDate getPayPeriodStart() {
+        return payPeriodStart;
+    }
+
+    public void setPayPeriodStart(LocalDate payPeriodStart) {
+        this.payPeriodStart = payPeriodStart;
+    }
+
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public void setPayPeriodEnd(LocalDate payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    public Long getTaxConfigVersion() {
+        return taxConfigVersion;
+    }
+
+    public void setTaxConfigVersion(Long taxConfigVersion) {
+        this.taxConfigVersion = taxConfigVersion;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public BigDecimal getTotalGross() {
+        return totalGross;
+    }
+
+    public void setTotalGross(BigDecimal totalGross) {
+        this.totalGross = totalGross;
+    }
+
+    public BigDecimal getTotalPaye() {
+        return totalPaye;
+    }
+
+    public void setTotalPaye(BigDecimal totalPaye) {
+        this.totalPaye = totalPaye;
+    }
+
+    public BigDecimal getTotalPrsi() {
+        return totalPrsi;
+    }
+
+    public void setTotalPrsi(BigDecimal totalPrsi) {
+        this.totalPrsi = totalPrsi;
+    }
+
+    public BigDecimal getTotalUsc() {
+        return totalUsc;
+    }
+
+    public void setTotalUsc(BigDecimal totalUsc) {
+        this.totalUsc = totalUsc;
+    }
+
+    public BigDecimal getTotalNet() {
+        return totalNet;
+    }
+
+    public void setTotalNet(BigDecimal totalNet) {
+        this.totalNet = totalNet;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public List<PayslipResponse> getPayslips() {
+        return payslips;
+    }
+
+    public void setPayslips(List<PayslipResponse> payslips) {
+        this.payslips = payslips;
+    }
+}
@@ -0,0 +1,95 @@
+package com.irish.payroll.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the result of recalculating a DRAFT payroll.
+ */
+public class PayrollRecalculationResponse {
+
+    private UUID payrollId;
+    private int payslipsChecked;
+    private int payslipsRecalculated;
+    private List<UUID> recalculatedEmployeeIds;
+    private BigDecimal totalGross;
+    private BigDecimal totalPaye;
+    private BigDecimal totalPrsi;
+    private BigDecimal totalUsc;
+    private BigDecimal totalNet;
+
+    // Getters and Setters
+
+    public UUID getPayrollId() {
+        return payrollId;
+    }
+
+    public void setPayrollId(UUID payrollId) {
+        this.payrollId = payrollId;
+    }
+
+    public int getPayslipsChecked() {
+        return payslipsChecked;
+    }
+
+    public void setPayslipsChecked(int payslipsChecked) {
+        this.payslipsChecked = payslipsChecked;
+    }
+
+    public int getPayslipsRecalculated() {
+        return payslipsRecalculated;
+    }
+
+    public void setPayslipsRecalculated(int payslipsRecalculated) {
+        this.payslipsRecalculated = payslipsRecalculated;
+    }
+
+    public List<UUID> getRecalculatedEmployeeIds() {
+        return recalculatedEmployeeIds;
+    }
+
+    public void setRecalculatedEmployeeIds(List<UUID> recalculatedEmployeeIds) {
+        this.recalculatedEmployeeIds = recalculatedEmployeeIds;
+    }
+
+    public BigDecimal getTotalGross() {
+        return totalGross;
+    }
+
+    public void setTotalGross(BigDecimal totalGross) {
+        this.totalGross = totalGross;
+    }
+
+    public BigDecimal getTotalPaye() {
+        return totalPaye;
+    }
+
+    public void setTotalPaye(BigDecimal totalPaye) {
+        this.totalPaye = totalPaye;
+    }
+
+    public BigDecimal getTotalPrsi() {
+        return totalPrsi;
+    }
+
+    public void setTotalPrsi(BigDecimal totalPrsi) {
+        this.totalPrsi = totalPrsi;
+    }
+
+    public BigDecimal getTotalUsc() {
+        return totalUsc;
+    }
+
+    public void setTotalUsc(BigDecimal totalUsc) {
+        this.totalUsc = totalUsc;
+    }
+
+    public BigDecimal getTotalNet() {
+        return totalNet;
+    }
+
+    public void setTotalNet(BigDecimal totalNet) {
+        this.totalNet = totalNet;
+    }
+}
@@ -14,6 +14,7 @@ import java.util.UUID;
 public class PayrollResponse {
 
     private UUID id;
+    private UUID companyId;
     private LocalDate payPeriodStart;
     private LocalDate payPeriodEnd;
     private LocalDate paymentDate;
@@ -23,6 +24,7 @@ public class PayrollResponse {
     private BigDecimal totalPrsi;
     private BigDecimal totalUsc;
     private BigDecimal totalNet;
+    private Long taxConfigVersion;
     private List<PayslipResponse> payslips = new ArrayList<>();
 
     // Getters and Setters
@@ -35,6 +37,14 @@ public class PayrollResponse {
         this.id = id;
     }
 
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
     public LocalDate getPayPeriodStart() {
         return payPeriodStart;
     }
@@ -114,4 +124,12 @@ public class PayrollResponse {
     public void setPayslips(List<PayslipResponse> payslips) {
         this.payslips = payslips;
     }
+
+    public Long getTaxConfigVersion() {
+        return taxConfigVersion;
+    }
+
+    public void setTaxConfigVersion(Long taxConfigVersion) {
+        this.taxConfigVersion = taxConfigVersion;
+    }
 }
@@ -0,0 +1,142 @@
+package com.irish.payroll.dto.response;
+
+import com.irish.payroll.service.run.PayrollRunPhase;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for the status of an asynchronous payroll run job.
+ */
+public class PayrollRunJobResponse {
+
+    private UUID jobId;
+    private UUID companyId;
+    private PayrollRunPhase phase;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private int totalEmployees;
+    private int processedEmployees;
+    private double employeesPerSecond;
+    private double payslipWriteRowsPerSecond;
+    private Long etaSeconds;
+    private UUID payrollId;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+
+    // Getters and Setters
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
+    public PayrollRunPhase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(PayrollRunPhase phase) {
+        this.phase = phase;
+    }
+
+    public LocalDate getPayPeriodStart() {
+        return payPeriodStart;
+    }
+
+    public void setPayPeriodStart(LocalDate payPeriodStart) {
+        this.payPeriodStart = payPeriodStart;
+    }
+
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public void setPayPeriodEnd(LocalDate payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public int getProcessedEmployees() {
+        return processedEmployees;
+    }
+
+    public void setProcessedEmployees(int processedEmployees) {
+        this.processedEmployees = processedEmployees;
+    }
+
+    public double getEmployeesPerSecond() {
+        return employeesPerSecond;
+    }
+
+    public void setEmployeesPerSecond(double employeesPerSecond) {
+        this.employeesPerSecond = employeesPerSecond;
+    }
+
+    public double getPayslipWriteRowsPerSecond() {
+        return payslipWriteRowsPerSecond;
+    }
+
+    public void setPayslipWriteRowsPerSecond(double payslipWriteRowsPerSecond) {
+        this.payslipWriteRowsPerSecond = payslipWriteRowsPerSecond;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public UUID getPayrollId() {
+        return payrollId;
+    }
+
+    public void setPayrollId(UUID payrollId) {
+        this.payrollId = payrollId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,169 @@
+package com.irish.payroll.dto.response;
+
+import com.irish.payroll.entity.PayrollStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a payroll in a listing: header, totals and status with the number
+ * of payslips, but not the payslips themselves. Selected directly by the
+ * listing query, so no payroll, payslip or employee entity is loaded.
+ */
+public class PayrollSummaryResponse {
+
+    private UUID id;
+    private UUID companyId;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private LocalDate paymentDate;
+    private PayrollStatus status;
+    private BigDecimal totalGross;
+    private BigDecimal totalPaye;
+    private BigDecimal totalPrsi;
+    private BigDecimal totalUsc;
+    private BigDecimal totalNet;
+    private Long taxConfigVersion;
+    private LocalDateTime processedDate;
+    private long payslipCount;
+
+    public PayrollSummaryResponse() {
+    }
+
+    public PayrollSummaryResponse(UUID id, UUID companyId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                                  LocalDate paymentDate, PayrollStatus status, BigDecimal totalGross,
+                                  BigDecimal totalPaye, BigDecimal totalPrsi, BigDecimal totalUsc,
+                                  BigDecimal totalNet, Long taxConfigVersion, LocalDateTime processedDate,
+                                  long payslipCount) {
+        this.id = id;
+        this.companyId = companyId;
+        this.payPeriodStart = payPeriodStart;
+        this.payPeriodEnd = payPeriodEnd;
+        this.paymentDate = paymentDate;
+        this.status = status;
+        this.totalGross = totalGross;
+        this.totalPaye = totalPaye;
+        this.totalPrsi = totalPrsi;
+        this.totalUsc = totalUsc;
+        this.totalNet = totalNet;
+        this.taxConfigVersion = taxConfigVersion;
+        this.processedDate = processedDate;
+        this.payslipCount = payslipCount;
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
+    public LocalDate getPayPeriodStart() {
+        return payPeriodStart;
+    }
+
+    public void setPayPeriodStart(LocalDate payPeriodStart) {
+        this.payPeriodStart = payPeriodStart;
+    }
+
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public void setPayPeriodEnd(LocalDate payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+
+    public LocalDate getPaymentDate() {
+        return paymentDate;
+    }
+
+    public void setPaymentDate(LocalDate paymentDate) {
+        this.paymentDate = paymentDate;
+    }
+
+    public PayrollStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PayrollStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getTotalGross() {
+        return totalGross;
+    }
+
+    public void setTotalGross(BigDecimal totalGross) {
+        this.totalGross = totalGross;
+    }
+
+    public BigDecimal getTotalPaye() {
+        return totalPaye;
+    }
+
+    public void setTotalPaye(BigDecimal totalPaye) {
+        this.totalPaye = totalPaye;
+    }
+
+    public BigDecimal getTotalPrsi() {
+        return totalPrsi;
+    }
+
+    public void setTotalPrsi(BigDecimal totalPrsi) {
+        this.totalPrsi = totalPrsi;
+    }
+
+    public BigDecimal getTotalUsc() {
+        return totalUsc;
+    }
+
+    public void setTotalUsc(BigDecimal totalUsc) {
+        this.totalUsc = totalUsc;
+    }
+
+    public BigDecimal getTotalNet() {
+        return totalNet;
+    }
+
+    public void setTotalNet(BigDecimal totalNet) {
+        this.totalNet = totalNet;
+    }
+
+    public Long getTaxConfigVersion() {
+        return taxConfigVersion;
+    }
+
+    public void setTaxConfigVersion(Long taxConfigVersion) {
+        this.taxConfigVersion = taxConfigVersion;
+    }
+
+    public LocalDateTime getProcessedDate() {
+        return processedDate;
+    }
+
+    public void setProcessedDate(LocalDateTime processedDate) {
+        this.processedDate = processedDate;
+    }
+
+    public long getPayslipCount() {
+        return payslipCount;
+    }
+
+    public void setPayslipCount(long payslipCount) {
+        this.payslipCount = payslipCount;
+    }
+}
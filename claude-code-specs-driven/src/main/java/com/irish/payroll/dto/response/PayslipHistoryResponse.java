@@ -0,0 +1,187 @@
+package com.irish.payroll.dto.response;
+
+import com.irish.payroll.entity.PayrollStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO for a payslip in an employee's payslip history, with the period and
+ * status of its payroll. Selected directly by the history query.
+ */
+public class PayslipHistoryResponse {
+
+    private UUID id;
+    private UUID payrollId;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private LocalDate paymentDate;
+    private PayrollStatus payrollStatus;
+    private BigDecimal grossPay;
+    private BigDecimal payeDeduction;
+    private BigDecimal prsiDeduction;
+    private BigDecimal uscDeduction;
+    private BigDecimal netPay;
+    private BigDecimal ytdGross;
+    private BigDecimal ytdPaye;
+    private BigDecimal ytdPrsi;
+    private BigDecimal ytdUsc;
+    private BigDecimal ytdNet;
+
+    public PayslipHistoryResponse() {
+    }
+
+    public PayslipHistoryResponse(UUID id, UUID payrollId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                                  LocalDate paymentDate, PayrollStatus payrollStatus, BigDecimal grossPay,
+                                  BigDecimal payeDeduction, BigDecimal prsiDeduction, BigDecimal uscDeduction,
+                                  BigDecimal netPay, BigDecimal ytdGross, BigDecimal ytdPaye, BigDecimal ytdPrsi,
+                                  BigDecimal ytdUsc, BigDecimal ytdNet) {
+        this.id = id;
+        this.payrollId = payrollId;
+        this.payPeriodStart = payPeriodStart;
+        this.payPeriodEnd = payPeriodEnd;
+        this.paymentDate = paymentDate;
+        this.payrollStatus = payrollStatus;
+        this.grossPay = grossPay;
+        this.payeDeduction = payeDeduction;
+        this.prsiDeduction = prsiDeduction;
+        this.uscDeduction = uscDeduction;
+        this.netPay = netPay;
+        this.ytdGross = ytdGross;
+        this.ytdPaye = ytdPaye;
+        this.ytdPrsi = ytdPrsi;
+        this.ytdUsc = ytdUsc;
+        this.ytdNet = ytdNet;
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getPayrollId() {
+        return payrollId;
+    }
+
+    public void setPayrollId(UUID payrollId) {
+        this.payrollId = payrollId;
+    }
+
+    public LocalDate getPayPeriodStart() {
+        return payPeriodStart;
+    }
+
+    public void setPayPeriodStart(LocalDate payPeriodStart) {
+        this.payPeriodStart = payPeriodStart;
+    }
+
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public void setPayPeriodEnd(LocalDate payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+
+    public LocalDate getPaymentDate() {
+        return paymentDate;
+    }
+
+    public void setPaymentDate(LocalDate paymentDate) {
+        this.paymentDate = paymentDate;
+    }
+
+    public PayrollStatus getPayrollStatus() {
+        return payrollStatus;
+    }
+
+    public void setPayrollStatus(PayrollStatus payrollStatus) {
+        this.payrollStatus = payrollStatus;
+    }
+
+    public BigDecimal getGrossPay() {
+        return grossPay;
+    }
+
+    public void setGrossPay(BigDecimal grossPay) {
+        this.grossPay = grossPay;
+    }
+
+    public BigDecimal getPayeDeduction() {
+        return payeDeduction;
+    }
+
+    public void setPayeDeduction(BigDecimal payeDeduction) {
+        this.payeDeduction = payeDeduction;
+    }
+
+    public BigDecimal getPrsiDeduction() {
+        return prsiDeduction;
+    }
+
+    public void setPrsiDeduction(BigDecimal prsiDeduction) {
+        this.prsiDeduction = prsiDeduction;
+    }
+
+    public BigDecimal getUscDeduction() {
+        return uscDeduction;
+    }
+
+    public void setUscDeduction(BigDecimal uscDeduction) {
+        this.uscDeduction = uscDeduction;
+    }
+
+    public BigDecimal getNetPay() {
+        return netPay;
+    }
+
+    public void setNetPay(BigDecimal netPay) {
+        this.netPay = netPay;
+    }
+
+    public BigDecimal getYtdGross() {
+        return ytdGross;
+    }
+
+    public void setYtdGross(BigDecimal ytdGross) {
+        this.ytdGross = ytdGross;
+    }
+
+    public BigDecimal getYtdPaye() {
+        return ytdPaye;
+    }
+
+    public void setYtdPaye(BigDecimal ytdPaye) {
+        this.ytdPaye = ytdPaye;
+    }
+
+    public BigDecimal getYtdPrsi() {
+        return ytdPrsi;
+    }
+
+    public void setYtdPrsi(BigDecimal ytdPrsi) {
+        this.ytdPrsi = ytdPrsi;
+    }
+
+    public BigDecimal getYtdUsc() {
+        return ytdUsc;
+    }
+
+    public void setYtdUsc(BigDecimal ytdUsc) {
+        this.ytdUsc = ytdUsc;
+    }
+
+    public BigDecimal getYtdNet() {
+        return ytdNet;
+    }
+
+    public void setYtdNet(BigDecimal ytdNet) {
+        this.ytdNet = ytdNet;
+    }
+}
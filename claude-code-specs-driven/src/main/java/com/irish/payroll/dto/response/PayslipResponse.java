@@ -25,6 +25,32 @@ public class PayslipResponse {
     private BigDecimal ytdUsc;
     private BigDecimal ytdNet;
 
+    public PayslipResponse() {
+    }
+
+    public PayslipResponse(UUID id, UUID payrollId, UUID employeeId, String employeeName, String employeePpsNumber,
+                           BigDecimal grossPay, BigDecimal payeDeduction, BigDecimal prsiDeduction,
+                           BigDecimal uscDeduction, BigDecimal netPay, BigDecimal taxCreditsUsed,
+                           BigDecimal ytdGross, BigDecimal ytdPaye, BigDecimal ytdPrsi, BigDecimal ytdUsc,
+                           BigDecimal ytdNet) {
+        this.id = id;
+        this.payrollId = payrollId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.employeePpsNumber = employeePpsNumber;
+        this.grossPay = grossPay;
+        this.payeDeduction = payeDeduction;
+        this.prsiDeduction = prsiDeduction;
+        this.uscDeduction = uscDeduction;
+        this.netPay = netPay;
+        this.taxCreditsUsed = taxCreditsUsed;
+        this.ytdGross = ytdGross;
+        this.ytdPaye = ytdPaye;
+        this.ytdPrsi = ytdPrsi;
+        this.ytdUsc = ytdUsc;
+        this.ytdNet = ytdNet;
+    }
+
     // Getters and Setters
 
     public UUID getId() {
@@ -0,0 +1,107 @@
+package com.irish.payroll.dto.response;
+
+import com.irish.payroll.entity.ChargeBasis;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one tax band or rule of a tax configuration snapshot.
+ */
+public class TaxBandResponse {
+
+    private Integer taxYear;
+    private TaxType taxType;
+    private String bandName;
+    private BigDecimal incomeLower;
+    private BigDecimal incomeUpper;
+    private BigDecimal rate;
+    private PayFrequency payFrequency;
+    private ChargeBasis chargeBasis;
+    private LocalDate effectiveFrom;
+    private LocalDate effectiveTo;
+
+    // Getters and Setters
+
+    public Integer getTaxYear() {
+        return taxYear;
+    }
+
+    public void setTaxYear(Integer taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    public TaxType getTaxType() {
+        return taxType;
+    }
+
+    public void setTaxType(TaxType taxType) {
+        this.taxType = taxType;
+    }
+
+    public String getBandName() {
+        return bandName;
+    }
+
+    public void setBandName(String bandName) {
+        this.bandName = bandName;
+    }
+
+    public BigDecimal getIncomeLower() {
+        return incomeLower;
+    }
+
+    public void setIncomeLower(BigDecimal incomeLower) {
+        this.incomeLower = incomeLower;
+    }
+
+    public BigDecimal getIncomeUpper() {
+        return incomeUpper;
+    }
+
+    public void setIncomeUpper(BigDecimal incomeUpper) {
+        this.incomeUpper = incomeUpper;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public PayFrequency getPayFrequency() {
+        return payFrequency;
+    }
+
+    public void setPayFrequency(PayFrequency payFrequency) {
+        this.payFrequency = payFrequency;
+    }
+
+    public ChargeBasis getChargeBasis() {
+        return chargeBasis;
+    }
+
+    public void setChargeBasis(ChargeBasis chargeBasis) {
+        this.chargeBasis = chargeBasis;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+}
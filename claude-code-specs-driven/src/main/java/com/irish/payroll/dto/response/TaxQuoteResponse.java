@@ -0,0 +1,90 @@
+package com.irish.payroll.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the quote of one bulk tax quote record, or the reason it could not be quoted.
+ */
+public class TaxQuoteResponse {
+
+    private long index;
+    private String id;
+    private BigDecimal grossPay;
+    private BigDecimal paye;
+    private BigDecimal prsi;
+    private BigDecimal usc;
+    private BigDecimal netPay;
+    private String error;
+
+    // Getters and Setters
+
+    /**
+     * Position of the record in the request, from 0.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BigDecimal getGrossPay() {
+        return grossPay;
+    }
+
+    public void setGrossPay(BigDecimal grossPay) {
+        this.grossPay = grossPay;
+    }
+
+    public BigDecimal getPaye() {
+        return paye;
+    }
+
+    public void setPaye(BigDecimal paye) {
+        this.paye = paye;
+    }
+
+    public BigDecimal getPrsi() {
+        return prsi;
+    }
+
+    public void setPrsi(BigDecimal prsi) {
+        this.prsi = prsi;
+    }
+
+    public BigDecimal getUsc() {
+        return usc;
+    }
+
+    public void setUsc(BigDecimal usc) {
+        this.usc = usc;
+    }
+
+    public BigDecimal getNetPay() {
+        return netPay;
+    }
+
+    public void setNetPay(BigDecimal netPay) {
+        this.netPay = netPay;
+    }
+
+    /**
+     * Why the record was not quoted; null for a quote.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,70 @@
+package com.irish.payroll.dto.response;
+
+import com.irish.payroll.entity.TaxSnapshotStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for tax configuration snapshot response.
+ * Bands are only included when a single snapshot is requested.
+ */
+public class TaxSnapshotResponse {
+
+    private Long version;
+    private TaxSnapshotStatus status;
+    private String description;
+    private LocalDateTime createdDate;
+    private LocalDateTime activatedDate;
+    private List<TaxBandResponse> bands;
+
+    // Getters and Setters
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public TaxSnapshotStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaxSnapshotStatus status) {
+        this.status = status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LocalDateTime getActivatedDate() {
+        return activatedDate;
+    }
+
+    public void setActivatedDate(LocalDateTime activatedDate) {
+        this.activatedDate = activatedDate;
+    }
+
+    public List<TaxBandResponse> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<TaxBandResponse> bands) {
+        this.bands = bands;
+    }
+}
@@ -0,0 +1,72 @@
+package com.irish.payroll.dto.response;
+
+/**
+ * DTO for the result of verifying or repairing YTD balances against the payslip ledger.
+ */
+public class YtdBalanceRepairResponse {
+
+    private int taxYear;
+    private boolean repaired;
+    private int balancesChecked;
+    private int mismatched;
+    private int missing;
+
+    // Constructors
+
+    public YtdBalanceRepairResponse() {
+    }
+
+    public YtdBalanceRepairResponse(int taxYear, boolean repaired) {
+        this.taxYear = taxYear;
+        this.repaired = repaired;
+    }
+
+    // Getters and Setters
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    public boolean isRepaired() {
+        return repaired;
+    }
+
+    public void setRepaired(boolean repaired) {
+        this.repaired = repaired;
+    }
+
+    public int getBalancesChecked() {
+        return balancesChecked;
+    }
+
+    public void setBalancesChecked(int balancesChecked) {
+        this.balancesChecked = balancesChecked;
+    }
+
+    public int getMismatched() {
+        return mismatched;
+    }
+
+    public void setMismatched(int mismatched) {
+        this.mismatched = mismatched;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+
+    public void setMissing(int missing) {
+        this.missing = missing;
+    }
+
+    /**
+     * Whether the balances agreed with the ledger before any repair.
+     */
+    public boolean isConsistent() {
+        return mismatched == 0 && missing == 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.irish.payroll.entity;
+
+/**
+ * Enum representing how the rate of a tax configuration band is charged.
+ */
+public enum ChargeBasis {
+    MARGINAL,       // each band's rate on the part of income within the band
+    WHOLE_INCOME    // the rate of the highest band reached on all income; income below the first band is exempt
+}
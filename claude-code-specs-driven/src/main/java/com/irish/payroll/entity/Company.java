@@ -0,0 +1,83 @@
+package com.irish.payroll.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.UUID;
+
+/**
+ * Entity representing an employer whose employees are paid through the payroll system.
+ */
+@Entity
+@Table(name = "companies")
+public class Company extends AuditableEntity {
+
+    /**
+     * Company that owns employees and payrolls created before multi-company support.
+     */
+    public static final UUID DEFAULT_COMPANY_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotBlank
+    @Column(name = "name", unique = true, nullable = false, length = 200)
+    private String name;
+
+    @Column(name = "registration_number", length = 20)
+    private String registrationNumber;
+
+    @Column(name = "employer_number", unique = true, length = 20)
+    private String employerNumber;
+
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+
+    // Constructors
+
+    public Company() {
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRegistrationNumber() {
+        return registrationNumber;
+    }
+
+    public void setRegistrationNumber(String registrationNumber) {
+        this.registrationNumber = registrationNumber;
+    }
+
+    public String getEmployerNumber() {
+        return employerNumber;
+    }
+
+    public void setEmployerNumber(String employerNumber) {
+        this.employerNumber = employerNumber;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean active) {
+        isActive = active;
+    }
+}
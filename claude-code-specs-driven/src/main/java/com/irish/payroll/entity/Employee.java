@@ -23,6 +23,11 @@ public class Employee extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
     @ValidPpsNumber
     @Column(name = "pps_number", unique = true, nullable = false, length = 10)
     private String ppsNumber;
@@ -89,6 +94,14 @@ public class Employee extends AuditableEntity {
         this.id = id;
     }
 
+    public Company getCompany() {
+        return company;
+    }
+
+    public void setCompany(Company company) {
+        this.company = company;
+    }
+
     public String getPpsNumber() {
         return ppsNumber;
     }
@@ -0,0 +1,170 @@
+package com.irish.payroll.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Entity holding an employee's running year-to-date totals for one tax year.
+ * Maintained incrementally as payslips are committed so payroll runs can read
+ * YTD values without summing the payslip history.
+ */
+@Entity
+@Table(name = "employee_ytd_balances",
+        uniqueConstraints = @UniqueConstraint(name = "unique_ytd_balance_employee_year",
+                columnNames = {"employee_id", "tax_year"}))
+public class EmployeeYtdBalance extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @NotNull
+    @Column(name = "tax_year", nullable = false)
+    private Integer taxYear;
+
+    @Column(name = "ytd_gross", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ytdGross = BigDecimal.ZERO;
+
+    @Column(name = "ytd_paye", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ytdPaye = BigDecimal.ZERO;
+
+    @Column(name = "ytd_prsi", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ytdPrsi = BigDecimal.ZERO;
+
+    @Column(name = "ytd_usc", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ytdUsc = BigDecimal.ZERO;
+
+    @Column(name = "ytd_net", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ytdNet = BigDecimal.ZERO;
+
+    @Column(name = "payslip_count", nullable = false)
+    private Integer payslipCount = 0;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Constructors
+
+    public EmployeeYtdBalance() {
+    }
+
+    public EmployeeYtdBalance(Employee employee, Integer taxYear) {
+        this.employee = employee;
+        this.taxYear = taxYear;
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+
+    public Integer getTaxYear() {
+        return taxYear;
+    }
+
+    public void setTaxYear(Integer taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    public BigDecimal getYtdGross() {
+        return ytdGross;
+    }
+
+    public void setYtdGross(BigDecimal ytdGross) {
+        this.ytdGross = ytdGross;
+    }
+
+    public BigDecimal getYtdPaye() {
+        return ytdPaye;
+    }
+
+    public void setYtdPaye(BigDecimal ytdPaye) {
+        this.ytdPaye = ytdPaye;
+    }
+
+    public BigDecimal getYtdPrsi() {
+        return ytdPrsi;
+    }
+
+    public void setYtdPrsi(BigDecimal ytdPrsi) {
+        this.ytdPrsi = ytdPrsi;
+    }
+
+    public BigDecimal getYtdUsc() {
+        return ytdUsc;
+    }
+
+    public void setYtdUsc(BigDecimal ytdUsc) {
+        this.ytdUsc = ytdUsc;
+    }
+
+    public BigDecimal getYtdNet() {
+        return ytdNet;
+    }
+
+    public void setYtdNet(BigDecimal ytdNet) {
+        this.ytdNet = ytdNet;
+    }
+
+    public Integer getPayslipCount() {
+        return payslipCount;
+    }
+
+    public void setPayslipCount(Integer payslipCount) {
+        this.payslipCount = payslipCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Add a committed payslip's amounts to the running totals.
+     */
+    public void addPayslip(Payslip payslip) {
+        this.ytdGross = ytdGross.add(payslip.getGrossPay());
+        this.ytdPaye = ytdPaye.add(payslip.getPayeDeduction());
+        this.ytdPrsi = ytdPrsi.add(payslip.getPrsiDeduction());
+        this.ytdUsc = ytdUsc.add(payslip.getUscDeduction());
+        this.ytdNet = ytdNet.add(payslip.getNetPay());
+        this.payslipCount = payslipCount + 1;
+    }
+
+    /**
+     * Remove a payslip's amounts from the running totals.
+     */
+    public void subtractPayslip(Payslip payslip) {
+        this.ytdGross = ytdGross.subtract(payslip.getGrossPay());
+        this.ytdPaye = ytdPaye.subtract(payslip.getPayeDeduction());
+        this.ytdPrsi = ytdPrsi.subtract(payslip.getPrsiDeduction());
+        this.ytdUsc = ytdUsc.subtract(payslip.getUscDeduction());
+        this.ytdNet = ytdNet.subtract(payslip.getNetPay());
+        this.payslipCount = payslipCount - 1;
+    }
+}
@@ -1,9 +1,64 @@
 package com.irish.payroll.entity;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
 /**
  * Enum representing payroll frequencies.
  */
 public enum PayFrequency {
-    WEEKLY,
-    MONTHLY
+    WEEKLY(52),
+    FORTNIGHTLY(26),
+    MONTHLY(12);
+
+    private final int periodsPerYear;
+
+    PayFrequency(int periodsPerYear) {
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    /**
+     * Number of regular pay periods in a tax year.
+     */
+    public int getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /**
+     * Share of an annual amount for one pay period, rounded half-up to a cent.
+     *
+     * @param annualAmount Annual amount
+     * @return Amount per period
+     */
+    public BigDecimal perPeriod(BigDecimal annualAmount) {
+        return annualAmount.divide(BigDecimal.valueOf(periodsPerYear), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Share of a non-negative annual amount in cents for one pay period,
+     * rounded half-up to a cent. Gives the same value as {@link #perPeriod}.
+     *
+     * @param annualCents Non-negative annual amount in cents
+     * @return Amount per period in cents
+     */
+    public long perPeriodCents(long annualCents) {
+        return Math.addExact(Math.multiplyExact(annualCents, 2), periodsPerYear) / (2L * periodsPerYear);
+    }
+
+    /**
+     * Pay period of the tax year that a pay period end date falls in, from 1.
+     * Tax weeks and fortnights run from 1 January; the odd days after the
+     * last full week or fortnight are counted in it.
+     *
+     * @param payPeriodEnd Last day of the pay period
+     * @return Period number between 1 and {@link #getPeriodsPerYear()}
+     */
+    public int periodNumber(LocalDate payPeriodEnd) {
+        return switch (this) {
+            case WEEKLY -> Math.min((payPeriodEnd.getDayOfYear() - 1) / 7 + 1, periodsPerYear);
+            case FORTNIGHTLY -> Math.min((payPeriodEnd.getDayOfYear() - 1) / 14 + 1, periodsPerYear);
+            case MONTHLY -> payPeriodEnd.getMonthValue();
+        };
+    }
 }
@@ -21,6 +21,11 @@ public class Payroll extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
     @NotNull
     @Column(name = "pay_period_start", nullable = false)
     private LocalDate payPeriodStart;
@@ -56,6 +61,12 @@ public class Payroll extends AuditableEntity {
     @Column(name = "processed_date")
     private LocalDateTime processedDate;
 
+    @Column(name = "tax_config_version", updatable = false)
+    private Long taxConfigVersion;
+
+    @Column(name = "payslip_count", nullable = false)
+    private long payslipCount;
+
     @OneToMany(mappedBy = "payroll", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Payslip> payslips = new ArrayList<>();
 
@@ -75,6 +86,14 @@ public class Payroll extends AuditableEntity {
         this.id = id;
     }
 
+    public Company getCompany() {
+        return company;
+    }
+
+    public void setCompany(Company company) {
+        this.company = company;
+    }
+
     public LocalDate getPayPeriodStart() {
         return payPeriodStart;
     }
@@ -155,6 +174,22 @@ public class Payroll extends AuditableEntity {
         this.processedDate = processedDate;
     }
 
+    public Long getTaxConfigVersion() {
+        return taxConfigVersion;
+    }
+
+    public void setTaxConfigVersion(Long taxConfigVersion) {
+        this.taxConfigVersion = taxConfigVersion;
+    }
+
+    public long getPayslipCount() {
+        return payslipCount;
+    }
+
+    public void setPayslipCount(long payslipCount) {
+        this.payslipCount = payslipCount;
+    }
+
     public List<Payslip> getPayslips() {
         return payslips;
     }
@@ -187,4 +222,15 @@ public class Payroll extends AuditableEntity {
                 .map(Payslip::getNetPay)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
+
+    /**
+     * Adjust totals for a payslip replaced by a recalculated one, without re-summing all payslips.
+     */
+    public void adjustTotals(Payslip previous, Payslip current) {
+        this.totalGross = totalGross.subtract(previous.getGrossPay()).add(current.getGrossPay());
+        this.totalPaye = totalPaye.subtract(previous.getPayeDeduction()).add(current.getPayeDeduction());
+        this.totalPrsi = totalPrsi.subtract(previous.getPrsiDeduction()).add(current.getPrsiDeduction());
+        this.totalUsc = totalUsc.subtract(previous.getUscDeduction()).add(current.getUscDeduction());
+        this.totalNet = totalNet.subtract(previous.getNetPay()).add(current.getNetPay());
+    }
 }
@@ -0,0 +1,174 @@
+package com.irish.payroll.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity recording the progress of a payroll run so that an interrupted run
+ * can be resumed from its last checkpoint by any node.
+ */
+@Entity
+@Table(name = "payroll_runs")
+public class PayrollRun extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payroll_id", nullable = false, unique = true)
+    private Payroll payroll;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    private PayrollRunState state = PayrollRunState.RUNNING;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_status", nullable = false, length = 20)
+    private PayrollStatus targetStatus = PayrollStatus.PROCESSED;
+
+    @NotNull
+    @Column(name = "memoize_taxes", nullable = false)
+    private Boolean memoizeTaxes = false;
+
+    @NotNull
+    @Column(name = "tax_year", nullable = false)
+    private Integer taxYear;
+
+    @Column(name = "total_employees", nullable = false)
+    private Integer totalEmployees = 0;
+
+    @Column(name = "processed_employees", nullable = false)
+    private Integer processedEmployees = 0;
+
+    @Column(name = "last_committed_employee_id")
+    private UUID lastCommittedEmployeeId;
+
+    @NotNull
+    @Column(name = "owner_node", nullable = false, length = 100)
+    private String ownerNode;
+
+    @NotNull
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+
+    public PayrollRun() {
+    }
+
+    public PayrollRun(Payroll payroll, Integer taxYear, Integer totalEmployees, String ownerNode) {
+        this.payroll = payroll;
+        this.taxYear = taxYear;
+        this.totalEmployees = totalEmployees;
+        this.ownerNode = ownerNode;
+        this.heartbeatAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Payroll getPayroll() {
+        return payroll;
+    }
+
+    public void setPayroll(Payroll payroll) {
+        this.payroll = payroll;
+    }
+
+    public PayrollRunState getState() {
+        return state;
+    }
+
+    public void setState(PayrollRunState state) {
+        this.state = state;
+    }
+
+    public PayrollStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public void setTargetStatus(PayrollStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public Boolean getMemoizeTaxes() {
+        return memoizeTaxes;
+    }
+
+    public void setMemoizeTaxes(Boolean memoizeTaxes) {
+        this.memoizeTaxes = memoizeTaxes;
+    }
+
+    public Integer getTaxYear() {
+        return taxYear;
+    }
+
+    public void setTaxYear(Integer taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    public Integer getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(Integer totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public Integer getProcessedEmployees() {
+        return processedEmployees;
+    }
+
+    public void setProcessedEmployees(Integer processedEmployees) {
+        this.processedEmployees = processedEmployees;
+    }
+
+    public UUID getLastCommittedEmployeeId() {
+        return lastCommittedEmployeeId;
+    }
+
+    public void setLastCommittedEmployeeId(UUID lastCommittedEmployeeId) {
+        this.lastCommittedEmployeeId = lastCommittedEmployeeId;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
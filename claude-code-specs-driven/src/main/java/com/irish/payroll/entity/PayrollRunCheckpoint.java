@@ -0,0 +1,104 @@
+package com.irish.payroll.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Entity recording one committed chunk of a payroll run.
+ * Written in the same transaction as the chunk's payslips.
+ */
+@Entity
+@Table(name = "payroll_run_checkpoints")
+public class PayrollRunCheckpoint extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private PayrollRun run;
+
+    @NotNull
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @NotNull
+    @Column(name = "first_employee_id", nullable = false)
+    private UUID firstEmployeeId;
+
+    @NotNull
+    @Column(name = "last_employee_id", nullable = false)
+    private UUID lastEmployeeId;
+
+    @NotNull
+    @Column(name = "employee_count", nullable = false)
+    private Integer employeeCount;
+
+    // Constructors
+
+    public PayrollRunCheckpoint() {
+    }
+
+    public PayrollRunCheckpoint(PayrollRun run, Integer chunkIndex, UUID firstEmployeeId,
+                                UUID lastEmployeeId, Integer employeeCount) {
+        this.run = run;
+        this.chunkIndex = chunkIndex;
+        this.firstEmployeeId = firstEmployeeId;
+        this.lastEmployeeId = lastEmployeeId;
+        this.employeeCount = employeeCount;
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public PayrollRun getRun() {
+        return run;
+    }
+
+    public void setRun(PayrollRun run) {
+        this.run = run;
+    }
+
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public UUID getFirstEmployeeId() {
+        return firstEmployeeId;
+    }
+
+    public void setFirstEmployeeId(UUID firstEmployeeId) {
+        this.firstEmployeeId = firstEmployeeId;
+    }
+
+    public UUID getLastEmployeeId() {
+        return lastEmployeeId;
+    }
+
+    public void setLastEmployeeId(UUID lastEmployeeId) {
+        this.lastEmployeeId = lastEmployeeId;
+    }
+
+    public Integer getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(Integer employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+}
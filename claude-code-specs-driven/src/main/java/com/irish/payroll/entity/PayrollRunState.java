@@ -0,0 +1,9 @@
+package com.irish.payroll.entity;
+
+/**
+ * Enum representing the persisted state of a payroll run.
+ */
+public enum PayrollRunState {
+    RUNNING,
+    COMPLETED
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -27,6 +28,13 @@ public class Payslip extends AuditableEntity {
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
+    /**
+     * Period end of the payroll, copied onto the payslip so an employee's
+     * history can be read in period order from one index.
+     */
+    @Column(name = "pay_period_end", nullable = false, updatable = false)
+    private LocalDate payPeriodEnd;
+
     @NotNull
     @Column(name = "gross_pay", nullable = false, precision = 10, scale = 2)
     private BigDecimal grossPay;
@@ -62,11 +70,21 @@ public class Payslip extends AuditableEntity {
     @Column(name = "ytd_net", precision = 12, scale = 2)
     private BigDecimal ytdNet;
 
+    @Column(name = "input_fingerprint", length = 64)
+    private String inputFingerprint;
+
     // Constructors
 
     public Payslip() {
     }
 
+    @PrePersist
+    void copyPayPeriodEnd() {
+        if (payPeriodEnd == null && payroll != null) {
+            payPeriodEnd = payroll.getPayPeriodEnd();
+        }
+    }
+
     // Getters and Setters
 
     public UUID getId() {
@@ -93,6 +111,14 @@ public class Payslip extends AuditableEntity {
         this.employee = employee;
     }
 
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public void setPayPeriodEnd(LocalDate payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+
     public BigDecimal getGrossPay() {
         return grossPay;
     }
@@ -180,4 +206,12 @@ public class Payslip extends AuditableEntity {
     public void setYtdNet(BigDecimal ytdNet) {
         this.ytdNet = ytdNet;
     }
+
+    public String getInputFingerprint() {
+        return inputFingerprint;
+    }
+
+    public void setInputFingerprint(String inputFingerprint) {
+        this.inputFingerprint = inputFingerprint;
+    }
 }
@@ -0,0 +1,85 @@
+package com.irish.payroll.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing one published version of the tax configuration.
+ *
+ * The tax configuration rows of a snapshot are never changed once it is
+ * staged; a change to rates or bands is a new snapshot. Exactly one
+ * snapshot is active at a time.
+ */
+@Entity
+@Table(name = "tax_config_snapshots")
+public class TaxConfigSnapshot extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @Column(name = "version", unique = true, nullable = false, updatable = false)
+    private Long version;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private TaxSnapshotStatus status;
+
+    @Column(name = "description", length = 200)
+    private String description;
+
+    @Column(name = "activated_date")
+    private LocalDateTime activatedDate;
+
+    // Constructors
+
+    public TaxConfigSnapshot() {
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public TaxSnapshotStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaxSnapshotStatus status) {
+        this.status = status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getActivatedDate() {
+        return activatedDate;
+    }
+
+    public void setActivatedDate(LocalDateTime activatedDate) {
+        this.activatedDate = activatedDate;
+    }
+}
@@ -9,6 +9,9 @@ import java.util.UUID;
 
 /**
  * Entity representing Irish tax configuration (rates and bands) for a specific year.
+ *
+ * Each row belongs to a {@link TaxConfigSnapshot} and is not changed after
+ * the snapshot is staged.
  */
 @Entity
 @Table(name = "tax_configurations")
@@ -18,6 +21,10 @@ public class TaxConfiguration extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @NotNull
+    @Column(name = "snapshot_version", nullable = false, updatable = false)
+    private Long snapshotVersion;
+
     @NotNull
     @Column(name = "tax_year", nullable = false)
     private Integer taxYear;
@@ -40,6 +47,15 @@ public class TaxConfiguration extends AuditableEntity {
     @Column(name = "rate", nullable = false, precision = 5, scale = 4)
     private BigDecimal rate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "pay_frequency", length = 20)
+    private PayFrequency payFrequency;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "charge_basis", nullable = false, length = 20)
+    private ChargeBasis chargeBasis = ChargeBasis.MARGINAL;
+
     @Column(name = "is_active")
     private Boolean isActive = true;
 
@@ -65,6 +81,14 @@ public class TaxConfiguration extends AuditableEntity {
         this.id = id;
     }
 
+    public Long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(Long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
     public Integer getTaxYear() {
         return taxYear;
     }
@@ -113,6 +137,25 @@ public class TaxConfiguration extends AuditableEntity {
         this.rate = rate;
     }
 
+    /**
+     * Pay frequency whose period gross the band applies to, or null for bands applied to every frequency.
+     */
+    public PayFrequency getPayFrequency() {
+        return payFrequency;
+    }
+
+    public void setPayFrequency(PayFrequency payFrequency) {
+        this.payFrequency = payFrequency;
+    }
+
+    public ChargeBasis getChargeBasis() {
+        return chargeBasis;
+    }
+
+    public void setChargeBasis(ChargeBasis chargeBasis) {
+        this.chargeBasis = chargeBasis;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
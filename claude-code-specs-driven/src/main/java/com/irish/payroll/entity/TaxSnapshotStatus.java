@@ -0,0 +1,10 @@
+package com.irish.payroll.entity;
+
+/**
+ * Enum representing the lifecycle of a tax configuration snapshot.
+ */
+public enum TaxSnapshotStatus {
+    STAGED,   // bands loaded and validated, not yet used for calculations
+    ACTIVE,   // used by new payroll runs and tax quotes
+    RETIRED   // replaced; still used by payrolls pinned to it
+}
@@ -0,0 +1,11 @@
+package com.irish.payroll.exception;
+
+/**
+ * Exception thrown when a payroll run stops because cancellation was requested.
+ */
+public class PayrollRunCancelledException extends PayrollProcessingException {
+
+    public PayrollRunCancelledException(String message) {
+        super(message);
+    }
+}
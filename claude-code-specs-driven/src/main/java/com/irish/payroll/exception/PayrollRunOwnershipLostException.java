@@ -0,0 +1,11 @@
+package com.irish.payroll.exception;
+
+/**
+ * Exception thrown when a payroll run stops because another node has taken it over.
+ */
+public class PayrollRunOwnershipLostException extends PayrollProcessingException {
+
+    public PayrollRunOwnershipLostException(String message) {
+        super(message);
+    }
+}
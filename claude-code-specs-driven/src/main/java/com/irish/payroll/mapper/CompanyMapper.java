@@ -0,0 +1,30 @@
+package com.irish.payroll.mapper;
+
+import com.irish.payroll.dto.request.CompanyCreateRequest;
+import com.irish.payroll.dto.response.CompanyResponse;
+import com.irish.payroll.entity.Company;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * MapStruct mapper for Company entity.
+ */
+@Mapper(componentModel = "spring")
+public interface CompanyMapper {
+
+    /**
+     * Map company entity to response DTO.
+     */
+    CompanyResponse toResponse(Company company);
+
+    /**
+     * Map create request DTO to company entity.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "isActive", constant = "true")
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "lastModifiedBy", ignore = true)
+    Company toEntity(CompanyCreateRequest request);
+}
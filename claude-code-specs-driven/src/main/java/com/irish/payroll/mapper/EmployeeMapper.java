@@ -16,12 +16,14 @@ public interface EmployeeMapper {
     /**
      * Map employee entity to response DTO.
      */
+    @Mapping(target = "companyId", source = "company.id")
     EmployeeResponse toResponse(Employee employee);
 
     /**
      * Map create request DTO to employee entity.
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "company", ignore = true)
     @Mapping(target = "payslips", ignore = true)
     @Mapping(target = "isActive", constant = "true")
     @Mapping(target = "createdDate", ignore = true)
@@ -14,6 +14,14 @@ public interface PayrollMapper {
     /**
      * Map payroll entity to response DTO.
      */
+    @Mapping(target = "companyId", source = "company.id")
     @Mapping(target = "payslips", source = "payslips")
     PayrollResponse toResponse(Payroll payroll);
+
+    /**
+     * Map payroll entity to response DTO without its payslips, which are not loaded.
+     */
+    @Mapping(target = "companyId", source = "company.id")
+    @Mapping(target = "payslips", ignore = true)
+    PayrollResponse toHeaderResponse(Payroll payroll);
 }
@@ -0,0 +1,39 @@
+package com.irish.payroll.mapper;
+
+import com.irish.payroll.dto.request.TaxBandRequest;
+import com.irish.payroll.dto.response.TaxBandResponse;
+import com.irish.payroll.dto.response.TaxSnapshotResponse;
+import com.irish.payroll.entity.TaxConfigSnapshot;
+import com.irish.payroll.entity.TaxConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * MapStruct mapper for tax configuration snapshots and their bands.
+ */
+@Mapper(componentModel = "spring")
+public interface TaxSnapshotMapper {
+
+    /**
+     * Map snapshot entity to response DTO without its bands.
+     */
+    @Mapping(target = "bands", ignore = true)
+    TaxSnapshotResponse toResponse(TaxConfigSnapshot snapshot);
+
+    /**
+     * Map tax band entity to response DTO.
+     */
+    TaxBandResponse toBandResponse(TaxConfiguration band);
+
+    /**
+     * Map band request DTO to tax band entity; the snapshot version is set by the caller.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "snapshotVersion", ignore = true)
+    @Mapping(target = "isActive", constant = "true")
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "lastModifiedBy", ignore = true)
+    TaxConfiguration toEntity(TaxBandRequest request);
+}
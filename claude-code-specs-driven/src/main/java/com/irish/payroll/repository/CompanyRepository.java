@@ -0,0 +1,42 @@
+package com.irish.payroll.repository;
+
+import com.irish.payroll.entity.Company;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for Company entity.
+ */
+@Repository
+public interface CompanyRepository extends JpaRepository<Company, UUID> {
+
+    /**
+     * Find company by name.
+     */
+    Optional<Company> findByName(String name);
+
+    /**
+     * Find company by employer registration number.
+     */
+    Optional<Company> findByEmployerNumber(String employerNumber);
+
+    /**
+     * Find all active companies.
+     */
+    List<Company> findByIsActiveTrueOrderByName();
+
+    /**
+     * Lock a company row so payroll runs for the same company start one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Company c WHERE c.id = :id")
+    Optional<Company> lockById(@Param("id") UUID id);
+}
@@ -1,8 +1,13 @@
 package com.irish.payroll.repository;
 
+import com.irish.payroll.dto.response.EmployeeSummaryResponse;
 import com.irish.payroll.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -27,9 +32,64 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     Optional<Employee> findByEmail(String email);
 
     /**
-     * Find all active employees.
+     * Count active employees.
      */
-    List<Employee> findByIsActiveTrue();
+    long countByIsActiveTrue();
+
+    /**
+     * Count active employees of a company.
+     */
+    long countByCompanyIdAndIsActiveTrue(UUID companyId);
+
+    /**
+     * Find the next keyset page of a company's active employees ordered by ID,
+     * the key payroll run checkpoints are based on. Entities are loaded read-only.
+     */
+    @Query("SELECT e FROM Employee e WHERE e.company.id = :companyId AND e.isActive = true " +
+           "AND e.id > :afterId ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Employee> findActivePageAfter(@Param("companyId") UUID companyId, @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+
+    /**
+     * Find the next keyset page of a company's active employees after a committed
+     * key that have no payslip in a payroll yet. Used to resume an interrupted
+     * payroll run without duplicating payslips. Entities are loaded read-only.
+     */
+    @Query("SELECT e FROM Employee e WHERE e.company.id = :companyId AND e.isActive = true " +
+           "AND e.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM Payslip p WHERE p.payroll.id = :payrollId AND p.employee.id = e.id) " +
+           "ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Employee> findActiveUnpaidPageAfter(@Param("companyId") UUID companyId, @Param("payrollId") UUID payrollId,
+                                             @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Count a company's active employees after a committed key that have no payslip in a payroll yet.
+     */
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.company.id = :companyId AND e.isActive = true " +
+           "AND e.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM Payslip p WHERE p.payroll.id = :payrollId AND p.employee.id = e.id)")
+    long countActiveUnpaidAfter(@Param("companyId") UUID companyId, @Param("payrollId") UUID payrollId,
+                                @Param("afterId") UUID afterId);
+
+    /**
+     * Find the page of employee summaries following a {@code (lastName, id)} key, ordered by that key.
+     * Only the summary columns are selected. The first page starts from an empty last name.
+     * Served by the {@code (is_active, last_name, id)} and {@code (department, is_active, last_name, id)} indexes.
+     *
+     * @param department Department to filter by, or {@code null} for all departments
+     */
+    @Query("SELECT new com.irish.payroll.dto.response.EmployeeSummaryResponse(e.id, e.company.id, e.firstName, " +
+           "e.lastName, e.email, e.jobTitle, e.department, e.payFrequency, e.isActive) " +
+           "FROM Employee e WHERE e.isActive = :active " +
+           "AND (:department IS NULL OR e.department = :department) " +
+           "AND (e.lastName > :afterLastName OR (e.lastName = :afterLastName AND e.id > :afterId)) " +
+           "ORDER BY e.lastName, e.id")
+    List<EmployeeSummaryResponse> findSummaryPageAfter(@Param("active") boolean active,
+                                                       @Param("department") String department,
+                                                       @Param("afterLastName") String afterLastName,
+                                                       @Param("afterId") UUID afterId, Pageable pageable);
 
     /**
      * Find active employees by department.
@@ -0,0 +1,36 @@
+package com.irish.payroll.repository;
+
+import com.irish.payroll.entity.EmployeeYtdBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for EmployeeYtdBalance entity.
+ */
+@Repository
+public interface EmployeeYtdBalanceRepository extends JpaRepository<EmployeeYtdBalance, UUID> {
+
+    /**
+     * Find the balance for a single employee and tax year.
+     */
+    Optional<EmployeeYtdBalance> findByEmployeeIdAndTaxYear(UUID employeeId, Integer taxYear);
+
+    /**
+     * Find balances for a batch of employees in a tax year.
+     */
+    @Query("SELECT b FROM EmployeeYtdBalance b WHERE b.employee.id IN :empIds AND b.taxYear = :year")
+    List<EmployeeYtdBalance> findByEmployeeIdsAndTaxYear(@Param("empIds") Collection<UUID> employeeIds,
+                                                         @Param("year") Integer taxYear);
+
+    /**
+     * Find all balances for a tax year.
+     */
+    List<EmployeeYtdBalance> findByTaxYear(Integer taxYear);
+}
@@ -1,8 +1,13 @@
 package com.irish.payroll.repository;
 
+import com.irish.payroll.dto.response.PayrollSummaryResponse;
 import com.irish.payroll.entity.Payroll;
 import com.irish.payroll.entity.PayrollStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,6 +21,14 @@ import java.util.UUID;
 @Repository
 public interface PayrollRepository extends JpaRepository<Payroll, UUID> {
 
+    /**
+     * Find a payroll with its payslips and their employees in one query,
+     * the fetch plan for payroll detail and reports.
+     */
+    @EntityGraph(attributePaths = {"payslips", "payslips.employee"})
+    @Query("SELECT p FROM Payroll p WHERE p.id = :id")
+    Optional<Payroll> findWithPayslipsById(@Param("id") UUID id);
+
     /**
      * Find payrolls between dates.
      */
@@ -26,13 +39,35 @@ public interface PayrollRepository extends JpaRepository<Payroll, UUID> {
      */
     Optional<Payroll> findByPayPeriodStartAndPayPeriodEnd(LocalDate start, LocalDate end);
 
+    /**
+     * Find a company's payroll by exact period.
+     */
+    Optional<Payroll> findByCompanyIdAndPayPeriodStartAndPayPeriodEnd(UUID companyId, LocalDate start,
+                                                                      LocalDate end);
+
     /**
      * Find payrolls by status.
      */
     List<Payroll> findByStatus(PayrollStatus status);
 
     /**
-     * Find all payrolls ordered by date descending.
+     * Find the page of payroll summaries preceding a {@code (payPeriodEnd, id)} key, newest first.
+     * Totals and the payslip count are stored on the payroll header, so no payslip is read. The first page starts before the latest possible key.
+     *
+     * @param companyId Company to filter by, or {@code null} for all companies
+     * @param from Earliest period end to include, or {@code null} for no lower bound
+     * @param to Latest period start to include, or {@code null} for no upper bound
      */
-    List<Payroll> findAllByOrderByPayPeriodEndDesc();
+    @Query("SELECT new com.irish.payroll.dto.response.PayrollSummaryResponse(p.id, p.company.id, " +
+           "p.payPeriodStart, p.payPeriodEnd, p.paymentDate, p.status, p.totalGross, p.totalPaye, p.totalPrsi, " +
+           "p.totalUsc, p.totalNet, p.taxConfigVersion, p.processedDate, p.payslipCount) " +
+           "FROM Payroll p WHERE (:companyId IS NULL OR p.company.id = :companyId) " +
+           "AND (:from IS NULL OR p.payPeriodEnd >= :from) " +
+           "AND (:to IS NULL OR p.payPeriodStart <= :to) " +
+           "AND (p.payPeriodEnd < :beforeEnd OR (p.payPeriodEnd = :beforeEnd AND p.id < :beforeId)) " +
+           "ORDER BY p.payPeriodEnd DESC, p.id DESC")
+    List<PayrollSummaryResponse> findSummaryPageBefore(@Param("companyId") UUID companyId,
+                                                       @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                       @Param("beforeEnd") LocalDate beforeEnd,
+                                                       @Param("beforeId") UUID beforeId, Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package com.irish.payroll.repository;
+
+import com.irish.payroll.entity.PayrollRunCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for PayrollRunCheckpoint entity.
+ */
+@Repository
+public interface PayrollRunCheckpointRepository extends JpaRepository<PayrollRunCheckpoint, UUID> {
+
+    /**
+     * Find checkpoints of a run in chunk order.
+     */
+    List<PayrollRunCheckpoint> findByRunIdOrderByChunkIndex(UUID runId);
+
+    /**
+     * Highest chunk index committed for a run, or -1 if none.
+     */
+    @Query("SELECT COALESCE(MAX(c.chunkIndex), -1) FROM PayrollRunCheckpoint c WHERE c.run.id = :runId")
+    int findMaxChunkIndex(@Param("runId") UUID runId);
+
+    /**
+     * Delete all checkpoints of a run.
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollRunCheckpoint c WHERE c.run.id = :runId")
+    int deleteByRunId(@Param("runId") UUID runId);
+}
@@ -0,0 +1,91 @@
+package com.irish.payroll.repository;
+
+import com.irish.payroll.entity.PayrollRun;
+import com.irish.payroll.entity.PayrollRunState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for PayrollRun entity.
+ */
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, UUID> {
+
+    /**
+     * Find runs in a given state together with their payroll headers.
+     */
+    @Query("SELECT r FROM PayrollRun r JOIN FETCH r.payroll WHERE r.state = :state")
+    List<PayrollRun> findWithPayrollByState(@Param("state") PayrollRunState state);
+
+    /**
+     * Find the run for a payroll.
+     */
+    Optional<PayrollRun> findByPayrollId(UUID payrollId);
+
+    /**
+     * Check whether a company has a run in the given state.
+     */
+    boolean existsByPayrollCompanyIdAndState(UUID companyId, PayrollRunState state);
+
+    /**
+     * Find a run together with its payroll header.
+     */
+    @Query("SELECT r FROM PayrollRun r JOIN FETCH r.payroll WHERE r.id = :runId")
+    Optional<PayrollRun> findWithPayrollById(@Param("runId") UUID runId);
+
+    /**
+     * Atomically take ownership of a running run that belongs to this node or has stopped heartbeating.
+     *
+     * @return 1 if the run was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.ownerNode = :node, r.heartbeatAt = :now " +
+           "WHERE r.id = :runId AND r.state = com.irish.payroll.entity.PayrollRunState.RUNNING " +
+           "AND (r.ownerNode = :node OR r.heartbeatAt < :staleBefore)")
+    int claim(@Param("runId") UUID runId, @Param("node") String node,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Advance the committed watermark of a run and refresh its heartbeat, if this node still owns it.
+     *
+     * @return 1 if the run was updated, 0 if another node has taken it over
+     */
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.lastCommittedEmployeeId = :lastEmployeeId, " +
+           "r.processedEmployees = r.processedEmployees + :count, r.heartbeatAt = :now " +
+           "WHERE r.id = :runId AND r.ownerNode = :node " +
+           "AND r.state = com.irish.payroll.entity.PayrollRunState.RUNNING")
+    int recordProgress(@Param("runId") UUID runId, @Param("node") String node,
+                       @Param("lastEmployeeId") UUID lastEmployeeId, @Param("count") int count,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Refresh the heartbeat of a running run, if this node still owns it.
+     *
+     * @return 1 if the heartbeat was refreshed, 0 if another node has taken the run over
+     */
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.heartbeatAt = :now " +
+           "WHERE r.id = :runId AND r.ownerNode = :node " +
+           "AND r.state = com.irish.payroll.entity.PayrollRunState.RUNNING")
+    int heartbeat(@Param("runId") UUID runId, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    /**
+     * Find a running run owned by this node and hold a shared lock on it until
+     * the transaction ends, so no other node can claim it in the meantime.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT r FROM PayrollRun r WHERE r.id = :runId AND r.ownerNode = :node " +
+           "AND r.state = com.irish.payroll.entity.PayrollRunState.RUNNING")
+    Optional<PayrollRun> lockOwned(@Param("runId") UUID runId, @Param("node") String node);
+}
@@ -1,12 +1,21 @@
 package com.irish.payroll.repository;
 
+import com.irish.payroll.dto.projection.PayrollTotals;
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.response.PayslipHistoryResponse;
+import com.irish.payroll.dto.response.PayslipResponse;
 import com.irish.payroll.entity.Payslip;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,41 +25,174 @@ import java.util.UUID;
 @Repository
 public interface PayslipRepository extends JpaRepository<Payslip, UUID> {
 
+    /** Select list of the payslip page queries, read straight into the response without loading entities. */
+    String PAYSLIP_RESPONSE = "SELECT new com.irish.payroll.dto.response.PayslipResponse(p.id, p.payroll.id, " +
+            "e.id, CONCAT(e.firstName, ' ', e.lastName), e.ppsNumber, p.grossPay, p.payeDeduction, " +
+            "p.prsiDeduction, p.uscDeduction, p.netPay, p.taxCreditsUsed, p.ytdGross, p.ytdPaye, p.ytdPrsi, " +
+            "p.ytdUsc, p.ytdNet) FROM Payslip p JOIN p.employee e ";
+
+    /** Filters shared by the payroll payslip page queries. */
+    String PAYROLL_PAGE_FILTER = "WHERE p.payroll.id = :payrollId " +
+            "AND (:department IS NULL OR e.department = :department) " +
+            "AND (:minNet IS NULL OR p.netPay >= :minNet) AND (:maxNet IS NULL OR p.netPay <= :maxNet) ";
+
     /**
-     * Find payslips by employee ID ordered by created date descending.
+     * Find payslips by employee ID ordered by created date descending, together with their employee.
      */
+    @EntityGraph(attributePaths = "employee")
     List<Payslip> findByEmployeeIdOrderByCreatedDateDesc(UUID employeeId);
 
+    /**
+     * Find the page of an employee's payslip history preceding a {@code (payPeriodEnd, id)} key, newest first.
+     * Served by the {@code (employee_id, pay_period_end DESC, id DESC)} index. The first page starts before
+     * the latest possible key.
+     *
+     * @param from Earliest period end to include, or {@code null} for no lower bound
+     * @param to Latest period end to include, or {@code null} for no upper bound
+     */
+    @Query("SELECT new com.irish.payroll.dto.response.PayslipHistoryResponse(p.id, r.id, r.payPeriodStart, " +
+           "p.payPeriodEnd, r.paymentDate, r.status, p.grossPay, p.payeDeduction, p.prsiDeduction, p.uscDeduction, " +
+           "p.netPay, p.ytdGross, p.ytdPaye, p.ytdPrsi, p.ytdUsc, p.ytdNet) " +
+           "FROM Payslip p JOIN p.payroll r WHERE p.employee.id = :employeeId " +
+           "AND (:from IS NULL OR p.payPeriodEnd >= :from) AND (:to IS NULL OR p.payPeriodEnd <= :to) " +
+           "AND (p.payPeriodEnd < :beforeEnd OR (p.payPeriodEnd = :beforeEnd AND p.id < :beforeId)) " +
+           "ORDER BY p.payPeriodEnd DESC, p.id DESC")
+    List<PayslipHistoryResponse> findHistoryPageBefore(@Param("employeeId") UUID employeeId,
+                                                       @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                       @Param("beforeEnd") LocalDate beforeEnd,
+                                                       @Param("beforeId") UUID beforeId, Pageable pageable);
+
     /**
      * Find payslips by payroll ID.
      */
     List<Payslip> findByPayrollId(UUID payrollId);
 
     /**
-     * Calculate year-to-date gross pay for an employee.
+     * Find the page of a payroll's payslips following a payslip ID, in ID order.
+     *
+     * @param department Employee department to filter by, or {@code null} for all departments
+     * @param minNet Lowest net pay to include, or {@code null} for no lower bound
+     * @param maxNet Highest net pay to include, or {@code null} for no upper bound
+     */
+    @Query(PAYSLIP_RESPONSE + PAYROLL_PAGE_FILTER + "AND p.id > :afterId ORDER BY p.id")
+    List<PayslipResponse> findPayrollPageAfter(@Param("payrollId") UUID payrollId,
+                                               @Param("department") String department,
+                                               @Param("minNet") BigDecimal minNet, @Param("maxNet") BigDecimal maxNet,
+                                               @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Find the page of a payroll's payslips following a {@code (netPay, id)} key, highest net pay first.
+     * The first page is read with a {@code null} net pay.
+     *
+     * @see #findPayrollPageAfter
+     */
+    @Query(PAYSLIP_RESPONSE + PAYROLL_PAGE_FILTER +
+           "AND (:afterNet IS NULL OR p.netPay < :afterNet OR (p.netPay = :afterNet AND p.id > :afterId)) " +
+           "ORDER BY p.netPay DESC, p.id")
+    List<PayslipResponse> findPayrollPageByNetPayAfter(@Param("payrollId") UUID payrollId,
+                                                       @Param("department") String department,
+                                                       @Param("minNet") BigDecimal minNet,
+                                                       @Param("maxNet") BigDecimal maxNet,
+                                                       @Param("afterNet") BigDecimal afterNet,
+                                                       @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Find the page of a payroll's payslips following a {@code (grossPay, id)} key, highest gross pay first.
+     * The first page is read with a {@code null} gross pay.
+     *
+     * @see #findPayrollPageAfter
+     */
+    @Query(PAYSLIP_RESPONSE + PAYROLL_PAGE_FILTER +
+           "AND (:afterGross IS NULL OR p.grossPay < :afterGross OR (p.grossPay = :afterGross AND p.id > :afterId)) " +
+           "ORDER BY p.grossPay DESC, p.id")
+    List<PayslipResponse> findPayrollPageByGrossPayAfter(@Param("payrollId") UUID payrollId,
+                                                         @Param("department") String department,
+                                                         @Param("minNet") BigDecimal minNet,
+                                                         @Param("maxNet") BigDecimal maxNet,
+                                                         @Param("afterGross") BigDecimal afterGross,
+                                                         @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Find payslips by payroll ID together with their employees.
+     */
+    @Query("SELECT p FROM Payslip p JOIN FETCH p.employee WHERE p.payroll.id = :payrollId")
+    List<Payslip> findByPayrollIdWithEmployee(@Param("payrollId") UUID payrollId);
+
+    /**
+     * Sum the amounts and count the payslips of a payroll in one aggregate query.
+     */
+    @Query("SELECT new com.irish.payroll.dto.projection.PayrollTotals(SUM(p.grossPay), SUM(p.payeDeduction), " +
+           "SUM(p.prsiDeduction), SUM(p.uscDeduction), SUM(p.netPay), COUNT(p)) " +
+           "FROM Payslip p WHERE p.payroll.id = :payrollId")
+    PayrollTotals sumByPayrollId(@Param("payrollId") UUID payrollId);
+
+    /**
+     * Delete all payslips belonging to a payroll.
+     */
+    @Modifying
+    @Query("DELETE FROM Payslip p WHERE p.payroll.id = :payrollId")
+    int deleteByPayrollId(@Param("payrollId") UUID payrollId);
+
+    /**
+     * Calculate year-to-date gross pay for an employee, for single lookups.
+     * The tax year is the range of pay period ends, as for {@link #sumYtdByEmployees}.
      */
     @Query("SELECT COALESCE(SUM(p.grossPay), 0) FROM Payslip p " +
-           "WHERE p.employee.id = :empId AND YEAR(p.createdDate) = :year")
-    BigDecimal calculateYtdGross(@Param("empId") UUID employeeId, @Param("year") int year);
+           "WHERE p.employee.id = :empId AND p.payPeriodEnd >= :yearStart AND p.payPeriodEnd < :yearEnd")
+    BigDecimal calculateYtdGross(@Param("empId") UUID employeeId, @Param("yearStart") LocalDate yearStart,
+                                 @Param("yearEnd") LocalDate yearEnd);
 
     /**
-     * Calculate year-to-date PAYE for an employee.
+     * Calculate year-to-date PAYE for an employee, for single lookups.
+     * The tax year is the range of pay period ends, as for {@link #sumYtdByEmployees}.
      */
     @Query("SELECT COALESCE(SUM(p.payeDeduction), 0) FROM Payslip p " +
-           "WHERE p.employee.id = :empId AND YEAR(p.createdDate) = :year")
-    BigDecimal calculateYtdPaye(@Param("empId") UUID employeeId, @Param("year") int year);
+           "WHERE p.employee.id = :empId AND p.payPeriodEnd >= :yearStart AND p.payPeriodEnd < :yearEnd")
+    BigDecimal calculateYtdPaye(@Param("empId") UUID employeeId, @Param("yearStart") LocalDate yearStart,
+                                @Param("yearEnd") LocalDate yearEnd);
 
     /**
-     * Calculate year-to-date PRSI for an employee.
+     * Calculate year-to-date PRSI for an employee, for single lookups.
+     * The tax year is the range of pay period ends, as for {@link #sumYtdByEmployees}.
      */
     @Query("SELECT COALESCE(SUM(p.prsiDeduction), 0) FROM Payslip p " +
-           "WHERE p.employee.id = :empId AND YEAR(p.createdDate) = :year")
-    BigDecimal calculateYtdPrsi(@Param("empId") UUID employeeId, @Param("year") int year);
+           "WHERE p.employee.id = :empId AND p.payPeriodEnd >= :yearStart AND p.payPeriodEnd < :yearEnd")
+    BigDecimal calculateYtdPrsi(@Param("empId") UUID employeeId, @Param("yearStart") LocalDate yearStart,
+                                @Param("yearEnd") LocalDate yearEnd);
 
     /**
-     * Calculate year-to-date USC for an employee.
+     * Calculate year-to-date USC for an employee, for single lookups.
+     * The tax year is the range of pay period ends, as for {@link #sumYtdByEmployees}.
      */
     @Query("SELECT COALESCE(SUM(p.uscDeduction), 0) FROM Payslip p " +
-           "WHERE p.employee.id = :empId AND YEAR(p.createdDate) = :year")
-    BigDecimal calculateYtdUsc(@Param("empId") UUID employeeId, @Param("year") int year);
+           "WHERE p.employee.id = :empId AND p.payPeriodEnd >= :yearStart AND p.payPeriodEnd < :yearEnd")
+    BigDecimal calculateYtdUsc(@Param("empId") UUID employeeId, @Param("yearStart") LocalDate yearStart,
+                               @Param("yearEnd") LocalDate yearEnd);
+
+    /**
+     * Sum all YTD amounts for a batch of employees in one grouped query.
+     * The tax year is taken from the pay period end copied onto each payslip.
+     */
+    @Query("SELECT new com.irish.payroll.dto.projection.YtdTotals(p.employee.id, " +
+           "SUM(p.grossPay), SUM(p.payeDeduction), SUM(p.prsiDeduction), SUM(p.uscDeduction), SUM(p.netPay), " +
+           "COUNT(p)) " +
+           "FROM Payslip p " +
+           "WHERE p.employee.id IN :empIds " +
+           "AND p.payPeriodEnd >= :yearStart AND p.payPeriodEnd < :yearEnd " +
+           "GROUP BY p.employee.id")
+    List<YtdTotals> sumYtdByEmployees(@Param("empIds") Collection<UUID> employeeIds,
+                                      @Param("yearStart") LocalDate yearStart,
+                                      @Param("yearEnd") LocalDate yearEnd);
+
+    /**
+     * Sum all YTD amounts for every employee paid in a tax year.
+     */
+    @Query("SELECT new com.irish.payroll.dto.projection.YtdTotals(p.employee.id, " +
+           "SUM(p.grossPay), SUM(p.payeDeduction), SUM(p.prsiDeduction), SUM(p.uscDeduction), SUM(p.netPay), " +
+           "COUNT(p)) " +
+           "FROM Payslip p " +
+           "WHERE p.payPeriodEnd >= :yearStart AND p.payPeriodEnd < :yearEnd " +
+           "GROUP BY p.employee.id")
+    List<YtdTotals> sumYtdByTaxYear(@Param("yearStart") LocalDate yearStart,
+                                    @Param("yearEnd") LocalDate yearEnd);
 }
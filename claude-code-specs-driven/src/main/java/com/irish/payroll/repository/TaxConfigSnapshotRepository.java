@@ -0,0 +1,48 @@
+package com.irish.payroll.repository;
+
+import com.irish.payroll.entity.TaxConfigSnapshot;
+import com.irish.payroll.entity.TaxSnapshotStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for TaxConfigSnapshot entity.
+ */
+@Repository
+public interface TaxConfigSnapshotRepository extends JpaRepository<TaxConfigSnapshot, UUID> {
+
+    /**
+     * Find a snapshot by version.
+     */
+    Optional<TaxConfigSnapshot> findByVersion(Long version);
+
+    /**
+     * Find the snapshot in a status; used for the single active snapshot.
+     */
+    Optional<TaxConfigSnapshot> findByStatus(TaxSnapshotStatus status);
+
+    /**
+     * Find all snapshots, newest first.
+     */
+    List<TaxConfigSnapshot> findAllByOrderByVersionDesc();
+
+    /**
+     * Lock every snapshot row so activations are applied one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TaxConfigSnapshot s ORDER BY s.version")
+    List<TaxConfigSnapshot> lockAll();
+
+    /**
+     * Highest snapshot version, or zero when there are none.
+     */
+    @Query("SELECT COALESCE(MAX(s.version), 0) FROM TaxConfigSnapshot s")
+    long findMaxVersion();
+}
@@ -22,10 +22,10 @@ public interface TaxConfigurationRepository extends JpaRepository<TaxConfigurati
     List<TaxConfiguration> findByTaxYearAndTaxTypeAndIsActiveTrue(Integer year, TaxType type);
 
     /**
-     * Find active tax bands ordered by income lower bound.
+     * Find the active tax bands of a snapshot, for every year and type.
      */
     @Query("SELECT tc FROM TaxConfiguration tc " +
-           "WHERE tc.taxYear = :year AND tc.taxType = :type AND tc.isActive = true " +
-           "ORDER BY tc.incomeLower")
-    List<TaxConfiguration> findActiveTaxBands(@Param("year") Integer year, @Param("type") TaxType type);
+           "WHERE tc.snapshotVersion = :version AND tc.isActive = true " +
+           "ORDER BY tc.taxYear, tc.taxType, tc.effectiveFrom, tc.incomeLower")
+    List<TaxConfiguration> findSnapshotTaxBands(@Param("version") Long version);
 }
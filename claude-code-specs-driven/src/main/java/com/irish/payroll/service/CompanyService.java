@@ -0,0 +1,101 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.request.CompanyCreateRequest;
+import com.irish.payroll.dto.response.CompanyResponse;
+import com.irish.payroll.entity.Company;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.mapper.CompanyMapper;
+import com.irish.payroll.repository.CompanyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Service for managing companies.
+ */
+@Service
+@Transactional
+public class CompanyService {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CompanyMapper companyMapper;
+
+    /**
+     * Create a new company.
+     *
+     * @param request Company creation request
+     * @return Created company response
+     */
+    public CompanyResponse createCompany(CompanyCreateRequest request) {
+        if (companyRepository.findByName(request.getName()).isPresent()) {
+            throw new PayrollProcessingException("Company with name " + request.getName() + " already exists");
+        }
+        if (request.getEmployerNumber() != null
+                && companyRepository.findByEmployerNumber(request.getEmployerNumber()).isPresent()) {
+            throw new PayrollProcessingException("Company with employer number " + request.getEmployerNumber()
+                    + " already exists");
+        }
+
+        Company company = companyRepository.save(companyMapper.toEntity(request));
+        return companyMapper.toResponse(company);
+    }
+
+    /**
+     * Get company by ID.
+     *
+     * @param id Company ID
+     * @return Company response
+     */
+    @Transactional(readOnly = true)
+    public CompanyResponse getCompany(UUID id) {
+        return companyMapper.toResponse(getCompanyEntity(id));
+    }
+
+    /**
+     * Get all active companies.
+     *
+     * @return List of active company responses
+     */
+    @Transactional(readOnly = true)
+    public List<CompanyResponse> getAllActiveCompanies() {
+        return companyRepository.findByIsActiveTrueOrderByName()
+                .stream()
+                .map(companyMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get company entity by ID (for internal use).
+     *
+     * @param id Company ID
+     * @return Company entity
+     */
+    @Transactional(readOnly = true)
+    public Company getCompanyEntity(UUID id) {
+        return companyRepository.findById(id)
+                .orElseThrow(() -> new PayrollProcessingException("Company not found with id: " + id));
+    }
+
+    /**
+     * Resolve the company an operation applies to, defaulting to the company
+     * that owns pre-existing data when none is given.
+     *
+     * @param id Requested company ID, may be null
+     * @return Active company entity
+     */
+    @Transactional(readOnly = true)
+    public Company resolveActiveCompany(UUID id) {
+        Company company = getCompanyEntity(id != null ? id : Company.DEFAULT_COMPANY_ID);
+        if (!Boolean.TRUE.equals(company.getIsActive())) {
+            throw new PayrollProcessingException("Company " + company.getId() + " is not active");
+        }
+        return company;
+    }
+}
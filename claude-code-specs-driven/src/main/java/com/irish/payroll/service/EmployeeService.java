@@ -1,19 +1,21 @@
 package com.irish.payroll.service;
 
 import com.irish.payroll.dto.request.EmployeeCreateRequest;
+import com.irish.payroll.dto.response.CursorPageResponse;
 import com.irish.payroll.dto.response.EmployeeResponse;
+import com.irish.payroll.dto.response.EmployeeSummaryResponse;
 import com.irish.payroll.entity.Employee;
 import com.irish.payroll.exception.EmployeeNotFoundException;
 import com.irish.payroll.exception.PayrollProcessingException;
 import com.irish.payroll.mapper.EmployeeMapper;
 import com.irish.payroll.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing employees.
@@ -22,12 +24,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class EmployeeService {
 
+    /** Lowest UUID, the key the first page starts after. */
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private CompanyService companyService;
+
+    @Value("${payroll.employees.max-page-size:500}")
+    private int maxPageSize;
+
     /**
      * Create a new employee.
      *
@@ -46,6 +57,7 @@ public class EmployeeService {
         }
 
         Employee employee = employeeMapper.toEntity(request);
+        employee.setCompany(companyService.resolveActiveCompany(request.getCompanyId()));
         employee = employeeRepository.save(employee);
 
         return employeeMapper.toResponse(employee);
@@ -78,29 +90,26 @@ public class EmployeeService {
     }
 
     /**
-     * Get all active employees.
-     *
-     * @return List of active employee responses
-     */
-    @Transactional(readOnly = true)
-    public List<EmployeeResponse> getAllActiveEmployees() {
-        return employeeRepository.findByIsActiveTrue()
-                .stream()
-                .map(employeeMapper::toResponse)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Get all employees.
+     * Get a page of employees ordered by last name, continuing from a cursor.
+     * Reads only the listed columns, and seeks past the previous page rather than skipping it.
      *
-     * @return List of all employee responses
+     * @param active Whether to list active or inactive employees
+     * @param department Department to filter by, or {@code null} for all departments
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page
+     * @param limit Maximum number of employees on the page
+     * @return Page of employee summaries with the cursor of the next page
      */
     @Transactional(readOnly = true)
-    public List<EmployeeResponse> getAllEmployees() {
-        return employeeRepository.findAll()
-                .stream()
-                .map(employeeMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<EmployeeSummaryResponse> getEmployeePage(boolean active, String department,
+                                                                       String cursor, int limit) {
+        PageCursor.checkLimit(limit, maxPageSize);
+        NameKey after = PageCursor.decode(cursor, 2, new NameKey("", FIRST_ID),
+                key -> new NameKey(key.get(0), UUID.fromString(key.get(1))));
+
+        return PageCursor.page(limit,
+                count -> employeeRepository.findSummaryPageAfter(
+                        active, department, after.lastName(), after.id(), PageRequest.of(0, count)),
+                last -> PageCursor.encode(last.getLastName(), last.getId()));
     }
 
     /**
@@ -128,4 +137,10 @@ public class EmployeeService {
 
         employeeRepository.deleteById(id);
     }
+
+    /**
+     * Sort key of an employee page: last name, then ID.
+     */
+    private record NameKey(String lastName, UUID id) {
+    }
 }
@@ -0,0 +1,127 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.exception.PayrollProcessingException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque cursor for keyset pagination.
+ *
+ * A cursor holds the sort key of the last row of a page, so the next page is
+ * read with a seek on that key rather than an offset. The key parts are
+ * joined and Base64 encoded; clients pass the token back unchanged and must
+ * not rely on its contents.
+ *
+ * A listing supplies only how its key is parsed and how a page is queried;
+ * {@link #page} reads one row past the limit, trims it and encodes the cursor
+ * of the next page.
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = '\u001f';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encode the sort key of the last row of a page.
+     *
+     * @param parts Key parts, most significant first
+     * @return Cursor token
+     */
+    public static String encode(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                key.append(SEPARATOR);
+            }
+            key.append(parts[i]);
+        }
+        return ENCODER.encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token into its key parts.
+     *
+     * @param token Cursor token
+     * @param parts Number of key parts expected
+     * @return Key parts, most significant first
+     * @throws PayrollProcessingException if the token is malformed
+     */
+    public static List<String> decode(String token, int parts) {
+        try {
+            String key = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            List<String> decoded = List.of(key.split(Pattern.quote(String.valueOf(SEPARATOR)), -1));
+            if (decoded.size() == parts) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64; reported below
+        }
+        throw new PayrollProcessingException("Invalid page cursor: " + token);
+    }
+
+    /**
+     * Decode a cursor token and parse its key parts.
+     *
+     * @param token Cursor token, or {@code null} or empty for the first page
+     * @param parts Number of key parts expected
+     * @param first Key to start from on the first page
+     * @param parser Parses the key parts, most significant first
+     * @return Parsed key, or {@code first} for the first page
+     * @throws PayrollProcessingException if the token is malformed or a key part does not parse
+     */
+    public static <K> K decode(String token, int parts, K first, Function<List<String>, K> parser) {
+        if (token == null || token.isEmpty()) {
+            return first;
+        }
+        List<String> key = decode(token, parts);
+        try {
+            return parser.apply(key);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new PayrollProcessingException("Invalid page cursor: " + token);
+        }
+    }
+
+    /**
+     * Check a requested page size.
+     *
+     * @param limit Requested number of rows on a page
+     * @param maxLimit Largest page allowed
+     * @throws PayrollProcessingException if the limit is not between 1 and the maximum
+     */
+    public static void checkLimit(int limit, int maxLimit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new PayrollProcessingException("Limit must be between 1 and " + maxLimit);
+        }
+    }
+
+    /**
+     * Read one page of rows. One extra row tells whether a next page exists
+     * without a count query; it is dropped from the page.
+     *
+     * @param limit Maximum number of rows on the page
+     * @param query Reads up to the given number of rows after the cursor, in page order
+     * @param cursorOf Cursor of a row, taken from the last row on the page
+     * @return Page with the cursor of the next page, or none on the last page
+     */
+    public static <T> CursorPageResponse<T> page(int limit, IntFunction<List<T>> query,
+                                                 Function<? super T, String> cursorOf) {
+        List<T> rows = query.apply(limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = cursorOf.apply(rows.get(limit - 1));
+        }
+        return new CursorPageResponse<>(rows, limit, nextCursor);
+    }
+}
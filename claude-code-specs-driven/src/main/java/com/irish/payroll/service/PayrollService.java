@@ -1,26 +1,42 @@
 package com.irish.payroll.service;
 
 import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.dto.response.PayrollPreviewResponse;
+import com.irish.payroll.dto.response.PayrollRecalculationResponse;
 import com.irish.payroll.dto.response.PayrollResponse;
-import com.irish.payroll.dto.response.TaxCalculationResponse;
-import com.irish.payroll.entity.Employee;
+import com.irish.payroll.dto.response.PayrollSummaryResponse;
+import com.irish.payroll.dto.response.PayslipResponse;
+import com.irish.payroll.entity.Company;
 import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.PayrollRunState;
 import com.irish.payroll.entity.PayrollStatus;
-import com.irish.payroll.entity.Payslip;
 import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.exception.PayrollRunCancelledException;
 import com.irish.payroll.mapper.PayrollMapper;
 import com.irish.payroll.repository.EmployeeRepository;
 import com.irish.payroll.repository.PayrollRepository;
+import com.irish.payroll.repository.PayrollRunRepository;
 import com.irish.payroll.repository.PayslipRepository;
-import com.irish.payroll.service.tax.TaxCalculationService;
+import com.irish.payroll.service.run.PayrollPreviewService;
+import com.irish.payroll.service.run.PayrollRunEngine;
+import com.irish.payroll.service.run.PayrollRunJob;
+import com.irish.payroll.service.run.PayrollRunMonitor;
+import com.irish.payroll.service.run.PayrollRunPhase;
+import com.irish.payroll.service.tax.TaxResultCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -30,6 +46,13 @@ import java.util.UUID;
 @Transactional
 public class PayrollService {
 
+    /** Key the first page of payroll summaries starts before. */
+    private static final LocalDate LAST_PERIOD_END = LocalDate.of(9999, 12, 31);
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    /** Key the first page of a payroll's payslips starts after. */
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
     @Autowired
     private PayrollRepository payrollRepository;
 
@@ -37,26 +60,163 @@ public class PayrollService {
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private PayslipRepository payslipRepository;
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayrollRunEngine payrollRunEngine;
+
+    @Autowired
+    private CompanyService companyService;
 
     @Autowired
-    private TaxCalculationService taxCalculationService;
+    private PayrollPreviewService payrollPreviewService;
 
     @Autowired
     private PayrollMapper payrollMapper;
 
+    @Autowired
+    private TaxResultCache taxResultCache;
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private PayslipHistoryCache payslipHistoryCache;
+
+    @Value("${payroll.payrolls.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${payroll.payslips.max-page-size:1000}")
+    private int maxPayslipPageSize;
+
     /**
-     * Process payroll for a given period.
+     * Process payroll for a given company and period.
+     *
+     * Runs outside a surrounding transaction; the run engine commits the
+     * payroll header and each chunk of payslips in transactions of its own.
      *
      * @param request Payroll run request
-     * @return Payroll response with all payslips
+     * @return Payroll response with totals; payslips are paged through {@link #getPayslips}
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PayrollResponse processPayroll(PayrollRunRequest request) {
-        // Validate period doesn't already exist
-        if (payrollRepository.findByPayPeriodStartAndPayPeriodEnd(
-                request.getPayPeriodStart(), request.getPayPeriodEnd()).isPresent()) {
+        Payroll payroll = runPayroll(request, PayrollRunMonitor.NONE);
+
+        return payrollMapper.toHeaderResponse(payroll);
+    }
+
+    /**
+     * Process payroll for a given period on the payroll job executor.
+     * Progress, cancellation and the outcome are reported through the job.
+     *
+     * @param request Payroll run request
+     * @param job Job tracking the run
+     */
+    @Async("payrollJobExecutor")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processPayrollAsync(PayrollRunRequest request, PayrollRunJob job) {
+        try {
+            Payroll payroll = runPayroll(request, job);
+            job.complete(payroll.getId());
+        } catch (PayrollRunCancelledException e) {
+            job.cancelled();
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Resume an interrupted payroll run from its last checkpoint on the payroll job executor.
+     * Progress, cancellation and the outcome are reported through the job.
+     *
+     * @param runId Run to resume
+     * @param job Job tracking the run
+     */
+    @Async("payrollJobExecutor")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void resumePayrollAsync(UUID runId, PayrollRunJob job) {
+        try {
+            Payroll payroll = payrollRunEngine.resume(runId, job);
+            job.complete(payroll.getId());
+        } catch (PayrollRunCancelledException e) {
+            job.cancelled();
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Preview payroll for a company and period without persisting anything.
+     * The preview is cached briefly and reused by a run for the same company and period.
+     *
+     * @param request Payroll run request
+     * @param page Zero-based page of payslips
+     * @param size Page size
+     * @param sort Payslip order: employee, grossPay or netPay
+     * @return Preview totals and one page of payslips
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PayrollPreviewResponse previewPayroll(PayrollRunRequest request, int page, int size, String sort) {
+        validateRunRequest(request);
+        return payrollPreviewService.preview(request, page, size, sort);
+    }
+
+    /**
+     * Recalculate a DRAFT payroll for employees whose salary, tax credits or
+     * pay frequency changed since their payslip was computed.
+     *
+     * @param id Payroll ID
+     * @return Recalculation outcome with adjusted totals
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PayrollRecalculationResponse recalculateDraft(UUID id) {
+        return payrollRunEngine.recalculateDraft(id);
+    }
+
+    /**
+     * Mark a reviewed DRAFT payroll as PROCESSED.
+     *
+     * @param id Payroll ID
+     * @return Payroll response
+     */
+    public PayrollResponse finaliseDraft(UUID id) {
+        Payroll payroll = payrollRepository.findWithPayslipsById(id)
+                .orElseThrow(() -> new PayrollProcessingException("Payroll not found with id: " + id));
+        if (payroll.getStatus() != PayrollStatus.DRAFT) {
+            throw new PayrollProcessingException("Only DRAFT payrolls can be finalised; payroll " + id + " is " + payroll.getStatus());
+        }
+        if (payrollRunRepository.findByPayrollId(id).filter(run -> run.getState() == PayrollRunState.RUNNING).isPresent()) {
+            throw new PayrollProcessingException("Payroll run for payroll " + id + " is still in progress");
+        }
+
+        payroll.setStatus(PayrollStatus.PROCESSED);
+        payroll.setProcessedDate(LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                payslipHistoryCache.invalidateAll();
+            }
+        });
+        return payrollMapper.toResponse(payroll);
+    }
+
+    /**
+     * Validate that a payroll run can be started for the requested company and period.
+     * A request without a company is resolved to the default company.
+     *
+     * @param request Payroll run request
+     */
+    @Transactional(readOnly = true)
+    public void validateRunRequest(PayrollRunRequest request) {
+        Company company = companyService.resolveActiveCompany(request.getCompanyId());
+        request.setCompanyId(company.getId());
+
+        // Validate period doesn't already exist for the company
+        if (payrollRepository.findByCompanyIdAndPayPeriodStartAndPayPeriodEnd(
+                company.getId(), request.getPayPeriodStart(), request.getPayPeriodEnd()).isPresent()) {
             throw new PayrollProcessingException(
-                    "Payroll already exists for period " + request.getPayPeriodStart() + " to " + request.getPayPeriodEnd()
+                    "Payroll already exists for company " + company.getId() + " and period "
+                            + request.getPayPeriodStart() + " to " + request.getPayPeriodEnd()
             );
         }
 
@@ -64,77 +224,31 @@ public class PayrollService {
         if (request.getPayPeriodStart().isAfter(request.getPayPeriodEnd())) {
             throw new PayrollProcessingException("Pay period start date must be before end date");
         }
+    }
+
+    private Payroll runPayroll(PayrollRunRequest request, PayrollRunMonitor monitor) {
+        validateRunRequest(request);
 
         // Create payroll
         Payroll payroll = new Payroll();
+        payroll.setCompany(companyService.getCompanyEntity(request.getCompanyId()));
         payroll.setPayPeriodStart(request.getPayPeriodStart());
         payroll.setPayPeriodEnd(request.getPayPeriodEnd());
         payroll.setPaymentDate(request.getPaymentDate());
         payroll.setStatus(PayrollStatus.DRAFT);
 
-        // Get active employees
-        List<Employee> employees = employeeRepository.findByIsActiveTrue();
-
-        if (employees.isEmpty()) {
+        monitor.onPhase(PayrollRunPhase.LOADING_EMPLOYEES);
+        if (employeeRepository.countByCompanyIdAndIsActiveTrue(request.getCompanyId()) == 0) {
             throw new PayrollProcessingException("No active employees found to process payroll");
         }
 
         int currentYear = request.getPayPeriodEnd().getYear();
-        List<Payslip> payslips = new ArrayList<>();
-
-        // Process each employee
-        for (Employee employee : employees) {
-            // Use employee's gross salary as the gross pay for this period
-            BigDecimal grossPay = employee.getGrossSalary();
-
-            // Calculate taxes
-            TaxCalculationResponse taxCalc = taxCalculationService
-                    .calculateAllTaxes(employee, grossPay, currentYear);
-
-            // Calculate YTD amounts
-            BigDecimal ytdGross = payslipRepository.calculateYtdGross(employee.getId(), currentYear)
-                    .add(taxCalc.getGrossPay());
-            BigDecimal ytdPaye = payslipRepository.calculateYtdPaye(employee.getId(), currentYear)
-                    .add(taxCalc.getPaye());
-            BigDecimal ytdPrsi = payslipRepository.calculateYtdPrsi(employee.getId(), currentYear)
-                    .add(taxCalc.getPrsi());
-            BigDecimal ytdUsc = payslipRepository.calculateYtdUsc(employee.getId(), currentYear)
-                    .add(taxCalc.getUsc());
-            BigDecimal ytdNet = ytdGross.subtract(ytdPaye).subtract(ytdPrsi).subtract(ytdUsc);
-
-            // Create payslip
-            Payslip payslip = new Payslip();
-            payslip.setPayroll(payroll);
-            payslip.setEmployee(employee);
-            payslip.setGrossPay(taxCalc.getGrossPay());
-            payslip.setPayeDeduction(taxCalc.getPaye());
-            payslip.setPrsiDeduction(taxCalc.getPrsi());
-            payslip.setUscDeduction(taxCalc.getUsc());
-            payslip.setNetPay(taxCalc.getNetPay());
-            payslip.setTaxCreditsUsed(employee.getTaxCreditsAnnual());
-            payslip.setYtdGross(ytdGross);
-            payslip.setYtdPaye(ytdPaye);
-            payslip.setYtdPrsi(ytdPrsi);
-            payslip.setYtdUsc(ytdUsc);
-            payslip.setYtdNet(ytdNet);
-
-            payslips.add(payslip);
-        }
-
-        // Set payslips on payroll
-        payroll.setPayslips(payslips);
 
-        // Calculate totals
-        payroll.calculateTotals();
-
-        // Mark as processed
-        payroll.setStatus(PayrollStatus.PROCESSED);
-        payroll.setProcessedDate(LocalDateTime.now());
-
-        // Save payroll (cascades to payslips)
-        payroll = payrollRepository.save(payroll);
-
-        return payrollMapper.toResponse(payroll);
+        // Stream the company's active employees in keyset pages and commit payslips chunk by chunk on the run executor
+        PayrollStatus targetStatus = request.isDraft() ? PayrollStatus.DRAFT : PayrollStatus.PROCESSED;
+        boolean memoizeTaxes = request.getMemoizeTaxes() != null
+                ? request.getMemoizeTaxes() : taxResultCache.isEnabledByDefault();
+        return payrollRunEngine.run(payroll, currentYear, targetStatus, memoizeTaxes, monitor);
     }
 
     /**
@@ -145,23 +259,119 @@ public class PayrollService {
      */
     @Transactional(readOnly = true)
     public PayrollResponse getPayroll(UUID id) {
-        Payroll payroll = payrollRepository.findById(id)
-                .orElseThrow(() -> new PayrollProcessingException("Payroll not found with id: " + id));
+        return getPayroll(id, true);
+    }
 
-        return payrollMapper.toResponse(payroll);
+    /**
+     * Get payroll by ID, optionally without its payslips. Without payslips only
+     * the payroll row is read; {@link #getPayslips} pages through them instead.
+     *
+     * @param id Payroll ID
+     * @param includePayslips Whether to load and return every payslip
+     * @return Payroll response
+     */
+    @Transactional(readOnly = true)
+    public PayrollResponse getPayroll(UUID id, boolean includePayslips) {
+        if (includePayslips) {
+            return payrollMapper.toResponse(getPayrollWithPayslips(id));
+        }
+        return payrollMapper.toHeaderResponse(getPayrollEntity(id));
+    }
+
+    /**
+     * Get a page of a payroll's payslips, continuing from a cursor.
+     *
+     * @param payrollId Payroll ID
+     * @param department Employee department to filter by, or {@code null} for all departments
+     * @param minNet Lowest net pay to include, or {@code null} for no lower bound
+     * @param maxNet Highest net pay to include, or {@code null} for no upper bound
+     * @param sort id (default), netPay or grossPay; amounts sort descending
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page
+     * @param limit Maximum number of payslips on the page
+     * @return Page of payslips with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PayslipResponse> getPayslips(UUID payrollId, String department, BigDecimal minNet,
+                                                           BigDecimal maxNet, String sort, String cursor,
+                                                           int limit) {
+        PageCursor.checkLimit(limit, maxPayslipPageSize);
+        if (minNet != null && maxNet != null && maxNet.compareTo(minNet) < 0) {
+            throw new PayrollProcessingException("Net pay range ends before it starts");
+        }
+        String order = sort != null ? sort : "id";
+        if (!order.equals("id") && !order.equals("netPay") && !order.equals("grossPay")) {
+            throw new PayrollProcessingException("Unsupported payslip sort: " + sort);
+        }
+        if (!payrollRepository.existsById(payrollId)) {
+            throw new PayrollProcessingException("Payroll not found with id: " + payrollId);
+        }
+
+        // The cursor carries the sort it was issued for, so it cannot be replayed against another order
+        AmountKey after = PageCursor.decode(cursor, 3, new AmountKey(null, FIRST_ID), key -> {
+            if (!key.get(0).equals(order)) {
+                throw new PayrollProcessingException("Page cursor was issued for sort " + key.get(0));
+            }
+            return new AmountKey(order.equals("id") ? null : new BigDecimal(key.get(1)), UUID.fromString(key.get(2)));
+        });
+
+        return PageCursor.page(limit, count -> {
+            PageRequest page = PageRequest.of(0, count);
+            return switch (order) {
+                case "netPay" -> payslipRepository.findPayrollPageByNetPayAfter(
+                        payrollId, department, minNet, maxNet, after.amount(), after.id(), page);
+                case "grossPay" -> payslipRepository.findPayrollPageByGrossPayAfter(
+                        payrollId, department, minNet, maxNet, after.amount(), after.id(), page);
+                default -> payslipRepository.findPayrollPageAfter(
+                        payrollId, department, minNet, maxNet, after.id(), page);
+            };
+        }, last -> {
+            Object amount = switch (order) {
+                case "netPay" -> last.getNetPay().toPlainString();
+                case "grossPay" -> last.getGrossPay().toPlainString();
+                default -> "";
+            };
+            return PageCursor.encode(order, amount, last.getId());
+        });
     }
 
     /**
-     * Get all payrolls ordered by date descending.
+     * Get a page of payroll summaries, newest period first, continuing from a cursor.
+     * A summary carries the header, totals, status and payslip count; the payslips
+     * themselves are only loaded by {@link #getPayroll(UUID)}.
      *
-     * @return List of payroll responses
+     * @param companyId Company to filter by, or {@code null} for all companies
+     * @param from Earliest period end to include, or {@code null} for no lower bound
+     * @param to Latest period start to include, or {@code null} for no upper bound
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page
+     * @param limit Maximum number of payrolls on the page
+     * @return Page of payroll summaries with the cursor of the next page
      */
     @Transactional(readOnly = true)
-    public List<PayrollResponse> getAllPayrolls() {
-        return payrollRepository.findAllByOrderByPayPeriodEndDesc()
-                .stream()
-                .map(payrollMapper::toResponse)
-                .toList();
+    public CursorPageResponse<PayrollSummaryResponse> getPayrollSummaries(UUID companyId, LocalDate from,
+                                                                          LocalDate to, String cursor, int limit) {
+        PageCursor.checkLimit(limit, maxPageSize);
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new PayrollProcessingException("Date range ends before it starts");
+        }
+        PeriodKey before = PageCursor.decode(cursor, 2, new PeriodKey(LAST_PERIOD_END, LAST_ID),
+                key -> new PeriodKey(LocalDate.parse(key.get(0)), UUID.fromString(key.get(1))));
+
+        return PageCursor.page(limit,
+                count -> payrollRepository.findSummaryPageBefore(
+                        companyId, from, to, before.payPeriodEnd(), before.id(), PageRequest.of(0, count)),
+                last -> PageCursor.encode(last.getPayPeriodEnd(), last.getId()));
+    }
+
+    /**
+     * Get payroll entity by ID with its payslips and their employees loaded, in one query (for internal use).
+     *
+     * @param id Payroll ID
+     * @return Payroll entity
+     */
+    @Transactional(readOnly = true)
+    public Payroll getPayrollWithPayslips(UUID id) {
+        return payrollRepository.findWithPayslipsById(id)
+                .orElseThrow(() -> new PayrollProcessingException("Payroll not found with id: " + id));
     }
 
     /**
@@ -175,4 +385,16 @@ public class PayrollService {
         return payrollRepository.findById(id)
                 .orElseThrow(() -> new PayrollProcessingException("Payroll not found with id: " + id));
     }
+
+    /**
+     * Sort key of a payslip page: the sorted amount, if any, then ID.
+     */
+    private record AmountKey(BigDecimal amount, UUID id) {
+    }
+
+    /**
+     * Sort key of a payroll summary page: period end, then ID.
+     */
+    private record PeriodKey(LocalDate payPeriodEnd, UUID id) {
+    }
 }
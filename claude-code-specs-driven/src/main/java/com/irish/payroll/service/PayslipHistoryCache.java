@@ -0,0 +1,86 @@
+package com.irish.payroll.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.irish.payroll.dto.response.PayslipHistoryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache of each employee's most recent payslips, the first page of their
+ * payslip history.
+ *
+ * Entries are dropped whenever a payroll is committed, finalised,
+ * recalculated or rolled back, since any of those can add or change an
+ * employee's latest payslips; the TTL bounds staleness from changes made on
+ * other nodes. Hit and miss counts are published as the {@code cache.gets}
+ * metric tagged {@code cache=payslipHistory}.
+ */
+@Component
+public class PayslipHistoryCache {
+
+    static final String CACHE_NAME = "payslipHistory";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${payroll.payslip-history.recent-payslips:12}")
+    private int recentPayslips;
+
+    @Value("${payroll.payslip-history.ttl:PT10M}")
+    private Duration ttl;
+
+    @Value("${payroll.payslip-history.max-entries:10000}")
+    private long maxEntries;
+
+    private Cache<UUID, List<PayslipHistoryResponse>> recent;
+
+    @PostConstruct
+    void init() {
+        recent = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, recent, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Number of recent payslips cached per employee.
+     */
+    public int getRecentPayslips() {
+        return recentPayslips;
+    }
+
+    /**
+     * Get an employee's most recent payslips, newest first, loading them if absent.
+     * The loader is asked for one more payslip than is served, so callers can tell
+     * whether older payslips exist.
+     *
+     * @param employeeId Employee ID
+     * @param loader Loads up to the given number of an employee's most recent payslips
+     * @return Up to {@link #getRecentPayslips()} + 1 payslips
+     */
+    public List<PayslipHistoryResponse> get(UUID employeeId,
+                                            Function<Integer, List<PayslipHistoryResponse>> loader) {
+        return recent.get(employeeId, key -> List.copyOf(loader.apply(recentPayslips + 1)));
+    }
+
+    /**
+     * Drop every cached history after payslips were added, changed or removed.
+     */
+    public void invalidateAll() {
+        recent.invalidateAll();
+    }
+}
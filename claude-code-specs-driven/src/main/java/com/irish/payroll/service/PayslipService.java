@@ -0,0 +1,93 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.dto.response.PayslipHistoryResponse;
+import com.irish.payroll.exception.EmployeeNotFoundException;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for reading employees' payslips.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PayslipService {
+
+    /** Key the first page of a payslip history starts before. */
+    private static final LocalDate LAST_PERIOD_END = LocalDate.of(9999, 12, 31);
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayslipHistoryCache payslipHistoryCache;
+
+    @Value("${payroll.payslip-history.max-page-size:200}")
+    private int maxPageSize;
+
+    /**
+     * Get a page of an employee's payslip history, newest period first, continuing from a cursor.
+     * The first page of the unfiltered history is served from the cache of recent payslips
+     * when it fits in it.
+     *
+     * @param employeeId Employee ID
+     * @param taxYear Tax year to filter by, or {@code null} for every year
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page
+     * @param limit Maximum number of payslips on the page
+     * @return Page of payslips with the cursor of the next page
+     */
+    public CursorPageResponse<PayslipHistoryResponse> getPayslipHistory(UUID employeeId, Integer taxYear,
+                                                                        String cursor, int limit) {
+        PageCursor.checkLimit(limit, maxPageSize);
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        if (firstPage && taxYear == null && limit <= payslipHistoryCache.getRecentPayslips()) {
+            // The cache holds one payslip past the largest page it serves
+            return PageCursor.page(limit,
+                    count -> payslipHistoryCache.get(employeeId,
+                            recent -> findPage(employeeId, null, LAST_PERIOD_END, LAST_ID, recent)),
+                    PayslipService::cursorOf);
+        }
+
+        PeriodKey before = PageCursor.decode(cursor, 2, new PeriodKey(LAST_PERIOD_END, LAST_ID),
+                key -> new PeriodKey(LocalDate.parse(key.get(0)), UUID.fromString(key.get(1))));
+        return PageCursor.page(limit,
+                count -> findPage(employeeId, taxYear, before.payPeriodEnd(), before.id(), count),
+                PayslipService::cursorOf);
+    }
+
+    private List<PayslipHistoryResponse> findPage(UUID employeeId, Integer taxYear, LocalDate beforeEnd,
+                                                  UUID beforeId, int count) {
+        List<PayslipHistoryResponse> payslips = payslipRepository.findHistoryPageBefore(employeeId,
+                taxYear != null ? LocalDate.of(taxYear, 1, 1) : null,
+                taxYear != null ? LocalDate.of(taxYear, 12, 31) : null,
+                beforeEnd, beforeId, PageRequest.of(0, count));
+        // An empty history is only checked against the employee, so the common case costs one query
+        if (payslips.isEmpty() && !employeeRepository.existsById(employeeId)) {
+            throw new EmployeeNotFoundException(employeeId);
+        }
+        return payslips;
+    }
+
+    private static String cursorOf(PayslipHistoryResponse payslip) {
+        return PageCursor.encode(payslip.getPayPeriodEnd(), payslip.getId());
+    }
+
+    /**
+     * Sort key of a payslip history page: period end, then ID.
+     */
+    private record PeriodKey(LocalDate payPeriodEnd, UUID id) {
+    }
+}
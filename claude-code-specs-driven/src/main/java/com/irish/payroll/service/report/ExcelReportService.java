@@ -28,7 +28,7 @@ public class ExcelReportService {
      * @return Excel file as byte array
      */
     public byte[] generatePayrollReport(UUID payrollId) throws IOException {
-        Payroll payroll = payrollService.getPayrollEntity(payrollId);
+        Payroll payroll = payrollService.getPayrollWithPayslips(payrollId);
 
         Workbook workbook = new XSSFWorkbook();
         Sheet sheet = workbook.createSheet("Payroll Report");
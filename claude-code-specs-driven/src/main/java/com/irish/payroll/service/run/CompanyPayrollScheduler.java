@@ -0,0 +1,80 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.request.PayrollBatchRunRequest;
+import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.PayrollBatchRunResponse;
+import com.irish.payroll.entity.Company;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.repository.CompanyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fans a payroll period out to one run job per company.
+ *
+ * Jobs are queued on the bounded payroll job executor, so up to
+ * {@code payroll.run.job-concurrency} companies are processed at once while
+ * sharing the run executor; the rest wait in the job queue. A company that
+ * cannot be run (payroll already exists, run in progress, queue full) is
+ * reported without affecting the others.
+ */
+@Service
+public class CompanyPayrollScheduler {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private PayrollRunJobService payrollRunJobService;
+
+    /**
+     * Submit one payroll run job per company for the requested period.
+     *
+     * @param request Batch run request
+     * @return Submitted jobs and rejected companies
+     */
+    public PayrollBatchRunResponse submit(PayrollBatchRunRequest request) {
+        List<UUID> companyIds = request.getCompanyIds() == null || request.getCompanyIds().isEmpty()
+                ? companyRepository.findByIsActiveTrueOrderByName().stream().map(Company::getId).toList()
+                : request.getCompanyIds();
+
+        PayrollBatchRunResponse response = new PayrollBatchRunResponse();
+        for (UUID companyId : companyIds) {
+            PayrollRunRequest runRequest = new PayrollRunRequest();
+            runRequest.setCompanyId(companyId);
+            runRequest.setPayPeriodStart(request.getPayPeriodStart());
+            runRequest.setPayPeriodEnd(request.getPayPeriodEnd());
+            runRequest.setPaymentDate(request.getPaymentDate());
+            runRequest.setDraft(request.isDraft());
+            runRequest.setMemoizeTaxes(request.getMemoizeTaxes());
+            try {
+                response.getJobs().add(payrollRunJobService.submit(runRequest));
+            } catch (PayrollProcessingException e) {
+                response.getRejected().put(companyId, e.getMessage());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Run the current calendar month for every active company on the
+     * configured schedule. Disabled unless {@code payroll.schedule.cron} is set.
+     * Companies already paid for the month are skipped; submitted runs are
+     * tracked as ordinary payroll jobs.
+     */
+    @Scheduled(cron = "${payroll.schedule.cron:-}")
+    public void runScheduledPayrolls() {
+        YearMonth month = YearMonth.now();
+        PayrollBatchRunRequest request = new PayrollBatchRunRequest();
+        request.setPayPeriodStart(month.atDay(1));
+        request.setPayPeriodEnd(month.atEndOfMonth());
+        request.setPaymentDate(month.atEndOfMonth());
+
+        submit(request);
+    }
+}
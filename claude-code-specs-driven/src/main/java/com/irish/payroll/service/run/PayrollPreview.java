@@ -0,0 +1,139 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.service.tax.TaxRates;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Unsaved result of a payroll preview: payslips in employee order, the YTD
+ * totals they were computed from, and aggregate totals.
+ *
+ * A later payroll run for the same period reuses a previewed payslip only if
+ * it is pinned to the same tax configuration snapshot, resolves the same
+ * effective-dated rates on its payment date, and the employee's inputs and
+ * YTD balance are unchanged since the preview.
+ */
+public class PayrollPreview {
+
+    private final LocalDate payPeriodStart;
+    private final LocalDate payPeriodEnd;
+    private final int taxYear;
+    private final Long taxConfigVersion;
+    private final TaxRates rates;
+    private final LocalDateTime generatedAt = LocalDateTime.now();
+    private final List<Payslip> payslips;
+    private final Map<UUID, YtdTotals> priorYtd;
+    private final Map<UUID, Payslip> payslipsByEmployee = new HashMap<>();
+    private final BigDecimal totalGross;
+    private final BigDecimal totalPaye;
+    private final BigDecimal totalPrsi;
+    private final BigDecimal totalUsc;
+    private final BigDecimal totalNet;
+
+    public PayrollPreview(LocalDate payPeriodStart, LocalDate payPeriodEnd, int taxYear, Long taxConfigVersion,
+                          TaxRates rates, List<Payslip> payslips, Map<UUID, YtdTotals> priorYtd) {
+        this.payPeriodStart = payPeriodStart;
+        this.payPeriodEnd = payPeriodEnd;
+        this.taxYear = taxYear;
+        this.taxConfigVersion = taxConfigVersion;
+        this.rates = rates;
+        this.payslips = List.copyOf(payslips);
+        this.priorYtd = Map.copyOf(priorYtd);
+        payslips.forEach(payslip -> payslipsByEmployee.put(payslip.getEmployee().getId(), payslip));
+        this.totalGross = sum(Payslip::getGrossPay);
+        this.totalPaye = sum(Payslip::getPayeDeduction);
+        this.totalPrsi = sum(Payslip::getPrsiDeduction);
+        this.totalUsc = sum(Payslip::getUscDeduction);
+        this.totalNet = sum(Payslip::getNetPay);
+    }
+
+    /**
+     * Previewed payslip for an employee bound to a real payroll, if it is
+     * still valid for the payroll's rates and the employee's current inputs
+     * and prior YTD totals.
+     *
+     * @param rates Rates the payroll resolves on its payment date
+     * @return New unsaved payslip, or null if it must be recomputed
+     */
+    public Payslip reuse(Payroll payroll, TaxRates rates, Employee employee, int taxYear, YtdTotals currentPriorYtd) {
+        Payslip previewed = payslipsByEmployee.get(employee.getId());
+        YtdTotals previewedPriorYtd = priorYtd.get(employee.getId());
+        if (previewed == null || previewedPriorYtd == null || taxYear != this.taxYear
+                || !Objects.equals(payroll.getTaxConfigVersion(), taxConfigVersion)
+                // Compiled rates are shared per effective-date interval, so a different instance is a different interval
+                || rates != this.rates
+                || !previewed.getInputFingerprint().equals(PayslipFingerprint.of(employee, taxYear))
+                || !previewedPriorYtd.sameAmounts(currentPriorYtd)) {
+            return null;
+        }
+
+        Payslip payslip = new Payslip();
+        payslip.setPayroll(payroll);
+        payslip.setEmployee(employee);
+        PayslipCalculator.copyAmounts(previewed, payslip);
+        return payslip;
+    }
+
+    private BigDecimal sum(Function<Payslip, BigDecimal> amount) {
+        return payslips.stream().map(amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public LocalDate getPayPeriodStart() {
+        return payPeriodStart;
+    }
+
+    public LocalDate getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Version of the tax configuration snapshot the preview was calculated with.
+     */
+    public Long getTaxConfigVersion() {
+        return taxConfigVersion;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public List<Payslip> getPayslips() {
+        return payslips;
+    }
+
+    public BigDecimal getTotalGross() {
+        return totalGross;
+    }
+
+    public BigDecimal getTotalPaye() {
+        return totalPaye;
+    }
+
+    public BigDecimal getTotalPrsi() {
+        return totalPrsi;
+    }
+
+    public BigDecimal getTotalUsc() {
+        return totalUsc;
+    }
+
+    public BigDecimal getTotalNet() {
+        return totalNet;
+    }
+}
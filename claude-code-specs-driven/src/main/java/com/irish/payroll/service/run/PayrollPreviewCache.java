@@ -0,0 +1,69 @@
+package com.irish.payroll.service.run;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of payroll previews keyed by company, pay period and payment date,
+ * so repeated previews are cheap and the final run can reuse previewed payslips.
+ */
+@Component
+public class PayrollPreviewCache {
+
+    @Value("${payroll.preview.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${payroll.preview.max-entries:16}")
+    private long maxEntries;
+
+    private Cache<PreviewKey, PayrollPreview> previews;
+
+    @PostConstruct
+    void init() {
+        previews = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Get the cached preview for a company's period and payment date, computing it if absent.
+     * Concurrent callers for the same key share one computation.
+     */
+    public PayrollPreview get(UUID companyId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                              LocalDate paymentDate, Supplier<PayrollPreview> loader) {
+        return previews.get(new PreviewKey(companyId, payPeriodStart, payPeriodEnd, paymentDate),
+                key -> loader.get());
+    }
+
+    /**
+     * Get the cached preview for a company's period and payment date, or null if none is cached.
+     */
+    public PayrollPreview find(UUID companyId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                               LocalDate paymentDate) {
+        return previews.getIfPresent(new PreviewKey(companyId, payPeriodStart, payPeriodEnd, paymentDate));
+    }
+
+    /**
+     * Drop the cached preview for a company's period and payment date.
+     */
+    public void invalidate(UUID companyId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                           LocalDate paymentDate) {
+        previews.invalidate(new PreviewKey(companyId, payPeriodStart, payPeriodEnd, paymentDate));
+    }
+
+    /**
+     * The payment date picks the effective-dated rates, so previews paid on different dates differ.
+     */
+    private record PreviewKey(UUID companyId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                              LocalDate paymentDate) {
+    }
+}
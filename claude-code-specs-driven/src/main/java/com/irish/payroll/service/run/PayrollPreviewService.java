@@ -0,0 +1,198 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.PayrollPreviewResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.mapper.PayslipMapper;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.service.tax.TaxScheduleCache;
+import com.irish.payroll.service.ytd.YtdBalanceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Service computing in-memory payroll previews (dry runs).
+ *
+ * Runs the full tax pipeline over a consistent snapshot of a company's active
+ * employees and YTD balances read in one read-only, repeatable-read transaction.
+ * Nothing is written; results are cached briefly by company, period and payment
+ * date, and recomputed once another tax snapshot is active.
+ */
+@Service
+public class PayrollPreviewService {
+
+    private static final UUID MIN_EMPLOYEE_ID = new UUID(0L, 0L);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private YtdBalanceService ytdBalanceService;
+
+    @Autowired
+    private PayslipCalculator payslipCalculator;
+
+    @Autowired
+    private PayrollPreviewCache payrollPreviewCache;
+
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
+
+    @Autowired
+    private PayslipMapper payslipMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("payrollRunExecutor")
+    private ExecutorService payrollRunExecutor;
+
+    @Value("${payroll.run.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Preview payroll for a company's period and return one page of its payslips.
+     *
+     * @param request Payroll run request with its company resolved
+     * @param page Zero-based page of payslips
+     * @param size Page size
+     * @param sort employee (default), grossPay or netPay; amounts sort descending
+     * @return Totals and the requested page
+     */
+    public PayrollPreviewResponse preview(PayrollRunRequest request, int page, int size, String sort) {
+        if (page < 0 || size < 1) {
+            throw new PayrollProcessingException("Page must be non-negative and size positive");
+        }
+        Comparator<Payslip> order = order(sort);
+
+        PayrollPreview preview = payrollPreviewCache.get(request.getCompanyId(), request.getPayPeriodStart(),
+                request.getPayPeriodEnd(), request.getPaymentDate(), () -> compute(request));
+        if (!Objects.equals(preview.getTaxConfigVersion(), taxScheduleCache.getActiveVersion())) {
+            // Computed before another tax snapshot was activated, here or on another node
+            payrollPreviewCache.invalidate(request.getCompanyId(), request.getPayPeriodStart(),
+                    request.getPayPeriodEnd(), request.getPaymentDate());
+            preview = payrollPreviewCache.get(request.getCompanyId(), request.getPayPeriodStart(),
+                    request.getPayPeriodEnd(), request.getPaymentDate(), () -> compute(request));
+        }
+
+        List<Payslip> payslips = order == null ? preview.getPayslips()
+                : preview.getPayslips().stream().sorted(order).toList();
+        int from = (int) Math.min((long) page * size, payslips.size());
+        int to = Math.min(from + size, payslips.size());
+
+        PayrollPreviewResponse response = new PayrollPreviewResponse();
+        response.setCompanyId(request.getCompanyId());
+        response.setPayPeriodStart(preview.getPayPeriodStart());
+        response.setPayPeriodEnd(preview.getPayPeriodEnd());
+        response.setTaxYear(preview.getTaxYear());
+        response.setTaxConfigVersion(preview.getTaxConfigVersion());
+        response.setGeneratedAt(preview.getGeneratedAt());
+        response.setEmployeeCount(payslips.size());
+        response.setTotalGross(preview.getTotalGross());
+        response.setTotalPaye(preview.getTotalPaye());
+        response.setTotalPrsi(preview.getTotalPrsi());
+        response.setTotalUsc(preview.getTotalUsc());
+        response.setTotalNet(preview.getTotalNet());
+        response.setPage(page);
+        response.setSize(size);
+        response.setTotalPages((payslips.size() + size - 1) / size);
+        response.setPayslips(payslips.subList(from, to).stream().map(payslipMapper::toResponse).toList());
+        return response;
+    }
+
+    private PayrollPreview compute(PayrollRunRequest request) {
+        int taxYear = request.getPayPeriodEnd().getYear();
+        // Unsaved header carrying the period; previewed payslips are attached to the real payroll when reused
+        Payroll header = new Payroll();
+        header.setPayPeriodStart(request.getPayPeriodStart());
+        header.setPayPeriodEnd(request.getPayPeriodEnd());
+        header.setPaymentDate(request.getPaymentDate());
+        header.setTaxConfigVersion(taxScheduleCache.getActiveVersion());
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        return snapshot.execute(status -> {
+            Pageable pageable = PageRequest.of(0, Math.max(chunkSize, 1));
+            List<Future<List<Payslip>>> chunks = new ArrayList<>();
+            Map<UUID, YtdTotals> priorYtd = new HashMap<>();
+            UUID afterId = MIN_EMPLOYEE_ID;
+            while (true) {
+                List<Employee> employees = employeeRepository.findActivePageAfter(
+                        request.getCompanyId(), afterId, pageable);
+                if (employees.isEmpty()) {
+                    break;
+                }
+                Map<UUID, YtdTotals> balances = ytdBalanceService.getBalances(
+                        employees.stream().map(Employee::getId).toList(), taxYear);
+                priorYtd.putAll(balances);
+                // Read-only entities only need to live until their chunk is computed
+                entityManager.clear();
+
+                chunks.add(payrollRunExecutor.submit(() -> employees.stream()
+                        .map(employee -> payslipCalculator.calculate(header, employee, taxYear, balances.get(employee.getId())))
+                        .toList()));
+                afterId = employees.get(employees.size() - 1).getId();
+            }
+
+            List<Payslip> payslips = new ArrayList<>();
+            try {
+                for (Future<List<Payslip>> chunk : chunks) {
+                    payslips.addAll(chunk.get());
+                }
+            } catch (InterruptedException e) {
+                chunks.forEach(chunk -> chunk.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new PayrollProcessingException("Payroll preview interrupted", e);
+            } catch (ExecutionException e) {
+                chunks.forEach(chunk -> chunk.cancel(true));
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new PayrollProcessingException("Payroll preview failed", e.getCause());
+            }
+
+            return new PayrollPreview(request.getPayPeriodStart(), request.getPayPeriodEnd(), taxYear,
+                    header.getTaxConfigVersion(), taxScheduleCache.rates(header, taxYear), payslips, priorYtd);
+        });
+    }
+
+    private static Comparator<Payslip> order(String sort) {
+        if (sort == null || sort.equals("employee")) {
+            return null;
+        }
+        return switch (sort) {
+            case "grossPay" -> Comparator.comparing(Payslip::getGrossPay).reversed();
+            case "netPay" -> Comparator.comparing(Payslip::getNetPay).reversed();
+            default -> throw new PayrollProcessingException("Unsupported preview sort: " + sort);
+        };
+    }
+}
@@ -0,0 +1,607 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.PayrollTotals;
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.response.PayrollRecalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.PayrollRun;
+import com.irish.payroll.entity.PayrollRunCheckpoint;
+import com.irish.payroll.entity.PayrollRunState;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.exception.PayrollRunCancelledException;
+import com.irish.payroll.exception.PayrollRunOwnershipLostException;
+import com.irish.payroll.repository.CompanyRepository;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.PayrollRepository;
+import com.irish.payroll.repository.PayrollRunCheckpointRepository;
+import com.irish.payroll.repository.PayrollRunRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import com.irish.payroll.service.PayslipHistoryCache;
+import com.irish.payroll.service.tax.TaxRates;
+import com.irish.payroll.service.tax.TaxScheduleCache;
+import com.irish.payroll.service.ytd.YtdBalanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Partitioned, checkpointed payroll run engine.
+ *
+ * Reads the workforce in keyset pages ordered by employee id, computes each
+ * page as one chunk on the bounded payroll run executor and commits every
+ * chunk in its own transaction together with a checkpoint row. Payslips are
+ * collected in employee order, so totals and YTD values match a sequential
+ * run exactly.
+ *
+ * Runs are scoped to the company of their payroll. Runs for different
+ * companies execute concurrently and share the run executor; a second run
+ * for a company that already has one in progress is rejected.
+ *
+ * The payroll stays DRAFT until every chunk is committed. Failures and
+ * cooperative cancellation roll back everything the run committed; an
+ * interrupted or crashed run keeps its checkpoints and can be resumed by
+ * {@link #resume} without recomputing or duplicating payslips.
+ *
+ * A node heartbeats the runs it owns on a timer. Every chunk checks inside
+ * its transaction that the node still owns the run, so once another node
+ * has taken over a stale run the original node stops without committing
+ * or removing anything more.
+ */
+@Service
+public class PayrollRunEngine {
+
+    /**
+     * Lowest possible employee key, used as the watermark of a run with no committed chunks.
+     */
+    private static final UUID MIN_EMPLOYEE_ID = new UUID(0L, 0L);
+
+    private final Set<UUID> activeRuns = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Runs this node has created or claimed and heartbeats until they finish.
+     */
+    private final Set<UUID> ownedRuns = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Owned runs whose heartbeat found another node had taken them over.
+     */
+    private final Set<UUID> lostRuns = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private PayrollRunCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PayslipBulkWriter payslipBulkWriter;
+
+    @Autowired
+    private PayslipCalculator payslipCalculator;
+
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
+
+    @Autowired
+    private PayrollPreviewCache payrollPreviewCache;
+
+    @Autowired
+    private PayslipHistoryCache payslipHistoryCache;
+
+    @Autowired
+    private YtdBalanceService ytdBalanceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("payrollRunExecutor")
+    private ExecutorService payrollRunExecutor;
+
+    @Value("${payroll.run.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${payroll.run.max-pending-chunks:8}")
+    private int maxPendingChunks;
+
+    @Value("${payroll.run.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    @Value("${payroll.run.stale-after:PT5M}")
+    private Duration staleAfter;
+
+    /**
+     * Run payroll for all active employees of the payroll's company.
+     *
+     * The payroll header and its run record are committed first. Employees
+     * are then read in keyset pages of one chunk each and every chunk of
+     * payslips is committed independently with its YTD balance updates and a
+     * checkpoint. If any chunk fails, the partial run is removed and the
+     * failure is rethrown. The payroll is pinned to the active tax
+     * configuration snapshot before it is saved, so every chunk, a resume
+     * and later draft recalculations use the same rates.
+     *
+     * @param payroll New payroll header for the company and period
+     * @param taxYear Tax year for rate lookup and YTD accumulation
+     * @param targetStatus Status of the payroll once every chunk is committed
+     * @param memoizeTaxes Whether employees with identical tax inputs share one tax calculation
+     * @param monitor Receives progress and is polled for cancellation
+     * @return Payroll header with totals populated; its payslips are not held in memory
+     */
+    public Payroll run(Payroll payroll, int taxYear, PayrollStatus targetStatus, boolean memoizeTaxes,
+                       PayrollRunMonitor monitor) {
+        UUID companyId = payroll.getCompany().getId();
+        int totalEmployees = Math.toIntExact(readOnlyTransaction().execute(
+                status -> employeeRepository.countByCompanyIdAndIsActiveTrue(companyId)));
+        monitor.onStart(totalEmployees);
+        if (payroll.getTaxConfigVersion() == null) {
+            payroll.setTaxConfigVersion(taxScheduleCache.getActiveVersion());
+        }
+        PayrollRun run = requiresNewTransaction().execute(status -> {
+            // Serialise run starts per company so two nodes cannot both pass the in-progress check
+            companyRepository.lockById(companyId)
+                    .orElseThrow(() -> new PayrollProcessingException("Company not found with id: " + companyId));
+            if (payrollRunRepository.existsByPayrollCompanyIdAndState(companyId, PayrollRunState.RUNNING)) {
+                throw new PayrollProcessingException("A payroll run is already in progress for company " + companyId);
+            }
+            Payroll header = payrollRepository.save(payroll);
+            PayrollRun newRun = new PayrollRun(header, taxYear, totalEmployees, nodeId);
+            newRun.setTargetStatus(targetStatus);
+            newRun.setMemoizeTaxes(memoizeTaxes);
+            return payrollRunRepository.save(newRun);
+        });
+
+        activeRuns.add(run.getId());
+        ownedRuns.add(run.getId());
+        try {
+            PayrollTotals totals = execute(run, MIN_EMPLOYEE_ID, 0, PayrollTotals.ZERO, monitor,
+                    (afterId, page) -> employeeRepository.findActivePageAfter(companyId, afterId, page));
+            return finalise(run, totals, monitor);
+        } finally {
+            release(run.getId());
+        }
+    }
+
+    /**
+     * Resume an interrupted run from its last checkpoint.
+     *
+     * Only employees without a payslip in the payroll are processed, so
+     * chunks committed before the interruption are neither recomputed nor
+     * duplicated. Totals of the payslips committed before the interruption are
+     * summed in the database and the resumed chunks are added to them.
+     *
+     * @param runId Run to resume
+     * @param monitor Receives progress and is polled for cancellation
+     * @return Payroll header with totals populated; its payslips are not held in memory
+     */
+    public Payroll resume(UUID runId, PayrollRunMonitor monitor) {
+        if (!activeRuns.add(runId)) {
+            throw new PayrollProcessingException("Payroll run " + runId + " is already executing on this node");
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            PayrollRun run = requiresNewTransaction().execute(status -> {
+                if (payrollRunRepository.claim(runId, nodeId, now, now.minus(staleAfter)) == 0) {
+                    throw new PayrollProcessingException("Payroll run " + runId + " cannot be resumed by this node");
+                }
+                return payrollRunRepository.findWithPayrollById(runId)
+                        .orElseThrow(() -> new PayrollProcessingException("Payroll run not found with id: " + runId));
+            });
+            lostRuns.remove(runId);
+            ownedRuns.add(runId);
+
+            UUID payrollId = run.getPayroll().getId();
+            UUID companyId = run.getPayroll().getCompany().getId();
+            UUID watermark = run.getLastCommittedEmployeeId() != null
+                    ? run.getLastCommittedEmployeeId() : MIN_EMPLOYEE_ID;
+            int nextChunkIndex = checkpointRepository.findMaxChunkIndex(runId) + 1;
+            PayrollTotals committed = readOnlyTransaction().execute(
+                    status -> payslipRepository.sumByPayrollId(payrollId));
+
+            monitor.onStart(Math.toIntExact(readOnlyTransaction().execute(
+                    status -> employeeRepository.countActiveUnpaidAfter(companyId, payrollId, watermark))));
+            PayrollTotals totals = execute(run, watermark, nextChunkIndex, committed, monitor,
+                    (afterId, page) -> employeeRepository.findActiveUnpaidPageAfter(companyId, payrollId, afterId, page));
+            return finalise(run, totals, monitor);
+        } finally {
+            release(runId);
+        }
+    }
+
+    /**
+     * Refresh the heartbeat of every run this node owns, so a run whose
+     * current chunk is slow is not taken over by another node. A run another
+     * node has already claimed is flagged and stops at its next chunk.
+     */
+    @Scheduled(fixedDelayString = "${payroll.run.heartbeat-interval:PT30S}",
+               initialDelayString = "${payroll.run.heartbeat-interval:PT30S}")
+    public void heartbeatOwnedRuns() {
+        for (UUID runId : ownedRuns) {
+            Integer refreshed = requiresNewTransaction().execute(
+                    status -> payrollRunRepository.heartbeat(runId, nodeId, LocalDateTime.now()));
+            if ((refreshed == null || refreshed == 0) && ownedRuns.contains(runId)) {
+                lostRuns.add(runId);
+            }
+        }
+    }
+
+    /**
+     * Recalculate a DRAFT payroll for employees whose pay inputs changed
+     * since their payslip was computed.
+     *
+     * Unchanged payslips are left untouched. Each changed payslip is
+     * recomputed on the YTD position it was originally computed from, the
+     * employee's running YTD balance is moved by the difference and payroll
+     * totals are adjusted incrementally.
+     *
+     * @param payrollId DRAFT payroll to recalculate
+     * @return Outcome of the recalculation
+     */
+    public PayrollRecalculationResponse recalculateDraft(UUID payrollId) {
+        PayrollRecalculationResponse recalculation = requiresNewTransaction().execute(status -> {
+            Payroll payroll = payrollRepository.findById(payrollId)
+                    .orElseThrow(() -> new PayrollProcessingException("Payroll not found with id: " + payrollId));
+            if (payroll.getStatus() != PayrollStatus.DRAFT) {
+                throw new PayrollProcessingException("Only DRAFT payrolls can be recalculated; payroll "
+                        + payrollId + " is " + payroll.getStatus());
+            }
+            payrollRunRepository.findByPayrollId(payrollId)
+                    .filter(run -> run.getState() == PayrollRunState.RUNNING)
+                    .ifPresent(run -> {
+                        throw new PayrollProcessingException("Payroll run for payroll " + payrollId + " is still in progress");
+                    });
+
+            int taxYear = payroll.getPayPeriodEnd().getYear();
+            List<Payslip> payslips = payslipRepository.findByPayrollIdWithEmployee(payrollId);
+            List<Payslip> previous = new ArrayList<>();
+            List<Payslip> recalculated = new ArrayList<>();
+            for (Payslip payslip : payslips) {
+                Employee employee = payslip.getEmployee();
+                if (PayslipFingerprint.of(employee, taxYear).equals(payslip.getInputFingerprint())) {
+                    continue;
+                }
+
+                Payslip before = amountsOf(payslip);
+                YtdTotals priorYtd = new YtdTotals(employee.getId(),
+                        payslip.getYtdGross().subtract(payslip.getGrossPay()),
+                        payslip.getYtdPaye().subtract(payslip.getPayeDeduction()),
+                        payslip.getYtdPrsi().subtract(payslip.getPrsiDeduction()),
+                        payslip.getYtdUsc().subtract(payslip.getUscDeduction()),
+                        null, null);
+                PayslipCalculator.copyAmounts(payslipCalculator.calculate(payroll, employee, taxYear, priorYtd), payslip);
+
+                payroll.adjustTotals(before, payslip);
+                previous.add(before);
+                recalculated.add(payslip);
+            }
+
+            // Move running YTD balances by the difference between old and new payslips
+            if (!recalculated.isEmpty()) {
+                ytdBalanceService.revertPayslips(previous, taxYear);
+                ytdBalanceService.applyPayslips(recalculated, taxYear);
+            }
+
+            PayrollRecalculationResponse response = new PayrollRecalculationResponse();
+            response.setPayrollId(payrollId);
+            response.setPayslipsChecked(payslips.size());
+            response.setPayslipsRecalculated(recalculated.size());
+            response.setRecalculatedEmployeeIds(recalculated.stream().map(p -> p.getEmployee().getId()).toList());
+            response.setTotalGross(payroll.getTotalGross());
+            response.setTotalPaye(payroll.getTotalPaye());
+            response.setTotalPrsi(payroll.getTotalPrsi());
+            response.setTotalUsc(payroll.getTotalUsc());
+            response.setTotalNet(payroll.getTotalNet());
+            return response;
+        });
+        payslipHistoryCache.invalidateAll();
+        return recalculation;
+    }
+
+    /**
+     * Whether a persisted run can be resumed by this node: it is not executing
+     * here, and it either belongs to this node or has stopped heartbeating.
+     */
+    public boolean isResumable(PayrollRun run) {
+        return run.getState() == PayrollRunState.RUNNING
+                && !activeRuns.contains(run.getId())
+                && (nodeId.equals(run.getOwnerNode())
+                    || run.getHeartbeatAt().isBefore(LocalDateTime.now().minus(staleAfter)));
+    }
+
+    /**
+     * Read employees page by page after the given key and compute and commit
+     * each page as one chunk. At most {@code maxPendingChunks} pages are held
+     * ahead of the committed watermark and only running totals are kept of
+     * committed chunks, so heap stays flat regardless of headcount.
+     *
+     * @param committedTotals Totals of payslips the payroll already holds
+     * @return Totals of the payroll's payslips once every chunk is committed
+     */
+    private PayrollTotals execute(PayrollRun run, UUID startAfterId, int firstChunkIndex, PayrollTotals committedTotals,
+                                  PayrollRunMonitor monitor, EmployeePageQuery pageQuery) {
+        Payroll header = run.getPayroll();
+        int taxYear = run.getTaxYear();
+        Pageable page = PageRequest.of(0, Math.max(chunkSize, 1));
+        // Payslips from a recent preview of this period are reused where still valid
+        PayrollPreview preview = payrollPreviewCache.find(header.getCompany().getId(),
+                header.getPayPeriodStart(), header.getPayPeriodEnd(), header.getPaymentDate());
+        // A preview paid on the other side of an effective-dated rate change resolves different rates
+        TaxRates rates = preview != null ? taxScheduleCache.rates(header, taxYear) : null;
+
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<Future<PayrollTotals>> chunks = new ArrayList<>();
+        List<UUID> chunkLastEmployeeIds = new ArrayList<>();
+        PayrollTotals totals = committedTotals;
+        int committedChunks = 0;
+        UUID afterId = startAfterId;
+        try {
+            while (true) {
+                UUID pageAfterId = afterId;
+                // Each page is read in its own read-only transaction, leaving its entities detached
+                List<Employee> employees = readOnlyTransaction().execute(
+                        status -> pageQuery.find(pageAfterId, page));
+                if (employees.isEmpty()) {
+                    break;
+                }
+
+                int chunkIndex = firstChunkIndex + chunks.size();
+                chunks.add(payrollRunExecutor.submit(
+                        () -> processChunk(run, employees, chunkIndex, taxYear, preview, rates, aborted, monitor)));
+                afterId = employees.get(employees.size() - 1).getId();
+                chunkLastEmployeeIds.add(afterId);
+
+                if (chunks.size() - committedChunks >= Math.max(maxPendingChunks, 1)) {
+                    totals = totals.plus(awaitChunk(header, run, chunks, committedChunks++, chunkLastEmployeeIds,
+                            aborted, monitor));
+                }
+            }
+            while (committedChunks < chunks.size()) {
+                totals = totals.plus(awaitChunk(header, run, chunks, committedChunks++, chunkLastEmployeeIds,
+                        aborted, monitor));
+            }
+        } catch (InterruptedException e) {
+            // Node is shutting down: stop workers but keep checkpoints so the run can resume
+            aborted.set(true);
+            Thread.currentThread().interrupt();
+            throw new PayrollProcessingException("Payroll run interrupted; it will resume from its last checkpoint", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PayrollRunOwnershipLostException lost) {
+                aborted.set(true);
+                throw lost;
+            }
+            abort(header, run, chunks, aborted);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new PayrollProcessingException("Payroll run failed", e.getCause());
+        } catch (PayrollRunOwnershipLostException e) {
+            // Another node now owns the run and everything committed for it
+            aborted.set(true);
+            throw e;
+        } catch (RuntimeException e) {
+            // Failure reading the next page
+            if (!(e instanceof PayrollRunCancelledException)) {
+                abort(header, run, chunks, aborted);
+            }
+            throw e;
+        }
+
+        return totals;
+    }
+
+    /**
+     * Wait for the next chunk in order, then advance the run's committed watermark.
+     *
+     * @return Totals of the chunk's committed payslips
+     */
+    private PayrollTotals awaitChunk(Payroll header, PayrollRun run, List<Future<PayrollTotals>> chunks, int index,
+                                     List<UUID> chunkLastEmployeeIds, AtomicBoolean aborted,
+                                     PayrollRunMonitor monitor) throws InterruptedException, ExecutionException {
+        PayrollTotals committed = chunks.get(index).get();
+        if (monitor.isCancelRequested()) {
+            abort(header, run, chunks, aborted);
+            throw new PayrollRunCancelledException("Payroll run cancelled");
+        }
+
+        // Chunks are consumed in order, so this is the contiguous committed watermark
+        UUID lastEmployeeId = chunkLastEmployeeIds.get(index);
+        Integer recorded = requiresNewTransaction().execute(status -> payrollRunRepository.recordProgress(
+                run.getId(), nodeId, lastEmployeeId, Math.toIntExact(committed.getPayslipCount()),
+                LocalDateTime.now()));
+        if (recorded == null || recorded == 0) {
+            throw ownershipLost(run);
+        }
+        return committed;
+    }
+
+    /**
+     * Store the run's totals, move the payroll to the run's target status and mark the run COMPLETED.
+     */
+    private Payroll finalise(PayrollRun run, PayrollTotals totals, PayrollRunMonitor monitor) {
+        monitor.onPhase(PayrollRunPhase.FINALISING);
+        Payroll header = run.getPayroll();
+        header.setTotalGross(totals.getGross());
+        header.setTotalPaye(totals.getPaye());
+        header.setTotalPrsi(totals.getPrsi());
+        header.setTotalUsc(totals.getUsc());
+        header.setTotalNet(totals.getNet());
+        header.setPayslipCount(totals.getPayslipCount());
+        header.setStatus(run.getTargetStatus());
+        if (run.getTargetStatus() == PayrollStatus.PROCESSED) {
+            header.setProcessedDate(LocalDateTime.now());
+        }
+
+        requiresNewTransaction().executeWithoutResult(status -> {
+            PayrollRun managedRun = payrollRunRepository.lockOwned(run.getId(), nodeId)
+                    .orElseThrow(() -> ownershipLost(run));
+            Payroll managed = payrollRepository.findById(header.getId())
+                    .orElseThrow(() -> new PayrollProcessingException("Payroll not found with id: " + header.getId()));
+            managed.setTotalGross(header.getTotalGross());
+            managed.setTotalPaye(header.getTotalPaye());
+            managed.setTotalPrsi(header.getTotalPrsi());
+            managed.setTotalUsc(header.getTotalUsc());
+            managed.setTotalNet(header.getTotalNet());
+            managed.setPayslipCount(header.getPayslipCount());
+            managed.setStatus(header.getStatus());
+            managed.setProcessedDate(header.getProcessedDate());
+
+            managedRun.setState(PayrollRunState.COMPLETED);
+            managedRun.setCompletedAt(LocalDateTime.now());
+        });
+        payrollPreviewCache.invalidate(header.getCompany().getId(),
+                header.getPayPeriodStart(), header.getPayPeriodEnd(), header.getPaymentDate());
+        payslipHistoryCache.invalidateAll();
+
+        return header;
+    }
+
+    /**
+     * Compute and commit the payslips for one chunk of employees.
+     *
+     * @return Totals of the committed payslips
+     */
+    private PayrollTotals processChunk(PayrollRun run, List<Employee> employees, int chunkIndex, int taxYear,
+                                       PayrollPreview preview, TaxRates rates, AtomicBoolean aborted,
+                                       PayrollRunMonitor monitor) {
+        // One keyed lookup of running YTD balances for the whole chunk
+        Map<UUID, YtdTotals> ytdTotals = ytdBalanceService.getBalances(
+                employees.stream().map(Employee::getId).toList(), taxYear);
+
+        List<Payslip> payslips = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            if (lostRuns.contains(run.getId())) {
+                throw ownershipLost(run);
+            }
+            if (aborted.get() || monitor.isCancelRequested()) {
+                return PayrollTotals.ZERO;
+            }
+            YtdTotals priorYtd = ytdTotals.get(employee.getId());
+            Payslip payslip = preview != null ? preview.reuse(run.getPayroll(), rates, employee, taxYear, priorYtd) : null;
+            payslips.add(payslip != null ? payslip
+                    : payslipCalculator.calculate(run.getPayroll(), employee, taxYear, priorYtd, run.getMemoizeTaxes()));
+        }
+
+        // Payslips, their YTD balance increments and the checkpoint commit atomically
+        requiresNewTransaction().executeWithoutResult(status -> {
+            // Holds off a claim by another node until this chunk has committed
+            payrollRunRepository.lockOwned(run.getId(), nodeId).orElseThrow(() -> ownershipLost(run));
+            long writeStart = System.nanoTime();
+            payslipBulkWriter.write(payslips, run.getTotalEmployees());
+            monitor.onPayslipsWritten(payslips.size(), System.nanoTime() - writeStart);
+            ytdBalanceService.applyPayslips(payslips, taxYear);
+            checkpointRepository.save(new PayrollRunCheckpoint(run, chunkIndex,
+                    employees.get(0).getId(), employees.get(employees.size() - 1).getId(), employees.size()));
+        });
+        monitor.onEmployeesProcessed(payslips.size());
+        return PayrollTotals.of(payslips);
+    }
+
+    /**
+     * Detached copy of a payslip's employee and amounts, used to reverse its effect.
+     */
+    private static Payslip amountsOf(Payslip payslip) {
+        Payslip copy = new Payslip();
+        copy.setEmployee(payslip.getEmployee());
+        PayslipCalculator.copyAmounts(payslip, copy);
+        return copy;
+    }
+
+    /**
+     * Stop outstanding chunks and remove everything committed for the run,
+     * including chunks committed before a resume.
+     */
+    private void abort(Payroll payroll, PayrollRun run, List<Future<PayrollTotals>> chunks, AtomicBoolean aborted) {
+        aborted.set(true);
+        for (Future<PayrollTotals> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+                // A failed chunk committed nothing; waiting lets in-flight commits land first
+            }
+        }
+
+        requiresNewTransaction().executeWithoutResult(status -> {
+            if (payrollRunRepository.lockOwned(run.getId(), nodeId).isEmpty()) {
+                // Another node has taken the run over and finishes what was committed
+                return;
+            }
+            ytdBalanceService.revertPayslips(payslipRepository.findByPayrollId(payroll.getId()), run.getTaxYear());
+            payslipRepository.deleteByPayrollId(payroll.getId());
+            checkpointRepository.deleteByRunId(run.getId());
+            payrollRunRepository.deleteById(run.getId());
+            payrollRepository.deleteById(payroll.getId());
+        });
+        payslipHistoryCache.invalidateAll();
+    }
+
+    private PayrollRunOwnershipLostException ownershipLost(PayrollRun run) {
+        return new PayrollRunOwnershipLostException("Payroll run " + run.getId()
+                + " has been taken over by another node; this node stops without changing it");
+    }
+
+    /**
+     * Forget a run that has finished or stopped executing on this node.
+     */
+    private void release(UUID runId) {
+        ownedRuns.remove(runId);
+        lostRuns.remove(runId);
+        activeRuns.remove(runId);
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private TransactionTemplate requiresNewTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    /**
+     * Keyset query returning the page of employees following a key.
+     */
+    @FunctionalInterface
+    private interface EmployeePageQuery {
+        List<Employee> find(UUID afterId, Pageable page);
+    }
+}
@@ -0,0 +1,191 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.PayrollRunJobResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory state of an asynchronous payroll run.
+ *
+ * Acts as the run engine's monitor: progress updates arrive from worker
+ * threads and are pushed to any subscribed SSE streams.
+ */
+public class PayrollRunJob implements PayrollRunMonitor {
+
+    private final UUID id = UUID.randomUUID();
+    private final PayrollRunRequest request;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicInteger processedEmployees = new AtomicInteger();
+    private final AtomicLong payslipsWritten = new AtomicLong();
+    private final AtomicLong payslipWriteNanos = new AtomicLong();
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private volatile PayrollRunPhase phase = PayrollRunPhase.QUEUED;
+    private volatile int totalEmployees;
+    private volatile long calculationStartNanos;
+    private volatile boolean cancelRequested;
+    private volatile UUID payrollId;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    public PayrollRunJob(PayrollRunRequest request) {
+        this.request = request;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public PayrollRunRequest getRequest() {
+        return request;
+    }
+
+    public PayrollRunPhase getPhase() {
+        return phase;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    // Monitor callbacks
+
+    @Override
+    public void onPhase(PayrollRunPhase phase) {
+        this.phase = phase;
+        publish();
+    }
+
+    @Override
+    public void onStart(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+        this.calculationStartNanos = System.nanoTime();
+        onPhase(PayrollRunPhase.CALCULATING);
+    }
+
+    @Override
+    public void onEmployeesProcessed(int count) {
+        processedEmployees.addAndGet(count);
+        publish();
+    }
+
+    @Override
+    public void onPayslipsWritten(int rows, long elapsedNanos) {
+        payslipsWritten.addAndGet(rows);
+        payslipWriteNanos.addAndGet(elapsedNanos);
+    }
+
+    @Override
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    // Lifecycle
+
+    /**
+     * Ask the run to stop at its next safe point.
+     */
+    public void requestCancel() {
+        if (!phase.isTerminal()) {
+            cancelRequested = true;
+            publish();
+        }
+    }
+
+    public void complete(UUID payrollId) {
+        this.payrollId = payrollId;
+        finish(PayrollRunPhase.COMPLETED);
+    }
+
+    public void cancelled() {
+        finish(PayrollRunPhase.CANCELLED);
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finish(PayrollRunPhase.FAILED);
+    }
+
+    private void finish(PayrollRunPhase terminalPhase) {
+        this.finishedAt = LocalDateTime.now();
+        onPhase(terminalPhase);
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    // Progress streaming
+
+    /**
+     * Subscribe an SSE stream to this job's progress. The current status is sent immediately.
+     */
+    public void subscribe(SseEmitter emitter) {
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        if (!send(emitter)) {
+            return;
+        }
+        if (phase.isTerminal()) {
+            emitter.complete();
+        } else {
+            emitters.add(emitter);
+        }
+    }
+
+    private void publish() {
+        for (SseEmitter emitter : emitters) {
+            send(emitter);
+        }
+    }
+
+    private boolean send(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(toResponse()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; drop the stream without affecting the run
+            emitters.remove(emitter);
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot of the job's current status including throughput and ETA.
+     */
+    public PayrollRunJobResponse toResponse() {
+        int processed = processedEmployees.get();
+        double elapsedSeconds = calculationStartNanos == 0 ? 0
+                : (System.nanoTime() - calculationStartNanos) / 1_000_000_000.0;
+        double rate = elapsedSeconds > 0 ? processed / elapsedSeconds : 0;
+        double writeSeconds = payslipWriteNanos.get() / 1_000_000_000.0;
+        double writeRate = writeSeconds > 0 ? payslipsWritten.get() / writeSeconds : 0;
+
+        PayrollRunJobResponse response = new PayrollRunJobResponse();
+        response.setJobId(id);
+        response.setCompanyId(request.getCompanyId());
+        response.setPhase(phase);
+        response.setPayPeriodStart(request.getPayPeriodStart());
+        response.setPayPeriodEnd(request.getPayPeriodEnd());
+        response.setTotalEmployees(totalEmployees);
+        response.setProcessedEmployees(processed);
+        response.setEmployeesPerSecond(Math.round(rate * 10) / 10.0);
+        response.setPayslipWriteRowsPerSecond(Math.round(writeRate * 10) / 10.0);
+        if (phase == PayrollRunPhase.CALCULATING && rate > 0) {
+            response.setEtaSeconds(Math.round((totalEmployees - processed) / rate));
+        }
+        response.setPayrollId(payrollId);
+        response.setError(error);
+        response.setSubmittedAt(submittedAt);
+        response.setFinishedAt(finishedAt);
+        return response;
+    }
+}
@@ -0,0 +1,146 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.PayrollRunJobResponse;
+import com.irish.payroll.entity.PayrollRun;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.service.PayrollService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for submitting and tracking asynchronous payroll run jobs.
+ * Finished jobs are kept for an hour so clients can collect the outcome.
+ */
+@Service
+public class PayrollRunJobService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final long SSE_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final Map<UUID, PayrollRunJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PayrollService payrollService;
+
+    /**
+     * Validate and queue a payroll run on the payroll job executor.
+     *
+     * @param request Payroll run request
+     * @return Initial job status
+     */
+    public PayrollRunJobResponse submit(PayrollRunRequest request) {
+        purgeFinishedJobs();
+        payrollService.validateRunRequest(request);
+
+        rejectIfInProgress(request);
+
+        PayrollRunJob job = new PayrollRunJob(request);
+        jobs.put(job.getId(), job);
+        try {
+            payrollService.processPayrollAsync(request, job);
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw new PayrollProcessingException("Payroll job queue is full, try again later", e);
+        }
+
+        return job.toResponse();
+    }
+
+    /**
+     * Queue the resumption of an interrupted run on the payroll job executor.
+     * The run's payroll header must be initialised.
+     *
+     * @param run Interrupted run
+     * @return Initial job status
+     */
+    public PayrollRunJobResponse resume(PayrollRun run) {
+        purgeFinishedJobs();
+
+        PayrollRunRequest request = new PayrollRunRequest();
+        request.setCompanyId(run.getPayroll().getCompany().getId());
+        request.setPayPeriodStart(run.getPayroll().getPayPeriodStart());
+        request.setPayPeriodEnd(run.getPayroll().getPayPeriodEnd());
+        request.setPaymentDate(run.getPayroll().getPaymentDate());
+        rejectIfInProgress(request);
+
+        PayrollRunJob job = new PayrollRunJob(request);
+        jobs.put(job.getId(), job);
+        try {
+            payrollService.resumePayrollAsync(run.getId(), job);
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw new PayrollProcessingException("Payroll job queue is full, try again later", e);
+        }
+
+        return job.toResponse();
+    }
+
+    /**
+     * Get the current status of a job.
+     *
+     * @param jobId Job ID
+     * @return Job status
+     */
+    public PayrollRunJobResponse getJob(UUID jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    /**
+     * Request cooperative cancellation of a job. Chunks already committed are rolled back.
+     *
+     * @param jobId Job ID
+     * @return Job status after the request
+     */
+    public PayrollRunJobResponse cancel(UUID jobId) {
+        PayrollRunJob job = findJob(jobId);
+        job.requestCancel();
+        return job.toResponse();
+    }
+
+    /**
+     * Open an SSE stream of progress events for a job.
+     *
+     * @param jobId Job ID
+     * @return Emitter completed when the job finishes
+     */
+    public SseEmitter subscribe(UUID jobId) {
+        PayrollRunJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    private PayrollRunJob findJob(UUID jobId) {
+        PayrollRunJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new PayrollProcessingException("Payroll job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void rejectIfInProgress(PayrollRunRequest request) {
+        // Runs for different companies may proceed concurrently; one company runs one payroll at a time
+        boolean companyInProgress = jobs.values().stream()
+                .filter(job -> !job.getPhase().isTerminal())
+                .anyMatch(job -> job.getRequest().getCompanyId().equals(request.getCompanyId()));
+        if (companyInProgress) {
+            throw new PayrollProcessingException(
+                    "Payroll run already in progress for company " + request.getCompanyId()
+            );
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
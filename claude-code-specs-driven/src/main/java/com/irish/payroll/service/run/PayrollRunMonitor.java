@@ -0,0 +1,45 @@
+package com.irish.payroll.service.run;
+
+/**
+ * Callback interface through which the run engine reports progress and
+ * checks for cooperative cancellation. Methods may be called from worker threads.
+ */
+public interface PayrollRunMonitor {
+
+    /**
+     * Monitor for synchronous runs that are never cancelled.
+     */
+    PayrollRunMonitor NONE = new PayrollRunMonitor() {
+    };
+
+    /**
+     * Called when the run moves to a new phase.
+     */
+    default void onPhase(PayrollRunPhase phase) {
+    }
+
+    /**
+     * Called once the number of employees in the run is known.
+     */
+    default void onStart(int totalEmployees) {
+    }
+
+    /**
+     * Called after a chunk of employees has been committed.
+     */
+    default void onEmployeesProcessed(int count) {
+    }
+
+    /**
+     * Called after a chunk's payslips have been written, with the time the write took.
+     */
+    default void onPayslipsWritten(int rows, long elapsedNanos) {
+    }
+
+    /**
+     * Whether the run should stop at the next safe point.
+     */
+    default boolean isCancelRequested() {
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.irish.payroll.service.run;
+
+/**
+ * Enum representing the phases of a payroll run job.
+ */
+public enum PayrollRunPhase {
+    QUEUED,
+    LOADING_EMPLOYEES,
+    CALCULATING,
+    FINALISING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * Whether the run has stopped and will make no further progress.
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,68 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.entity.PayrollRun;
+import com.irish.payroll.entity.PayrollRunState;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.repository.PayrollRunRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service that detects incomplete payroll runs and resumes them as jobs.
+ *
+ * On startup a node resumes its own interrupted runs; a periodic sweep
+ * takes over runs whose owning node has stopped heartbeating.
+ */
+@Service
+public class PayrollRunRecoveryService {
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayrollRunEngine payrollRunEngine;
+
+    @Autowired
+    private PayrollRunJobService payrollRunJobService;
+
+    /**
+     * Resume incomplete runs once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        resumeIncompleteRuns();
+    }
+
+    /**
+     * Periodically resume runs abandoned by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${payroll.run.recovery-interval:PT1M}",
+               initialDelayString = "${payroll.run.recovery-interval:PT1M}")
+    public void sweepStaleRuns() {
+        resumeIncompleteRuns();
+    }
+
+    /**
+     * Queue a resume job for every run this node may resume.
+     *
+     * @return Number of runs queued
+     */
+    public int resumeIncompleteRuns() {
+        int queued = 0;
+        for (PayrollRun run : payrollRunRepository.findWithPayrollByState(PayrollRunState.RUNNING)) {
+            if (!payrollRunEngine.isResumable(run)) {
+                continue;
+            }
+            try {
+                payrollRunJobService.resume(run);
+                queued++;
+            } catch (PayrollProcessingException e) {
+                // Already queued or the job queue is full; the next sweep picks the run up again
+            }
+        }
+        return queued;
+    }
+}
@@ -0,0 +1,160 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.entity.Payslip;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk write path for payslips produced by a payroll run.
+ *
+ * Bypasses per-row entity persistence: IDs and audit timestamps are assigned
+ * here, then rows are written in the caller's transaction either with
+ * batched JDBC INSERTs or, on PostgreSQL for runs over the configured size,
+ * with a single {@code COPY ... FROM STDIN}.
+ */
+@Component
+public class PayslipBulkWriter {
+
+    private static final String COLUMNS = "id, payroll_id, employee_id, pay_period_end, gross_pay, paye_deduction, " +
+            "prsi_deduction, usc_deduction, net_pay, tax_credits_used, ytd_gross, ytd_paye, ytd_prsi, ytd_usc, ytd_net, " +
+            "input_fingerprint, created_date, last_modified_date, created_by, last_modified_by";
+
+    private static final String INSERT_SQL = "INSERT INTO payslips (" + COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_SQL = "COPY payslips (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${payroll.run.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Value("${payroll.run.persistence.copy-threshold:10000}")
+    private int copyThreshold;
+
+    /**
+     * Write payslips in the current transaction.
+     *
+     * @param payslips New payslips; IDs and audit fields are assigned if missing
+     * @param runSize Number of employees in the whole run, used to choose COPY
+     */
+    public void write(List<Payslip> payslips, int runSize) {
+        if (payslips.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Payslip payslip : payslips) {
+            if (payslip.getId() == null) {
+                payslip.setId(UUID.randomUUID());
+            }
+            if (payslip.getPayPeriodEnd() == null) {
+                payslip.setPayPeriodEnd(payslip.getPayroll().getPayPeriodEnd());
+            }
+            if (payslip.getCreatedDate() == null) {
+                payslip.setCreatedDate(now);
+                payslip.setLastModifiedDate(now);
+            }
+        }
+
+        if (copyThreshold > 0 && runSize >= copyThreshold && copy(payslips)) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, payslips, Math.max(batchSize, 1), (ps, payslip) -> {
+            Object[] values = values(payslip);
+            for (int i = 0; i < values.length; i++) {
+                ps.setObject(i + 1, values[i]);
+            }
+        });
+    }
+
+    /**
+     * Stream payslips through PostgreSQL COPY.
+     *
+     * @return false if the database is not PostgreSQL
+     */
+    private boolean copy(List<Payslip> payslips) {
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            StringBuilder csv = new StringBuilder(payslips.size() * 256);
+            for (Payslip payslip : payslips) {
+                appendCsvRow(csv, values(payslip));
+            }
+            copyIn(connection, csv.toString());
+            return true;
+        });
+        return Boolean.TRUE.equals(copied);
+    }
+
+    private static void copyIn(Connection connection, String csv) throws SQLException {
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv));
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream payslips to COPY", e);
+        }
+    }
+
+    private static Object[] values(Payslip payslip) {
+        return new Object[] {
+                payslip.getId(),
+                payslip.getPayroll().getId(),
+                payslip.getEmployee().getId(),
+                payslip.getPayPeriodEnd(),
+                payslip.getGrossPay(),
+                payslip.getPayeDeduction(),
+                payslip.getPrsiDeduction(),
+                payslip.getUscDeduction(),
+                payslip.getNetPay(),
+                payslip.getTaxCreditsUsed(),
+                payslip.getYtdGross(),
+                payslip.getYtdPaye(),
+                payslip.getYtdPrsi(),
+                payslip.getYtdUsc(),
+                payslip.getYtdNet(),
+                payslip.getInputFingerprint(),
+                timestamp(payslip.getCreatedDate()),
+                timestamp(payslip.getLastModifiedDate()),
+                payslip.getCreatedBy(),
+                payslip.getLastModifiedBy()
+        };
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static void appendCsvRow(StringBuilder csv, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof BigDecimal decimal) {
+                csv.append(decimal.toPlainString());
+            } else if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                // Unquoted empty fields are NULL in CSV COPY
+                csv.append(value);
+            }
+        }
+        csv.append('\n');
+    }
+}
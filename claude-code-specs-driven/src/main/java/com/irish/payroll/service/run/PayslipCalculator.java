@@ -0,0 +1,147 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.service.tax.CumulativePayeCalculator;
+import com.irish.payroll.service.tax.PayeBasis;
+import com.irish.payroll.service.tax.TaxCalculationService;
+import com.irish.payroll.service.tax.TaxRates;
+import com.irish.payroll.service.tax.TaxResultCache;
+import com.irish.payroll.service.tax.TaxScheduleCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Computes payslips from an employee's inputs and prior YTD totals.
+ * Shared by payroll runs, draft recalculation and previews.
+ */
+@Component
+public class PayslipCalculator {
+
+    @Autowired
+    private TaxCalculationService taxCalculationService;
+
+    @Autowired
+    private TaxResultCache taxResultCache;
+
+    @Autowired
+    private CumulativePayeCalculator cumulativePayeCalculator;
+
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
+
+    @Value("${payroll.tax.paye-basis:PERIOD}")
+    private PayeBasis payeBasis;
+
+    /**
+     * Build a single employee's payslip including YTD amounts.
+     *
+     * @param payroll Payroll the payslip belongs to; for a preview, an unsaved header with the pay period
+     * @param employee Employee to pay
+     * @param taxYear Tax year for rate lookup
+     * @param priorYtd Employee's YTD totals before this payslip
+     * @return Unsaved payslip
+     */
+    public Payslip calculate(Payroll payroll, Employee employee, int taxYear, YtdTotals priorYtd) {
+        return calculate(payroll, employee, taxYear, priorYtd, false);
+    }
+
+    /**
+     * Build a single employee's payslip including YTD amounts, optionally
+     * reusing the taxes of an earlier employee with the same tax inputs.
+     *
+     * Rates come from the tax configuration snapshot the payroll is pinned to,
+     * as in effect on its payment date.
+     *
+     * @param payroll Payroll the payslip belongs to; for a preview, an unsaved header with the pay period
+     * @param employee Employee to pay
+     * @param taxYear Tax year for rate lookup
+     * @param priorYtd Employee's YTD totals before this payslip
+     * @param memoizeTaxes Whether to go through the {@link TaxResultCache}
+     * @return Unsaved payslip
+     */
+    public Payslip calculate(Payroll payroll, Employee employee, int taxYear, YtdTotals priorYtd,
+                             boolean memoizeTaxes) {
+        // Gross salary is annual; one period's share of it is the gross pay for this period
+        BigDecimal grossPay = employee.getPayFrequency().perPeriod(employee.getGrossSalary());
+
+        // Calculate taxes
+        TaxRates rates = payroll != null ? taxScheduleCache.rates(payroll, taxYear) : taxScheduleCache.rates(taxYear);
+        TaxCalculationResponse taxCalc = memoizeTaxes
+                ? taxResultCache.calculateAllTaxes(employee, grossPay, rates)
+                : taxCalculationService.calculateAllTaxes(employee, grossPay, rates);
+        if (payeBasis == PayeBasis.CUMULATIVE && taxCalc.getGrossPay().signum() > 0) {
+            applyCumulativePaye(taxCalc, payroll, employee, rates, priorYtd);
+        }
+
+        // Calculate YTD amounts
+        BigDecimal ytdGross = priorYtd.getGross().add(taxCalc.getGrossPay());
+        BigDecimal ytdPaye = priorYtd.getPaye().add(taxCalc.getPaye());
+        BigDecimal ytdPrsi = priorYtd.getPrsi().add(taxCalc.getPrsi());
+        BigDecimal ytdUsc = priorYtd.getUsc().add(taxCalc.getUsc());
+        BigDecimal ytdNet = ytdGross.subtract(ytdPaye).subtract(ytdPrsi).subtract(ytdUsc);
+
+        Payslip payslip = new Payslip();
+        payslip.setPayroll(payroll);
+        payslip.setEmployee(employee);
+        payslip.setGrossPay(taxCalc.getGrossPay());
+        payslip.setPayeDeduction(taxCalc.getPaye());
+        payslip.setPrsiDeduction(taxCalc.getPrsi());
+        payslip.setUscDeduction(taxCalc.getUsc());
+        payslip.setNetPay(taxCalc.getNetPay());
+        payslip.setTaxCreditsUsed(employee.getTaxCreditsAnnual());
+        payslip.setYtdGross(ytdGross);
+        payslip.setYtdPaye(ytdPaye);
+        payslip.setYtdPrsi(ytdPrsi);
+        payslip.setYtdUsc(ytdUsc);
+        payslip.setYtdNet(ytdNet);
+        payslip.setInputFingerprint(PayslipFingerprint.of(employee, taxYear));
+
+        return payslip;
+    }
+
+    /**
+     * Replace the period-basis PAYE of a calculation with cumulative-basis PAYE
+     * worked out from the employee's YTD balance, and adjust net pay to match.
+     */
+    private void applyCumulativePaye(TaxCalculationResponse taxCalc, Payroll payroll, Employee employee,
+                                     TaxRates rates, YtdTotals priorYtd) {
+        if (payroll == null || payroll.getPayPeriodEnd() == null) {
+            throw new PayrollProcessingException("Cumulative PAYE needs the pay period of the payroll");
+        }
+        int periodNumber = employee.getPayFrequency().periodNumber(payroll.getPayPeriodEnd());
+        BigDecimal paye = cumulativePayeCalculator.calculate(periodNumber, employee.getPayFrequency(),
+                priorYtd.getGross().add(taxCalc.getGrossPay()), employee.getTaxCreditsAnnual(),
+                priorYtd.getPaye(), rates).getPayeThisPeriod();
+
+        taxCalc.setPaye(paye);
+        taxCalc.setNetPay(taxCalc.getGrossPay().subtract(paye).subtract(taxCalc.getPrsi()).subtract(taxCalc.getUsc())
+                .setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Copy the computed amounts and input fingerprint of one payslip onto another.
+     */
+    public static void copyAmounts(Payslip source, Payslip target) {
+        target.setGrossPay(source.getGrossPay());
+        target.setPayeDeduction(source.getPayeDeduction());
+        target.setPrsiDeduction(source.getPrsiDeduction());
+        target.setUscDeduction(source.getUscDeduction());
+        target.setNetPay(source.getNetPay());
+        target.setTaxCreditsUsed(source.getTaxCreditsUsed());
+        target.setYtdGross(source.getYtdGross());
+        target.setYtdPaye(source.getYtdPaye());
+        target.setYtdPrsi(source.getYtdPrsi());
+        target.setYtdUsc(source.getYtdUsc());
+        target.setYtdNet(source.getYtdNet());
+        target.setInputFingerprint(source.getInputFingerprint());
+    }
+}
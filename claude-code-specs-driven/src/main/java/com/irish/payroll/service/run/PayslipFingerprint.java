@@ -0,0 +1,43 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.entity.Employee;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Fingerprint of the employee inputs a payslip was computed from.
+ *
+ * Stored on each payslip so a draft payroll can be recalculated for only
+ * the employees whose salary, tax credits or pay frequency have changed.
+ */
+public final class PayslipFingerprint {
+
+    private PayslipFingerprint() {
+    }
+
+    /**
+     * SHA-256 hex digest of the employee's pay inputs for a tax year.
+     */
+    public static String of(Employee employee, int taxYear) {
+        String inputs = String.join("|",
+                String.valueOf(taxYear),
+                normalise(employee.getGrossSalary()),
+                normalise(employee.getTaxCreditsAnnual()),
+                String.valueOf(employee.getPayFrequency()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputs.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalise(BigDecimal amount) {
+        // 3000 and 3000.00 are the same input
+        return amount == null ? "" : amount.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Calculates PAYE, PRSI, USC and net pay for a whole {@link TaxBatch}.
+ *
+ * The rates are resolved once per batch; each row looks up the period
+ * schedules for its pay frequency by index, then does a band search and a
+ * few long multiplications, with no allocation. Results match
+ * {@link TaxCalculationService#calculateAllTaxes} in value for every row. When
+ * a year's rates are not exact in the integer form, each row is charged
+ * through the BigDecimal schedule instead, which is slower but still exact.
+ */
+@Component
+public class BatchTaxCalculator {
+
+    /**
+     * Fill the output columns of a batch for its first {@link TaxBatch#size()} rows.
+     *
+     * @param batch Batch with its input columns filled
+     * @param rates Rates in effect for every row
+     * @throws TaxCalculationException if a row's charge does not fit in a long
+     */
+    public void calculate(TaxBatch batch, TaxRates rates) {
+        if (batch.size() == 0) {
+            return;
+        }
+        // Fail for a missing tax type before any row is filled
+        rates.getPaye();
+        rates.getUsc();
+        ChargeRule prsiRule = rates.getPrsi();
+        boolean centsForm = rates.hasCentsForm();
+
+        long[] gross = batch.getGrossCents();
+        long[] credits = batch.getTaxCreditCents();
+        PayFrequency[] frequencies = batch.getFrequencies();
+        long[] paye = batch.getPayeCents();
+        long[] prsi = batch.getPrsiCents();
+        long[] usc = batch.getUscCents();
+        long[] net = batch.getNetCents();
+
+        for (int row = 0, size = batch.size(); row < size; row++) {
+            long grossCents = gross[row];
+            if (grossCents <= 0) {
+                paye[row] = 0;
+                prsi[row] = 0;
+                usc[row] = 0;
+                net[row] = 0;
+                continue;
+            }
+            PayFrequency frequency = frequencies[row];
+            TaxSchedule payeSchedule = rates.getPaye(frequency);
+            TaxSchedule uscSchedule = rates.getUsc(frequency);
+            try {
+                long payeCents = centsForm ? payeSchedule.applyCents(grossCents) : applyExact(payeSchedule, grossCents);
+                long uscCents = centsForm ? uscSchedule.applyCents(grossCents) : applyExact(uscSchedule, grossCents);
+                payeCents = Math.max(0, payeCents - frequency.perPeriodCents(Math.max(credits[row], 0)));
+                long prsiCents = centsForm
+                        ? Math.max(prsiRule.applyCents(grossCents, frequency), 0)
+                        : TaxSchedule.toCents(prsiRule.apply(BigDecimal.valueOf(grossCents, 2), frequency));
+
+                paye[row] = payeCents;
+                prsi[row] = prsiCents;
+                usc[row] = uscCents;
+                net[row] = grossCents - payeCents - prsiCents - uscCents;
+            } catch (ArithmeticException e) {
+                throw new TaxCalculationException("Gross pay of " + grossCents + " cents in batch row " + row
+                        + " is out of range", e);
+            }
+        }
+    }
+
+    private static long applyExact(TaxSchedule schedule, long incomeCents) {
+        return TaxSchedule.toCents(schedule.apply(BigDecimal.valueOf(incomeCents, 2)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Integer-cents implementation of the PAYE, PRSI and USC calculations.
+ *
+ * Money is held as {@code long} cents and rates as units of 1/10,000, and
+ * every band charge is rounded half-up to a cent exactly as the BigDecimal
+ * services do, so results are identical including scale. Arithmetic is done
+ * in primitives; BigDecimal values are only created for the response.
+ */
+@Component
+public class CentsTaxCalculator {
+
+    /**
+     * Calculate all taxes for a positive gross pay in integer cents.
+     *
+     * @param employee Employee to calculate taxes for
+     * @param grossPay Positive gross pay amount for the period
+     * @param rates Rates in effect for the period
+     * @return Tax calculation response, or null if an amount or rate cannot be
+     *         represented exactly in cents and the BigDecimal services must be used
+     */
+    public TaxCalculationResponse tryCalculateAllTaxes(Employee employee, BigDecimal grossPay, TaxRates rates) {
+        if (!rates.hasCentsForm()) {
+            return null;
+        }
+        PayFrequency frequency = employee.getPayFrequency();
+        TaxSchedule payeSchedule = rates.getPaye(frequency);
+        TaxSchedule uscSchedule = rates.getUsc(frequency);
+        ChargeRule prsiRule = rates.getPrsi();
+
+        try {
+            long grossCents = TaxSchedule.toCents(grossPay);
+            BigDecimal credits = employee.getTaxCreditsAnnual();
+            long creditCents = credits != null && credits.signum() > 0
+                    ? frequency.perPeriodCents(TaxSchedule.toCents(credits)) : 0;
+
+            long payeCents = Math.max(0, payeSchedule.applyCents(grossCents) - creditCents);
+            long prsiCents = prsiRule.applyCents(grossCents, frequency);
+            long uscCents = uscSchedule.applyCents(grossCents);
+            long netCents = grossCents - payeCents - Math.max(prsiCents, 0) - uscCents;
+
+            return new TaxCalculationResponse(
+                    grossPay,
+                    BigDecimal.valueOf(payeCents, 2),
+                    // Below the threshold the PRSI service returns an unscaled zero
+                    prsiCents == ChargeRule.EXEMPT ? BigDecimal.ZERO : BigDecimal.valueOf(prsiCents, 2),
+                    BigDecimal.valueOf(uscCents, 2),
+                    credits,
+                    BigDecimal.valueOf(netCents, 2)
+            );
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+}
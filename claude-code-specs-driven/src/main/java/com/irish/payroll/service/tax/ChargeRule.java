@@ -0,0 +1,257 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.ChargeBasis;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Executable form of the active rules of one tax type for one tax year.
+ *
+ * Rules are {@code tax_configurations} rows. A row with a pay frequency holds
+ * amounts for one period of that frequency. Rows without one hold annual
+ * amounts, like PAYE and USC bands, and are scaled to the period of every
+ * frequency that has no rows of its own. A frequency with neither is scaled
+ * from the frequency with rows that has the most periods per year, so weekly
+ * thresholds also give the fortnightly ones. Scaled thresholds are rounded to
+ * a cent once, at compilation. The rows for a frequency share a
+ * {@link ChargeBasis}: marginal bands compile to a {@link TaxSchedule}, and
+ * whole-income rows compile to an exemption threshold below which nothing is
+ * charged. A single whole-income row, the usual PRSI class, gets a calculator
+ * of one comparison and one multiply.
+ *
+ * Compilation picks one calculator per frequency, in BigDecimal and, when
+ * every amount is exact in cents, in integer form. Calculating is then an
+ * array lookup by frequency and a call to a small monomorphic lambda, with no
+ * rule interpretation per employee.
+ */
+public final class ChargeRule {
+
+    /**
+     * Result of {@link #applyCents} for income below the exemption threshold.
+     */
+    public static final long EXEMPT = -1L;
+
+    private final int taxYear;
+    private final TaxType taxType;
+    private final Charge[] charges;
+    private final LongUnaryOperator[] centsCharges;
+
+    private ChargeRule(int taxYear, TaxType taxType, Charge[] charges, LongUnaryOperator[] centsCharges) {
+        this.taxYear = taxYear;
+        this.taxType = taxType;
+        this.charges = charges;
+        this.centsCharges = centsCharges;
+    }
+
+    /**
+     * Compile the active rules of a tax type for a year.
+     *
+     * @param taxYear Tax year
+     * @param taxType Tax type
+     * @param rules Active rules; order does not matter
+     * @return Compiled rule
+     * @throws TaxCalculationException if there are no rules, or a pay frequency's rules mix charge bases
+     */
+    public static ChargeRule compile(int taxYear, TaxType taxType, List<TaxConfiguration> rules) {
+        PayFrequency[] frequencies = PayFrequency.values();
+        Charge[] charges = new Charge[frequencies.length];
+        LongUnaryOperator[] centsCharges = new LongUnaryOperator[frequencies.length];
+        PayFrequency finest = null;
+        for (PayFrequency frequency : frequencies) {
+            if (!rulesFor(rules, frequency).isEmpty()
+                    && (finest == null || frequency.getPeriodsPerYear() > finest.getPeriodsPerYear())) {
+                finest = frequency;
+            }
+        }
+
+        for (PayFrequency frequency : frequencies) {
+            // Amounts are multiplied by numerator / denominator to give this frequency's period amounts
+            List<TaxConfiguration> applicable = rulesFor(rules, frequency);
+            int numerator = 1;
+            int denominator = 1;
+            if (applicable.isEmpty()) {
+                applicable = rulesFor(rules, null);
+                denominator = frequency.getPeriodsPerYear();
+            }
+            if (applicable.isEmpty() && finest != null) {
+                applicable = rulesFor(rules, finest);
+                numerator = finest.getPeriodsPerYear();
+            }
+            if (applicable.isEmpty()) {
+                throw new TaxCalculationException("No " + taxType + " tax configuration found for year " + taxYear
+                        + " and " + frequency + " pay");
+            }
+
+            ChargeBasis basis = applicable.get(0).getChargeBasis();
+            if (applicable.stream().anyMatch(rule -> rule.getChargeBasis() != basis)) {
+                throw new TaxCalculationException("Invalid " + taxType + " configuration for year " + taxYear
+                        + " and " + frequency + " pay: bands mix charge bases");
+            }
+
+            int index = frequency.ordinal();
+            if (basis == ChargeBasis.WHOLE_INCOME) {
+                compileWholeIncome(applicable, numerator, denominator, charges, centsCharges, index);
+            } else {
+                TaxSchedule schedule = TaxSchedule.compile(taxYear, taxType, applicable).scale(numerator, denominator);
+                charges[index] = schedule::apply;
+                centsCharges[index] = schedule.hasCentsForm() ? schedule::applyCents : null;
+            }
+        }
+        return new ChargeRule(taxYear, taxType, charges, centsCharges);
+    }
+
+    /**
+     * Apply the rule for a pay frequency to a period's income.
+     *
+     * @param income Positive income for the period
+     * @param frequency Pay frequency of the period
+     * @return Charge rounded to cents, or an unscaled zero when the income is exempt
+     */
+    public BigDecimal apply(BigDecimal income, PayFrequency frequency) {
+        return charges[frequency.ordinal()].apply(income);
+    }
+
+    /**
+     * Whether every pay frequency has an integer form usable by {@link #applyCents}.
+     */
+    public boolean hasCentsForm() {
+        for (LongUnaryOperator centsCharge : centsCharges) {
+            if (centsCharge == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Apply the rule for a pay frequency to a period's income in cents.
+     * Gives the same value as {@link #apply}.
+     *
+     * @param incomeCents Positive income for the period in cents
+     * @param frequency Pay frequency of the period
+     * @return Charge in cents, or {@link #EXEMPT} when the income is exempt
+     * @throws ArithmeticException if the frequency has no integer form or the charge overflows
+     */
+    public long applyCents(long incomeCents, PayFrequency frequency) {
+        LongUnaryOperator centsCharge = centsCharges[frequency.ordinal()];
+        if (centsCharge == null) {
+            throw new ArithmeticException("Tax rule " + taxType + " " + taxYear + " has no integer form for "
+                    + frequency + " pay");
+        }
+        return centsCharge.applyAsLong(incomeCents);
+    }
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    public TaxType getTaxType() {
+        return taxType;
+    }
+
+    private static List<TaxConfiguration> rulesFor(List<TaxConfiguration> rules, PayFrequency frequency) {
+        return rules.stream()
+                .filter(rule -> rule.getPayFrequency() == frequency)
+                .toList();
+    }
+
+    private static void compileWholeIncome(List<TaxConfiguration> rules, int numerator, int denominator,
+                                           Charge[] charges, LongUnaryOperator[] centsCharges, int index) {
+        List<TaxConfiguration> sorted = rules.stream()
+                .sorted(Comparator.comparing(TaxConfiguration::getIncomeLower))
+                .toList();
+        BigDecimal[] thresholds = sorted.stream()
+                .map(rule -> numerator == denominator
+                        ? rule.getIncomeLower() : TaxSchedule.scale(rule.getIncomeLower(), numerator, denominator))
+                .toArray(BigDecimal[]::new);
+        BigDecimal[] rates = sorted.stream().map(TaxConfiguration::getRate).toArray(BigDecimal[]::new);
+
+        long[] thresholdCents = new long[thresholds.length];
+        long[] rateUnits = new long[rates.length];
+        boolean centsForm = true;
+        try {
+            for (int i = 0; i < thresholds.length; i++) {
+                thresholdCents[i] = TaxSchedule.toCents(thresholds[i]);
+                rateUnits[i] = TaxSchedule.toRateUnits(rates[i]);
+                if (rateUnits[i] < 0) {
+                    centsForm = false;
+                }
+            }
+        } catch (ArithmeticException e) {
+            // Not representable in integers; callers fall back to the BigDecimal form
+            centsForm = false;
+        }
+
+        if (thresholds.length == 1) {
+            BigDecimal threshold = thresholds[0];
+            BigDecimal rate = rates[0];
+            charges[index] = income -> income.compareTo(threshold) < 0
+                    ? BigDecimal.ZERO : income.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            if (centsForm) {
+                long minimumCents = thresholdCents[0];
+                long units = rateUnits[0];
+                centsCharges[index] = incomeCents -> incomeCents < minimumCents
+                        ? EXEMPT : TaxSchedule.roundHalfUp(Math.multiplyExact(incomeCents, units));
+            }
+            return;
+        }
+
+        charges[index] = income -> {
+            int step = stepReached(thresholds, income);
+            return step < 0 ? BigDecimal.ZERO : income.multiply(rates[step]).setScale(2, RoundingMode.HALF_UP);
+        };
+        if (centsForm) {
+            centsCharges[index] = incomeCents -> {
+                int step = stepReachedCents(thresholdCents, incomeCents);
+                return step < 0 ? EXEMPT : TaxSchedule.roundHalfUp(Math.multiplyExact(incomeCents, rateUnits[step]));
+            };
+        }
+    }
+
+    /**
+     * Index of the last threshold at or below an income, or -1 if the income is below them all.
+     */
+    private static int stepReached(BigDecimal[] thresholds, BigDecimal income) {
+        int lo = -1;
+        int hi = thresholds.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (thresholds[mid].compareTo(income) <= 0) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private static int stepReachedCents(long[] thresholdCents, long incomeCents) {
+        int lo = -1;
+        int hi = thresholdCents.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (thresholdCents[mid] <= incomeCents) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Charge on a period's income in BigDecimal.
+     */
+    @FunctionalInterface
+    private interface Charge {
+        BigDecimal apply(BigDecimal income);
+    }
+}
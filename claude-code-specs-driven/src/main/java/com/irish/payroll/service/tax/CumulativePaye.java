@@ -0,0 +1,61 @@
+package com.irish.payroll.service.tax;
+
+import java.math.BigDecimal;
+
+/**
+ * PAYE position of one employee at one pay period on the cumulative basis.
+ */
+public class CumulativePaye {
+
+    private final int periodNumber;
+    private final BigDecimal cumulativeGross;
+    private final BigDecimal cumulativeCutOff;
+    private final BigDecimal cumulativeCredits;
+    private final BigDecimal cumulativeTax;
+    private final BigDecimal payeThisPeriod;
+
+    public CumulativePaye(int periodNumber, BigDecimal cumulativeGross, BigDecimal cumulativeCutOff,
+                          BigDecimal cumulativeCredits, BigDecimal cumulativeTax, BigDecimal payeThisPeriod) {
+        this.periodNumber = periodNumber;
+        this.cumulativeGross = cumulativeGross;
+        this.cumulativeCutOff = cumulativeCutOff;
+        this.cumulativeCredits = cumulativeCredits;
+        this.cumulativeTax = cumulativeTax;
+        this.payeThisPeriod = payeThisPeriod;
+    }
+
+    // Getters
+
+    public int getPeriodNumber() {
+        return periodNumber;
+    }
+
+    public BigDecimal getCumulativeGross() {
+        return cumulativeGross;
+    }
+
+    /**
+     * Cumulative width of the first PAYE band, or null if that band is unbounded.
+     */
+    public BigDecimal getCumulativeCutOff() {
+        return cumulativeCutOff;
+    }
+
+    public BigDecimal getCumulativeCredits() {
+        return cumulativeCredits;
+    }
+
+    /**
+     * PAYE due on the cumulative gross after cumulative credits.
+     */
+    public BigDecimal getCumulativeTax() {
+        return cumulativeTax;
+    }
+
+    /**
+     * PAYE to deduct this period; negative when earlier periods overpaid and tax is refunded.
+     */
+    public BigDecimal getPayeThisPeriod() {
+        return payeThisPeriod;
+    }
+}
@@ -0,0 +1,68 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Calculates PAYE on the cumulative basis.
+ *
+ * The band widths of the period schedule for the pay frequency, already
+ * rounded to cents, and one period's share of the annual tax credits are
+ * multiplied by the period number, giving the cumulative cut-off points and
+ * credits. Tax on the cumulative gross less
+ * the PAYE already deducted is this period's PAYE, so over- and under-deductions
+ * in earlier periods correct themselves. Everything needed comes from the
+ * employee's running YTD balance, so the work per employee depends only on
+ * the number of bands, not on how many periods have been paid.
+ */
+@Component
+public class CumulativePayeCalculator {
+
+    /**
+     * Calculate PAYE for a pay period on the cumulative basis.
+     *
+     * @param periodNumber Pay period of the tax year, from 1
+     * @param frequency Pay frequency of the employee
+     * @param cumulativeGross Gross pay to date including this period
+     * @param annualTaxCredits Annual tax credits; null or zero for none
+     * @param payeToDate PAYE deducted in earlier periods of the tax year
+     * @param rates Rates in effect for the period
+     * @return Cumulative PAYE position including the PAYE for this period
+     */
+    public CumulativePaye calculate(int periodNumber, PayFrequency frequency, BigDecimal cumulativeGross,
+                                    BigDecimal annualTaxCredits, BigDecimal payeToDate, TaxRates rates) {
+        int periods = frequency.getPeriodsPerYear();
+        if (periodNumber < 1 || periodNumber > periods) {
+            throw new TaxCalculationException("Pay period " + periodNumber + " is outside the " + periods
+                    + " " + frequency + " periods of tax year " + rates.getTaxYear());
+        }
+        TaxSchedule schedule = rates.getPaye(frequency);
+        BigDecimal period = BigDecimal.valueOf(periodNumber);
+
+        BigDecimal grossTax = BigDecimal.ZERO.setScale(2);
+        BigDecimal bandStart = BigDecimal.ZERO;
+        for (int band = 0; band < schedule.getBandCount() && cumulativeGross.compareTo(bandStart) > 0; band++) {
+            BigDecimal width = schedule.getWidth(band);
+            BigDecimal taxable = cumulativeGross.subtract(bandStart);
+            if (width != null) {
+                BigDecimal cumulativeWidth = width.multiply(period);
+                taxable = taxable.min(cumulativeWidth);
+                bandStart = bandStart.add(cumulativeWidth);
+            }
+            grossTax = grossTax.add(taxable.multiply(schedule.getRate(band)).setScale(2, RoundingMode.HALF_UP));
+        }
+
+        BigDecimal cumulativeCredits = annualTaxCredits != null && annualTaxCredits.signum() > 0
+                ? frequency.perPeriod(annualTaxCredits).multiply(period) : BigDecimal.ZERO.setScale(2);
+        BigDecimal cumulativeTax = grossTax.subtract(cumulativeCredits).max(BigDecimal.ZERO.setScale(2));
+        BigDecimal cumulativeCutOff = schedule.getWidth(0) != null
+                ? schedule.getWidth(0).multiply(period) : null;
+
+        return new CumulativePaye(periodNumber, cumulativeGross, cumulativeCutOff, cumulativeCredits,
+                cumulativeTax, cumulativeTax.subtract(payeToDate).setScale(2, RoundingMode.HALF_UP));
+    }
+}
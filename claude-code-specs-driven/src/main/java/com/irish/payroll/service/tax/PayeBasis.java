@@ -0,0 +1,9 @@
+package com.irish.payroll.service.tax;
+
+/**
+ * How PAYE is calculated for a payslip.
+ */
+public enum PayeBasis {
+    PERIOD,         // annual bands and credits applied to the period's gross alone
+    CUMULATIVE      // cumulative cut-off and credits to date, via CumulativePayeCalculator
+}
@@ -1,15 +1,11 @@
 package com.irish.payroll.service.tax;
 
-import com.irish.payroll.entity.TaxConfiguration;
-import com.irish.payroll.entity.TaxType;
-import com.irish.payroll.exception.TaxCalculationException;
-import com.irish.payroll.repository.TaxConfigurationRepository;
+import com.irish.payroll.entity.PayFrequency;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
 
 /**
  * Service for calculating Irish PAYE (Pay As You Earn) tax.
@@ -18,54 +14,54 @@ import java.util.List;
  * - Standard Rate (20%): First €42,000
  * - Higher Rate (40%): Balance over €42,000
  * - Tax credits reduce the calculated tax amount
+ *
+ * Bands and credits are annual; a period is charged on the bands scaled to
+ * its pay frequency, less one period's share of the credits.
  */
 @Service
 public class PayeCalculationService {
 
     @Autowired
-    private TaxConfigurationRepository taxConfigRepository;
+    private TaxScheduleCache taxScheduleCache;
 
     /**
      * Calculate PAYE tax for a given gross pay amount.
      *
      * @param grossPay Gross pay amount for the period
      * @param annualTaxCredits Annual tax credits
+     * @param frequency Pay frequency of the period
      * @param taxYear Tax year for rate lookup
      * @return PAYE tax amount
      */
-    public BigDecimal calculatePaye(BigDecimal grossPay, BigDecimal annualTaxCredits, int taxYear) {
+    public BigDecimal calculatePaye(BigDecimal grossPay, BigDecimal annualTaxCredits, PayFrequency frequency,
+                                    int taxYear) {
         if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
+        return calculatePaye(grossPay, annualTaxCredits, frequency, taxScheduleCache.rates(taxYear));
+    }
 
-        // Fetch PAYE bands from database
-        List<TaxConfiguration> payeBands = taxConfigRepository.findActiveTaxBands(taxYear, TaxType.PAYE);
-
-        if (payeBands.isEmpty()) {
-            throw new TaxCalculationException("No PAYE tax configuration found for year " + taxYear);
+    /**
+     * Calculate PAYE tax for a given gross pay amount with resolved rates.
+     *
+     * @param grossPay Gross pay amount for the period
+     * @param annualTaxCredits Annual tax credits
+     * @param frequency Pay frequency of the period
+     * @param rates Rates in effect for the period
+     * @return PAYE tax amount
+     */
+    public BigDecimal calculatePaye(BigDecimal grossPay, BigDecimal annualTaxCredits, PayFrequency frequency,
+                                    TaxRates rates) {
+        if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
         }
 
-        // Calculate tax per band
-        BigDecimal totalTax = BigDecimal.ZERO;
-        BigDecimal remainingIncome = grossPay;
-
-        for (TaxConfiguration band : payeBands) {
-            if (remainingIncome.compareTo(BigDecimal.ZERO) <= 0) {
-                break;
-            }
-
-            BigDecimal bandWidth = band.getIncomeUpper().subtract(band.getIncomeLower());
-            BigDecimal taxableInBand = remainingIncome.min(bandWidth);
-            BigDecimal taxForBand = taxableInBand.multiply(band.getRate())
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            totalTax = totalTax.add(taxForBand);
-            remainingIncome = remainingIncome.subtract(taxableInBand);
-        }
+        // Apply the PAYE bands in effect for one period of the frequency
+        BigDecimal totalTax = rates.getPaye(frequency).apply(grossPay);
 
-        // Apply tax credits (if provided)
+        // Apply the period's share of the tax credits (if provided)
         if (annualTaxCredits != null && annualTaxCredits.compareTo(BigDecimal.ZERO) > 0) {
-            totalTax = totalTax.subtract(annualTaxCredits);
+            totalTax = totalTax.subtract(frequency.perPeriod(annualTaxCredits));
         }
 
         // Tax cannot be negative
@@ -1,10 +1,10 @@
 package com.irish.payroll.service.tax;
 
 import com.irish.payroll.entity.PayFrequency;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 /**
  * Service for calculating Irish PRSI (Pay Related Social Insurance).
@@ -15,36 +15,47 @@ import java.math.RoundingMode;
  *   - Weekly: €352
  *   - Monthly: €1,526
  * - No PRSI charged if income is below the threshold
+ *
+ * Rates and thresholds are whole-income rules in tax_configurations, one per
+ * pay frequency, so a class change is a data change. Frequencies without a
+ * rule of their own, such as fortnightly, use thresholds scaled from the
+ * weekly rule when the rules are compiled.
  */
 @Service
 public class PrsiCalculationService {
 
-    private static final BigDecimal EMPLOYEE_PRSI_RATE = new BigDecimal("0.04");
-    private static final BigDecimal WEEKLY_THRESHOLD = new BigDecimal("352");
-    private static final BigDecimal MONTHLY_THRESHOLD = new BigDecimal("1526");
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
 
     /**
      * Calculate employee PRSI for a given gross pay amount.
      *
      * @param grossPay Gross pay amount for the period
-     * @param frequency Pay frequency (weekly or monthly)
+     * @param frequency Pay frequency of the period
+     * @param taxYear Tax year for rate lookup
      * @return PRSI amount
      */
-    public BigDecimal calculateEmployeePrsi(BigDecimal grossPay, PayFrequency frequency) {
+    public BigDecimal calculateEmployeePrsi(BigDecimal grossPay, PayFrequency frequency, int taxYear) {
         if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
+        return calculateEmployeePrsi(grossPay, frequency, taxScheduleCache.rates(taxYear));
+    }
 
-        // Determine threshold based on pay frequency
-        BigDecimal threshold = frequency == PayFrequency.WEEKLY ? WEEKLY_THRESHOLD : MONTHLY_THRESHOLD;
-
-        // No PRSI if below threshold
-        if (grossPay.compareTo(threshold) < 0) {
+    /**
+     * Calculate employee PRSI for a given gross pay amount with resolved rates.
+     *
+     * @param grossPay Gross pay amount for the period
+     * @param frequency Pay frequency of the period
+     * @param rates Rates in effect for the period
+     * @return PRSI amount
+     */
+    public BigDecimal calculateEmployeePrsi(BigDecimal grossPay, PayFrequency frequency, TaxRates rates) {
+        if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
 
-        // Calculate 4% of gross pay
-        return grossPay.multiply(EMPLOYEE_PRSI_RATE)
-                .setScale(2, RoundingMode.HALF_UP);
+        // Apply the compiled PRSI rule in effect for the pay frequency
+        return rates.getPrsi().apply(grossPay, frequency);
     }
 }
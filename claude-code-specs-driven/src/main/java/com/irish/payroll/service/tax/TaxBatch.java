@@ -0,0 +1,103 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+
+/**
+ * Columnar input and output for a batch tax calculation.
+ *
+ * Each row is one employee pay period. Inputs are gross pay and annual tax
+ * credits in cents plus the pay frequency; {@link BatchTaxCalculator} fills the
+ * PAYE, PRSI, USC and net pay columns, also in cents. The arrays are exposed
+ * directly so callers can fill and read them without per-row objects, and a
+ * batch can be reused for successive chunks by calling {@link #clear()}.
+ */
+public final class TaxBatch {
+
+    private final long[] grossCents;
+    private final long[] taxCreditCents;
+    private final PayFrequency[] frequencies;
+
+    private final long[] payeCents;
+    private final long[] prsiCents;
+    private final long[] uscCents;
+    private final long[] netCents;
+
+    private int size;
+
+    public TaxBatch(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Batch capacity must not be negative");
+        }
+        this.grossCents = new long[capacity];
+        this.taxCreditCents = new long[capacity];
+        this.frequencies = new PayFrequency[capacity];
+        this.payeCents = new long[capacity];
+        this.prsiCents = new long[capacity];
+        this.uscCents = new long[capacity];
+        this.netCents = new long[capacity];
+    }
+
+    /**
+     * Append a row and return its index.
+     *
+     * @param grossPayCents Gross pay for the period in cents
+     * @param annualTaxCreditCents Annual tax credits in cents; zero or less means none
+     * @param frequency Pay frequency, which selects the period schedules and PRSI threshold
+     * @return Row index of the added row
+     */
+    public int add(long grossPayCents, long annualTaxCreditCents, PayFrequency frequency) {
+        if (size == grossCents.length) {
+            throw new IllegalStateException("Tax batch is full at " + size + " rows");
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Pay frequency is required for row " + size);
+        }
+        grossCents[size] = grossPayCents;
+        taxCreditCents[size] = annualTaxCreditCents;
+        frequencies[size] = frequency;
+        return size++;
+    }
+
+    /**
+     * Drop all rows so the batch can be refilled.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return grossCents.length;
+    }
+
+    public long[] getGrossCents() {
+        return grossCents;
+    }
+
+    public long[] getTaxCreditCents() {
+        return taxCreditCents;
+    }
+
+    public PayFrequency[] getFrequencies() {
+        return frequencies;
+    }
+
+    public long[] getPayeCents() {
+        return payeCents;
+    }
+
+    public long[] getPrsiCents() {
+        return prsiCents;
+    }
+
+    public long[] getUscCents() {
+        return uscCents;
+    }
+
+    public long[] getNetCents() {
+        return netCents;
+    }
+}
@@ -3,6 +3,7 @@ package com.irish.payroll.service.tax;
 import com.irish.payroll.dto.response.TaxCalculationResponse;
 import com.irish.payroll.entity.Employee;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -11,6 +12,11 @@ import java.math.RoundingMode;
 /**
  * Orchestrator service for calculating all Irish taxes.
  * Coordinates PAYE, PRSI, and USC calculations.
+ *
+ * With {@code payroll.tax.engine=CENTS} the calculation runs in integer cents
+ * through {@link CentsTaxCalculator}, falling back to the BigDecimal services
+ * for amounts or rates that are not exact in cents. Many pay periods can be
+ * calculated at once in columnar form with {@link #calculateBatch}.
  */
 @Service
 public class TaxCalculationService {
@@ -24,6 +30,18 @@ public class TaxCalculationService {
     @Autowired
     private UscCalculationService uscService;
 
+    @Autowired
+    private CentsTaxCalculator centsTaxCalculator;
+
+    @Autowired
+    private BatchTaxCalculator batchTaxCalculator;
+
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
+
+    @Value("${payroll.tax.engine:BIG_DECIMAL}")
+    private TaxEngine engine;
+
     /**
      * Calculate all taxes for an employee's pay period.
      *
@@ -34,25 +52,46 @@ public class TaxCalculationService {
      */
     public TaxCalculationResponse calculateAllTaxes(Employee employee, BigDecimal grossPay, int taxYear) {
         if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
-            return new TaxCalculationResponse(
-                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
-                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO
-            );
+            return zeroTaxes();
+        }
+        return calculateAllTaxes(employee, grossPay, taxScheduleCache.rates(taxYear));
+    }
+
+    /**
+     * Calculate all taxes for an employee's pay period with resolved rates.
+     *
+     * @param employee Employee to calculate taxes for
+     * @param grossPay Gross pay amount for the period
+     * @param rates Rates in effect for the period
+     * @return Tax calculation response with all tax breakdowns
+     */
+    public TaxCalculationResponse calculateAllTaxes(Employee employee, BigDecimal grossPay, TaxRates rates) {
+        if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
+            return zeroTaxes();
         }
 
-        // Calculate each tax component
+        if (engine == TaxEngine.CENTS) {
+            TaxCalculationResponse response = centsTaxCalculator.tryCalculateAllTaxes(employee, grossPay, rates);
+            if (response != null) {
+                return response;
+            }
+        }
+
+        // Calculate each tax component on the schedules for the employee's pay frequency
         BigDecimal paye = payeService.calculatePaye(
                 grossPay,
                 employee.getTaxCreditsAnnual(),
-                taxYear
+                employee.getPayFrequency(),
+                rates
         );
 
         BigDecimal prsi = prsiService.calculateEmployeePrsi(
                 grossPay,
-                employee.getPayFrequency()
+                employee.getPayFrequency(),
+                rates
         );
 
-        BigDecimal usc = uscService.calculateUsc(grossPay, taxYear);
+        BigDecimal usc = uscService.calculateUsc(grossPay, employee.getPayFrequency(), rates);
 
         // Calculate total deductions and net pay
         BigDecimal totalDeductions = paye.add(prsi).add(usc);
@@ -69,4 +108,33 @@ public class TaxCalculationService {
                 netPay
         );
     }
+
+    /**
+     * Calculate all taxes for every row of a columnar batch.
+     *
+     * @param batch Batch of gross pay, tax credits and pay frequencies; its
+     *              PAYE, PRSI, USC and net pay columns are filled in cents
+     * @param taxYear Tax year for rate lookup
+     */
+    public void calculateBatch(TaxBatch batch, int taxYear) {
+        calculateBatch(batch, taxScheduleCache.rates(taxYear));
+    }
+
+    /**
+     * Calculate all taxes for every row of a columnar batch with resolved rates.
+     *
+     * @param batch Batch of gross pay, tax credits and pay frequencies; its
+     *              PAYE, PRSI, USC and net pay columns are filled in cents
+     * @param rates Rates in effect for every row
+     */
+    public void calculateBatch(TaxBatch batch, TaxRates rates) {
+        batchTaxCalculator.calculate(batch, rates);
+    }
+
+    private static TaxCalculationResponse zeroTaxes() {
+        return new TaxCalculationResponse(
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO
+        );
+    }
 }
@@ -0,0 +1,9 @@
+package com.irish.payroll.service.tax;
+
+/**
+ * Arithmetic used by {@link TaxCalculationService}.
+ */
+public enum TaxEngine {
+    BIG_DECIMAL,    // BigDecimal per tax service
+    CENTS           // long cents and scaled-integer rates, falling back to BIG_DECIMAL when inexact
+}
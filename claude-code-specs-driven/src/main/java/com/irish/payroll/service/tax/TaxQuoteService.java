@@ -0,0 +1,308 @@
+package com.irish.payroll.service.tax;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.irish.payroll.dto.request.TaxQuoteRequest;
+import com.irish.payroll.dto.response.TaxQuoteResponse;
+import com.irish.payroll.exception.TaxCalculationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams tax quotes for a sequence of salary records.
+ *
+ * Records are read one at a time from NDJSON or a JSON array and collected
+ * into a fixed-size {@link TaxBatch}. Each full batch is calculated against
+ * the cached schedules and written back as NDJSON lines before more input
+ * is read. Memory use therefore depends on the chunk size, not on the
+ * number of records. A record that cannot be quoted gets an error line in
+ * its place and the stream carries on; malformed JSON ends the stream with
+ * an error line. Amounts too large to quote in cents are rejected as they
+ * are read, and should a chunk still fail, its rows are quoted one at a time
+ * so the error goes only to the row that caused it.
+ *
+ * The time from reading a record to writing its quote is published as the
+ * {@code payroll.tax.quote.latency} timer with 50th, 95th and 99th
+ * percentiles. The time per request is published as
+ * {@code payroll.tax.quote.requests}.
+ */
+@Service
+public class TaxQuoteService {
+
+    /**
+     * Largest amount in cents a record may carry: any charge at a rate of up
+     * to 100% in units of 1/10,000 then fits in a long.
+     */
+    static final long MAX_AMOUNT_CENTS = Long.MAX_VALUE / TaxSchedule.RATE_SCALE;
+
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(MAX_AMOUNT_CENTS, 2);
+
+    @Autowired
+    private TaxCalculationService taxCalculationService;
+
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${payroll.tax.quote.chunk-size:512}")
+    private int chunkSize;
+
+    private ObjectReader quoteReader;
+
+    private ObjectWriter quoteWriter;
+
+    private Timer quoteLatency;
+
+    private Timer requestDuration;
+
+    @PostConstruct
+    void init() {
+        quoteReader = objectMapper.readerFor(TaxQuoteRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        quoteWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(TaxQuoteResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (meterRegistry != null) {
+            quoteLatency = Timer.builder("payroll.tax.quote.latency")
+                    .description("Time from reading a tax quote record to writing its quote")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            requestDuration = Timer.builder("payroll.tax.quote.requests")
+                    .description("Time to stream one bulk tax quote request")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Quote every record of an input stream and write the quotes to an output stream.
+     *
+     * @param input NDJSON records or a JSON array of records
+     * @param output Stream receiving one NDJSON line per record, in input order
+     * @param taxYear Tax year for rate lookup; every record is quoted with the rates in effect when the request starts
+     * @return Number of records read, including those that could not be quoted
+     * @throws TaxCalculationException if the tax year has no configuration; nothing is written then
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public long streamQuotes(InputStream input, OutputStream output, int taxYear) throws IOException {
+        // Fail before the response is committed if the year cannot be quoted
+        TaxRates rates = taxScheduleCache.rates(taxYear);
+        rates.getPaye();
+        rates.getUsc();
+        rates.getPrsi();
+
+        long started = System.nanoTime();
+        QuoteChunk chunk = new QuoteChunk(chunkSize);
+        TaxQuoteResponse line = new TaxQuoteResponse();
+        long index = 0;
+        try (MappingIterator<TaxQuoteRequest> records = quoteReader.readValues(input);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are ended explicitly rather than separated
+            generator.setRootValueSeparator(null);
+            while (true) {
+                TaxQuoteRequest record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    record = records.nextValue();
+                } catch (StreamReadException e) {
+                    writeChunk(chunk, generator, line, rates);
+                    writeError(generator, line, index, null, "Malformed quote input: " + e.getOriginalMessage());
+                    break;
+                } catch (DatabindException e) {
+                    writeChunk(chunk, generator, line, rates);
+                    writeError(generator, line, index++, null, "Invalid quote record: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String error = chunk.add(index, record, System.nanoTime());
+                if (error != null) {
+                    writeChunk(chunk, generator, line, rates);
+                    writeError(generator, line, index, record.getId(), error);
+                } else if (chunk.isFull()) {
+                    writeChunk(chunk, generator, line, rates);
+                }
+                index++;
+            }
+            writeChunk(chunk, generator, line, rates);
+        } finally {
+            if (requestDuration != null) {
+                requestDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Calculate and write the pending records of a chunk, then flush so the quotes reach the caller.
+     */
+    private void writeChunk(QuoteChunk chunk, JsonGenerator generator, TaxQuoteResponse line, TaxRates rates)
+            throws IOException {
+        TaxBatch batch = chunk.batch;
+        if (batch.size() == 0) {
+            return;
+        }
+        try {
+            taxCalculationService.calculateBatch(batch, rates);
+        } catch (TaxCalculationException e) {
+            calculateRows(chunk, rates);
+        }
+
+        for (int row = 0, size = batch.size(); row < size; row++) {
+            if (chunk.errors[row] != null) {
+                writeError(generator, line, chunk.indexes[row], chunk.ids[row], chunk.errors[row]);
+                continue;
+            }
+            line.setIndex(chunk.indexes[row]);
+            line.setId(chunk.ids[row]);
+            line.setGrossPay(BigDecimal.valueOf(batch.getGrossCents()[row], 2));
+            line.setPaye(BigDecimal.valueOf(batch.getPayeCents()[row], 2));
+            line.setPrsi(BigDecimal.valueOf(batch.getPrsiCents()[row], 2));
+            line.setUsc(BigDecimal.valueOf(batch.getUscCents()[row], 2));
+            line.setNetPay(BigDecimal.valueOf(batch.getNetCents()[row], 2));
+            line.setError(null);
+            writeLine(generator, line);
+            if (quoteLatency != null) {
+                quoteLatency.record(System.nanoTime() - chunk.readNanos[row], TimeUnit.NANOSECONDS);
+            }
+        }
+        generator.flush();
+        chunk.clear();
+    }
+
+    /**
+     * Calculate each row of a chunk on its own after the chunk as a whole has
+     * failed, keeping the error against the row that caused it.
+     */
+    private void calculateRows(QuoteChunk chunk, TaxRates rates) {
+        TaxBatch batch = chunk.batch;
+        TaxBatch single = chunk.single;
+        for (int row = 0, size = batch.size(); row < size; row++) {
+            single.clear();
+            single.add(batch.getGrossCents()[row], batch.getTaxCreditCents()[row], batch.getFrequencies()[row]);
+            try {
+                taxCalculationService.calculateBatch(single, rates);
+            } catch (TaxCalculationException e) {
+                chunk.errors[row] = e.getMessage();
+                continue;
+            }
+            batch.getPayeCents()[row] = single.getPayeCents()[0];
+            batch.getPrsiCents()[row] = single.getPrsiCents()[0];
+            batch.getUscCents()[row] = single.getUscCents()[0];
+            batch.getNetCents()[row] = single.getNetCents()[0];
+        }
+    }
+
+    private void writeError(JsonGenerator generator, TaxQuoteResponse line, long index, String id,
+                                   String error) throws IOException {
+        line.setIndex(index);
+        line.setId(id);
+        line.setGrossPay(null);
+        line.setPaye(null);
+        line.setPrsi(null);
+        line.setUsc(null);
+        line.setNetPay(null);
+        line.setError(error);
+        writeLine(generator, line);
+    }
+
+    private void writeLine(JsonGenerator generator, TaxQuoteResponse line) throws IOException {
+        quoteWriter.writeValue(generator, line);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Records waiting to be quoted: a tax batch plus each row's position, reference, read time and,
+     * once calculated, any error.
+     */
+    private static final class QuoteChunk {
+
+        private final TaxBatch batch;
+        private final TaxBatch single = new TaxBatch(1);
+        private final long[] indexes;
+        private final String[] ids;
+        private final long[] readNanos;
+        private final String[] errors;
+
+        QuoteChunk(int capacity) {
+            this.batch = new TaxBatch(capacity);
+            this.indexes = new long[capacity];
+            this.ids = new String[capacity];
+            this.readNanos = new long[capacity];
+            this.errors = new String[capacity];
+        }
+
+        /**
+         * Add a record, or return why it cannot be quoted.
+         */
+        String add(long index, TaxQuoteRequest record, long readAt) {
+            if (record.getGrossPay() == null) {
+                return "grossPay is required";
+            }
+            if (record.getPayFrequency() == null) {
+                return "payFrequency is required";
+            }
+            if (record.getGrossPay().abs().compareTo(MAX_AMOUNT) > 0) {
+                return "grossPay is out of range";
+            }
+            if (record.getTaxCreditsAnnual() != null && record.getTaxCreditsAnnual().abs().compareTo(MAX_AMOUNT) > 0) {
+                return "taxCreditsAnnual is out of range";
+            }
+            long grossCents;
+            long creditCents;
+            try {
+                grossCents = TaxSchedule.toCents(record.getGrossPay());
+            } catch (ArithmeticException e) {
+                return "grossPay must be a whole number of cents";
+            }
+            try {
+                creditCents = record.getTaxCreditsAnnual() != null ? TaxSchedule.toCents(record.getTaxCreditsAnnual()) : 0;
+            } catch (ArithmeticException e) {
+                return "taxCreditsAnnual must be a whole number of cents";
+            }
+
+            int row = batch.add(grossCents, creditCents, record.getPayFrequency());
+            indexes[row] = index;
+            ids[row] = record.getId();
+            readNanos[row] = readAt;
+            return null;
+        }
+
+        boolean isFull() {
+            return batch.size() == batch.capacity();
+        }
+
+        void clear() {
+            batch.clear();
+            Arrays.fill(ids, null);
+            Arrays.fill(errors, null);
+        }
+    }
+}
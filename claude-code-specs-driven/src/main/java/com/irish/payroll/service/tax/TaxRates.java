@@ -0,0 +1,149 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+
+import java.time.LocalDate;
+
+/**
+ * Compiled PAYE and USC schedules and PRSI rule in effect over one interval
+ * of a tax year, as published in one tax configuration snapshot.
+ *
+ * Instances are immutable and shared by every calculation that resolves to
+ * the same snapshot, year and interval, so a run that holds one calculates
+ * every employee with the same rates whatever is activated meanwhile. A tax
+ * type without bands in the interval fails when it is first used, as a
+ * missing year always has.
+ *
+ * The annual PAYE and USC schedules are scaled to every pay frequency when
+ * the rates are compiled, so a period's schedule is an array lookup by
+ * frequency.
+ */
+public final class TaxRates {
+
+    private final long snapshotVersion;
+    private final int taxYear;
+    private final LocalDate effectiveFrom;
+    private final LocalDate effectiveTo;
+    private final TaxSchedule paye;
+    private final TaxSchedule usc;
+    private final ChargeRule prsi;
+    private final TaxSchedule[] payeByFrequency;
+    private final TaxSchedule[] uscByFrequency;
+
+    TaxRates(long snapshotVersion, int taxYear, LocalDate effectiveFrom, LocalDate effectiveTo,
+             TaxSchedule paye, TaxSchedule usc, ChargeRule prsi) {
+        this.snapshotVersion = snapshotVersion;
+        this.taxYear = taxYear;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+        this.paye = paye;
+        this.usc = usc;
+        this.prsi = prsi;
+        this.payeByFrequency = paye != null ? perPeriod(paye) : null;
+        this.uscByFrequency = usc != null ? perPeriod(usc) : null;
+    }
+
+    /**
+     * Version of the snapshot the rates were published in.
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * First day the rates apply.
+     */
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * Last day the rates apply, at most the end of the tax year.
+     */
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    /**
+     * Annual PAYE schedule.
+     *
+     * @throws TaxCalculationException if no PAYE bands are in effect
+     */
+    public TaxSchedule getPaye() {
+        return require(paye, TaxType.PAYE);
+    }
+
+    /**
+     * PAYE schedule for one pay period of a frequency.
+     *
+     * @throws TaxCalculationException if no PAYE bands are in effect
+     */
+    public TaxSchedule getPaye(PayFrequency frequency) {
+        return require(payeByFrequency, TaxType.PAYE)[frequency.ordinal()];
+    }
+
+    /**
+     * Annual USC schedule.
+     *
+     * @throws TaxCalculationException if no USC bands are in effect
+     */
+    public TaxSchedule getUsc() {
+        return require(usc, TaxType.USC);
+    }
+
+    /**
+     * USC schedule for one pay period of a frequency.
+     *
+     * @throws TaxCalculationException if no USC bands are in effect
+     */
+    public TaxSchedule getUsc(PayFrequency frequency) {
+        return require(uscByFrequency, TaxType.USC)[frequency.ordinal()];
+    }
+
+    /**
+     * @throws TaxCalculationException if no PRSI rules are in effect
+     */
+    public ChargeRule getPrsi() {
+        return require(prsi, TaxType.PRSI);
+    }
+
+    /**
+     * Whether every tax type has an integer form for calculating in cents.
+     */
+    public boolean hasCentsForm() {
+        return payeByFrequency != null && hasCentsForm(payeByFrequency)
+                && uscByFrequency != null && hasCentsForm(uscByFrequency)
+                && prsi != null && prsi.hasCentsForm();
+    }
+
+    private static TaxSchedule[] perPeriod(TaxSchedule annual) {
+        PayFrequency[] frequencies = PayFrequency.values();
+        TaxSchedule[] schedules = new TaxSchedule[frequencies.length];
+        for (PayFrequency frequency : frequencies) {
+            schedules[frequency.ordinal()] = annual.perPeriod(frequency);
+        }
+        return schedules;
+    }
+
+    private static boolean hasCentsForm(TaxSchedule[] schedules) {
+        for (TaxSchedule schedule : schedules) {
+            if (!schedule.hasCentsForm()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <T> T require(T compiled, TaxType taxType) {
+        if (compiled == null) {
+            throw new TaxCalculationException("No " + taxType + " tax configuration found for year " + taxYear);
+        }
+        return compiled;
+    }
+}
@@ -0,0 +1,115 @@
+package com.irish.payroll.service.tax;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Memoized tax calculations keyed on the inputs that determine the result.
+ *
+ * Employees on the same pay scale with standard credits share gross pay,
+ * annual tax credits, pay frequency and tax rates, so their taxes only need
+ * to be calculated once per run. Keys include the compiled {@link TaxRates},
+ * which are distinct for every snapshot version and interval, so a result
+ * is never served across a tax configuration change. The cache is also
+ * cleared when a snapshot is activated to release the memory.
+ * Hit and miss counts and the size are published as the {@code cache.*}
+ * metrics tagged {@code cache=taxResults}, and the hit ratio as
+ * {@code payroll.tax.results.hit.ratio}.
+ */
+@Component
+public class TaxResultCache {
+
+    static final String CACHE_NAME = "taxResults";
+
+    @Autowired
+    private TaxCalculationService taxCalculationService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${payroll.tax.result-cache.enabled:true}")
+    private boolean enabledByDefault;
+
+    @Value("${payroll.tax.result-cache.ttl:PT1H}")
+    private Duration ttl;
+
+    @Value("${payroll.tax.result-cache.max-entries:10000}")
+    private long maxEntries;
+
+    private Cache<ResultKey, TaxCalculationResponse> results;
+
+    @PostConstruct
+    void init() {
+        results = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+            Gauge.builder("payroll.tax.results.hit.ratio", results, cache -> cache.stats().hitRate())
+                    .description("Fraction of tax calculations served from the result cache")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Whether runs memoize tax results when the run request does not say.
+     */
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    /**
+     * Calculate all taxes for an employee's pay period, reusing the result of
+     * an earlier calculation with the same inputs.
+     *
+     * @param employee Employee to calculate taxes for
+     * @param grossPay Gross pay amount for the period
+     * @param rates Rates in effect for the period
+     * @return Tax calculation response owned by the caller
+     */
+    public TaxCalculationResponse calculateAllTaxes(Employee employee, BigDecimal grossPay, TaxRates rates) {
+        if (grossPay == null) {
+            return taxCalculationService.calculateAllTaxes(employee, grossPay, rates);
+        }
+        // BigDecimal keys compare scale too, so a hit returns amounts with the same scale as a fresh calculation
+        ResultKey key = new ResultKey(grossPay, employee.getTaxCreditsAnnual(), employee.getPayFrequency(), rates);
+        TaxCalculationResponse result = results.get(key,
+                k -> taxCalculationService.calculateAllTaxes(employee, grossPay, rates));
+        // Responses are mutable, so every caller gets its own copy
+        return new TaxCalculationResponse(result.getGrossPay(), result.getPaye(), result.getPrsi(),
+                result.getUsc(), result.getTaxCreditsUsed(), result.getNetPay());
+    }
+
+    /**
+     * Drop every memoized result.
+     */
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    /**
+     * Number of memoized results.
+     */
+    public long size() {
+        return results.estimatedSize();
+    }
+
+    private record ResultKey(BigDecimal grossPay, BigDecimal taxCredits, PayFrequency payFrequency,
+                             TaxRates rates) {
+    }
+}
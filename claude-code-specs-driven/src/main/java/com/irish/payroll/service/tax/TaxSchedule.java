@@ -0,0 +1,365 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, compiled form of the active bands of one tax type for one tax year.
+ *
+ * Bands are sorted by lower threshold and laid end to end by width, as the
+ * band-by-band calculation always has. Compilation precomputes each band's
+ * starting income and the tax due on all bands below it, with every full
+ * band charge rounded half-up to a cent. Tax for an income is then one
+ * binary search for its band plus one rounded multiply, whatever the number
+ * of bands, and matches the band-by-band result exactly. A band without an
+ * upper threshold is unbounded; bands above it are unreachable and dropped.
+ *
+ * When every threshold is a whole number of cents and every rate has at most
+ * four decimal places, the schedule also carries an integer form: amounts in
+ * cents and rates in units of 1/10,000. {@link #applyCents} uses it to
+ * reproduce {@link #apply} exactly without allocating.
+ *
+ * Bands are stored as annual amounts. {@link #perPeriod} derives the schedule
+ * for one pay period of a frequency, with each threshold divided and rounded
+ * to a cent once, so calculating a period's tax does no scaling.
+ */
+public final class TaxSchedule {
+
+    /**
+     * Rates are scaled to units of 1/10,000 in the integer form.
+     */
+    static final long RATE_SCALE = 10_000L;
+
+    private static final int RATE_DIGITS = 4;
+
+    private static final int EFFECTIVE_RATE_SCALE = 6;
+
+    private final int taxYear;
+    private final TaxType taxType;
+    private final BigDecimal[] bandStarts;
+    private final BigDecimal[] widths;
+    private final BigDecimal[] rates;
+    private final BigDecimal[] taxBelow;
+    private final long[] bandStartCents;
+    private final long[] widthCents;
+    private final long[] rateUnits;
+    private final long[] taxBelowCents;
+
+    private TaxSchedule(int taxYear, TaxType taxType, BigDecimal[] widths, BigDecimal[] rates) {
+        this.taxYear = taxYear;
+        this.taxType = taxType;
+        this.widths = widths;
+        this.rates = rates;
+
+        int count = rates.length;
+        this.bandStarts = new BigDecimal[count];
+        this.taxBelow = new BigDecimal[count];
+        BigDecimal start = BigDecimal.ZERO;
+        BigDecimal tax = BigDecimal.ZERO;
+        for (int i = 0; i < count; i++) {
+            bandStarts[i] = start;
+            taxBelow[i] = tax;
+            if (widths[i] != null) {
+                start = start.add(widths[i]);
+                tax = tax.add(widths[i].multiply(rates[i]).setScale(2, RoundingMode.HALF_UP));
+            }
+        }
+
+        long[] starts = new long[count];
+        long[] centWidths = new long[count];
+        long[] units = new long[count];
+        long[] below = new long[count];
+        try {
+            long startCents = 0;
+            long taxCents = 0;
+            for (int i = 0; i < count; i++) {
+                units[i] = toRateUnits(rates[i]);
+                if (units[i] < 0) {
+                    throw new ArithmeticException("Negative rate");
+                }
+                starts[i] = startCents;
+                below[i] = taxCents;
+                if (widths[i] != null) {
+                    centWidths[i] = toCents(widths[i]);
+                    startCents = Math.addExact(startCents, centWidths[i]);
+                    taxCents = Math.addExact(taxCents, roundHalfUp(Math.multiplyExact(centWidths[i], units[i])));
+                } else {
+                    centWidths[i] = Long.MAX_VALUE;
+                }
+            }
+        } catch (ArithmeticException e) {
+            // Not representable in integers; callers fall back to the BigDecimal form
+            starts = null;
+            centWidths = null;
+            units = null;
+            below = null;
+        }
+        this.bandStartCents = starts;
+        this.widthCents = centWidths;
+        this.rateUnits = units;
+        this.taxBelowCents = below;
+    }
+
+    /**
+     * Compile the active bands of a tax type for a year.
+     *
+     * @param taxYear Tax year
+     * @param taxType Tax type
+     * @param bands Active bands; order does not matter
+     * @return Compiled schedule
+     * @throws TaxCalculationException if there are no bands or a band's upper threshold is below its lower one
+     */
+    public static TaxSchedule compile(int taxYear, TaxType taxType, List<TaxConfiguration> bands) {
+        if (bands.isEmpty()) {
+            throw new TaxCalculationException("No " + taxType + " tax configuration found for year " + taxYear);
+        }
+
+        List<TaxConfiguration> sorted = bands.stream()
+                .sorted(Comparator.comparing(TaxConfiguration::getIncomeLower))
+                .toList();
+        List<BigDecimal> widths = new ArrayList<>();
+        List<BigDecimal> rates = new ArrayList<>();
+        for (TaxConfiguration band : sorted) {
+            BigDecimal width = band.getIncomeUpper() != null ? band.getIncomeUpper().subtract(band.getIncomeLower()) : null;
+            if (width != null && width.signum() < 0) {
+                throw new TaxCalculationException("Invalid " + taxType + " band " + band.getBandName()
+                        + " for year " + taxYear + ": upper threshold is below lower threshold");
+            }
+            widths.add(width);
+            rates.add(band.getRate());
+            if (width == null) {
+                break;
+            }
+        }
+        return new TaxSchedule(taxYear, taxType, widths.toArray(BigDecimal[]::new), rates.toArray(BigDecimal[]::new));
+    }
+
+    /**
+     * Schedule for one pay period of a frequency: every threshold divided by
+     * the periods in a year and rounded half-up to a cent, at the same rates.
+     * These are the cut-off points the cumulative basis accumulates per period.
+     *
+     * @param frequency Pay frequency
+     * @return Period schedule
+     */
+    public TaxSchedule perPeriod(PayFrequency frequency) {
+        return scale(1, frequency.getPeriodsPerYear());
+    }
+
+    /**
+     * Schedule with every threshold multiplied by {@code numerator / denominator},
+     * rounded half-up to a cent. Widths are the differences between the scaled
+     * thresholds, so rounding does not accumulate up the bands.
+     */
+    TaxSchedule scale(int numerator, int denominator) {
+        if (numerator == denominator) {
+            return this;
+        }
+        BigDecimal[] scaled = new BigDecimal[widths.length];
+        BigDecimal scaledStart = BigDecimal.ZERO;
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] != null) {
+                BigDecimal scaledEnd = scale(bandStarts[i].add(widths[i]), numerator, denominator);
+                scaled[i] = scaledEnd.subtract(scaledStart);
+                scaledStart = scaledEnd;
+            }
+        }
+        return new TaxSchedule(taxYear, taxType, scaled, rates);
+    }
+
+    /**
+     * Multiply an amount by {@code numerator / denominator}, rounded half-up to a cent.
+     */
+    static BigDecimal scale(BigDecimal amount, int numerator, int denominator) {
+        return amount.multiply(BigDecimal.valueOf(numerator))
+                .divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Apply the schedule to an income, rounding the charge of each band to cents.
+     *
+     * @param income Income to charge; zero or negative incomes are not charged
+     * @return Total charge across all bands
+     */
+    public BigDecimal apply(BigDecimal income) {
+        if (income.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+
+        int band = bandBelow(income);
+        BigDecimal taxableInBand = income.subtract(bandStarts[band]);
+        if (widths[band] != null) {
+            taxableInBand = taxableInBand.min(widths[band]);
+        }
+        return taxBelow[band].add(taxableInBand.multiply(rates[band]).setScale(2, RoundingMode.HALF_UP))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Whether the schedule has an integer form usable by {@link #applyCents}.
+     */
+    public boolean hasCentsForm() {
+        return rateUnits != null;
+    }
+
+    /**
+     * Apply the schedule to an income in cents, rounding the charge of each
+     * band half-up to a cent. Gives the same result as {@link #apply}.
+     *
+     * @param incomeCents Income in cents; zero or negative incomes are not charged
+     * @return Total charge in cents
+     * @throws ArithmeticException if the schedule has no integer form or the charge overflows
+     */
+    public long applyCents(long incomeCents) {
+        if (rateUnits == null) {
+            throw new ArithmeticException("Tax schedule " + taxType + " " + taxYear + " has no integer form");
+        }
+        if (incomeCents <= 0) {
+            return 0;
+        }
+
+        int band = bandBelowCents(incomeCents);
+        long taxableInBand = Math.min(incomeCents - bandStartCents[band], widthCents[band]);
+        return Math.addExact(taxBelowCents[band], roundHalfUp(Math.multiplyExact(taxableInBand, rateUnits[band])));
+    }
+
+    /**
+     * Rate charged on the next cent earned above an income, or zero above the
+     * top of a schedule whose last band is bounded.
+     *
+     * @param income Current income; negative incomes are treated as zero
+     * @return Marginal rate
+     */
+    public BigDecimal marginalRate(BigDecimal income) {
+        BigDecimal floor = income.max(BigDecimal.ZERO);
+        // Band whose range contains the next cent: last band starting at or below the income
+        int lo = 0;
+        int hi = bandStarts.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (bandStarts[mid].compareTo(floor) <= 0) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (widths[lo] != null && floor.compareTo(bandStarts[lo].add(widths[lo])) >= 0) {
+            return BigDecimal.ZERO;
+        }
+        return rates[lo];
+    }
+
+    /**
+     * Total charge on an income as a fraction of that income.
+     *
+     * @param income Income; zero or negative incomes have an effective rate of zero
+     * @return Effective rate to six decimal places
+     */
+    public BigDecimal effectiveRate(BigDecimal income) {
+        if (income.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(EFFECTIVE_RATE_SCALE);
+        }
+        return apply(income).divide(income, EFFECTIVE_RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Convert an amount with at most two decimal places to cents.
+     *
+     * @throws ArithmeticException if the amount has a fraction of a cent or does not fit in a long
+     */
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Convert a rate with at most four decimal places to units of 1/10,000.
+     *
+     * @throws ArithmeticException if the rate has more decimal places or does not fit in a long
+     */
+    static long toRateUnits(BigDecimal rate) {
+        return rate.movePointRight(RATE_DIGITS).longValueExact();
+    }
+
+    /**
+     * Round a non-negative product of cents and rate units half-up to whole cents.
+     */
+    static long roundHalfUp(long centRateUnits) {
+        return Math.addExact(centRateUnits, RATE_SCALE / 2) / RATE_SCALE;
+    }
+
+    /**
+     * Index of the band a positive income ends in: the last band starting strictly below it.
+     */
+    private int bandBelow(BigDecimal income) {
+        int lo = 0;
+        int hi = bandStarts.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (bandStarts[mid].compareTo(income) < 0) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private int bandBelowCents(long incomeCents) {
+        int lo = 0;
+        int hi = bandStartCents.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (bandStartCents[mid] < incomeCents) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    public TaxType getTaxType() {
+        return taxType;
+    }
+
+    public int getBandCount() {
+        return rates.length;
+    }
+
+    /**
+     * Income at which a band starts: the combined width of the bands below it.
+     */
+    public BigDecimal getBandStart(int band) {
+        return bandStarts[band];
+    }
+
+    /**
+     * Width of a band, or null if it is unbounded.
+     */
+    public BigDecimal getWidth(int band) {
+        return widths[band];
+    }
+
+    public BigDecimal getRate(int band) {
+        return rates[band];
+    }
+
+    /**
+     * Tax due on all bands below a band, each rounded to cents.
+     */
+    public BigDecimal getTaxBelow(int band) {
+        return taxBelow[band];
+    }
+}
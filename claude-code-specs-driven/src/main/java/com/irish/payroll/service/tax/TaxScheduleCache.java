@@ -0,0 +1,160 @@
+package com.irish.payroll.service.tax;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.TaxConfigSnapshot;
+import com.irish.payroll.entity.TaxSnapshotStatus;
+import com.irish.payroll.exception.TaxCalculationException;
+import com.irish.payroll.repository.TaxConfigSnapshotRepository;
+import com.irish.payroll.repository.TaxConfigurationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compiled tax configuration snapshots used for calculations.
+ *
+ * The active snapshot is held in a copy-on-write reference: a new version
+ * is compiled in full before the reference is swapped, so a calculation
+ * sees the old or the new snapshot, never a mix of both, and no lock is
+ * taken per lookup. Payrolls pinned to an older version resolve it from a
+ * small cache of compiled snapshots; the rows of a snapshot never change,
+ * so entries are only evicted by size. Each node checks the active version
+ * on an interval, so an activation on another node is picked up without a
+ * restart. Hit and miss counts are published as the {@code cache.gets}
+ * metric tagged {@code cache=taxSnapshots}.
+ */
+@Component
+public class TaxScheduleCache {
+
+    static final String CACHE_NAME = "taxSnapshots";
+
+    @Autowired
+    private TaxConfigurationRepository taxConfigRepository;
+
+    @Autowired
+    private TaxConfigSnapshotRepository snapshotRepository;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${payroll.tax.schedule-cache.max-entries:16}")
+    private long maxEntries;
+
+    private final AtomicReference<TaxSnapshot> active = new AtomicReference<>();
+
+    private LoadingCache<Long, TaxSnapshot> snapshots;
+
+    @PostConstruct
+    void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build(this::load);
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Get the active snapshot, loading it on first use.
+     *
+     * @throws TaxCalculationException if no snapshot is active
+     */
+    public TaxSnapshot active() {
+        TaxSnapshot snapshot = active.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Get a snapshot by version, loading it on first use.
+     * Concurrent callers for the same version share one load.
+     *
+     * @throws TaxCalculationException if the version does not exist or its bands do not compile
+     */
+    public TaxSnapshot get(long version) {
+        TaxSnapshot snapshot = active.get();
+        if (snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
+        return snapshots.get(version);
+    }
+
+    /**
+     * Rates of the active snapshot for a tax year, in effect today or on the nearest day of the year.
+     *
+     * @throws TaxCalculationException if the year has no configuration
+     */
+    public TaxRates rates(int taxYear) {
+        return active().rates(taxYear);
+    }
+
+    /**
+     * Rates for a payroll: from the snapshot it is pinned to, in effect on its payment date.
+     * A payroll not yet pinned resolves against the active snapshot.
+     *
+     * @throws TaxCalculationException if the year has no configuration in effect on the payment date
+     */
+    public TaxRates rates(Payroll payroll, int taxYear) {
+        TaxSnapshot snapshot = payroll.getTaxConfigVersion() != null
+                ? get(payroll.getTaxConfigVersion()) : active();
+        return snapshot.rates(taxYear, payroll.getPaymentDate());
+    }
+
+    /**
+     * Version of the active snapshot, which new payroll runs are pinned to.
+     */
+    public long getActiveVersion() {
+        return active().getVersion();
+    }
+
+    /**
+     * Make a compiled snapshot the active one on this node.
+     */
+    public void publish(TaxSnapshot snapshot) {
+        snapshots.put(snapshot.getVersion(), snapshot);
+        active.set(snapshot);
+    }
+
+    /**
+     * Swap in the snapshot marked active in the database if it is not the one in use.
+     *
+     * @return Active snapshot
+     * @throws TaxCalculationException if no snapshot is active
+     */
+    public TaxSnapshot refresh() {
+        long version = snapshotRepository.findByStatus(TaxSnapshotStatus.ACTIVE)
+                .map(TaxConfigSnapshot::getVersion)
+                .orElseThrow(() -> new TaxCalculationException("No active tax configuration snapshot"));
+        TaxSnapshot current = active.get();
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        TaxSnapshot snapshot = snapshots.get(version);
+        active.set(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Periodically pick up snapshots activated by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${payroll.tax.snapshot.refresh-interval:PT1M}",
+               initialDelayString = "${payroll.tax.snapshot.refresh-interval:PT1M}")
+    public void refreshActive() {
+        refresh();
+    }
+
+    private TaxSnapshot load(Long version) {
+        if (snapshotRepository.findByVersion(version).isEmpty()) {
+            throw new TaxCalculationException("Tax configuration snapshot " + version + " not found");
+        }
+        return TaxSnapshot.compile(version, taxConfigRepository.findSnapshotTaxBands(version));
+    }
+}
@@ -0,0 +1,144 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, compiled form of one version of the tax configuration.
+ *
+ * Every tax year is split into intervals at the days on which any band's
+ * {@code effective_from} or {@code effective_to} takes effect, and the bands
+ * in effect over each interval are compiled once into {@link TaxRates}. The
+ * intervals of a year are indexed by first day, so resolving the rates for
+ * a pay date is one map lookup and one floor search.
+ */
+public final class TaxSnapshot {
+
+    private final long version;
+    private final Map<Integer, NavigableMap<LocalDate, TaxRates>> years;
+
+    private TaxSnapshot(long version, Map<Integer, NavigableMap<LocalDate, TaxRates>> years) {
+        this.version = version;
+        this.years = years;
+    }
+
+    /**
+     * Compile the active bands of a snapshot.
+     *
+     * @param version Snapshot version
+     * @param bands Active bands of the snapshot, for every year and type; order does not matter
+     * @return Compiled snapshot
+     * @throws TaxCalculationException if the bands in effect over an interval do not compile
+     */
+    public static TaxSnapshot compile(long version, List<TaxConfiguration> bands) {
+        Map<Integer, List<TaxConfiguration>> bandsByYear = bands.stream()
+                .collect(Collectors.groupingBy(TaxConfiguration::getTaxYear, TreeMap::new, Collectors.toList()));
+        Map<Integer, NavigableMap<LocalDate, TaxRates>> years = new TreeMap<>();
+        bandsByYear.forEach((taxYear, yearBands) ->
+                years.put(taxYear, Collections.unmodifiableNavigableMap(compileYear(version, taxYear, yearBands))));
+        return new TaxSnapshot(version, Collections.unmodifiableMap(years));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Rates in effect on a pay date. Dates outside the tax year resolve to its first or last day.
+     *
+     * @param taxYear Tax year
+     * @param payDate Pay date
+     * @return Compiled rates
+     * @throws TaxCalculationException if the year has no bands, or none are in effect on the date
+     */
+    public TaxRates rates(int taxYear, LocalDate payDate) {
+        NavigableMap<LocalDate, TaxRates> intervals = years.get(taxYear);
+        if (intervals == null) {
+            throw new TaxCalculationException("No tax configuration found for year " + taxYear);
+        }
+        LocalDate date = clamp(taxYear, payDate);
+        TaxRates rates = intervals.floorEntry(date).getValue();
+        if (rates == null) {
+            throw new TaxCalculationException("No tax configuration in effect for year " + taxYear + " on " + date);
+        }
+        return rates;
+    }
+
+    /**
+     * Rates in effect today, or on the nearest day of the tax year when it is not the current one.
+     *
+     * @see #rates(int, LocalDate)
+     */
+    public TaxRates rates(int taxYear) {
+        return rates(taxYear, LocalDate.now());
+    }
+
+    private static NavigableMap<LocalDate, TaxRates> compileYear(long version, int taxYear,
+                                                                 List<TaxConfiguration> bands) {
+        LocalDate yearStart = LocalDate.of(taxYear, 1, 1);
+        LocalDate yearEnd = LocalDate.of(taxYear, 12, 31);
+        NavigableSet<LocalDate> starts = new TreeSet<>();
+        starts.add(yearStart);
+        for (TaxConfiguration band : bands) {
+            addStart(starts, band.getEffectiveFrom(), yearStart, yearEnd);
+            if (band.getEffectiveTo() != null) {
+                addStart(starts, band.getEffectiveTo().plusDays(1), yearStart, yearEnd);
+            }
+        }
+
+        NavigableMap<LocalDate, TaxRates> intervals = new TreeMap<>();
+        for (LocalDate start : starts) {
+            LocalDate next = starts.higher(start);
+            LocalDate end = next != null ? next.minusDays(1) : yearEnd;
+            Map<TaxType, List<TaxConfiguration>> inEffect = bands.stream()
+                    .filter(band -> isInEffect(band, start))
+                    .collect(Collectors.groupingBy(TaxConfiguration::getTaxType));
+            if (inEffect.isEmpty()) {
+                // A gap between intervals; dates in it do not resolve
+                intervals.put(start, null);
+                continue;
+            }
+            List<TaxConfiguration> paye = inEffect.get(TaxType.PAYE);
+            List<TaxConfiguration> usc = inEffect.get(TaxType.USC);
+            List<TaxConfiguration> prsi = inEffect.get(TaxType.PRSI);
+            intervals.put(start, new TaxRates(version, taxYear, start, end,
+                    paye != null ? TaxSchedule.compile(taxYear, TaxType.PAYE, paye) : null,
+                    usc != null ? TaxSchedule.compile(taxYear, TaxType.USC, usc) : null,
+                    prsi != null ? ChargeRule.compile(taxYear, TaxType.PRSI, prsi) : null));
+        }
+        return intervals;
+    }
+
+    private static void addStart(NavigableSet<LocalDate> starts, LocalDate start, LocalDate yearStart,
+                                 LocalDate yearEnd) {
+        if (start != null && start.isAfter(yearStart) && !start.isAfter(yearEnd)) {
+            starts.add(start);
+        }
+    }
+
+    private static boolean isInEffect(TaxConfiguration band, LocalDate date) {
+        return (band.getEffectiveFrom() == null || !band.getEffectiveFrom().isAfter(date))
+                && (band.getEffectiveTo() == null || !band.getEffectiveTo().isBefore(date));
+    }
+
+    private static LocalDate clamp(int taxYear, LocalDate date) {
+        if (date.getYear() < taxYear) {
+            return LocalDate.of(taxYear, 1, 1);
+        }
+        if (date.getYear() > taxYear) {
+            return LocalDate.of(taxYear, 12, 31);
+        }
+        return date;
+    }
+}
@@ -0,0 +1,162 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.dto.request.TaxSnapshotRequest;
+import com.irish.payroll.dto.response.TaxSnapshotResponse;
+import com.irish.payroll.entity.TaxConfigSnapshot;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxSnapshotStatus;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.exception.TaxCalculationException;
+import com.irish.payroll.mapper.TaxSnapshotMapper;
+import com.irish.payroll.repository.TaxConfigSnapshotRepository;
+import com.irish.payroll.repository.TaxConfigurationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for staging and activating tax configuration snapshots.
+ *
+ * Staging stores a complete set of bands under a new version once they are
+ * known to compile; nothing calculates with them until the snapshot is
+ * activated. Activation marks the snapshot active and, after the
+ * transaction commits, swaps the compiled snapshot in on this node. Other
+ * nodes pick it up on their next refresh. Activating a retired snapshot
+ * rolls back to it.
+ */
+@Service
+@Transactional
+public class TaxSnapshotService {
+
+    @Autowired
+    private TaxConfigSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TaxConfigurationRepository taxConfigRepository;
+
+    @Autowired
+    private TaxSnapshotMapper taxSnapshotMapper;
+
+    @Autowired
+    private TaxScheduleCache taxScheduleCache;
+
+    @Autowired
+    private TaxResultCache taxResultCache;
+
+    /**
+     * Stage a new snapshot.
+     *
+     * @param request Every band of the new configuration
+     * @return Staged snapshot with its bands
+     * @throws PayrollProcessingException if the bands are inconsistent or do not compile
+     */
+    public TaxSnapshotResponse stage(TaxSnapshotRequest request) {
+        // Take activation's lock so concurrent stages wait instead of reading the same next version;
+        // the maximum is read after the lock so it sees a version committed while waiting
+        snapshotRepository.lockAll();
+        long version = snapshotRepository.findMaxVersion() + 1;
+        List<TaxConfiguration> bands = request.getBands().stream().map(taxSnapshotMapper::toEntity).toList();
+        Set<String> bandKeys = new HashSet<>();
+        for (TaxConfiguration band : bands) {
+            band.setSnapshotVersion(version);
+            if (band.getEffectiveTo() != null && band.getEffectiveTo().isBefore(band.getEffectiveFrom())) {
+                throw new PayrollProcessingException("Tax band " + band.getBandName() + " ends before it takes effect");
+            }
+            if (band.getBandName() != null
+                    && !bandKeys.add(band.getTaxYear() + "|" + band.getTaxType() + "|" + band.getBandName())) {
+                throw new PayrollProcessingException("Duplicate " + band.getTaxType() + " band " + band.getBandName()
+                        + " for year " + band.getTaxYear());
+            }
+        }
+        try {
+            TaxSnapshot.compile(version, bands);
+        } catch (TaxCalculationException e) {
+            throw new PayrollProcessingException("Invalid tax configuration: " + e.getMessage());
+        }
+
+        TaxConfigSnapshot snapshot = new TaxConfigSnapshot();
+        snapshot.setVersion(version);
+        snapshot.setStatus(TaxSnapshotStatus.STAGED);
+        snapshot.setDescription(request.getDescription());
+        snapshot = snapshotRepository.save(snapshot);
+        List<TaxConfiguration> saved = taxConfigRepository.saveAll(bands);
+
+        TaxSnapshotResponse response = taxSnapshotMapper.toResponse(snapshot);
+        response.setBands(saved.stream().map(taxSnapshotMapper::toBandResponse).toList());
+        return response;
+    }
+
+    /**
+     * Activate a staged or retired snapshot for new payroll runs and tax quotes.
+     * Payrolls already pinned to another snapshot keep using it.
+     *
+     * @param version Snapshot version
+     * @return Activated snapshot
+     * @throws PayrollProcessingException if the version does not exist
+     */
+    public TaxSnapshotResponse activate(long version) {
+        List<TaxConfigSnapshot> snapshots = snapshotRepository.lockAll();
+        TaxConfigSnapshot target = snapshots.stream()
+                .filter(snapshot -> snapshot.getVersion() == version)
+                .findFirst()
+                .orElseThrow(() -> new PayrollProcessingException("Tax configuration snapshot not found with version: "
+                        + version));
+        if (target.getStatus() == TaxSnapshotStatus.ACTIVE) {
+            return taxSnapshotMapper.toResponse(target);
+        }
+
+        // Compiled before anything changes, so a snapshot that no longer compiles is never activated
+        TaxSnapshot compiled = TaxSnapshot.compile(version, taxConfigRepository.findSnapshotTaxBands(version));
+        snapshots.stream()
+                .filter(snapshot -> snapshot.getStatus() == TaxSnapshotStatus.ACTIVE)
+                .forEach(snapshot -> snapshot.setStatus(TaxSnapshotStatus.RETIRED));
+        // Retire the previous snapshot first, so the database never has two active ones
+        snapshotRepository.flush();
+        target.setStatus(TaxSnapshotStatus.ACTIVE);
+        target.setActivatedDate(LocalDateTime.now());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                taxScheduleCache.publish(compiled);
+                taxResultCache.invalidateAll();
+            }
+        });
+        return taxSnapshotMapper.toResponse(target);
+    }
+
+    /**
+     * Get all snapshots, newest first, without their bands.
+     */
+    @Transactional(readOnly = true)
+    public List<TaxSnapshotResponse> getSnapshots() {
+        return snapshotRepository.findAllByOrderByVersionDesc().stream()
+                .map(taxSnapshotMapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Get a snapshot with its bands.
+     *
+     * @param version Snapshot version
+     * @return Snapshot response
+     */
+    @Transactional(readOnly = true)
+    public TaxSnapshotResponse getSnapshot(long version) {
+        TaxConfigSnapshot snapshot = snapshotRepository.findByVersion(version)
+                .orElseThrow(() -> new PayrollProcessingException("Tax configuration snapshot not found with version: "
+                        + version));
+        TaxSnapshotResponse response = taxSnapshotMapper.toResponse(snapshot);
+        response.setBands(taxConfigRepository.findSnapshotTaxBands(version).stream()
+                .map(taxSnapshotMapper::toBandResponse)
+                .toList());
+        return response;
+    }
+}
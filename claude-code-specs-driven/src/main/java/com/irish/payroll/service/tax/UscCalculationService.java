@@ -1,15 +1,10 @@
 package com.irish.payroll.service.tax;
 
-import com.irish.payroll.entity.TaxConfiguration;
-import com.irish.payroll.entity.TaxType;
-import com.irish.payroll.exception.TaxCalculationException;
-import com.irish.payroll.repository.TaxConfigurationRepository;
+import com.irish.payroll.entity.PayFrequency;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.List;
 
 /**
  * Service for calculating Irish USC (Universal Social Charge).
@@ -19,50 +14,44 @@ import java.util.List;
  * - Band 2: 2% on next €13,748 (€12,013 - €25,760)
  * - Band 3: 4% on next €44,284 (€25,761 - €70,044)
  * - Band 4: 8% on balance over €70,044
+ *
+ * Bands are annual; a period is charged on the bands scaled to its pay frequency.
  */
 @Service
 public class UscCalculationService {
 
     @Autowired
-    private TaxConfigurationRepository taxConfigRepository;
+    private TaxScheduleCache taxScheduleCache;
 
     /**
      * Calculate USC for a given gross pay amount.
      *
      * @param grossPay Gross pay amount for the period
+     * @param frequency Pay frequency of the period
      * @param taxYear Tax year for rate lookup
      * @return USC amount
      */
-    public BigDecimal calculateUsc(BigDecimal grossPay, int taxYear) {
+    public BigDecimal calculateUsc(BigDecimal grossPay, PayFrequency frequency, int taxYear) {
         if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
+        return calculateUsc(grossPay, frequency, taxScheduleCache.rates(taxYear));
+    }
 
-        // Fetch USC bands from database
-        List<TaxConfiguration> uscBands = taxConfigRepository.findActiveTaxBands(taxYear, TaxType.USC);
-
-        if (uscBands.isEmpty()) {
-            throw new TaxCalculationException("No USC tax configuration found for year " + taxYear);
-        }
-
-        // Calculate USC across all bands
-        BigDecimal totalUsc = BigDecimal.ZERO;
-        BigDecimal remainingIncome = grossPay;
-
-        for (TaxConfiguration band : uscBands) {
-            if (remainingIncome.compareTo(BigDecimal.ZERO) <= 0) {
-                break;
-            }
-
-            BigDecimal bandWidth = band.getIncomeUpper().subtract(band.getIncomeLower());
-            BigDecimal taxableInBand = remainingIncome.min(bandWidth);
-            BigDecimal uscForBand = taxableInBand.multiply(band.getRate())
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            totalUsc = totalUsc.add(uscForBand);
-            remainingIncome = remainingIncome.subtract(taxableInBand);
+    /**
+     * Calculate USC for a given gross pay amount with resolved rates.
+     *
+     * @param grossPay Gross pay amount for the period
+     * @param frequency Pay frequency of the period
+     * @param rates Rates in effect for the period
+     * @return USC amount
+     */
+    public BigDecimal calculateUsc(BigDecimal grossPay, PayFrequency frequency, TaxRates rates) {
+        if (grossPay == null || grossPay.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
         }
 
-        return totalUsc.setScale(2, RoundingMode.HALF_UP);
+        // Apply the USC bands in effect for one period of the frequency
+        return rates.getUsc(frequency).apply(grossPay);
     }
 }
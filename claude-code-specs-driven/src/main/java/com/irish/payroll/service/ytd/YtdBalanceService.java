@@ -0,0 +1,202 @@
+package com.irish.payroll.service.ytd;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.response.YtdBalanceRepairResponse;
+import com.irish.payroll.entity.EmployeeYtdBalance;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.EmployeeYtdBalanceRepository;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for the running YTD balances held in employee_ytd_balances.
+ *
+ * Balances are adjusted in the same transaction that commits payslips, so a
+ * payroll run reads each employee's YTD with a single keyed lookup. The
+ * payslip ledger remains the source of truth and balances can be verified
+ * against it and rebuilt from it.
+ */
+@Service
+@Transactional
+public class YtdBalanceService {
+
+    @Autowired
+    private EmployeeYtdBalanceRepository balanceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private YtdAggregationService ytdAggregationService;
+
+    /**
+     * Get running YTD balances for the given employees.
+     *
+     * @param employeeIds Employee IDs to look up
+     * @param taxYear Tax year of the balances
+     * @return YTD totals keyed by employee ID, with an entry for every requested ID
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, YtdTotals> getBalances(Collection<UUID> employeeIds, int taxYear) {
+        Map<UUID, YtdTotals> totals = new HashMap<>(employeeIds.size() * 2);
+        for (EmployeeYtdBalance balance : findBalances(employeeIds, taxYear).values()) {
+            totals.put(balance.getEmployee().getId(), toTotals(balance));
+        }
+
+        for (UUID employeeId : employeeIds) {
+            totals.computeIfAbsent(employeeId, YtdTotals::zero);
+        }
+        return totals;
+    }
+
+    /**
+     * Add committed payslips to their employees' balances.
+     * Must run inside the transaction that persists the payslips.
+     *
+     * @param payslips Payslips being committed
+     * @param taxYear Tax year of the payroll
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyPayslips(List<Payslip> payslips, int taxYear) {
+        Map<UUID, EmployeeYtdBalance> balances = findBalances(employeeIds(payslips), taxYear);
+
+        List<EmployeeYtdBalance> created = new ArrayList<>();
+        for (Payslip payslip : payslips) {
+            EmployeeYtdBalance balance = balances.computeIfAbsent(payslip.getEmployee().getId(), id -> {
+                EmployeeYtdBalance newBalance = new EmployeeYtdBalance(payslip.getEmployee(), taxYear);
+                created.add(newBalance);
+                return newBalance;
+            });
+            balance.addPayslip(payslip);
+        }
+
+        balanceRepository.saveAll(created);
+    }
+
+    /**
+     * Remove payslips from their employees' balances.
+     * Must run inside the transaction that deletes the payslips.
+     *
+     * @param payslips Payslips being removed
+     * @param taxYear Tax year of the payroll
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void revertPayslips(List<Payslip> payslips, int taxYear) {
+        Map<UUID, EmployeeYtdBalance> balances = findBalances(employeeIds(payslips), taxYear);
+
+        for (Payslip payslip : payslips) {
+            EmployeeYtdBalance balance = balances.get(payslip.getEmployee().getId());
+            if (balance != null) {
+                balance.subtractPayslip(payslip);
+            }
+        }
+    }
+
+    /**
+     * Compare balances for a tax year with the payslip ledger without changing them.
+     *
+     * @param taxYear Tax year to verify
+     * @return Verification report
+     */
+    @Transactional(readOnly = true)
+    public YtdBalanceRepairResponse verifyBalances(int taxYear) {
+        return reconcile(taxYear, false);
+    }
+
+    /**
+     * Rebuild balances for a tax year from the payslip ledger.
+     * Only balances that differ from the ledger are written.
+     *
+     * @param taxYear Tax year to repair
+     * @return Repair report
+     */
+    public YtdBalanceRepairResponse repairBalances(int taxYear) {
+        return reconcile(taxYear, true);
+    }
+
+    private YtdBalanceRepairResponse reconcile(int taxYear, boolean repair) {
+        Map<UUID, YtdTotals> ledger = ytdAggregationService.getAllYtdTotals(taxYear);
+        Map<UUID, EmployeeYtdBalance> balances = new HashMap<>();
+        for (EmployeeYtdBalance balance : balanceRepository.findByTaxYear(taxYear)) {
+            balances.put(balance.getEmployee().getId(), balance);
+        }
+
+        YtdBalanceRepairResponse report = new YtdBalanceRepairResponse(taxYear, repair);
+        report.setBalancesChecked(balances.size());
+
+        List<EmployeeYtdBalance> created = new ArrayList<>();
+        for (YtdTotals expected : ledger.values()) {
+            EmployeeYtdBalance balance = balances.remove(expected.getEmployeeId());
+            if (balance == null) {
+                report.setMissing(report.getMissing() + 1);
+                if (repair) {
+                    balance = new EmployeeYtdBalance(
+                            employeeRepository.getReferenceById(expected.getEmployeeId()), taxYear);
+                    copyTotals(expected, balance);
+                    created.add(balance);
+                }
+            } else if (!toTotals(balance).sameAmounts(expected)) {
+                report.setMismatched(report.getMismatched() + 1);
+                if (repair) {
+                    copyTotals(expected, balance);
+                }
+            }
+        }
+
+        // Balances with no payslips behind them
+        for (EmployeeYtdBalance orphan : balances.values()) {
+            if (!toTotals(orphan).sameAmounts(YtdTotals.zero(null))) {
+                report.setMismatched(report.getMismatched() + 1);
+                if (repair) {
+                    copyTotals(YtdTotals.zero(null), orphan);
+                }
+            }
+        }
+
+        if (repair) {
+            balanceRepository.saveAll(created);
+        }
+        return report;
+    }
+
+    private Map<UUID, EmployeeYtdBalance> findBalances(Collection<UUID> employeeIds, int taxYear) {
+        Map<UUID, EmployeeYtdBalance> balances = new HashMap<>(employeeIds.size() * 2);
+        for (List<UUID> batch : ListUtils.partition(new ArrayList<>(employeeIds),
+                YtdAggregationService.MAX_IDS_PER_QUERY)) {
+            for (EmployeeYtdBalance balance : balanceRepository.findByEmployeeIdsAndTaxYear(batch, taxYear)) {
+                balances.put(balance.getEmployee().getId(), balance);
+            }
+        }
+        return balances;
+    }
+
+    private static List<UUID> employeeIds(List<Payslip> payslips) {
+        return payslips.stream().map(payslip -> payslip.getEmployee().getId()).distinct().toList();
+    }
+
+    private static YtdTotals toTotals(EmployeeYtdBalance balance) {
+        return new YtdTotals(balance.getEmployee().getId(), balance.getYtdGross(), balance.getYtdPaye(),
+                balance.getYtdPrsi(), balance.getYtdUsc(), balance.getYtdNet(),
+                balance.getPayslipCount().longValue());
+    }
+
+    private static void copyTotals(YtdTotals totals, EmployeeYtdBalance balance) {
+        balance.setYtdGross(totals.getGross());
+        balance.setYtdPaye(totals.getPaye());
+        balance.setYtdPrsi(totals.getPrsi());
+        balance.setYtdUsc(totals.getUsc());
+        balance.setYtdNet(totals.getNet());
+        balance.setPayslipCount((int) totals.getPayslipCount());
+    }
+}
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:14
+--comment: Add composite index for grouped YTD aggregation
+
+CREATE INDEX idx_payslips_employee_created ON payslips(employee_id, created_date);
+
+--rollback DROP INDEX idx_payslips_employee_created;
@@ -0,0 +1,38 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:15
+--comment: Create employee_ytd_balances table
+
+CREATE TABLE employee_ytd_balances (
+    id UUID PRIMARY KEY,
+    employee_id UUID NOT NULL,
+    tax_year INTEGER NOT NULL,
+    ytd_gross DECIMAL(12,2) NOT NULL DEFAULT 0,
+    ytd_paye DECIMAL(12,2) NOT NULL DEFAULT 0,
+    ytd_prsi DECIMAL(12,2) NOT NULL DEFAULT 0,
+    ytd_usc DECIMAL(12,2) NOT NULL DEFAULT 0,
+    ytd_net DECIMAL(12,2) NOT NULL DEFAULT 0,
+    payslip_count INTEGER NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_date TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP,
+    created_by VARCHAR(100),
+    last_modified_by VARCHAR(100),
+    CONSTRAINT fk_ytd_balance_employee FOREIGN KEY (employee_id) REFERENCES employees(id),
+    CONSTRAINT unique_ytd_balance_employee_year UNIQUE (employee_id, tax_year)
+);
+
+--rollback DROP TABLE employee_ytd_balances;
+
+--changeset irish-payroll:16
+--comment: Backfill employee_ytd_balances from existing payslips
+
+INSERT INTO employee_ytd_balances (id, employee_id, tax_year, ytd_gross, ytd_paye, ytd_prsi, ytd_usc, ytd_net, payslip_count, version, created_date, last_modified_date)
+SELECT RANDOM_UUID(), ps.employee_id, EXTRACT(YEAR FROM pr.pay_period_end),
+       SUM(ps.gross_pay), SUM(COALESCE(ps.paye_deduction, 0)), SUM(COALESCE(ps.prsi_deduction, 0)),
+       SUM(COALESCE(ps.usc_deduction, 0)), SUM(ps.net_pay), COUNT(*), 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM payslips ps
+JOIN payrolls pr ON pr.id = ps.payroll_id
+GROUP BY ps.employee_id, EXTRACT(YEAR FROM pr.pay_period_end);
+
+--rollback DELETE FROM employee_ytd_balances;
@@ -0,0 +1,53 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:17
+--comment: Create payroll_runs table for run state
+
+CREATE TABLE payroll_runs (
+    id UUID PRIMARY KEY,
+    payroll_id UUID NOT NULL UNIQUE,
+    state VARCHAR(20) NOT NULL CHECK (state IN ('RUNNING', 'COMPLETED')),
+    tax_year INTEGER NOT NULL,
+    total_employees INTEGER NOT NULL DEFAULT 0,
+    processed_employees INTEGER NOT NULL DEFAULT 0,
+    last_committed_employee_id UUID,
+    owner_node VARCHAR(100) NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    created_date TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP,
+    created_by VARCHAR(100),
+    last_modified_by VARCHAR(100),
+    CONSTRAINT fk_payroll_run_payroll FOREIGN KEY (payroll_id) REFERENCES payrolls(id)
+);
+
+--rollback DROP TABLE payroll_runs;
+
+--changeset irish-payroll:18
+--comment: Create payroll_run_checkpoints table for per-chunk checkpoints
+
+CREATE TABLE payroll_run_checkpoints (
+    id UUID PRIMARY KEY,
+    run_id UUID NOT NULL,
+    chunk_index INTEGER NOT NULL,
+    first_employee_id UUID NOT NULL,
+    last_employee_id UUID NOT NULL,
+    employee_count INTEGER NOT NULL,
+    created_date TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP,
+    created_by VARCHAR(100),
+    last_modified_by VARCHAR(100),
+    CONSTRAINT fk_checkpoint_run FOREIGN KEY (run_id) REFERENCES payroll_runs(id),
+    CONSTRAINT unique_checkpoint_chunk UNIQUE (run_id, chunk_index)
+);
+
+--rollback DROP TABLE payroll_run_checkpoints;
+
+--changeset irish-payroll:19
+--comment: Create indexes on payroll run tables
+
+CREATE INDEX idx_payroll_runs_state ON payroll_runs(state, heartbeat_at);
+CREATE INDEX idx_payslips_payroll_employee ON payslips(payroll_id, employee_id);
+
+--rollback DROP INDEX idx_payroll_runs_state;
+--rollback DROP INDEX idx_payslips_payroll_employee;
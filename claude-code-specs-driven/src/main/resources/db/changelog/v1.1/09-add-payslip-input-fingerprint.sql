@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:20
+--comment: Add input fingerprint to payslips for delta recalculation of draft payrolls
+
+ALTER TABLE payslips ADD COLUMN input_fingerprint VARCHAR(64);
+
+--rollback ALTER TABLE payslips DROP COLUMN input_fingerprint;
+
+--changeset irish-payroll:21
+--comment: Add target payroll status to payroll runs
+
+ALTER TABLE payroll_runs ADD COLUMN target_status VARCHAR(20) DEFAULT 'PROCESSED' NOT NULL;
+
+--rollback ALTER TABLE payroll_runs DROP COLUMN target_status;
@@ -0,0 +1,55 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:22
+--comment: Create companies table for multi-company payroll
+
+CREATE TABLE companies (
+    id UUID PRIMARY KEY,
+    name VARCHAR(200) NOT NULL UNIQUE,
+    registration_number VARCHAR(20),
+    employer_number VARCHAR(20) UNIQUE,
+    is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    created_date TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP,
+    created_by VARCHAR(100),
+    last_modified_by VARCHAR(100)
+);
+
+--rollback DROP TABLE companies;
+
+--changeset irish-payroll:23
+--comment: Insert default company owning existing employees and payrolls
+
+INSERT INTO companies (id, name, is_active, created_date)
+VALUES ('00000000-0000-0000-0000-000000000001', 'Default Company', TRUE, CURRENT_TIMESTAMP);
+
+--rollback DELETE FROM companies WHERE id = '00000000-0000-0000-0000-000000000001';
+
+--changeset irish-payroll:24
+--comment: Add company to employees and payrolls
+
+ALTER TABLE employees ADD COLUMN company_id UUID;
+UPDATE employees SET company_id = '00000000-0000-0000-0000-000000000001';
+ALTER TABLE employees ALTER COLUMN company_id SET NOT NULL;
+ALTER TABLE employees ADD CONSTRAINT fk_employee_company FOREIGN KEY (company_id) REFERENCES companies(id);
+
+ALTER TABLE payrolls ADD COLUMN company_id UUID;
+UPDATE payrolls SET company_id = '00000000-0000-0000-0000-000000000001';
+ALTER TABLE payrolls ALTER COLUMN company_id SET NOT NULL;
+ALTER TABLE payrolls ADD CONSTRAINT fk_payroll_company FOREIGN KEY (company_id) REFERENCES companies(id);
+
+--rollback ALTER TABLE payrolls DROP CONSTRAINT fk_payroll_company;
+--rollback ALTER TABLE payrolls DROP COLUMN company_id;
+--rollback ALTER TABLE employees DROP CONSTRAINT fk_employee_company;
+--rollback ALTER TABLE employees DROP COLUMN company_id;
+
+--changeset irish-payroll:25
+--comment: Scope the payroll period constraint to the company and index company-scoped lookups
+
+ALTER TABLE payrolls DROP CONSTRAINT unique_payroll_period;
+ALTER TABLE payrolls ADD CONSTRAINT unique_company_payroll_period UNIQUE (company_id, pay_period_start, pay_period_end);
+CREATE INDEX idx_employees_company_active ON employees(company_id, is_active, id);
+
+--rollback DROP INDEX idx_employees_company_active;
+--rollback ALTER TABLE payrolls DROP CONSTRAINT unique_company_payroll_period;
+--rollback ALTER TABLE payrolls ADD CONSTRAINT unique_payroll_period UNIQUE (pay_period_start, pay_period_end);
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:26
+--comment: Record per run whether tax results are memoized, so resumed runs keep the setting
+
+ALTER TABLE payroll_runs ADD COLUMN memoize_taxes BOOLEAN DEFAULT FALSE NOT NULL;
+
+--rollback ALTER TABLE payroll_runs DROP COLUMN memoize_taxes;
@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:27
+--comment: Add pay frequency and charge basis to tax_configurations so thresholds and exemptions are declared as data
+
+ALTER TABLE tax_configurations ADD COLUMN pay_frequency VARCHAR(20);
+ALTER TABLE tax_configurations ADD COLUMN charge_basis VARCHAR(20) DEFAULT 'MARGINAL' NOT NULL;
+ALTER TABLE tax_configurations ADD CONSTRAINT chk_tax_config_pay_frequency CHECK (pay_frequency IN ('WEEKLY', 'MONTHLY'));
+ALTER TABLE tax_configurations ADD CONSTRAINT chk_tax_config_charge_basis CHECK (charge_basis IN ('MARGINAL', 'WHOLE_INCOME'));
+
+--rollback ALTER TABLE tax_configurations DROP CONSTRAINT chk_tax_config_charge_basis;
+--rollback ALTER TABLE tax_configurations DROP CONSTRAINT chk_tax_config_pay_frequency;
+--rollback ALTER TABLE tax_configurations DROP COLUMN charge_basis;
+--rollback ALTER TABLE tax_configurations DROP COLUMN pay_frequency;
+
+--changeset irish-payroll:28
+--comment: Replace the 2025 PRSI placeholder band with the Class A weekly and monthly exemption thresholds
+
+UPDATE tax_configurations SET is_active = FALSE
+WHERE tax_year = 2025 AND tax_type = 'PRSI' AND band_name = 'Employee Class A';
+
+INSERT INTO tax_configurations (id, tax_year, tax_type, band_name, income_lower, income_upper, rate, pay_frequency, charge_basis, is_active, effective_from, created_date, last_modified_date)
+VALUES
+    (RANDOM_UUID(), 2025, 'PRSI', 'Employee Class A Weekly', 352, NULL, 0.04, 'WEEKLY', 'WHOLE_INCOME', TRUE, '2025-01-01', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+    (RANDOM_UUID(), 2025, 'PRSI', 'Employee Class A Monthly', 1526, NULL, 0.04, 'MONTHLY', 'WHOLE_INCOME', TRUE, '2025-01-01', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+--rollback DELETE FROM tax_configurations WHERE tax_year = 2025 AND tax_type = 'PRSI' AND band_name IN ('Employee Class A Weekly', 'Employee Class A Monthly');
+--rollback UPDATE tax_configurations SET is_active = TRUE WHERE tax_year = 2025 AND tax_type = 'PRSI' AND band_name = 'Employee Class A';
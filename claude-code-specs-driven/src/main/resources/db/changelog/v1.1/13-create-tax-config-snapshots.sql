@@ -0,0 +1,50 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:29
+--comment: Create tax_config_snapshots table for versioned tax configuration
+
+CREATE TABLE tax_config_snapshots (
+    id UUID PRIMARY KEY,
+    version BIGINT NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('STAGED', 'ACTIVE', 'RETIRED')),
+    description VARCHAR(200),
+    activated_date TIMESTAMP,
+    created_date TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP,
+    created_by VARCHAR(100),
+    last_modified_by VARCHAR(100)
+);
+
+CREATE INDEX idx_tax_config_snapshots_status ON tax_config_snapshots(status);
+
+--rollback DROP TABLE tax_config_snapshots;
+
+--changeset irish-payroll:30
+--comment: Publish the existing tax configuration as active snapshot 1
+
+INSERT INTO tax_config_snapshots (id, version, status, description, activated_date, created_date)
+VALUES (RANDOM_UUID(), 1, 'ACTIVE', 'Initial tax configuration', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+ALTER TABLE tax_configurations ADD COLUMN snapshot_version BIGINT;
+UPDATE tax_configurations SET snapshot_version = 1;
+ALTER TABLE tax_configurations ALTER COLUMN snapshot_version SET NOT NULL;
+ALTER TABLE tax_configurations ADD CONSTRAINT fk_tax_config_snapshot FOREIGN KEY (snapshot_version) REFERENCES tax_config_snapshots(version);
+ALTER TABLE tax_configurations DROP CONSTRAINT unique_tax_band;
+ALTER TABLE tax_configurations ADD CONSTRAINT unique_snapshot_tax_band UNIQUE (snapshot_version, tax_year, tax_type, band_name);
+
+--rollback ALTER TABLE tax_configurations DROP CONSTRAINT unique_snapshot_tax_band;
+--rollback DELETE FROM tax_configurations WHERE snapshot_version <> 1;
+--rollback ALTER TABLE tax_configurations ADD CONSTRAINT unique_tax_band UNIQUE (tax_year, tax_type, band_name);
+--rollback ALTER TABLE tax_configurations DROP CONSTRAINT fk_tax_config_snapshot;
+--rollback ALTER TABLE tax_configurations DROP COLUMN snapshot_version;
+--rollback DELETE FROM tax_config_snapshots;
+
+--changeset irish-payroll:31
+--comment: Pin each payroll to the tax configuration snapshot it was calculated with
+
+ALTER TABLE payrolls ADD COLUMN tax_config_version BIGINT;
+UPDATE payrolls SET tax_config_version = 1;
+ALTER TABLE payrolls ADD CONSTRAINT fk_payroll_tax_config_snapshot FOREIGN KEY (tax_config_version) REFERENCES tax_config_snapshots(version);
+
+--rollback ALTER TABLE payrolls DROP CONSTRAINT fk_payroll_tax_config_snapshot;
+--rollback ALTER TABLE payrolls DROP COLUMN tax_config_version;
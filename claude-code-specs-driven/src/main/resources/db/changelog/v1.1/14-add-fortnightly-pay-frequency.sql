@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:32
+--comment: Allow fortnightly pay for employees; the unnamed inline check is dropped with the column it was declared on
+
+ALTER TABLE employees RENAME COLUMN pay_frequency TO pay_frequency_old;
+ALTER TABLE employees ADD COLUMN pay_frequency VARCHAR(20);
+UPDATE employees SET pay_frequency = pay_frequency_old;
+ALTER TABLE employees ALTER COLUMN pay_frequency SET NOT NULL;
+ALTER TABLE employees DROP COLUMN pay_frequency_old;
+ALTER TABLE employees ADD CONSTRAINT chk_employee_pay_frequency CHECK (pay_frequency IN ('WEEKLY', 'FORTNIGHTLY', 'MONTHLY'));
+
+--rollback ALTER TABLE employees DROP CONSTRAINT chk_employee_pay_frequency;
+--rollback ALTER TABLE employees ADD CONSTRAINT chk_employee_pay_frequency CHECK (pay_frequency IN ('WEEKLY', 'MONTHLY'));
+
+--changeset irish-payroll:33
+--comment: Allow fortnightly tax rules
+
+ALTER TABLE tax_configurations DROP CONSTRAINT chk_tax_config_pay_frequency;
+ALTER TABLE tax_configurations ADD CONSTRAINT chk_tax_config_pay_frequency CHECK (pay_frequency IN ('WEEKLY', 'FORTNIGHTLY', 'MONTHLY'));
+
+--rollback ALTER TABLE tax_configurations DROP CONSTRAINT chk_tax_config_pay_frequency;
+--rollback ALTER TABLE tax_configurations ADD CONSTRAINT chk_tax_config_pay_frequency CHECK (pay_frequency IN ('WEEKLY', 'MONTHLY'));
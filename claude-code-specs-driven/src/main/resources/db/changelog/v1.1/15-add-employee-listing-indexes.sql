@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:34
+--comment: Index the keyset employee listing on (last_name, id) under its filters; the single-column indexes they replace are prefixes of the new ones
+
+CREATE INDEX idx_employees_active_name ON employees(is_active, last_name, id);
+CREATE INDEX idx_employees_department_active_name ON employees(department, is_active, last_name, id);
+DROP INDEX idx_employees_active;
+DROP INDEX idx_employees_department;
+
+--rollback CREATE INDEX idx_employees_department ON employees(department);
+--rollback CREATE INDEX idx_employees_active ON employees(is_active);
+--rollback DROP INDEX idx_employees_department_active_name;
+--rollback DROP INDEX idx_employees_active_name;
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:35
+--comment: Index the keyset payroll summary listing on (pay_period_end, id), overall and per company
+
+CREATE INDEX idx_payrolls_period_end ON payrolls(pay_period_end, id);
+CREATE INDEX idx_payrolls_company_period_end ON payrolls(company_id, pay_period_end, id);
+
+--rollback DROP INDEX idx_payrolls_company_period_end;
+--rollback DROP INDEX idx_payrolls_period_end;
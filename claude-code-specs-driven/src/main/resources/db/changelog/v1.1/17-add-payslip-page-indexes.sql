@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:36
+--comment: Index the keyset payslip pages of a payroll, in ID order and highest net pay first
+
+CREATE INDEX idx_payslips_payroll_id ON payslips(payroll_id, id);
+CREATE INDEX idx_payslips_payroll_net_pay ON payslips(payroll_id, net_pay DESC, id);
+
+--rollback DROP INDEX idx_payslips_payroll_net_pay;
+--rollback DROP INDEX idx_payslips_payroll_id;
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:37
+--comment: Copy the payroll period end onto payslips and index each employee's payslip history by it, newest first
+
+ALTER TABLE payslips ADD COLUMN pay_period_end DATE;
+UPDATE payslips SET pay_period_end = (SELECT pay_period_end FROM payrolls WHERE payrolls.id = payslips.payroll_id);
+ALTER TABLE payslips ALTER COLUMN pay_period_end SET NOT NULL;
+CREATE INDEX idx_payslips_employee_period_end ON payslips(employee_id, pay_period_end DESC, id DESC);
+
+--rollback DROP INDEX idx_payslips_employee_period_end;
+--rollback ALTER TABLE payslips DROP COLUMN pay_period_end;
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:38
+--comment: Drop the (employee_id, created_date) payslip index; YTD sums now filter on the pay period end
+
+DROP INDEX idx_payslips_employee_created;
+
+--rollback CREATE INDEX idx_payslips_employee_created ON payslips(employee_id, created_date);
@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:39
+--comment: Store each payroll's payslip count on its header so payroll listings do not count payslips per row
+
+ALTER TABLE payrolls ADD COLUMN payslip_count BIGINT DEFAULT 0 NOT NULL;
+UPDATE payrolls SET payslip_count = (SELECT COUNT(*) FROM payslips WHERE payslips.payroll_id = payrolls.id);
+
+--rollback ALTER TABLE payrolls DROP COLUMN payslip_count;
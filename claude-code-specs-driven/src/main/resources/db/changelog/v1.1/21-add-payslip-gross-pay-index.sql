@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:40
+--comment: Index payroll payslip pages by highest gross pay first and drop the single-column payroll index, a prefix of (payroll_id, id); the payroll foreign key is recreated so it no longer depends on the dropped index
+
+CREATE INDEX idx_payslips_payroll_gross_pay ON payslips(payroll_id, gross_pay DESC, id);
+ALTER TABLE payslips DROP CONSTRAINT fk_payslip_payroll;
+DROP INDEX idx_payslips_payroll;
+ALTER TABLE payslips ADD CONSTRAINT fk_payslip_payroll FOREIGN KEY (payroll_id) REFERENCES payrolls(id);
+
+--rollback ALTER TABLE payslips DROP CONSTRAINT fk_payslip_payroll;
+--rollback CREATE INDEX idx_payslips_payroll ON payslips(payroll_id);
+--rollback ALTER TABLE payslips ADD CONSTRAINT fk_payslip_payroll FOREIGN KEY (payroll_id) REFERENCES payrolls(id);
+--rollback DROP INDEX idx_payslips_payroll_gross_pay;
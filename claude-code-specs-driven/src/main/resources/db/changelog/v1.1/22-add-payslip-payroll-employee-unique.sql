@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset irish-payroll:41
+--comment: Allow one payslip per employee per payroll, replacing the plain (payroll_id, employee_id) index so two nodes running the same payroll cannot both pay an employee; the payroll foreign key is recreated so it no longer depends on the dropped index
+
+ALTER TABLE payslips ADD CONSTRAINT unique_payslip_payroll_employee UNIQUE (payroll_id, employee_id);
+ALTER TABLE payslips DROP CONSTRAINT fk_payslip_payroll;
+DROP INDEX idx_payslips_payroll_employee;
+ALTER TABLE payslips ADD CONSTRAINT fk_payslip_payroll FOREIGN KEY (payroll_id) REFERENCES payrolls(id);
+
+--rollback ALTER TABLE payslips DROP CONSTRAINT fk_payslip_payroll;
+--rollback CREATE INDEX idx_payslips_payroll_employee ON payslips(payroll_id, employee_id);
+--rollback ALTER TABLE payslips ADD CONSTRAINT fk_payslip_payroll FOREIGN KEY (payroll_id) REFERENCES payrolls(id);
+--rollback ALTER TABLE payslips DROP CONSTRAINT unique_payslip_payroll_employee;
@@ -0,0 +1,46 @@
+package com.irish.payroll.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for which actuator endpoints are open without logging in.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testMetrics_AnonymousRequestIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/cache.gets")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void testMetrics_AuthenticatedRequestIsAllowed() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testHealthAndInfo_OpenWithoutLogin() throws Exception {
+        // Health may report DOWN for an unconfigured mail server, but it is never refused
+        int health = mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus();
+        assertNotEquals(401, health);
+        assertNotEquals(403, health);
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,98 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.dto.response.EmployeeSummaryResponse;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the keyset-paginated employee listing.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceTest {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(employeeService, "maxPageSize", 100);
+    }
+
+    @Test
+    void testGetEmployeePage_FirstPageReturnsCursorOfLastRow() {
+        EmployeeSummaryResponse murphy = summary("Murphy");
+        EmployeeSummaryResponse obrien = summary("O'Brien");
+        when(employeeRepository.findSummaryPageAfter(true, "Finance", "", FIRST_ID, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary("Byrne"), murphy, obrien));
+
+        CursorPageResponse<EmployeeSummaryResponse> page = employeeService.getEmployeePage(true, "Finance", null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(murphy, page.getItems().get(1));
+        assertEquals(List.of("Murphy", murphy.getId().toString()), PageCursor.decode(page.getNextCursor(), 2));
+    }
+
+    @Test
+    void testGetEmployeePage_ContinuesAfterCursor() {
+        UUID afterId = UUID.randomUUID();
+        String cursor = PageCursor.encode("Murphy", afterId);
+        when(employeeRepository.findSummaryPageAfter(false, null, "Murphy", afterId, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary("Walsh")));
+
+        CursorPageResponse<EmployeeSummaryResponse> page = employeeService.getEmployeePage(false, null, cursor, 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetEmployeePage_RejectsMalformedCursorAndLimit() {
+        assertThrows(PayrollProcessingException.class,
+                () -> employeeService.getEmployeePage(true, null, "not a cursor", 10));
+        assertThrows(PayrollProcessingException.class,
+                () -> employeeService.getEmployeePage(true, null, PageCursor.encode("Murphy", "42"), 10));
+        assertThrows(PayrollProcessingException.class,
+                () -> employeeService.getEmployeePage(true, null, null, 0));
+        assertThrows(PayrollProcessingException.class,
+                () -> employeeService.getEmployeePage(true, null, null, 101));
+        verify(employeeRepository, never()).findSummaryPageAfter(anyBoolean(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testPageCursor_RoundTripsKeysWithReservedCharacters() {
+        String cursor = PageCursor.encode("Ó Súilleabháin/+=", FIRST_ID);
+
+        assertEquals(List.of("Ó Súilleabháin/+=", FIRST_ID.toString()), PageCursor.decode(cursor, 2));
+        assertThrows(PayrollProcessingException.class, () -> PageCursor.decode(cursor, 3));
+    }
+
+    private static EmployeeSummaryResponse summary(String lastName) {
+        return new EmployeeSummaryResponse(UUID.randomUUID(), UUID.randomUUID(), "Aoife", lastName,
+                lastName.toLowerCase() + "@example.ie", "Analyst", "Finance", PayFrequency.MONTHLY, true);
+    }
+}
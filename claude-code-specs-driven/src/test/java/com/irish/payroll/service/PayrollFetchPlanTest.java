@@ -0,0 +1,162 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.response.PayrollResponse;
+import com.irish.payroll.dto.response.PayslipResponse;
+import com.irish.payroll.entity.Company;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.mapper.PayrollMapperImpl;
+import com.irish.payroll.mapper.PayslipMapper;
+import com.irish.payroll.mapper.PayslipMapperImpl;
+import com.irish.payroll.repository.PayslipRepository;
+import com.irish.payroll.service.report.ExcelReportService;
+import com.irish.payroll.service.run.PayrollPreviewService;
+import com.irish.payroll.service.run.PayrollRunEngine;
+import com.irish.payroll.service.tax.TaxResultCache;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that payroll detail, the Excel report and payslip lookups are served
+ * in a constant number of SQL statements, however many payslips there are.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({PayrollService.class, ExcelReportService.class, PayrollMapperImpl.class, PayslipMapperImpl.class})
+class PayrollFetchPlanTest {
+
+    private static final int EMPLOYEES = 12;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private ExcelReportService excelReportService;
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private PayslipMapper payslipMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private PayrollRunEngine payrollRunEngine;
+
+    @MockBean
+    private CompanyService companyService;
+
+    @MockBean
+    private PayrollPreviewService payrollPreviewService;
+
+    @MockBean
+    private TaxResultCache taxResultCache;
+
+    @MockBean
+    private PayslipHistoryCache payslipHistoryCache;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    private Payroll payroll;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Company company = entityManager.find(Company.class, Company.DEFAULT_COMPANY_ID);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setCompany(company);
+            employee.setPpsNumber(String.format("%07dA", 1234500 + i));
+            employee.setFirstName("Employee");
+            employee.setLastName(String.valueOf(i));
+            employee.setEmail("employee" + i + "@example.ie");
+            employee.setHireDate(LocalDate.of(2020, 1, 1));
+            employee.setGrossSalary(new BigDecimal("3000.00"));
+            employee.setPayFrequency(PayFrequency.MONTHLY);
+            entityManager.persist(employee);
+            employees.add(employee);
+        }
+        payroll = new Payroll();
+        payroll.setCompany(company);
+        payroll.setPayPeriodStart(LocalDate.of(2025, 1, 1));
+        payroll.setPayPeriodEnd(LocalDate.of(2025, 1, 31));
+        payroll.setPaymentDate(LocalDate.of(2025, 1, 31));
+        payroll.setStatus(PayrollStatus.DRAFT);
+        entityManager.persist(payroll);
+        for (Employee employee : employees) {
+            entityManager.persist(payslip(payroll, employee));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetPayroll_LoadsPayslipsAndEmployeesInOneStatement() {
+        PayrollResponse response = payrollService.getPayroll(payroll.getId());
+
+        assertEquals(EMPLOYEES, response.getPayslips().size());
+        response.getPayslips().forEach(payslip -> assertNotNull(payslip.getEmployeePpsNumber()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGeneratePayrollReport_LoadsPayslipsAndEmployeesInOneStatement() throws Exception {
+        byte[] report = excelReportService.generatePayrollReport(payroll.getId());
+
+        assertTrue(report.length > 0);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindByEmployeeId_LoadsEmployeeInOneStatement() {
+        List<PayslipResponse> payslips = payslipRepository
+                .findByEmployeeIdOrderByCreatedDateDesc(employees.get(0).getId()).stream()
+                .map(payslipMapper::toResponse)
+                .toList();
+
+        assertEquals(1, payslips.size());
+        assertEquals("Employee 0", payslips.get(0).getEmployeeName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static Payslip payslip(Payroll payroll, Employee employee) {
+        Payslip payslip = new Payslip();
+        payslip.setPayroll(payroll);
+        payslip.setEmployee(employee);
+        payslip.setGrossPay(employee.getGrossSalary());
+        payslip.setPayeDeduction(new BigDecimal("600.00"));
+        payslip.setPrsiDeduction(new BigDecimal("120.00"));
+        payslip.setUscDeduction(new BigDecimal("60.00"));
+        payslip.setNetPay(new BigDecimal("2220.00"));
+        payslip.setYtdGross(employee.getGrossSalary());
+        payslip.setYtdPaye(new BigDecimal("600.00"));
+        payslip.setYtdPrsi(new BigDecimal("120.00"));
+        payslip.setYtdUsc(new BigDecimal("60.00"));
+        payslip.setYtdNet(new BigDecimal("2220.00"));
+        return payslip;
+    }
+}
@@ -0,0 +1,153 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.dto.response.PayrollSummaryResponse;
+import com.irish.payroll.dto.response.PayslipResponse;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.repository.PayrollRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the payroll summary listing and payslip pages.
+ */
+@ExtendWith(MockitoExtension.class)
+class PayrollServiceTest {
+
+    private static final LocalDate LAST_PERIOD_END = LocalDate.of(9999, 12, 31);
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    @Mock
+    private PayrollRepository payrollRepository;
+
+    @Mock
+    private PayslipRepository payslipRepository;
+
+    @InjectMocks
+    private PayrollService payrollService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(payrollService, "maxPageSize", 100);
+        ReflectionTestUtils.setField(payrollService, "maxPayslipPageSize", 100);
+    }
+
+    @Test
+    void testGetPayrollSummaries_FirstPageReturnsCursorOfLastRow() {
+        UUID companyId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        PayrollSummaryResponse february = summary(LocalDate.of(2025, 2, 28));
+        when(payrollRepository.findSummaryPageBefore(companyId, from, to, LAST_PERIOD_END, LAST_ID,
+                PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary(LocalDate.of(2025, 3, 31)), february, summary(LocalDate.of(2025, 1, 31))));
+
+        CursorPageResponse<PayrollSummaryResponse> page =
+                payrollService.getPayrollSummaries(companyId, from, to, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(25, page.getItems().get(0).getPayslipCount());
+        assertEquals(List.of("2025-02-28", february.getId().toString()), PageCursor.decode(page.getNextCursor(), 2));
+    }
+
+    @Test
+    void testGetPayrollSummaries_ContinuesBeforeCursor() {
+        UUID beforeId = UUID.randomUUID();
+        String cursor = PageCursor.encode(LocalDate.of(2025, 2, 28), beforeId);
+        when(payrollRepository.findSummaryPageBefore(null, null, null, LocalDate.of(2025, 2, 28), beforeId,
+                PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary(LocalDate.of(2025, 1, 31))));
+
+        CursorPageResponse<PayrollSummaryResponse> page = payrollService.getPayrollSummaries(null, null, null, cursor, 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetPayrollSummaries_RejectsInvalidArguments() {
+        assertThrows(PayrollProcessingException.class, () -> payrollService.getPayrollSummaries(null,
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 5, 31), null, 10));
+        assertThrows(PayrollProcessingException.class, () -> payrollService.getPayrollSummaries(null, null, null,
+                PageCursor.encode("February", UUID.randomUUID()), 10));
+        assertThrows(PayrollProcessingException.class,
+                () -> payrollService.getPayrollSummaries(null, null, null, null, 101));
+        verify(payrollRepository, never()).findSummaryPageBefore(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetPayslips_NetPayPagesContinueFromAmountAndId() {
+        UUID payrollId = UUID.randomUUID();
+        BigDecimal minNet = new BigDecimal("2000");
+        PayslipResponse second = payslip("3100.00");
+        when(payrollRepository.existsById(payrollId)).thenReturn(true);
+        when(payslipRepository.findPayrollPageByNetPayAfter(payrollId, "Finance", minNet, null, null, FIRST_ID,
+                PageRequest.of(0, 3)))
+                .thenReturn(List.of(payslip("3500.00"), second, payslip("3100.00")));
+
+        CursorPageResponse<PayslipResponse> page =
+                payrollService.getPayslips(payrollId, "Finance", minNet, null, "netPay", null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(List.of("netPay", "3100.00", second.getId().toString()),
+                PageCursor.decode(page.getNextCursor(), 3));
+
+        when(payslipRepository.findPayrollPageByNetPayAfter(payrollId, "Finance", minNet, null,
+                new BigDecimal("3100.00"), second.getId(), PageRequest.of(0, 3)))
+                .thenReturn(List.of(payslip("3100.00")));
+
+        page = payrollService.getPayslips(payrollId, "Finance", minNet, null, "netPay", page.getNextCursor(), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetPayslips_RejectsCursorOfAnotherSort() {
+        UUID payrollId = UUID.randomUUID();
+        when(payrollRepository.existsById(payrollId)).thenReturn(true);
+        String cursor = PageCursor.encode("netPay", "3100.00", UUID.randomUUID());
+
+        PayrollProcessingException e = assertThrows(PayrollProcessingException.class,
+                () -> payrollService.getPayslips(payrollId, null, null, null, "id", cursor, 10));
+        assertEquals("Page cursor was issued for sort netPay", e.getMessage());
+        assertThrows(PayrollProcessingException.class,
+                () -> payrollService.getPayslips(payrollId, null, null, null, "employeeName", null, 10));
+        assertThrows(PayrollProcessingException.class, () -> payrollService.getPayslips(payrollId, null,
+                new BigDecimal("3000"), new BigDecimal("2000"), "id", null, 10));
+        verify(payslipRepository, never()).findPayrollPageAfter(any(), any(), any(), any(), any(), any());
+    }
+
+    private static PayslipResponse payslip(String netPay) {
+        return new PayslipResponse(UUID.randomUUID(), null, UUID.randomUUID(), "Aoife Murphy", "1234567A",
+                new BigDecimal("4000.00"), null, null, null, new BigDecimal(netPay), null, null, null, null, null,
+                null);
+    }
+
+    private static PayrollSummaryResponse summary(LocalDate payPeriodEnd) {
+        BigDecimal gross = new BigDecimal("105000.00");
+        return new PayrollSummaryResponse(UUID.randomUUID(), UUID.randomUUID(), payPeriodEnd.withDayOfMonth(1),
+                payPeriodEnd, payPeriodEnd, PayrollStatus.PROCESSED, gross, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, gross, 1L, null, 25);
+    }
+}
@@ -0,0 +1,118 @@
+package com.irish.payroll.service;
+
+import com.irish.payroll.dto.response.CursorPageResponse;
+import com.irish.payroll.dto.response.PayslipHistoryResponse;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.exception.EmployeeNotFoundException;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the paged employee payslip history and its cache of recent payslips.
+ */
+@ExtendWith(MockitoExtension.class)
+class PayslipServiceTest {
+
+    private static final LocalDate LAST_PERIOD_END = LocalDate.of(9999, 12, 31);
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    @Mock
+    private PayslipRepository payslipRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private PayslipService payslipService;
+
+    private final UUID employeeId = UUID.randomUUID();
+
+    private PayslipHistoryCache payslipHistoryCache;
+
+    @BeforeEach
+    void setUp() {
+        payslipHistoryCache = new PayslipHistoryCache();
+        ReflectionTestUtils.setField(payslipHistoryCache, "recentPayslips", 3);
+        ReflectionTestUtils.setField(payslipHistoryCache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(payslipHistoryCache, "maxEntries", 100L);
+        payslipHistoryCache.init();
+        ReflectionTestUtils.setField(payslipService, "payslipHistoryCache", payslipHistoryCache);
+        ReflectionTestUtils.setField(payslipService, "maxPageSize", 50);
+    }
+
+    @Test
+    void testGetPayslipHistory_RecentPayslipsServedFromCacheUntilInvalidated() {
+        List<PayslipHistoryResponse> recent = List.of(payslip(4), payslip(3), payslip(2), payslip(1));
+        when(payslipRepository.findHistoryPageBefore(employeeId, null, null, LAST_PERIOD_END, LAST_ID,
+                PageRequest.of(0, 4)))
+                .thenReturn(recent);
+
+        CursorPageResponse<PayslipHistoryResponse> first = payslipService.getPayslipHistory(employeeId, null, null, 2);
+        CursorPageResponse<PayslipHistoryResponse> all = payslipService.getPayslipHistory(employeeId, null, null, 3);
+
+        assertEquals(recent.subList(0, 2), first.getItems());
+        assertEquals(List.of("2025-03-31", recent.get(1).getId().toString()),
+                PageCursor.decode(first.getNextCursor(), 2));
+        assertEquals(3, all.getItems().size());
+        assertNotNull(all.getNextCursor());
+        verify(payslipRepository, times(1)).findHistoryPageBefore(any(), any(), any(), any(), any(), any());
+
+        payslipHistoryCache.invalidateAll();
+        payslipService.getPayslipHistory(employeeId, null, null, 2);
+
+        verify(payslipRepository, times(2)).findHistoryPageBefore(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetPayslipHistory_TaxYearAndLaterPagesReadTheIndex() {
+        UUID beforeId = UUID.randomUUID();
+        String cursor = PageCursor.encode(LocalDate.of(2025, 3, 31), beforeId);
+        when(payslipRepository.findHistoryPageBefore(employeeId, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31), LocalDate.of(2025, 3, 31), beforeId, PageRequest.of(0, 3)))
+                .thenReturn(List.of(payslip(2), payslip(1)));
+
+        CursorPageResponse<PayslipHistoryResponse> page =
+                payslipService.getPayslipHistory(employeeId, 2025, cursor, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetPayslipHistory_UnknownEmployee() {
+        when(payslipRepository.findHistoryPageBefore(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(employeeRepository.existsById(employeeId)).thenReturn(false);
+
+        assertThrows(EmployeeNotFoundException.class,
+                () -> payslipService.getPayslipHistory(employeeId, null, null, 2));
+        assertThrows(EmployeeNotFoundException.class,
+                () -> payslipService.getPayslipHistory(employeeId, 2025, null, 2));
+    }
+
+    private static PayslipHistoryResponse payslip(int month) {
+        LocalDate end = LocalDate.of(2025, month, 1).withDayOfMonth(LocalDate.of(2025, month, 1).lengthOfMonth());
+        BigDecimal gross = new BigDecimal("3500.00");
+        return new PayslipHistoryResponse(UUID.randomUUID(), UUID.randomUUID(), end.withDayOfMonth(1), end, end,
+                PayrollStatus.PROCESSED, gross, null, null, null, gross, gross, null, null, null, gross);
+    }
+}
@@ -0,0 +1,224 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.PayrollPreviewResponse;
+import com.irish.payroll.dto.response.PayslipResponse;
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.mapper.PayslipMapper;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.service.tax.TaxCalculationService;
+import com.irish.payroll.service.tax.TaxScheduleCache;
+import com.irish.payroll.service.ytd.YtdBalanceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for in-memory payroll previews.
+ */
+@ExtendWith(MockitoExtension.class)
+class PayrollPreviewServiceTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private YtdBalanceService ytdBalanceService;
+
+    @Mock
+    private TaxCalculationService taxCalculationService;
+
+    @Mock
+    private TaxScheduleCache taxScheduleCache;
+
+    @Mock
+    private PayslipMapper payslipMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PayrollPreviewService previewService;
+
+    private ExecutorService executor;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(previewService, "payrollRunExecutor", executor);
+        ReflectionTestUtils.setField(previewService, "chunkSize", 2);
+
+        PayslipCalculator calculator = new PayslipCalculator();
+        ReflectionTestUtils.setField(calculator, "taxCalculationService", taxCalculationService);
+        ReflectionTestUtils.setField(calculator, "taxScheduleCache", taxScheduleCache);
+        ReflectionTestUtils.setField(previewService, "payslipCalculator", calculator);
+
+        PayrollPreviewCache cache = new PayrollPreviewCache();
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(cache, "maxEntries", 4L);
+        cache.init();
+        ReflectionTestUtils.setField(previewService, "payrollPreviewCache", cache);
+
+        for (int i = 0; i < 5; i++) {
+            Employee employee = new Employee();
+            employee.setId(new UUID(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), i));
+            employee.setGrossSalary(new BigDecimal((3000 + i * 500) * 12).setScale(2));
+            employee.setPayFrequency(PayFrequency.MONTHLY);
+            employees.add(employee);
+        }
+        employees.sort(Comparator.comparing(Employee::getId));
+
+        lenient().when(employeeRepository.findActivePageAfter(eq(COMPANY_ID), any(UUID.class), any(Pageable.class))).thenAnswer(invocation -> {
+            UUID afterId = invocation.getArgument(1);
+            Pageable page = invocation.getArgument(2);
+            return employees.stream().filter(e -> e.getId().compareTo(afterId) > 0).limit(page.getPageSize()).toList();
+        });
+        lenient().when(ytdBalanceService.getBalances(anyCollection(), anyInt())).thenAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).stream()
+                        .collect(Collectors.toMap(Function.identity(), YtdTotals::zero)));
+        lenient().when(taxCalculationService.calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any()))
+                .thenAnswer(invocation -> {
+                    BigDecimal gross = invocation.getArgument(1);
+                    BigDecimal paye = gross.multiply(new BigDecimal("0.20")).setScale(2, RoundingMode.HALF_UP);
+                    return new TaxCalculationResponse(gross, paye, BigDecimal.ZERO, BigDecimal.ZERO,
+                            BigDecimal.ZERO, gross.subtract(paye));
+                });
+        lenient().when(payslipMapper.toResponse(any(Payslip.class))).thenAnswer(invocation -> {
+            Payslip payslip = invocation.getArgument(0);
+            PayslipResponse response = new PayslipResponse();
+            response.setEmployeeId(payslip.getEmployee().getId());
+            response.setNetPay(payslip.getNetPay());
+            return response;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testPreview_TotalsAndPagesWithoutWriting() {
+        PayrollPreviewResponse response = previewService.preview(request(), 1, 2, "employee");
+
+        assertEquals(5, response.getEmployeeCount());
+        assertEquals(new BigDecimal("20000.00"), response.getTotalGross());
+        assertEquals(new BigDecimal("4000.00"), response.getTotalPaye());
+        assertEquals(new BigDecimal("16000.00"), response.getTotalNet());
+        assertEquals(3, response.getTotalPages());
+        assertEquals(List.of(employees.get(2).getId(), employees.get(3).getId()),
+                response.getPayslips().stream().map(PayslipResponse::getEmployeeId).toList());
+
+        // One read-only, repeatable-read snapshot transaction
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+    }
+
+    @Test
+    void testPreview_SortsByNetPayAndReusesCachedResult() {
+        previewService.preview(request(), 0, 10, "employee");
+        PayrollPreviewResponse response = previewService.preview(request(), 0, 2, "netPay");
+
+        assertEquals(new BigDecimal("4000.00"), response.getPayslips().get(0).getNetPay());
+        assertEquals(new BigDecimal("3600.00"), response.getPayslips().get(1).getNetPay());
+        verify(taxCalculationService, times(5)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+    }
+
+    @Test
+    void testPreview_CachesPerCompany() {
+        previewService.preview(request(), 0, 10, "employee");
+
+        PayrollRunRequest otherCompany = request();
+        otherCompany.setCompanyId(UUID.randomUUID());
+        PayrollPreviewResponse response = previewService.preview(otherCompany, 0, 10, "employee");
+
+        assertEquals(otherCompany.getCompanyId(), response.getCompanyId());
+        assertEquals(0, response.getEmployeeCount());
+        verify(taxCalculationService, times(5)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+    }
+
+    @Test
+    void testPreview_CachesPerPaymentDate() {
+        previewService.preview(request(), 0, 10, "employee");
+
+        PayrollRunRequest paidLater = request();
+        paidLater.setPaymentDate(LocalDate.of(2025, 4, 1));
+        previewService.preview(paidLater, 0, 10, "employee");
+        previewService.preview(request(), 0, 10, "employee");
+
+        verify(taxCalculationService, times(10)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+    }
+
+    @Test
+    void testPreview_RecomputedOnceAnotherTaxSnapshotIsActive() {
+        when(taxScheduleCache.getActiveVersion()).thenReturn(1L);
+        assertEquals(1L, previewService.preview(request(), 0, 10, "employee").getTaxConfigVersion());
+
+        when(taxScheduleCache.getActiveVersion()).thenReturn(2L);
+        assertEquals(2L, previewService.preview(request(), 0, 10, "employee").getTaxConfigVersion());
+        previewService.preview(request(), 0, 10, "employee");
+
+        verify(taxCalculationService, times(10)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+    }
+
+    @Test
+    void testPreview_RejectsUnknownSort() {
+        assertThrows(PayrollProcessingException.class, () -> previewService.preview(request(), 0, 10, "surname"));
+    }
+
+    private static PayrollRunRequest request() {
+        PayrollRunRequest request = new PayrollRunRequest();
+        request.setCompanyId(COMPANY_ID);
+        request.setPayPeriodStart(LocalDate.of(2025, 3, 1));
+        request.setPayPeriodEnd(LocalDate.of(2025, 3, 31));
+        request.setPaymentDate(LocalDate.of(2025, 3, 28));
+        return request;
+    }
+}
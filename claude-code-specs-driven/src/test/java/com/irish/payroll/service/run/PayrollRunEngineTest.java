@@ -0,0 +1,772 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.PayrollTotals;
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.response.PayrollRecalculationResponse;
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Company;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.PayrollRun;
+import com.irish.payroll.entity.PayrollRunCheckpoint;
+import com.irish.payroll.entity.PayrollRunState;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.exception.PayrollRunCancelledException;
+import com.irish.payroll.exception.PayrollRunOwnershipLostException;
+import com.irish.payroll.exception.TaxCalculationException;
+import com.irish.payroll.repository.CompanyRepository;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.PayrollRepository;
+import com.irish.payroll.repository.PayrollRunCheckpointRepository;
+import com.irish.payroll.repository.PayrollRunRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import com.irish.payroll.service.PayslipHistoryCache;
+import com.irish.payroll.service.tax.TaxCalculationService;
+import com.irish.payroll.service.tax.TaxResultCache;
+import com.irish.payroll.service.tax.TaxScheduleCache;
+import com.irish.payroll.service.tax.TaxSnapshot;
+import com.irish.payroll.service.ytd.YtdBalanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the partitioned payroll run engine.
+ */
+@ExtendWith(MockitoExtension.class)
+class PayrollRunEngineTest {
+
+    @Mock
+    private PayrollRepository payrollRepository;
+
+    @Mock
+    private PayslipRepository payslipRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PayrollRunRepository payrollRunRepository;
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private PayrollRunCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PayslipBulkWriter payslipBulkWriter;
+
+    @Mock
+    private TaxCalculationService taxCalculationService;
+
+    @Mock
+    private YtdBalanceService ytdBalanceService;
+
+    @Mock
+    private PayrollPreviewCache payrollPreviewCache;
+
+    @Mock
+    private TaxScheduleCache taxScheduleCache;
+
+    @Mock
+    private PayslipHistoryCache payslipHistoryCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PayrollRunEngine engine;
+
+    private ExecutorService executor;
+
+    private final UUID payrollId = UUID.randomUUID();
+
+    private final UUID runId = UUID.randomUUID();
+
+    private final Company company = company();
+
+    private final PayrollRun ownedRun = new PayrollRun();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(engine, "payrollRunExecutor", executor);
+        ReflectionTestUtils.setField(engine, "chunkSize", 3);
+        ReflectionTestUtils.setField(engine, "maxPendingChunks", 2);
+        ReflectionTestUtils.setField(engine, "nodeId", "node-a");
+        ReflectionTestUtils.setField(engine, "staleAfter", Duration.ofMinutes(5));
+        PayslipCalculator payslipCalculator = new PayslipCalculator();
+        ReflectionTestUtils.setField(payslipCalculator, "taxCalculationService", taxCalculationService);
+        ReflectionTestUtils.setField(payslipCalculator, "taxScheduleCache", taxScheduleCache);
+        ReflectionTestUtils.setField(engine, "payslipCalculator", payslipCalculator);
+        lenient().when(taxScheduleCache.getActiveVersion()).thenReturn(1L);
+
+        lenient().when(payrollRepository.save(any(Payroll.class))).thenAnswer(invocation -> {
+            Payroll payroll = invocation.getArgument(0);
+            payroll.setId(payrollId);
+            return payroll;
+        });
+        lenient().when(companyRepository.lockById(company.getId())).thenReturn(Optional.of(company));
+        lenient().when(payrollRunRepository.save(any(PayrollRun.class))).thenAnswer(invocation -> {
+            PayrollRun run = invocation.getArgument(0);
+            run.setId(runId);
+            return run;
+        });
+        lenient().when(payrollRunRepository.lockOwned(runId, "node-a")).thenReturn(Optional.of(ownedRun));
+        lenient().when(payrollRunRepository.recordProgress(eq(runId), eq("node-a"), any(), anyInt(), any()))
+                .thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRun_MatchesSequentialResultsInEmployeeOrder() {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        Payroll managedPayroll = new Payroll();
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(managedPayroll));
+
+        Payroll payroll = engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE);
+
+        List<Payslip> payslips = writtenPayslips();
+        assertEquals(10, payslips.size());
+        BigDecimal expectedGross = BigDecimal.ZERO;
+        BigDecimal expectedNet = BigDecimal.ZERO;
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            Payslip payslip = payslips.get(i);
+            TaxCalculationResponse expected = taxesFor(periodGross(employee));
+
+            assertSame(employee, payslip.getEmployee());
+            assertEquals(expected.getNetPay(), payslip.getNetPay());
+            assertEquals(new BigDecimal("1000.00").add(expected.getGrossPay()), payslip.getYtdGross());
+            assertEquals(new BigDecimal("100.00").add(expected.getPaye()), payslip.getYtdPaye());
+
+            expectedGross = expectedGross.add(expected.getGrossPay());
+            expectedNet = expectedNet.add(expected.getNetPay());
+        }
+
+        assertEquals(expectedGross, payroll.getTotalGross());
+        assertEquals(expectedNet, payroll.getTotalNet());
+        assertEquals(PayrollStatus.PROCESSED, payroll.getStatus());
+        // Totals are accumulated per chunk; neither payslips nor a re-read are held for them
+        assertTrue(payroll.getPayslips().isEmpty());
+        assertEquals(10, managedPayroll.getPayslipCount());
+        assertEquals(expectedNet, managedPayroll.getTotalNet());
+        verify(payslipRepository, never()).sumByPayrollId(any());
+        verify(payslipBulkWriter, times(4)).write(anyList(), eq(10));
+        verify(ytdBalanceService, times(4)).applyPayslips(anyList(), eq(2025));
+        verify(ytdBalanceService, times(4)).getBalances(anyCollection(), eq(2025));
+        verify(checkpointRepository, times(4)).save(any(PayrollRunCheckpoint.class));
+        verify(payrollRunRepository).recordProgress(eq(runId), eq("node-a"), eq(employees.get(9).getId()), eq(1), any());
+        assertEquals(PayrollRunState.COMPLETED, ownedRun.getState());
+    }
+
+    @Test
+    void testRun_FailedChunkRemovesPartialRun() {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        when(taxCalculationService.calculateAllTaxes(eq(employees.get(7)), any(), any()))
+                .thenThrow(new TaxCalculationException("No PAYE tax configuration found for year 2025"));
+
+        assertThrows(TaxCalculationException.class, () -> engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE));
+
+        verify(ytdBalanceService).revertPayslips(anyList(), eq(2025));
+        verify(payslipRepository).deleteByPayrollId(payrollId);
+        verify(payrollRepository).deleteById(payrollId);
+        verify(checkpointRepository).deleteByRunId(runId);
+        verify(payrollRunRepository).deleteById(runId);
+        verify(ytdBalanceService, atLeastOnce()).getBalances(anyCollection(), anyInt());
+    }
+
+    @Test
+    void testRun_CancelledRunRollsBackCommittedChunks() {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        AtomicInteger processed = new AtomicInteger();
+        PayrollRunMonitor cancelAfterFirstChunk = new PayrollRunMonitor() {
+            @Override
+            public void onEmployeesProcessed(int count) {
+                processed.addAndGet(count);
+            }
+
+            @Override
+            public boolean isCancelRequested() {
+                return processed.get() > 0;
+            }
+        };
+
+        assertThrows(PayrollRunCancelledException.class,
+                () -> engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, cancelAfterFirstChunk));
+
+        verify(ytdBalanceService).revertPayslips(anyList(), eq(2025));
+        verify(payslipRepository).deleteByPayrollId(payrollId);
+        verify(payrollRepository).deleteById(payrollId);
+        verify(payrollRepository, never()).findById(any());
+        verify(payrollRunRepository).deleteById(runId);
+    }
+
+    @Test
+    void testRun_InterruptedRunKeepsCheckpointsForResume() throws Exception {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        CountDownLatch firstChunkCommitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PayrollRunMonitor stallAfterCommit = new PayrollRunMonitor() {
+            @Override
+            public void onEmployeesProcessed(int count) {
+                firstChunkCommitted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread coordinator = new Thread(() -> {
+            try {
+                engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, stallAfterCommit);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        coordinator.start();
+        assertTrue(firstChunkCommitted.await(5, TimeUnit.SECONDS));
+        coordinator.interrupt();
+        coordinator.join(5000);
+        release.countDown();
+
+        assertInstanceOf(PayrollProcessingException.class, failure.get());
+        verify(checkpointRepository, atLeastOnce()).save(any(PayrollRunCheckpoint.class));
+        verify(payslipRepository, never()).deleteByPayrollId(any());
+        verify(payrollRunRepository, never()).deleteById(any());
+        verify(ytdBalanceService, never()).revertPayslips(anyList(), anyInt());
+    }
+
+    @Test
+    void testRun_StopsWithoutRemovingAnythingOnceAnotherNodeOwnsTheRun() {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        // Another node claimed the run as a stale one before the first chunk committed
+        when(payrollRunRepository.lockOwned(runId, "node-a")).thenReturn(Optional.empty());
+
+        assertThrows(PayrollRunOwnershipLostException.class,
+                () -> engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE));
+
+        verify(payslipBulkWriter, never()).write(anyList(), anyInt());
+        verify(checkpointRepository, never()).save(any(PayrollRunCheckpoint.class));
+        verify(payslipRepository, never()).deleteByPayrollId(any());
+        verify(payrollRepository, never()).deleteById(any());
+        verify(payrollRunRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void testRun_StopsWhenWatermarkBelongsToAnotherNode() {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        when(payrollRunRepository.recordProgress(eq(runId), eq("node-a"), any(), anyInt(), any())).thenReturn(0);
+
+        assertThrows(PayrollRunOwnershipLostException.class,
+                () -> engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE));
+
+        verify(payrollRunRepository, times(1)).recordProgress(any(), any(), any(), anyInt(), any());
+        verify(payslipRepository, never()).deleteByPayrollId(any());
+        verify(payrollRunRepository, never()).deleteById(any());
+        verify(payrollRepository, never()).findById(any());
+    }
+
+    @Test
+    void testHeartbeat_RefreshesOwnedRunAndStopsItOnceTakenOver() throws Exception {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        CountDownLatch firstChunkCommitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PayrollRunMonitor stallFirstChunk = new PayrollRunMonitor() {
+            @Override
+            public void onEmployeesProcessed(int count) {
+                firstChunkCommitted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        when(payrollRunRepository.heartbeat(eq(runId), eq("node-a"), any())).thenReturn(1, 0);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread coordinator = new Thread(() -> {
+            try {
+                engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, stallFirstChunk);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        coordinator.start();
+        assertTrue(firstChunkCommitted.await(5, TimeUnit.SECONDS));
+        // A slow chunk keeps the run alive; once another node has claimed it the run stops
+        engine.heartbeatOwnedRuns();
+        engine.heartbeatOwnedRuns();
+        release.countDown();
+        coordinator.join(5000);
+
+        assertInstanceOf(PayrollRunOwnershipLostException.class, failure.get());
+        verify(payrollRunRepository, times(2)).heartbeat(eq(runId), eq("node-a"), any());
+        verify(payslipRepository, never()).deleteByPayrollId(any());
+        verify(payrollRunRepository, never()).deleteById(any());
+        assertNotEquals(PayrollRunState.COMPLETED, ownedRun.getState());
+    }
+
+    @Test
+    void testResume_ProcessesOnlyUnpaidEmployeesAfterLastCheckpoint() {
+        List<Employee> employees = employees(10);
+        stubTaxes();
+        stubPriorYtd();
+
+        Payroll header = companyPayroll();
+        header.setId(payrollId);
+        PayrollRun run = new PayrollRun(header, 2025, 10, "node-b");
+        run.setId(runId);
+        run.setLastCommittedEmployeeId(employees.get(5).getId());
+
+        List<Employee> remaining = employees.subList(6, 10);
+        PayrollTotals committed = new PayrollTotals(new BigDecimal("18000.00"), new BigDecimal("3600.00"),
+                new BigDecimal("720.00"), new BigDecimal("360.00"), new BigDecimal("13320.00"), 6L);
+
+        when(payrollRunRepository.claim(eq(runId), eq("node-a"), any(), any())).thenReturn(1);
+        when(payrollRunRepository.findWithPayrollById(runId)).thenReturn(Optional.of(run));
+        when(employeeRepository.countActiveUnpaidAfter(company.getId(), payrollId, employees.get(5).getId())).thenReturn(4L);
+        when(employeeRepository.findActiveUnpaidPageAfter(eq(company.getId()), eq(payrollId), any(UUID.class),
+                any(Pageable.class)))
+                .thenAnswer(invocation -> pageAfter(remaining, invocation.getArgument(2), invocation.getArgument(3)));
+        when(checkpointRepository.findMaxChunkIndex(runId)).thenReturn(1);
+        when(payslipRepository.sumByPayrollId(payrollId)).thenReturn(committed);
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(new Payroll()));
+
+        Payroll payroll = engine.resume(runId, PayrollRunMonitor.NONE);
+
+        ArgumentCaptor<PayrollRunCheckpoint> checkpoints = ArgumentCaptor.forClass(PayrollRunCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(checkpoints.capture());
+        assertEquals(List.of(2, 3), checkpoints.getAllValues().stream()
+                .map(PayrollRunCheckpoint::getChunkIndex).sorted().toList());
+        verify(payslipBulkWriter, times(2)).write(anyList(), eq(10));
+        verify(taxCalculationService, times(4)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+        verify(employeeRepository).findActiveUnpaidPageAfter(eq(company.getId()), eq(payrollId),
+                eq(employees.get(5).getId()), any(Pageable.class));
+        BigDecimal resumedGross = BigDecimal.ZERO;
+        BigDecimal resumedNet = BigDecimal.ZERO;
+        for (Employee employee : remaining) {
+            resumedGross = resumedGross.add(taxesFor(periodGross(employee)).getGrossPay());
+            resumedNet = resumedNet.add(taxesFor(periodGross(employee)).getNetPay());
+        }
+        assertEquals(committed.getGross().add(resumedGross), payroll.getTotalGross());
+        assertEquals(committed.getNet().add(resumedNet), payroll.getTotalNet());
+        assertEquals(10, payroll.getPayslipCount());
+        assertEquals(PayrollStatus.PROCESSED, payroll.getStatus());
+        verify(payslipRepository, never()).findByPayrollIdWithEmployee(any());
+    }
+
+    @Test
+    void testResume_RunOwnedByLiveNodeIsNotClaimed() {
+        when(payrollRunRepository.claim(eq(runId), eq("node-a"), any(), any())).thenReturn(0);
+
+        assertThrows(PayrollProcessingException.class, () -> engine.resume(runId, PayrollRunMonitor.NONE));
+
+        verify(payslipBulkWriter, never()).write(anyList(), anyInt());
+    }
+
+    @Test
+    void testIsResumable_OwnRunOrStaleHeartbeat() {
+        PayrollRun own = new PayrollRun(new Payroll(), 2025, 10, "node-a");
+        PayrollRun liveElsewhere = new PayrollRun(new Payroll(), 2025, 10, "node-b");
+        PayrollRun staleElsewhere = new PayrollRun(new Payroll(), 2025, 10, "node-b");
+        staleElsewhere.setHeartbeatAt(LocalDateTime.now().minusMinutes(10));
+        own.setId(UUID.randomUUID());
+        liveElsewhere.setId(UUID.randomUUID());
+        staleElsewhere.setId(UUID.randomUUID());
+
+        assertTrue(engine.isResumable(own));
+        assertFalse(engine.isResumable(liveElsewhere));
+        assertTrue(engine.isResumable(staleElsewhere));
+    }
+
+    @Test
+    void testRun_ReadsEmployeesInKeysetPages() {
+        List<Employee> employees = employees(10);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(new Payroll()));
+
+        engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE);
+
+        ArgumentCaptor<UUID> afterIds = ArgumentCaptor.forClass(UUID.class);
+        verify(employeeRepository, times(5)).findActivePageAfter(eq(company.getId()), afterIds.capture(), any(Pageable.class));
+        assertEquals(List.of(new UUID(0L, 0L), employees.get(2).getId(), employees.get(5).getId(),
+                employees.get(8).getId(), employees.get(9).getId()), afterIds.getAllValues());
+    }
+
+    @Test
+    void testRun_MemoizedRunCalculatesSharedTaxInputsOnce() {
+        List<Employee> employees = employees(10);
+        // Two pay scales shared by every employee
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setGrossSalary(new BigDecimal(i % 2 == 0 ? "36000.00" : "51000.00"));
+        }
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(new Payroll()));
+        TaxResultCache taxResultCache = new TaxResultCache();
+        ReflectionTestUtils.setField(taxResultCache, "taxCalculationService", taxCalculationService);
+        ReflectionTestUtils.setField(taxResultCache, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(taxResultCache, "maxEntries", 100L);
+        ReflectionTestUtils.invokeMethod(taxResultCache, "init");
+        ReflectionTestUtils.setField(ReflectionTestUtils.getField(engine, "payslipCalculator"),
+                "taxResultCache", taxResultCache);
+        ArgumentCaptor<PayrollRun> runs = ArgumentCaptor.forClass(PayrollRun.class);
+
+        Payroll payroll = engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, true, PayrollRunMonitor.NONE);
+
+        verify(taxCalculationService, times(2)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+        verify(payrollRunRepository).save(runs.capture());
+        assertTrue(runs.getValue().getMemoizeTaxes());
+        List<Payslip> payslips = writtenPayslips();
+        assertEquals(10, payslips.size());
+        for (Payslip payslip : payslips) {
+            assertEquals(taxesFor(periodGross(payslip.getEmployee())).getNetPay(), payslip.getNetPay());
+        }
+    }
+
+    @Test
+    void testRun_ReusesValidPreviewedPayslips() {
+        List<Employee> employees = employees(4);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(new Payroll()));
+
+        PayslipCalculator calculator = (PayslipCalculator) ReflectionTestUtils.getField(engine, "payslipCalculator");
+        Map<UUID, YtdTotals> priorYtd = new HashMap<>();
+        List<Payslip> previewed = new ArrayList<>();
+        for (Employee employee : employees) {
+            YtdTotals prior = new YtdTotals(employee.getId(), new BigDecimal("1000.00"), new BigDecimal("100.00"),
+                    new BigDecimal("40.00"), new BigDecimal("20.00"), new BigDecimal("840.00"), 1L);
+            priorYtd.put(employee.getId(), prior);
+            previewed.add(calculator.calculate(null, employee, 2025, prior));
+        }
+        PayrollPreview preview = new PayrollPreview(null, null, 2025, 1L, null, previewed, priorYtd);
+        when(payrollPreviewCache.find(any(), any(), any(), any())).thenReturn(preview);
+
+        // Salary change after the preview invalidates that employee's previewed payslip
+        employees.get(2).setGrossSalary(employees.get(2).getGrossSalary().add(BigDecimal.TEN));
+
+        Payroll payroll = engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE);
+
+        // Four calculations built the preview; the run recomputes only the changed employee
+        verify(taxCalculationService, times(5)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+        List<Payslip> payslips = writtenPayslips();
+        assertEquals(4, payslips.size());
+        assertEquals(taxesFor(periodGross(employees.get(2))).getNetPay(), payslips.get(2).getNetPay());
+        assertEquals(previewed.get(0).getNetPay(), payslips.get(0).getNetPay());
+        assertSame(payroll, payslips.get(0).getPayroll());
+        verify(payrollPreviewCache).invalidate(any(), any(), any(), any());
+        verify(payslipHistoryCache).invalidateAll();
+    }
+
+    @Test
+    void testRun_RecomputesPreviewPaidBeforeEffectiveDatedRateChange() {
+        List<Employee> employees = employees(4);
+        stubActiveEmployees(employees);
+        stubTaxes();
+        stubPriorYtd();
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(new Payroll()));
+        TaxSnapshot snapshot = TaxSnapshot.compile(1L, List.of(
+                payeBand("Standard Rate", "42000", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)),
+                payeBand("Standard Rate H2", "44000", LocalDate.of(2025, 7, 1), null)));
+        when(taxScheduleCache.rates(any(Payroll.class), eq(2025)))
+                .thenAnswer(invocation -> snapshot.rates(2025, invocation.<Payroll>getArgument(0).getPaymentDate()));
+
+        // Previewed for a June payment date, under the rates in effect before the July change
+        Payroll previewHeader = companyPayroll();
+        previewHeader.setPaymentDate(LocalDate.of(2025, 6, 30));
+        previewHeader.setTaxConfigVersion(1L);
+        PayslipCalculator calculator = (PayslipCalculator) ReflectionTestUtils.getField(engine, "payslipCalculator");
+        Map<UUID, YtdTotals> priorYtd = new HashMap<>();
+        List<Payslip> previewed = new ArrayList<>();
+        for (Employee employee : employees) {
+            YtdTotals prior = new YtdTotals(employee.getId(), new BigDecimal("1000.00"), new BigDecimal("100.00"),
+                    new BigDecimal("40.00"), new BigDecimal("20.00"), new BigDecimal("840.00"), 1L);
+            priorYtd.put(employee.getId(), prior);
+            previewed.add(calculator.calculate(previewHeader, employee, 2025, prior));
+        }
+        PayrollPreview preview = new PayrollPreview(null, null, 2025, 1L,
+                snapshot.rates(2025, previewHeader.getPaymentDate()), previewed, priorYtd);
+        when(payrollPreviewCache.find(any(), any(), any(), any())).thenReturn(preview);
+
+        Payroll payroll = companyPayroll();
+        payroll.setPaymentDate(LocalDate.of(2025, 7, 1));
+        engine.run(payroll, 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE);
+
+        // Same snapshot, inputs and YTD, but every payslip is recomputed under the July rates
+        verify(taxCalculationService, times(4)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class),
+                eq(snapshot.rates(2025, LocalDate.of(2025, 7, 1))));
+        verify(taxCalculationService, times(8)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+        assertEquals(4, writtenPayslips().size());
+    }
+
+    @Test
+    void testRecalculateDraft_RecomputesOnlyChangedEmployees() {
+        List<Employee> employees = employees(3);
+        stubTaxes();
+        Payroll payroll = new Payroll();
+        payroll.setId(payrollId);
+        payroll.setPayPeriodEnd(LocalDate.of(2025, 3, 31));
+        payroll.setStatus(PayrollStatus.DRAFT);
+
+        List<Payslip> payslips = new ArrayList<>();
+        for (Employee employee : employees) {
+            Payslip payslip = new Payslip();
+            payslip.setEmployee(employee);
+            TaxCalculationResponse taxes = taxesFor(periodGross(employee));
+            payslip.setGrossPay(taxes.getGrossPay());
+            payslip.setPayeDeduction(taxes.getPaye());
+            payslip.setPrsiDeduction(taxes.getPrsi());
+            payslip.setUscDeduction(taxes.getUsc());
+            payslip.setNetPay(taxes.getNetPay());
+            payslip.setYtdGross(new BigDecimal("1000.00").add(taxes.getGrossPay()));
+            payslip.setYtdPaye(new BigDecimal("100.00").add(taxes.getPaye()));
+            payslip.setYtdPrsi(new BigDecimal("40.00").add(taxes.getPrsi()));
+            payslip.setYtdUsc(new BigDecimal("20.00").add(taxes.getUsc()));
+            payslip.setInputFingerprint(PayslipFingerprint.of(employee, 2025));
+            payslips.add(payslip);
+        }
+        payroll.setPayslips(payslips);
+        payroll.calculateTotals();
+        BigDecimal originalGross = payroll.getTotalGross();
+
+        // HR correction after the draft was computed
+        Employee corrected = employees.get(1);
+        BigDecimal oldGross = periodGross(corrected);
+        corrected.setGrossSalary(corrected.getGrossSalary().add(new BigDecimal("6000.00")));
+
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(payroll));
+        when(payslipRepository.findByPayrollIdWithEmployee(payrollId)).thenReturn(payslips);
+
+        PayrollRecalculationResponse response = engine.recalculateDraft(payrollId);
+
+        assertEquals(3, response.getPayslipsChecked());
+        assertEquals(1, response.getPayslipsRecalculated());
+        assertEquals(List.of(corrected.getId()), response.getRecalculatedEmployeeIds());
+        assertEquals(originalGross.add(new BigDecimal("500.00")), payroll.getTotalGross());
+        verify(taxCalculationService, times(1)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any());
+
+        Payslip updated = payslips.get(1);
+        TaxCalculationResponse expected = taxesFor(periodGross(corrected));
+        assertEquals(expected.getNetPay(), updated.getNetPay());
+        assertEquals(new BigDecimal("1000.00").add(expected.getGrossPay()), updated.getYtdGross());
+        assertEquals(PayslipFingerprint.of(corrected, 2025), updated.getInputFingerprint());
+        verify(payslipHistoryCache).invalidateAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Payslip>> reverted = ArgumentCaptor.forClass(List.class);
+        verify(ytdBalanceService).revertPayslips(reverted.capture(), eq(2025));
+        assertEquals(oldGross, reverted.getValue().get(0).getGrossPay());
+        verify(ytdBalanceService).applyPayslips(List.of(updated), 2025);
+
+        // The same payroll is now clean
+        assertEquals(0, engine.recalculateDraft(payrollId).getPayslipsRecalculated());
+    }
+
+    @Test
+    void testRun_RejectsSecondRunForSameCompany() {
+        when(payrollRunRepository.existsByPayrollCompanyIdAndState(company.getId(), PayrollRunState.RUNNING))
+                .thenReturn(true);
+
+        assertThrows(PayrollProcessingException.class,
+                () -> engine.run(companyPayroll(), 2025, PayrollStatus.PROCESSED, false, PayrollRunMonitor.NONE));
+        verify(payrollRepository, never()).save(any(Payroll.class));
+        verify(payslipBulkWriter, never()).write(anyList(), anyInt());
+    }
+
+    @Test
+    void testRecalculateDraft_RejectsProcessedPayroll() {
+        Payroll payroll = new Payroll();
+        payroll.setId(payrollId);
+        payroll.setStatus(PayrollStatus.PROCESSED);
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(payroll));
+
+        assertThrows(PayrollProcessingException.class, () -> engine.recalculateDraft(payrollId));
+        verify(payslipRepository, never()).findByPayrollIdWithEmployee(any());
+    }
+
+    /**
+     * Every payslip handed to the bulk writer, in employee order.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Payslip> writtenPayslips() {
+        ArgumentCaptor<List<Payslip>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(payslipBulkWriter, atLeastOnce()).write(chunks.capture(), anyInt());
+        return chunks.getAllValues().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(payslip -> payslip.getEmployee().getId()))
+                .toList();
+    }
+
+    private static TaxConfiguration payeBand(String name, String upper, LocalDate effectiveFrom,
+                                             LocalDate effectiveTo) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(2025);
+        band.setTaxType(TaxType.PAYE);
+        band.setBandName(name);
+        band.setIncomeLower(BigDecimal.ZERO);
+        band.setIncomeUpper(new BigDecimal(upper));
+        band.setRate(new BigDecimal("0.20"));
+        band.setIsActive(true);
+        band.setEffectiveFrom(effectiveFrom);
+        band.setEffectiveTo(effectiveTo);
+        return band;
+    }
+
+    private Payroll companyPayroll() {
+        Payroll payroll = new Payroll();
+        payroll.setCompany(company);
+        return payroll;
+    }
+
+    private static Company company() {
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        company.setName("Test Company");
+        return company;
+    }
+
+    private void stubActiveEmployees(List<Employee> employees) {
+        lenient().when(employeeRepository.countByCompanyIdAndIsActiveTrue(company.getId()))
+                .thenReturn((long) employees.size());
+        lenient().when(employeeRepository.findActivePageAfter(eq(company.getId()), any(UUID.class), any(Pageable.class)))
+                .thenAnswer(invocation -> pageAfter(employees, invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
+    private static List<Employee> pageAfter(List<Employee> employees, UUID afterId, Pageable page) {
+        return employees.stream()
+                .filter(employee -> employee.getId().compareTo(afterId) > 0)
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    private void stubTaxes() {
+        when(taxCalculationService.calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any()))
+                .thenAnswer(invocation -> taxesFor(invocation.getArgument(1)));
+    }
+
+    private void stubPriorYtd() {
+        when(ytdBalanceService.getBalances(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Map<UUID, YtdTotals> totals = new HashMap<>();
+            for (UUID employeeId : invocation.<Collection<UUID>>getArgument(0)) {
+                totals.put(employeeId, new YtdTotals(employeeId, new BigDecimal("1000.00"),
+                        new BigDecimal("100.00"), new BigDecimal("40.00"), new BigDecimal("20.00"),
+                        new BigDecimal("840.00"), 1L));
+            }
+            return totals;
+        });
+    }
+
+    private static BigDecimal periodGross(Employee employee) {
+        return employee.getPayFrequency().perPeriod(employee.getGrossSalary());
+    }
+
+    private static TaxCalculationResponse taxesFor(BigDecimal grossPay) {
+        BigDecimal paye = grossPay.multiply(new BigDecimal("0.20")).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal prsi = grossPay.multiply(new BigDecimal("0.04")).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal usc = grossPay.multiply(new BigDecimal("0.02")).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal net = grossPay.subtract(paye).subtract(prsi).subtract(usc);
+        return new TaxCalculationResponse(grossPay, paye, prsi, usc, BigDecimal.ZERO, net);
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            // Positive high bits so UUID.compareTo agrees with the database's unsigned key order
+            employee.setId(new UUID(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE),
+                    ThreadLocalRandom.current().nextLong()));
+            employee.setFirstName("Employee");
+            employee.setLastName(String.valueOf(i));
+            // Annual salary of a whole number of euro a month
+            employee.setGrossSalary(new BigDecimal((3000 + i * 137) * 12).setScale(2));
+            employee.setPayFrequency(PayFrequency.MONTHLY);
+            employee.setTaxCreditsAnnual(BigDecimal.ZERO);
+            employees.add(employee);
+        }
+        employees.sort(Comparator.comparing(Employee::getId));
+        return employees;
+    }
+}
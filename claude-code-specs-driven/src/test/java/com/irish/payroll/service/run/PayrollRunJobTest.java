@@ -0,0 +1,70 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.request.PayrollRunRequest;
+import com.irish.payroll.dto.response.PayrollRunJobResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for payroll run job progress tracking.
+ */
+class PayrollRunJobTest {
+
+    private PayrollRunJob job;
+
+    @BeforeEach
+    void setUp() {
+        PayrollRunRequest request = new PayrollRunRequest();
+        request.setPayPeriodStart(LocalDate.of(2025, 1, 1));
+        request.setPayPeriodEnd(LocalDate.of(2025, 1, 31));
+        request.setPaymentDate(LocalDate.of(2025, 1, 31));
+        job = new PayrollRunJob(request);
+    }
+
+    @Test
+    void testProgress_ReportsThroughputAndEta() throws InterruptedException {
+        job.onStart(1000);
+        Thread.sleep(20);
+        job.onEmployeesProcessed(250);
+
+        PayrollRunJobResponse status = job.toResponse();
+
+        assertEquals(PayrollRunPhase.CALCULATING, status.getPhase());
+        assertEquals(1000, status.getTotalEmployees());
+        assertEquals(250, status.getProcessedEmployees());
+        assertTrue(status.getEmployeesPerSecond() > 0);
+        assertNotNull(status.getEtaSeconds());
+    }
+
+    @Test
+    void testRequestCancel_IgnoredOnceFinished() {
+        UUID payrollId = UUID.randomUUID();
+        job.onStart(10);
+        job.complete(payrollId);
+
+        job.requestCancel();
+
+        assertFalse(job.isCancelRequested());
+        PayrollRunJobResponse status = job.toResponse();
+        assertEquals(PayrollRunPhase.COMPLETED, status.getPhase());
+        assertEquals(payrollId, status.getPayrollId());
+        assertNull(status.getEtaSeconds());
+        assertNotNull(status.getFinishedAt());
+    }
+
+    @Test
+    void testRequestCancel_FlagsRunningJob() {
+        job.onStart(10);
+
+        job.requestCancel();
+        job.cancelled();
+
+        assertTrue(job.isCancelRequested());
+        assertEquals(PayrollRunPhase.CANCELLED, job.getPhase());
+    }
+}
@@ -0,0 +1,288 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.dto.projection.PayrollTotals;
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.request.CompanyCreateRequest;
+import com.irish.payroll.entity.Company;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.PayrollRun;
+import com.irish.payroll.entity.PayrollRunState;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.PayrollRepository;
+import com.irish.payroll.repository.PayrollRunCheckpointRepository;
+import com.irish.payroll.repository.PayrollRunRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import com.irish.payroll.service.CompanyService;
+import com.irish.payroll.service.ytd.YtdBalanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kills payroll runs partway through against the H2 database and resumes them.
+ *
+ * Chunks are five employees and run one at a time, so the run can be killed
+ * at a known point: while a chunk is still inside its transaction, or after a
+ * chunk has committed but before the run has recorded it as its watermark.
+ * The runs belong to a node of their own, so the recovery of another test
+ * context sharing the database does not resume them first.
+ */
+@SpringBootTest(properties = {
+        "payroll.run.chunk-size=5",
+        "payroll.run.max-pending-chunks=1",
+        "payroll.run.recovery-interval=PT1H",
+        "payroll.run.node-id=resume-test"
+})
+@ActiveProfiles("test")
+class PayrollRunResumeTest {
+
+    private static final int EMPLOYEES = 23;
+    private static final int CHUNK_SIZE = 5;
+    private static final int TAX_YEAR = 2025;
+    private static final AtomicInteger COMPANIES = new AtomicInteger();
+
+    @Autowired
+    private PayrollRunEngine engine;
+
+    @Autowired
+    private PayslipCalculator payslipCalculator;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayrollRunCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private YtdBalanceService ytdBalanceService;
+
+    private Company company;
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        // Each test pays its own company so runs and YTD balances do not overlap
+        int companyNumber = COMPANIES.incrementAndGet();
+        CompanyCreateRequest request = new CompanyCreateRequest();
+        request.setName("Resume Test " + companyNumber);
+        company = companyService.getCompanyEntity(companyService.createCompany(request).getId());
+
+        employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setCompany(company);
+            employee.setPpsNumber(String.format("%07dR", 3000000 + companyNumber * 100 + i));
+            employee.setFirstName("Resume");
+            employee.setLastName(companyNumber + "-" + i);
+            employee.setEmail("resume" + companyNumber + "." + i + "@example.ie");
+            employee.setHireDate(LocalDate.of(2020, 1, 1));
+            employee.setGrossSalary(new BigDecimal(30000 + i * 1500).setScale(2));
+            employee.setPayFrequency(PayFrequency.MONTHLY);
+            employee.setTaxCreditsAnnual(new BigDecimal("4000.00"));
+            employees.add(employeeRepository.save(employee));
+        }
+    }
+
+    @Test
+    void testResume_AfterChunkRolledBackByKilledRun() throws InterruptedException {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch chunkCompleted = new CountDownLatch(1);
+        AtomicInteger chunkOutcome = new AtomicInteger(-1);
+        PayrollRunMonitor monitor = new PayrollRunMonitor() {
+            private final AtomicInteger chunksWritten = new AtomicInteger();
+
+            @Override
+            public void onPayslipsWritten(int rows, long elapsedNanos) {
+                if (chunksWritten.incrementAndGet() <= 2) {
+                    return;
+                }
+                // Still inside the third chunk's transaction: hold it open until the run is killed, then fail it
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        chunkOutcome.set(status);
+                        chunkCompleted.countDown();
+                    }
+                });
+                inFlight.countDown();
+                awaitQuietly(release);
+                throw new IllegalStateException("Node lost while committing chunk");
+            }
+        };
+
+        Payroll payroll = killRun(monitor, inFlight, release);
+        assertTrue(chunkCompleted.await(30, TimeUnit.SECONDS));
+
+        assertEquals(TransactionSynchronization.STATUS_ROLLED_BACK, chunkOutcome.get());
+        PayrollRun run = payrollRunRepository.findByPayrollId(payroll.getId()).orElseThrow();
+        assertEquals(PayrollRunState.RUNNING, run.getState());
+        assertEquals(1, checkpointRepository.findMaxChunkIndex(run.getId()));
+        assertEquals(2 * CHUNK_SIZE, run.getProcessedEmployees());
+        List<Payslip> committed = payslipRepository.findByPayrollId(payroll.getId());
+        assertEquals(2 * CHUNK_SIZE, committed.size());
+        // Balances moved only for the committed chunks, not the rolled-back one
+        assertEquals(PayrollTotals.of(committed).getGross(), ytdGross());
+
+        engine.resume(run.getId(), PayrollRunMonitor.NONE);
+
+        assertPaidOnce(payroll, run);
+    }
+
+    @Test
+    void testResume_AfterChunkCommittedPastWatermark() throws InterruptedException {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PayrollRunMonitor monitor = new PayrollRunMonitor() {
+            private final AtomicInteger chunksCommitted = new AtomicInteger();
+
+            @Override
+            public void onEmployeesProcessed(int count) {
+                if (chunksCommitted.incrementAndGet() <= 2) {
+                    return;
+                }
+                // Third chunk has committed; the run is killed before it advances the watermark
+                inFlight.countDown();
+                awaitQuietly(release);
+            }
+        };
+
+        Payroll payroll = killRun(monitor, inFlight, release);
+
+        PayrollRun run = payrollRunRepository.findByPayrollId(payroll.getId()).orElseThrow();
+        assertEquals(PayrollRunState.RUNNING, run.getState());
+        assertEquals(2, checkpointRepository.findMaxChunkIndex(run.getId()));
+        assertEquals(2 * CHUNK_SIZE, run.getProcessedEmployees());
+        assertEquals(3 * CHUNK_SIZE, payslipRepository.findByPayrollId(payroll.getId()).size());
+
+        engine.resume(run.getId(), PayrollRunMonitor.NONE);
+
+        assertPaidOnce(payroll, run);
+    }
+
+    /**
+     * Start a run on another thread, wait until the monitor holds a chunk,
+     * interrupt the run as a shutting-down node would, then let the chunk finish.
+     *
+     * @return The interrupted payroll
+     */
+    private Payroll killRun(PayrollRunMonitor monitor, CountDownLatch inFlight, CountDownLatch release)
+            throws InterruptedException {
+        Payroll payroll = new Payroll();
+        payroll.setCompany(company);
+        payroll.setPayPeriodStart(LocalDate.of(2025, 3, 1));
+        payroll.setPayPeriodEnd(LocalDate.of(2025, 3, 31));
+        payroll.setPaymentDate(LocalDate.of(2025, 3, 28));
+        payroll.setStatus(PayrollStatus.DRAFT);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread coordinator = new Thread(() -> {
+            try {
+                engine.run(payroll, TAX_YEAR, PayrollStatus.PROCESSED, false, monitor);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+
+        coordinator.start();
+        assertTrue(inFlight.await(30, TimeUnit.SECONDS));
+        coordinator.interrupt();
+        coordinator.join(TimeUnit.SECONDS.toMillis(30));
+        release.countDown();
+
+        assertInstanceOf(PayrollProcessingException.class, failure.get());
+        return payroll;
+    }
+
+    /**
+     * Every employee has exactly one payslip, the payroll totals are those of
+     * an uninterrupted run and every YTD balance holds one period's pay.
+     */
+    private void assertPaidOnce(Payroll payroll, PayrollRun run) {
+        List<Payslip> payslips = payslipRepository.findByPayrollId(payroll.getId());
+        Set<UUID> paidEmployeeIds = payslips.stream().map(payslip -> payslip.getEmployee().getId())
+                .collect(Collectors.toSet());
+        assertEquals(EMPLOYEES, payslips.size());
+        assertEquals(Set.copyOf(employeeIds()), paidEmployeeIds);
+
+        Payroll stored = payrollRepository.findById(payroll.getId()).orElseThrow();
+        List<Payslip> expected = new ArrayList<>();
+        for (Employee employee : employees) {
+            expected.add(payslipCalculator.calculate(stored, employee, TAX_YEAR, YtdTotals.zero(employee.getId())));
+        }
+        PayrollTotals expectedTotals = PayrollTotals.of(expected);
+        assertEquals(expectedTotals.getGross(), stored.getTotalGross());
+        assertEquals(expectedTotals.getPaye(), stored.getTotalPaye());
+        assertEquals(expectedTotals.getPrsi(), stored.getTotalPrsi());
+        assertEquals(expectedTotals.getUsc(), stored.getTotalUsc());
+        assertEquals(expectedTotals.getNet(), stored.getTotalNet());
+        assertEquals(EMPLOYEES, stored.getPayslipCount());
+        assertEquals(PayrollStatus.PROCESSED, stored.getStatus());
+        assertEquals(PayrollRunState.COMPLETED, payrollRunRepository.findById(run.getId()).orElseThrow().getState());
+
+        Map<UUID, YtdTotals> balances = ytdBalanceService.getBalances(employeeIds(), TAX_YEAR);
+        for (Payslip payslip : payslips) {
+            YtdTotals balance = balances.get(payslip.getEmployee().getId());
+            assertEquals(payslip.getGrossPay(), balance.getGross());
+            assertEquals(1L, balance.getPayslipCount());
+        }
+
+        // The single-employee lookup reads the same tax year as the batch aggregation
+        Payslip first = payslips.get(0);
+        assertEquals(0, first.getGrossPay().compareTo(payslipRepository.calculateYtdGross(
+                first.getEmployee().getId(), LocalDate.of(TAX_YEAR, 1, 1), LocalDate.of(TAX_YEAR + 1, 1, 1))));
+    }
+
+    private BigDecimal ytdGross() {
+        return ytdBalanceService.getBalances(employeeIds(), TAX_YEAR).values().stream()
+                .map(YtdTotals::getGross)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private List<UUID> employeeIds() {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
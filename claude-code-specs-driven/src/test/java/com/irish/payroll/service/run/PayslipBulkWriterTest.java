@@ -0,0 +1,154 @@
+package com.irish.payroll.service.run;
+
+import com.irish.payroll.entity.Company;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.PayrollStatus;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.PayrollRepository;
+import com.irish.payroll.repository.PayslipRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the bulk payslip write path stores the same rows as entity persistence.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PayslipBulkWriter.class)
+class PayslipBulkWriterTest {
+
+    private static final String ROW_QUERY = "SELECT employee_id, gross_pay, paye_deduction, prsi_deduction, " +
+            "usc_deduction, net_pay, tax_credits_used, ytd_gross, ytd_paye, ytd_prsi, ytd_usc, ytd_net, " +
+            "created_by, last_modified_by FROM payslips WHERE payroll_id = ? ORDER BY employee_id";
+
+    @Autowired
+    private PayslipBulkWriter payslipBulkWriter;
+
+    @Autowired
+    private PayslipRepository payslipRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        company = entityManager.find(Company.class, Company.DEFAULT_COMPANY_ID);
+        for (int i = 0; i < 5; i++) {
+            Employee employee = new Employee();
+            employee.setCompany(company);
+            employee.setPpsNumber("123456" + i + "A");
+            employee.setFirstName("Employee");
+            employee.setLastName(String.valueOf(i));
+            employee.setEmail("employee" + i + "@example.ie");
+            employee.setHireDate(LocalDate.of(2020, 1, 1));
+            employee.setGrossSalary(new BigDecimal(3000 + i * 137));
+            employee.setPayFrequency(PayFrequency.MONTHLY);
+            employees.add(employeeRepository.save(employee));
+        }
+    }
+
+    @Test
+    void testWrite_BatchedInsertMatchesEntityPersistence() {
+        Payroll cascaded = payroll(1);
+        Payroll bulk = payroll(2);
+
+        payslipRepository.saveAll(payslips(cascaded));
+        payslipRepository.flush();
+        payslipBulkWriter.write(payslips(bulk), employees.size());
+        entityManager.clear();
+
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(ROW_QUERY, cascaded.getId());
+        List<Map<String, Object>> actual = jdbcTemplate.queryForList(ROW_QUERY, bulk.getId());
+        assertEquals(employees.size(), actual.size());
+        assertEquals(expected, actual);
+
+        List<Payslip> loaded = payslipRepository.findByPayrollId(bulk.getId());
+        assertEquals(employees.size(), loaded.size());
+        loaded.forEach(payslip -> {
+            assertEquals(bulk.getPayPeriodEnd(), payslip.getPayPeriodEnd());
+            assertNotNull(payslip.getCreatedDate());
+            assertNotNull(payslip.getLastModifiedDate());
+        });
+    }
+
+    @Test
+    void testWrite_CopyFallsBackToBatchedInsertWhenNotPostgres() {
+        ReflectionTestUtils.setField(payslipBulkWriter, "copyThreshold", 1);
+        Payroll bulk = payroll(3);
+
+        List<Payslip> payslips = payslips(bulk);
+        payslipBulkWriter.write(payslips, employees.size());
+
+        assertEquals(employees.size(), jdbcTemplate.queryForList(ROW_QUERY, bulk.getId()).size());
+        payslips.forEach(payslip -> assertNotNull(payslip.getId()));
+    }
+
+    private Payroll payroll(int month) {
+        Payroll payroll = new Payroll();
+        payroll.setCompany(company);
+        payroll.setPayPeriodStart(LocalDate.of(2025, month, 1));
+        payroll.setPayPeriodEnd(LocalDate.of(2025, month, 28));
+        payroll.setPaymentDate(LocalDate.of(2025, month, 28));
+        payroll.setStatus(PayrollStatus.DRAFT);
+        return payrollRepository.saveAndFlush(payroll);
+    }
+
+    private List<Payslip> payslips(Payroll payroll) {
+        List<Payslip> payslips = new ArrayList<>();
+        for (Employee employee : employees) {
+            BigDecimal gross = employee.getGrossSalary().setScale(2);
+            BigDecimal paye = gross.multiply(new BigDecimal("0.20")).setScale(2);
+            BigDecimal prsi = gross.multiply(new BigDecimal("0.04")).setScale(2);
+            BigDecimal usc = gross.multiply(new BigDecimal("0.02")).setScale(2);
+            BigDecimal net = gross.subtract(paye).subtract(prsi).subtract(usc);
+
+            Payslip payslip = new Payslip();
+            payslip.setPayroll(payroll);
+            payslip.setEmployee(employee);
+            payslip.setGrossPay(gross);
+            payslip.setPayeDeduction(paye);
+            payslip.setPrsiDeduction(prsi);
+            payslip.setUscDeduction(usc);
+            payslip.setNetPay(net);
+            payslip.setTaxCreditsUsed(employee.getTaxCreditsAnnual());
+            payslip.setYtdGross(gross);
+            payslip.setYtdPaye(paye);
+            payslip.setYtdPrsi(prsi);
+            payslip.setYtdUsc(usc);
+            payslip.setYtdNet(net);
+            payslips.add(payslip);
+        }
+        return payslips;
+    }
+}
@@ -0,0 +1,134 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchTaxCalculator against the scalar BigDecimal path.
+ */
+class BatchTaxCalculatorTest {
+
+    private static final long[] CREDIT_CENTS = {0, -100, 400_000, 375_055, 99_999_999};
+
+    private static final PayFrequency[] FREQUENCIES = PayFrequency.values();
+
+    private TaxCalculationService taxCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        taxCalculationService = TaxTestFixtures.taxCalculationService(TaxEngine.BIG_DECIMAL,
+                TaxTestFixtures.taxScheduleCache());
+    }
+
+    @Test
+    void testBatchMatchesScalarPathAcrossRange() {
+        assertBatchMatchesScalar(2025, 0, 500_000, 1);
+        assertBatchMatchesScalar(2025, -100, 250_000_000, 2_477);
+    }
+
+    @Test
+    void testBatchMatchesScalarPathWhenRatesAreNotExactInCents() {
+        assertBatchMatchesScalar(2026, -100, 10_000_000, 1_013);
+    }
+
+    @Test
+    void testBatchMatchesScalarPathForRandomRows() {
+        Random random = new Random(14);
+        TaxBatch batch = new TaxBatch(10_000);
+        for (int i = 0; i < batch.capacity(); i++) {
+            batch.add(random.nextInt(20_000_000) - 1_000, CREDIT_CENTS[random.nextInt(CREDIT_CENTS.length)],
+                    FREQUENCIES[random.nextInt(FREQUENCIES.length)]);
+        }
+
+        taxCalculationService.calculateBatch(batch, 2025);
+
+        assertRowsMatchScalar(batch, 2025);
+    }
+
+    @Test
+    void testBatchCanBeReusedAfterClear() {
+        TaxBatch batch = new TaxBatch(2);
+        batch.add(500_000, 0, PayFrequency.MONTHLY);
+        batch.add(100_000, 0, PayFrequency.WEEKLY);
+        taxCalculationService.calculateBatch(batch, 2025);
+
+        batch.clear();
+        batch.add(-500, 0, PayFrequency.MONTHLY);
+        taxCalculationService.calculateBatch(batch, 2025);
+
+        assertEquals(1, batch.size());
+        assertEquals(0, batch.getPayeCents()[0]);
+        assertEquals(0, batch.getNetCents()[0]);
+        // Rows beyond the size are left as they were
+        assertEquals(100_000 - batch.getPayeCents()[1] - batch.getPrsiCents()[1] - batch.getUscCents()[1],
+                batch.getNetCents()[1]);
+    }
+
+    @Test
+    void testBatchRejectsRowsItCannotHold() {
+        TaxBatch batch = new TaxBatch(1);
+        assertThrows(IllegalArgumentException.class, () -> batch.add(100, 0, null));
+        batch.add(100, 0, PayFrequency.WEEKLY);
+        assertThrows(IllegalStateException.class, () -> batch.add(100, 0, PayFrequency.WEEKLY));
+    }
+
+    @Test
+    void testOverflowingRowThrowsTaxCalculationException() {
+        TaxBatch batch = new TaxBatch(2);
+        batch.add(100_000, 0, PayFrequency.MONTHLY);
+        batch.add(Long.MAX_VALUE / 2, 0, PayFrequency.MONTHLY);
+
+        TaxCalculationException exception = assertThrows(TaxCalculationException.class,
+                () -> taxCalculationService.calculateBatch(batch, 2025));
+        assertTrue(exception.getMessage().contains("row 1"));
+    }
+
+    private void assertBatchMatchesScalar(int taxYear, long fromCents, long toCents, long stride) {
+        int rows = (int) ((toCents - fromCents) / stride + 1);
+        TaxBatch batch = new TaxBatch(rows);
+        for (long cents = fromCents; cents <= toCents; cents += stride) {
+            int row = batch.size();
+            batch.add(cents, CREDIT_CENTS[row % CREDIT_CENTS.length],
+                    FREQUENCIES[row % FREQUENCIES.length]);
+        }
+
+        taxCalculationService.calculateBatch(batch, taxYear);
+
+        assertRowsMatchScalar(batch, taxYear);
+    }
+
+    private void assertRowsMatchScalar(TaxBatch batch, int taxYear) {
+        for (int row = 0; row < batch.size(); row++) {
+            Employee employee = new Employee();
+            employee.setPayFrequency(batch.getFrequencies()[row]);
+            employee.setTaxCreditsAnnual(BigDecimal.valueOf(batch.getTaxCreditCents()[row], 2));
+            TaxCalculationResponse expected = taxCalculationService.calculateAllTaxes(
+                    employee, BigDecimal.valueOf(batch.getGrossCents()[row], 2), taxYear);
+
+            if (cents(expected.getPaye()) != batch.getPayeCents()[row]
+                    || cents(expected.getPrsi()) != batch.getPrsiCents()[row]
+                    || cents(expected.getUsc()) != batch.getUscCents()[row]
+                    || cents(expected.getNetPay()) != batch.getNetCents()[row]) {
+                fail("Batch row " + row + " differs for gross " + batch.getGrossCents()[row] + " cents, credits "
+                        + batch.getTaxCreditCents()[row] + ", " + batch.getFrequencies()[row] + ": expected [paye="
+                        + expected.getPaye() + ", prsi=" + expected.getPrsi() + ", usc=" + expected.getUsc()
+                        + ", net=" + expected.getNetPay() + "] but was [paye=" + batch.getPayeCents()[row]
+                        + ", prsi=" + batch.getPrsiCents()[row] + ", usc=" + batch.getUscCents()[row]
+                        + ", net=" + batch.getNetCents()[row] + "]");
+            }
+        }
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
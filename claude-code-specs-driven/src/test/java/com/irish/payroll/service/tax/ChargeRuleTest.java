@@ -0,0 +1,135 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.ChargeBasis;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compiled charge rules.
+ */
+class ChargeRuleTest {
+
+    @Test
+    void testWholeIncomeRuleExemptsBelowThresholdPerFrequency() {
+        ChargeRule rule = ChargeRule.compile(2025, TaxType.PRSI, List.of(
+                band(null, "352", null, "0.04", PayFrequency.WEEKLY, ChargeBasis.WHOLE_INCOME),
+                band(null, "1526", null, "0.04", PayFrequency.MONTHLY, ChargeBasis.WHOLE_INCOME)));
+
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("351.99"), PayFrequency.WEEKLY));
+        assertEquals(new BigDecimal("14.08"), rule.apply(new BigDecimal("352"), PayFrequency.WEEKLY));
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("500"), PayFrequency.MONTHLY));
+        assertEquals(new BigDecimal("61.04"), rule.apply(new BigDecimal("1526"), PayFrequency.MONTHLY));
+        // Fortnightly has no rule of its own and is scaled from the weekly one
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("703.99"), PayFrequency.FORTNIGHTLY));
+        assertEquals(new BigDecimal("28.16"), rule.apply(new BigDecimal("704"), PayFrequency.FORTNIGHTLY));
+
+        assertTrue(rule.hasCentsForm());
+        assertEquals(ChargeRule.EXEMPT, rule.applyCents(35_199, PayFrequency.WEEKLY));
+        assertEquals(1_408, rule.applyCents(35_200, PayFrequency.WEEKLY));
+        assertEquals(ChargeRule.EXEMPT, rule.applyCents(152_599, PayFrequency.MONTHLY));
+        assertEquals(6_104, rule.applyCents(152_600, PayFrequency.MONTHLY));
+        assertEquals(ChargeRule.EXEMPT, rule.applyCents(70_399, PayFrequency.FORTNIGHTLY));
+        assertEquals(2_816, rule.applyCents(70_400, PayFrequency.FORTNIGHTLY));
+    }
+
+    @Test
+    void testSteppedWholeIncomeRuleChargesTheHighestStepReached() {
+        ChargeRule rule = ChargeRule.compile(2025, TaxType.PRSI, List.of(
+                band("Step 2", "500", null, "0.05", PayFrequency.WEEKLY, ChargeBasis.WHOLE_INCOME),
+                band("Step 1", "352", null, "0.04", PayFrequency.WEEKLY, ChargeBasis.WHOLE_INCOME)));
+
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("300.00"), PayFrequency.WEEKLY));
+        assertEquals(new BigDecimal("16.00"), rule.apply(new BigDecimal("400.00"), PayFrequency.WEEKLY));
+        assertEquals(new BigDecimal("25.00"), rule.apply(new BigDecimal("500.00"), PayFrequency.WEEKLY));
+        assertEquals(ChargeRule.EXEMPT, rule.applyCents(30_000, PayFrequency.WEEKLY));
+        assertEquals(1_600, rule.applyCents(40_000, PayFrequency.WEEKLY));
+        assertEquals(2_500, rule.applyCents(50_000, PayFrequency.WEEKLY));
+    }
+
+    @Test
+    void testAnnualRulesAreScaledToEachFrequency() {
+        ChargeRule rule = ChargeRule.compile(2025, TaxType.PRSI, List.of(
+                band("Step 2", "26000", null, "0.05", null, ChargeBasis.WHOLE_INCOME),
+                band("Step 1", "18304", null, "0.04", null, ChargeBasis.WHOLE_INCOME)));
+
+        // Weekly steps 352 and 500, fortnightly 704 and 1000, monthly 1525.33 and 2166.67
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("351.99"), PayFrequency.WEEKLY));
+        assertEquals(new BigDecimal("25.00"), rule.apply(new BigDecimal("500.00"), PayFrequency.WEEKLY));
+        assertEquals(new BigDecimal("28.16"), rule.apply(new BigDecimal("704.00"), PayFrequency.FORTNIGHTLY));
+        assertEquals(new BigDecimal("50.00"), rule.apply(new BigDecimal("1000.00"), PayFrequency.FORTNIGHTLY));
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("1525.32"), PayFrequency.MONTHLY));
+        assertEquals(new BigDecimal("61.01"), rule.apply(new BigDecimal("1525.33"), PayFrequency.MONTHLY));
+        assertEquals(new BigDecimal("69.33"), rule.apply(new BigDecimal("1733.33"), PayFrequency.MONTHLY));
+        assertEquals(new BigDecimal("108.33"), rule.apply(new BigDecimal("2166.67"), PayFrequency.MONTHLY));
+        assertEquals(ChargeRule.EXEMPT, rule.applyCents(152_532, PayFrequency.MONTHLY));
+        assertEquals(6_101, rule.applyCents(152_533, PayFrequency.MONTHLY));
+    }
+
+    @Test
+    void testMarginalRulesMatchTheTaxSchedule() {
+        List<TaxConfiguration> bands = List.of(
+                band("Band 1", "0", "12012", "0.005", null, ChargeBasis.MARGINAL),
+                band("Band 2", "12012", null, "0.02", null, ChargeBasis.MARGINAL));
+        ChargeRule rule = ChargeRule.compile(2025, TaxType.USC, bands);
+        TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.USC, bands);
+
+        for (long cents = 1; cents <= 5_000_000; cents += 1_013) {
+            BigDecimal income = BigDecimal.valueOf(cents, 2);
+            assertEquals(schedule.perPeriod(PayFrequency.MONTHLY).apply(income), rule.apply(income, PayFrequency.MONTHLY));
+            assertEquals(schedule.perPeriod(PayFrequency.WEEKLY).applyCents(cents),
+                    rule.applyCents(cents, PayFrequency.WEEKLY));
+        }
+    }
+
+    @Test
+    void testFrequencyRulesOverrideRulesForEveryFrequency() {
+        ChargeRule rule = ChargeRule.compile(2025, TaxType.PRSI, List.of(
+                band(null, "52000", null, "0.04", null, ChargeBasis.WHOLE_INCOME),
+                band(null, "352", null, "0.04", PayFrequency.WEEKLY, ChargeBasis.WHOLE_INCOME)));
+
+        assertEquals(new BigDecimal("20.00"), rule.apply(new BigDecimal("500"), PayFrequency.WEEKLY));
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("500"), PayFrequency.MONTHLY));
+        // The annual rule is scaled for frequencies without their own, not the weekly rule
+        assertEquals(BigDecimal.ZERO, rule.apply(new BigDecimal("1999.99"), PayFrequency.FORTNIGHTLY));
+        assertEquals(new BigDecimal("80.00"), rule.apply(new BigDecimal("2000"), PayFrequency.FORTNIGHTLY));
+    }
+
+    @Test
+    void testInexactRatesHaveNoCentsForm() {
+        ChargeRule rule = ChargeRule.compile(2025, TaxType.PRSI, List.of(
+                band(null, "352", null, "0.04125", PayFrequency.WEEKLY, ChargeBasis.WHOLE_INCOME)));
+
+        assertFalse(rule.hasCentsForm());
+        assertEquals(new BigDecimal("16.50"), rule.apply(new BigDecimal("400.00"), PayFrequency.WEEKLY));
+        assertThrows(ArithmeticException.class, () -> rule.applyCents(40_000, PayFrequency.WEEKLY));
+    }
+
+    @Test
+    void testMissingRulesOrMixedBasesAreRejected() {
+        assertThrows(TaxCalculationException.class, () -> ChargeRule.compile(2025, TaxType.PRSI, List.of()));
+        assertThrows(TaxCalculationException.class, () -> ChargeRule.compile(2025, TaxType.PRSI, List.of(
+                band(null, "0", "352", "0.00", null, ChargeBasis.MARGINAL),
+                band(null, "352", null, "0.04", null, ChargeBasis.WHOLE_INCOME))));
+    }
+
+    private static TaxConfiguration band(String name, String lower, String upper, String rate,
+                                         PayFrequency frequency, ChargeBasis basis) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setBandName(name);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal(rate));
+        band.setPayFrequency(frequency);
+        band.setChargeBasis(basis);
+        band.setIsActive(true);
+        return band;
+    }
+}
@@ -0,0 +1,140 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CumulativePayeCalculator.
+ */
+class CumulativePayeCalculatorTest {
+
+    private CumulativePayeCalculator calculator;
+
+    private TaxRates rates;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new CumulativePayeCalculator();
+        rates = TaxSnapshot.compile(1L, List.of(
+                band("0", "42000", "0.20"),
+                band("42000", null, "0.40"))).rates(2025);
+    }
+
+    @Test
+    void testFirstPeriodUsesOnePeriodOfCutOffAndCredits() {
+        CumulativePaye result = calculator.calculate(1, PayFrequency.MONTHLY, new BigDecimal("5000.00"),
+                new BigDecimal("4000.00"), BigDecimal.ZERO, rates);
+
+        // 3,500 at 20% + 1,500 at 40% - 333.33 credits
+        assertEquals(new BigDecimal("3500.00"), result.getCumulativeCutOff());
+        assertEquals(new BigDecimal("333.33"), result.getCumulativeCredits());
+        assertEquals(new BigDecimal("966.67"), result.getCumulativeTax());
+        assertEquals(new BigDecimal("966.67"), result.getPayeThisPeriod());
+    }
+
+    @Test
+    void testSteadyPayDeductsTheSameEachPeriodAndTotalsTheAnnualTax() {
+        BigDecimal grossToDate = BigDecimal.ZERO;
+        BigDecimal payeToDate = BigDecimal.ZERO;
+        for (int period = 1; period <= 12; period++) {
+            grossToDate = grossToDate.add(new BigDecimal("5000.00"));
+            CumulativePaye result = calculator.calculate(period, PayFrequency.MONTHLY, grossToDate,
+                    new BigDecimal("4000.00"), payeToDate, rates);
+            assertEquals(new BigDecimal("966.67"), result.getPayeThisPeriod());
+            payeToDate = payeToDate.add(result.getPayeThisPeriod());
+        }
+
+        // 42,000 at 20% + 18,000 at 40% - 12 x 333.33 credits
+        assertEquals(new BigDecimal("11600.04"), payeToDate);
+    }
+
+    @Test
+    void testUnusedCutOffAndCreditsCarryForward() {
+        // Nothing paid in the first five months, so six months of cut-off and credits are available
+        CumulativePaye result = calculator.calculate(6, PayFrequency.MONTHLY, new BigDecimal("25000.00"),
+                new BigDecimal("4000.00"), BigDecimal.ZERO, rates);
+
+        assertEquals(new BigDecimal("21000.00"), result.getCumulativeCutOff());
+        assertEquals(new BigDecimal("1999.98"), result.getCumulativeCredits());
+        // 21,000 at 20% + 4,000 at 40% - 1,999.98
+        assertEquals(new BigDecimal("3800.02"), result.getPayeThisPeriod());
+    }
+
+    @Test
+    void testOverpaymentIsRefunded() {
+        // Five months at 5,000 then a month at 500: tax to date falls below what was deducted
+        CumulativePaye result = calculator.calculate(6, PayFrequency.MONTHLY, new BigDecimal("25500.00"),
+                new BigDecimal("4000.00"), new BigDecimal("4833.35"), rates);
+
+        // 21,000 at 20% + 4,500 at 40% - 1,999.98 = 4,000.02
+        assertEquals(new BigDecimal("4000.02"), result.getCumulativeTax());
+        assertEquals(new BigDecimal("-833.33"), result.getPayeThisPeriod());
+    }
+
+    @Test
+    void testCreditsAboveTaxLeaveNoTaxDue() {
+        CumulativePaye result = calculator.calculate(3, PayFrequency.WEEKLY, new BigDecimal("300.00"),
+                new BigDecimal("4000.00"), BigDecimal.ZERO, rates);
+
+        assertEquals(new BigDecimal("0.00"), result.getCumulativeTax());
+        assertEquals(new BigDecimal("0.00"), result.getPayeThisPeriod());
+        assertEquals(new BigDecimal("2423.07"), result.getCumulativeCutOff());
+    }
+
+    @Test
+    void testFirstPeriodMatchesThePeriodSchedule() {
+        for (PayFrequency frequency : PayFrequency.values()) {
+            BigDecimal gross = new BigDecimal("2000.00");
+            CumulativePaye result = calculator.calculate(1, frequency, gross, new BigDecimal("4000.00"),
+                    BigDecimal.ZERO, rates);
+
+            BigDecimal periodTax = rates.getPaye(frequency).apply(gross)
+                    .subtract(frequency.perPeriod(new BigDecimal("4000.00"))).max(BigDecimal.ZERO);
+            assertEquals(0, periodTax.compareTo(result.getPayeThisPeriod()), frequency.name());
+        }
+    }
+
+    @Test
+    void testPeriodOutsideTheYearIsRejected() {
+        assertThrows(TaxCalculationException.class, () -> calculator.calculate(13, PayFrequency.MONTHLY,
+                new BigDecimal("5000.00"), null, BigDecimal.ZERO, rates));
+        assertThrows(TaxCalculationException.class, () -> calculator.calculate(0, PayFrequency.WEEKLY,
+                new BigDecimal("5000.00"), null, BigDecimal.ZERO, rates));
+    }
+
+    @Test
+    void testPeriodNumbers() {
+        assertEquals(1, PayFrequency.WEEKLY.periodNumber(LocalDate.of(2025, 1, 7)));
+        assertEquals(2, PayFrequency.WEEKLY.periodNumber(LocalDate.of(2025, 1, 8)));
+        assertEquals(51, PayFrequency.WEEKLY.periodNumber(LocalDate.of(2025, 12, 23)));
+        assertEquals(52, PayFrequency.WEEKLY.periodNumber(LocalDate.of(2025, 12, 24)));
+        assertEquals(52, PayFrequency.WEEKLY.periodNumber(LocalDate.of(2024, 12, 31)));
+        assertEquals(1, PayFrequency.FORTNIGHTLY.periodNumber(LocalDate.of(2025, 1, 14)));
+        assertEquals(2, PayFrequency.FORTNIGHTLY.periodNumber(LocalDate.of(2025, 1, 15)));
+        assertEquals(26, PayFrequency.FORTNIGHTLY.periodNumber(LocalDate.of(2025, 12, 31)));
+        assertEquals(1, PayFrequency.MONTHLY.periodNumber(LocalDate.of(2025, 1, 31)));
+        assertEquals(12, PayFrequency.MONTHLY.periodNumber(LocalDate.of(2025, 12, 31)));
+    }
+
+    private static TaxConfiguration band(String lower, String upper, String rate) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(2025);
+        band.setTaxType(TaxType.PAYE);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal(rate));
+        band.setIsActive(true);
+        band.setEffectiveFrom(LocalDate.of(2025, 1, 1));
+        return band;
+    }
+}
@@ -1,14 +1,14 @@
 package com.irish.payroll.service.tax;
 
+import com.irish.payroll.entity.PayFrequency;
 import com.irish.payroll.entity.TaxConfiguration;
 import com.irish.payroll.entity.TaxType;
-import com.irish.payroll.repository.TaxConfigurationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,9 +16,6 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for PAYE Calculation Service.
@@ -26,8 +23,7 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class PayeCalculationServiceTest {
 
-    @Mock
-    private TaxConfigurationRepository taxConfigRepository;
+    private TaxScheduleCache taxScheduleCache;
 
     @InjectMocks
     private PayeCalculationService payeService;
@@ -36,6 +32,11 @@ class PayeCalculationServiceTest {
 
     @BeforeEach
     void setUp() {
+        taxScheduleCache = new TaxScheduleCache();
+        ReflectionTestUtils.setField(taxScheduleCache, "maxEntries", 16L);
+        taxScheduleCache.init();
+        ReflectionTestUtils.setField(payeService, "taxScheduleCache", taxScheduleCache);
+
         // Create mock PAYE tax bands for 2025
         TaxConfiguration standardRate = new TaxConfiguration();
         standardRate.setTaxYear(2025);
@@ -62,69 +63,98 @@ class PayeCalculationServiceTest {
 
     @Test
     void testCalculatePaye_IncomeBelowStandardBand() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.PAYE)))
-                .thenReturn(mockPayeBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
 
-        BigDecimal grossPay = new BigDecimal("30000");
+        // Annual salary 30000 paid monthly
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("30000"));
         BigDecimal taxCredits = new BigDecimal("3300");
 
-        // Expected: 30000 * 0.20 = 6000 - 3300 = 2700
-        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, 2025);
+        // Expected: 2500 * 0.20 = 500 - (3300 / 12 = 275) = 225, or 2700 a year
+        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, PayFrequency.MONTHLY, 2025);
 
-        assertEquals(new BigDecimal("2700.00"), paye);
+        assertEquals(new BigDecimal("225.00"), paye);
     }
 
     @Test
     void testCalculatePaye_IncomeSpansBothBands() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.PAYE)))
-                .thenReturn(mockPayeBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
 
-        BigDecimal grossPay = new BigDecimal("50000");
+        // Annual salary 50000 paid monthly: 4166.67 a month
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("50000"));
         BigDecimal taxCredits = new BigDecimal("3300");
 
-        // Expected: (42000 * 0.20) + (8000 * 0.40) = 8400 + 3200 = 11600 - 3300 = 8300
-        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, 2025);
+        // Monthly cut-off 42000 / 12 = 3500
+        // Expected: (3500 * 0.20) + (666.67 * 0.40) = 700 + 266.67 = 966.67 - 275 = 691.67, or about 8300 a year
+        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, PayFrequency.MONTHLY, 2025);
 
-        assertEquals(new BigDecimal("8300.00"), paye);
+        assertEquals(new BigDecimal("691.67"), paye);
     }
 
     @Test
     void testCalculatePaye_HighIncome() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.PAYE)))
-                .thenReturn(mockPayeBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
+
+        // Annual salary 100000 paid monthly: 8333.33 a month
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("100000"));
+        BigDecimal taxCredits = new BigDecimal("3300");
+
+        // Expected: (3500 * 0.20) + (4833.33 * 0.40) = 700 + 1933.33 = 2633.33 - 275 = 2358.33, or about 28300 a year
+        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, PayFrequency.MONTHLY, 2025);
+
+        assertEquals(new BigDecimal("2358.33"), paye);
+    }
+
+    @Test
+    void testCalculatePaye_Weekly() {
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
 
-        BigDecimal grossPay = new BigDecimal("100000");
+        // Annual salary 104000 paid weekly: 2000 a week
+        BigDecimal grossPay = PayFrequency.WEEKLY.perPeriod(new BigDecimal("104000"));
         BigDecimal taxCredits = new BigDecimal("3300");
 
-        // Expected: (42000 * 0.20) + (58000 * 0.40) = 8400 + 23200 = 31600 - 3300 = 28300
-        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, 2025);
+        // Weekly cut-off 42000 / 52 = 807.69, credits 3300 / 52 = 63.46
+        // Expected: (807.69 * 0.20 = 161.54) + (1192.31 * 0.40 = 476.92) = 638.46 - 63.46 = 575
+        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, PayFrequency.WEEKLY, 2025);
+
+        assertEquals(new BigDecimal("575.00"), paye);
+    }
+
+    @Test
+    void testCalculatePaye_Fortnightly() {
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
+
+        // Annual salary 52000 paid fortnightly: 2000 a fortnight
+        BigDecimal grossPay = PayFrequency.FORTNIGHTLY.perPeriod(new BigDecimal("52000"));
+        BigDecimal taxCredits = new BigDecimal("4000");
+
+        // Fortnightly cut-off 42000 / 26 = 1615.38, credits 4000 / 26 = 153.85
+        // Expected: (1615.38 * 0.20 = 323.08) + (384.62 * 0.40 = 153.85) = 476.93 - 153.85 = 323.08
+        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, PayFrequency.FORTNIGHTLY, 2025);
 
-        assertEquals(new BigDecimal("28300.00"), paye);
+        assertEquals(new BigDecimal("323.08"), paye);
     }
 
     @Test
     void testCalculatePaye_NoTaxCredits() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.PAYE)))
-                .thenReturn(mockPayeBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
 
-        BigDecimal grossPay = new BigDecimal("30000");
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("30000"));
 
-        // Expected: 30000 * 0.20 = 6000
-        BigDecimal paye = payeService.calculatePaye(grossPay, null, 2025);
+        // Expected: 2500 * 0.20 = 500
+        BigDecimal paye = payeService.calculatePaye(grossPay, null, PayFrequency.MONTHLY, 2025);
 
-        assertEquals(new BigDecimal("6000.00"), paye);
+        assertEquals(new BigDecimal("500.00"), paye);
     }
 
     @Test
     void testCalculatePaye_TaxCreditsExceedTax() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.PAYE)))
-                .thenReturn(mockPayeBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockPayeBands));
 
-        BigDecimal grossPay = new BigDecimal("10000");
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("12000"));
         BigDecimal taxCredits = new BigDecimal("5000");
 
-        // Expected: 10000 * 0.20 = 2000 - 5000 = -3000, should be 0
-        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, 2025);
+        // Expected: 1000 * 0.20 = 200 - (5000 / 12 = 416.67) = -216.67, should be 0
+        BigDecimal paye = payeService.calculatePaye(grossPay, taxCredits, PayFrequency.MONTHLY, 2025);
 
         assertEquals(0, paye.compareTo(BigDecimal.ZERO), "PAYE should be zero when credits exceed tax");
     }
@@ -132,7 +162,7 @@ class PayeCalculationServiceTest {
     @Test
     void testCalculatePaye_ZeroIncome() {
         // Service returns early for zero income without calling repository
-        BigDecimal paye = payeService.calculatePaye(BigDecimal.ZERO, BigDecimal.ZERO, 2025);
+        BigDecimal paye = payeService.calculatePaye(BigDecimal.ZERO, BigDecimal.ZERO, PayFrequency.MONTHLY, 2025);
 
         assertEquals(0, paye.compareTo(BigDecimal.ZERO), "PAYE should be zero for zero income");
     }
@@ -140,7 +170,7 @@ class PayeCalculationServiceTest {
     @Test
     void testCalculatePaye_NegativeIncome() {
         // Service returns early for negative income without calling repository
-        BigDecimal paye = payeService.calculatePaye(new BigDecimal("-1000"), BigDecimal.ZERO, 2025);
+        BigDecimal paye = payeService.calculatePaye(new BigDecimal("-1000"), BigDecimal.ZERO, PayFrequency.MONTHLY, 2025);
 
         assertEquals(0, paye.compareTo(BigDecimal.ZERO), "PAYE should be zero for negative income");
     }
@@ -1,23 +1,41 @@
 package com.irish.payroll.service.tax;
 
+import com.irish.payroll.entity.ChargeBasis;
 import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
 
 /**
  * Unit tests for PRSI Calculation Service.
  */
+@ExtendWith(MockitoExtension.class)
 class PrsiCalculationServiceTest {
 
+    @Mock
+    private TaxScheduleCache taxScheduleCache;
+
+    @InjectMocks
     private PrsiCalculationService prsiService;
 
     @BeforeEach
     void setUp() {
-        prsiService = new PrsiCalculationService();
+        // Mock the 2025 Class A rules as stored in tax_configurations
+        lenient().when(taxScheduleCache.rates(2025)).thenReturn(TaxSnapshot.compile(1L, List.of(
+                prsiBand(PayFrequency.WEEKLY, "352"),
+                prsiBand(PayFrequency.MONTHLY, "1526"))).rates(2025));
     }
 
     @Test
@@ -25,7 +43,7 @@ class PrsiCalculationServiceTest {
         BigDecimal grossPay = new BigDecimal("500");
 
         // Expected: 500 * 0.04 = 20.00
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.WEEKLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.WEEKLY, 2025);
 
         assertEquals(new BigDecimal("20.00"), prsi);
     }
@@ -35,7 +53,7 @@ class PrsiCalculationServiceTest {
         BigDecimal grossPay = new BigDecimal("300");
 
         // Expected: 0 (below €352 threshold)
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.WEEKLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.WEEKLY, 2025);
 
         assertEquals(BigDecimal.ZERO, prsi);
     }
@@ -45,7 +63,7 @@ class PrsiCalculationServiceTest {
         BigDecimal grossPay = new BigDecimal("352");
 
         // Expected: 352 * 0.04 = 14.08
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.WEEKLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.WEEKLY, 2025);
 
         assertEquals(new BigDecimal("14.08"), prsi);
     }
@@ -55,7 +73,7 @@ class PrsiCalculationServiceTest {
         BigDecimal grossPay = new BigDecimal("3000");
 
         // Expected: 3000 * 0.04 = 120.00
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.MONTHLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.MONTHLY, 2025);
 
         assertEquals(new BigDecimal("120.00"), prsi);
     }
@@ -65,7 +83,7 @@ class PrsiCalculationServiceTest {
         BigDecimal grossPay = new BigDecimal("1000");
 
         // Expected: 0 (below €1,526 threshold)
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.MONTHLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.MONTHLY, 2025);
 
         assertEquals(BigDecimal.ZERO, prsi);
     }
@@ -75,22 +93,44 @@ class PrsiCalculationServiceTest {
         BigDecimal grossPay = new BigDecimal("1526");
 
         // Expected: 1526 * 0.04 = 61.04
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.MONTHLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(grossPay, PayFrequency.MONTHLY, 2025);
 
         assertEquals(new BigDecimal("61.04"), prsi);
     }
 
+    @Test
+    void testCalculatePrsi_Fortnightly_ScaledFromWeeklyThreshold() {
+        // Fortnightly threshold: 352 * 52 / 26 = 704
+        assertEquals(BigDecimal.ZERO,
+                prsiService.calculateEmployeePrsi(new BigDecimal("703.99"), PayFrequency.FORTNIGHTLY, 2025));
+        assertEquals(new BigDecimal("28.16"),
+                prsiService.calculateEmployeePrsi(new BigDecimal("704"), PayFrequency.FORTNIGHTLY, 2025));
+    }
+
     @Test
     void testCalculatePrsi_ZeroIncome() {
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(BigDecimal.ZERO, PayFrequency.WEEKLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(BigDecimal.ZERO, PayFrequency.WEEKLY, 2025);
 
         assertEquals(BigDecimal.ZERO, prsi);
     }
 
     @Test
     void testCalculatePrsi_NullIncome() {
-        BigDecimal prsi = prsiService.calculateEmployeePrsi(null, PayFrequency.WEEKLY);
+        BigDecimal prsi = prsiService.calculateEmployeePrsi(null, PayFrequency.WEEKLY, 2025);
 
         assertEquals(BigDecimal.ZERO, prsi);
     }
+
+    private static TaxConfiguration prsiBand(PayFrequency frequency, String threshold) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(2025);
+        band.setTaxType(TaxType.PRSI);
+        band.setIncomeLower(new BigDecimal(threshold));
+        band.setRate(new BigDecimal("0.04"));
+        band.setPayFrequency(frequency);
+        band.setChargeBasis(ChargeBasis.WHOLE_INCOME);
+        band.setIsActive(true);
+        band.setEffectiveFrom(LocalDate.of(2025, 1, 1));
+        return band;
+    }
 }
@@ -0,0 +1,124 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Proves the integer-cents tax engine returns exactly the BigDecimal engine's results.
+ */
+class TaxEngineEquivalenceTest {
+
+    private TaxCalculationService bigDecimalEngine;
+
+    private TaxCalculationService centsEngine;
+
+    private CentsTaxCalculator centsTaxCalculator;
+
+    private TaxScheduleCache taxScheduleCache;
+
+    @BeforeEach
+    void setUp() {
+        taxScheduleCache = TaxTestFixtures.taxScheduleCache();
+        centsTaxCalculator = new CentsTaxCalculator();
+        bigDecimalEngine = TaxTestFixtures.taxCalculationService(TaxEngine.BIG_DECIMAL, taxScheduleCache);
+        centsEngine = TaxTestFixtures.taxCalculationService(TaxEngine.CENTS, taxScheduleCache);
+    }
+
+    @Test
+    void testEveryCentUpToTwentyThousandIsIdentical() {
+        Employee monthly = employee(PayFrequency.MONTHLY, new BigDecimal("300.00"));
+        Employee weekly = employee(PayFrequency.WEEKLY, null);
+        Employee fortnightly = employee(PayFrequency.FORTNIGHTLY, new BigDecimal("4000.00"));
+
+        for (long cents = -100; cents <= 2_000_000; cents++) {
+            BigDecimal grossPay = BigDecimal.valueOf(cents, 2);
+            Employee employee = switch ((int) Math.floorMod(cents, 3L)) {
+                case 0 -> monthly;
+                case 1 -> weekly;
+                default -> fortnightly;
+            };
+            assertIdentical(employee, grossPay, 2025);
+        }
+    }
+
+    @Test
+    void testAnnualSalaryRangeAndCreditsAreIdentical() {
+        List<Employee> employees = List.of(
+                employee(PayFrequency.MONTHLY, BigDecimal.ZERO),
+                employee(PayFrequency.MONTHLY, new BigDecimal("4000")),
+                employee(PayFrequency.WEEKLY, new BigDecimal("3750.55")),
+                employee(PayFrequency.FORTNIGHTLY, new BigDecimal("3750.01")),
+                employee(PayFrequency.MONTHLY, new BigDecimal("999999.99")));
+
+        // Odd stride so every band boundary is approached from both sides with varied cents
+        for (long cents = 0; cents <= 250_000_000; cents += 2_477) {
+            for (Employee employee : employees) {
+                assertIdentical(employee, BigDecimal.valueOf(cents, 2), 2025);
+            }
+        }
+        for (String boundary : List.of("12012.00", "25760.00", "42000.00", "70044.00", "1526.00", "352.00",
+                "3500.00", "231.00", "462.00", "1001.00", "704.00")) {
+            BigDecimal value = new BigDecimal(boundary);
+            for (BigDecimal grossPay : List.of(value.subtract(new BigDecimal("0.01")), value, value.add(new BigDecimal("0.01")),
+                    value.setScale(0), value.setScale(4))) {
+                for (Employee employee : employees) {
+                    assertIdentical(employee, grossPay, 2025);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInexactAmountsAndRatesFallBackToBigDecimal() {
+        Employee employee = employee(PayFrequency.MONTHLY, new BigDecimal("300.005"));
+
+        assertNull(centsTaxCalculator.tryCalculateAllTaxes(employee, new BigDecimal("3000.00"), taxScheduleCache.rates(2025)));
+        assertNull(centsTaxCalculator.tryCalculateAllTaxes(employee(PayFrequency.MONTHLY, null),
+                new BigDecimal("3000.001"), taxScheduleCache.rates(2025)));
+        assertNull(centsTaxCalculator.tryCalculateAllTaxes(employee(PayFrequency.MONTHLY, null),
+                new BigDecimal("3000.00"), taxScheduleCache.rates(2026)));
+
+        assertIdentical(employee, new BigDecimal("3000.00"), 2025);
+        assertIdentical(employee, new BigDecimal("3000.001"), 2025);
+        for (long cents = 0; cents <= 10_000_000; cents += 1_013) {
+            assertIdentical(employee, BigDecimal.valueOf(cents, 2), 2026);
+        }
+    }
+
+    private void assertIdentical(Employee employee, BigDecimal grossPay, int taxYear) {
+        TaxCalculationResponse expected = bigDecimalEngine.calculateAllTaxes(employee, grossPay, taxYear);
+        TaxCalculationResponse actual = centsEngine.calculateAllTaxes(employee, grossPay, taxYear);
+
+        // BigDecimal.equals compares scale as well as value
+        if (!expected.getGrossPay().equals(actual.getGrossPay())
+                || !expected.getPaye().equals(actual.getPaye())
+                || !expected.getPrsi().equals(actual.getPrsi())
+                || !expected.getUsc().equals(actual.getUsc())
+                || !expected.getNetPay().equals(actual.getNetPay())
+                || !Objects.equals(expected.getTaxCreditsUsed(), actual.getTaxCreditsUsed())) {
+            fail("Engines differ for gross " + grossPay + ", credits " + employee.getTaxCreditsAnnual()
+                    + ", " + employee.getPayFrequency() + ": expected " + describe(expected) + " but was " + describe(actual));
+        }
+    }
+
+    private static String describe(TaxCalculationResponse response) {
+        return "[paye=" + response.getPaye() + ", prsi=" + response.getPrsi() + ", usc=" + response.getUsc()
+                + ", net=" + response.getNetPay() + "]";
+    }
+
+    private static Employee employee(PayFrequency frequency, BigDecimal taxCreditsAnnual) {
+        Employee employee = new Employee();
+        employee.setPayFrequency(frequency);
+        employee.setTaxCreditsAnnual(taxCreditsAnnual);
+        return employee;
+    }
+}
@@ -0,0 +1,261 @@
+package com.irish.payroll.service.tax;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.exception.TaxCalculationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Unit tests for streamed bulk tax quotes.
+ */
+class TaxQuoteServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TaxCalculationService taxCalculationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaxQuoteService taxQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        TaxScheduleCache taxScheduleCache = TaxTestFixtures.taxScheduleCache();
+        taxCalculationService = TaxTestFixtures.taxCalculationService(TaxEngine.BIG_DECIMAL, taxScheduleCache);
+
+        meterRegistry = new SimpleMeterRegistry();
+        taxQuoteService = new TaxQuoteService();
+        ReflectionTestUtils.setField(taxQuoteService, "taxCalculationService", taxCalculationService);
+        ReflectionTestUtils.setField(taxQuoteService, "taxScheduleCache", taxScheduleCache);
+        ReflectionTestUtils.setField(taxQuoteService, "objectMapper", MAPPER);
+        ReflectionTestUtils.setField(taxQuoteService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(taxQuoteService, "chunkSize", 3);
+        taxQuoteService.init();
+    }
+
+    @Test
+    void testNdjsonAndArrayInputGiveTheSameQuotesAsTheScalarPath() throws Exception {
+        String[] records = {
+                "{\"id\":\"a\",\"grossPay\":3000.00,\"taxCreditsAnnual\":300,\"payFrequency\":\"MONTHLY\"}",
+                "{\"id\":\"b\",\"grossPay\":351.99,\"payFrequency\":\"WEEKLY\"}",
+                "{\"id\":\"c\",\"grossPay\":9000,\"taxCreditsAnnual\":4000.00,\"payFrequency\":\"MONTHLY\"}",
+                "{\"id\":\"d\",\"grossPay\":80000.5,\"payFrequency\":\"WEEKLY\",\"ignored\":{\"x\":1}}",
+                "{\"grossPay\":0,\"payFrequency\":\"WEEKLY\"}"};
+
+        List<JsonNode> ndjson = quote(String.join("\n", records));
+        List<JsonNode> array = quote("[" + String.join(",", records) + "]");
+
+        assertEquals(ndjson, array);
+        assertEquals(5, ndjson.size());
+        assertQuote(ndjson.get(0), 0, "a", "3000.00", "300", PayFrequency.MONTHLY);
+        assertQuote(ndjson.get(1), 1, "b", "351.99", null, PayFrequency.WEEKLY);
+        assertQuote(ndjson.get(2), 2, "c", "9000.00", "4000.00", PayFrequency.MONTHLY);
+        assertQuote(ndjson.get(3), 3, "d", "80000.50", null, PayFrequency.WEEKLY);
+        assertFalse(ndjson.get(4).has("id"));
+        assertEquals(0, BigDecimal.ZERO.compareTo(ndjson.get(4).get("netPay").decimalValue()));
+    }
+
+    @Test
+    void testInvalidRecordsGetErrorLinesInPlace() throws Exception {
+        List<JsonNode> lines = quote("""
+                {"id":"ok-1","grossPay":3000,"payFrequency":"MONTHLY"}
+                {"id":"no-gross","payFrequency":"MONTHLY"}
+                {"id":"half-cent","grossPay":3000.005,"payFrequency":"MONTHLY"}
+                {"id":"bad-frequency","grossPay":3000,"payFrequency":"DAILY"}
+                {"id":"no-frequency","grossPay":3000}
+                {"id":"ok-2","grossPay":500,"payFrequency":"WEEKLY"}
+                """);
+
+        assertEquals(6, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i, lines.get(i).get("index").asInt());
+        }
+        assertFalse(lines.get(0).has("error"));
+        assertEquals("grossPay is required", lines.get(1).get("error").asText());
+        assertEquals("grossPay must be a whole number of cents", lines.get(2).get("error").asText());
+        assertTrue(lines.get(3).get("error").asText().startsWith("Invalid quote record"));
+        assertEquals("payFrequency is required", lines.get(4).get("error").asText());
+        assertQuote(lines.get(5), 5, "ok-2", "500.00", null, PayFrequency.WEEKLY);
+    }
+
+    @Test
+    void testOutOfRangeAmountsGetErrorLinesWithoutFailingTheirChunk() throws Exception {
+        List<JsonNode> lines = quote("""
+                {"id":"ok-1","grossPay":3000,"payFrequency":"MONTHLY"}
+                {"id":"huge-gross","grossPay":1000000000000000,"payFrequency":"MONTHLY"}
+                {"id":"ok-2","grossPay":500,"taxCreditsAnnual":4000,"payFrequency":"WEEKLY"}
+                {"id":"ok-3","grossPay":4200.50,"payFrequency":"MONTHLY"}
+                {"id":"huge-credits","grossPay":3000,"taxCreditsAnnual":-1000000000000000,"payFrequency":"MONTHLY"}
+                {"id":"ok-4","grossPay":800,"payFrequency":"FORTNIGHTLY"}
+                """);
+
+        assertEquals(6, lines.size());
+        assertQuote(lines.get(0), 0, "ok-1", "3000", null, PayFrequency.MONTHLY);
+        assertEquals("grossPay is out of range", lines.get(1).get("error").asText());
+        assertQuote(lines.get(2), 2, "ok-2", "500", "4000", PayFrequency.WEEKLY);
+        assertQuote(lines.get(3), 3, "ok-3", "4200.50", null, PayFrequency.MONTHLY);
+        assertEquals("taxCreditsAnnual is out of range", lines.get(4).get("error").asText());
+        assertQuote(lines.get(5), 5, "ok-4", "800", null, PayFrequency.FORTNIGHTLY);
+    }
+
+    @Test
+    void testFailedChunkIsRetriedRowByRow() throws Exception {
+        // A row the batch calculator cannot quote, whatever else is in its batch
+        TaxCalculationService failing = spy(taxCalculationService);
+        doAnswer(invocation -> {
+            TaxBatch batch = invocation.getArgument(0);
+            for (int row = 0; row < batch.size(); row++) {
+                if (batch.getGrossCents()[row] == 777_700L) {
+                    throw new TaxCalculationException("Gross pay of 777700 cents in batch row " + row + " is out of range");
+                }
+            }
+            return invocation.callRealMethod();
+        }).when(failing).calculateBatch(any(TaxBatch.class), any(TaxRates.class));
+        ReflectionTestUtils.setField(taxQuoteService, "taxCalculationService", failing);
+
+        List<JsonNode> lines = quote("""
+                {"id":"ok-1","grossPay":3000,"payFrequency":"MONTHLY"}
+                {"id":"bad","grossPay":7777,"payFrequency":"MONTHLY"}
+                {"id":"ok-2","grossPay":500,"taxCreditsAnnual":4000,"payFrequency":"WEEKLY"}
+                {"id":"ok-3","grossPay":4200.50,"payFrequency":"MONTHLY"}
+                """);
+
+        assertEquals(4, lines.size());
+        assertQuote(lines.get(0), 0, "ok-1", "3000", null, PayFrequency.MONTHLY);
+        assertEquals(1, lines.get(1).get("index").asInt());
+        assertEquals("Gross pay of 777700 cents in batch row 0 is out of range", lines.get(1).get("error").asText());
+        assertQuote(lines.get(2), 2, "ok-2", "500", "4000", PayFrequency.WEEKLY);
+        assertQuote(lines.get(3), 3, "ok-3", "4200.50", null, PayFrequency.MONTHLY);
+    }
+
+    @Test
+    void testMalformedInputEndsTheStreamAfterEarlierQuotes() throws Exception {
+        List<JsonNode> lines = quote("""
+                {"grossPay":3000,"payFrequency":"MONTHLY"}
+                {"grossPay":3000,"payFrequency":
+                """);
+
+        assertEquals(2, lines.size());
+        assertFalse(lines.get(0).has("error"));
+        assertEquals(1, lines.get(1).get("index").asInt());
+        assertTrue(lines.get(1).get("error").asText().startsWith("Malformed quote input"));
+    }
+
+    @Test
+    void testOneHundredThousandQuotesStreamInOrder() throws Exception {
+        ReflectionTestUtils.setField(taxQuoteService, "chunkSize", 512);
+        taxQuoteService.init();
+        int records = 100_000;
+        CountingLines output = new CountingLines();
+
+        long read = taxQuoteService.streamQuotes(new GeneratedRecords(records), output, 2025);
+
+        assertEquals(records, read);
+        assertEquals(records, output.lines);
+        assertEquals(records, meterRegistry.get("payroll.tax.quote.latency").timer().count());
+        assertEquals(1, meterRegistry.get("payroll.tax.quote.requests").timer().count());
+    }
+
+    @Test
+    void testUnconfiguredYearFailsBeforeWriting() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThrows(TaxCalculationException.class, () -> taxQuoteService.streamQuotes(
+                new ByteArrayInputStream("{\"grossPay\":1,\"payFrequency\":\"WEEKLY\"}".getBytes(StandardCharsets.UTF_8)),
+                output, 2030));
+        assertEquals(0, output.size());
+    }
+
+    private List<JsonNode> quote(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        taxQuoteService.streamQuotes(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output, 2025);
+        return output.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return MAPPER.readTree(line);
+                    } catch (Exception e) {
+                        throw new AssertionError("Not a JSON line: " + line, e);
+                    }
+                })
+                .toList();
+    }
+
+    private void assertQuote(JsonNode line, int index, String id, String grossPay, String credits, PayFrequency frequency) {
+        Employee employee = new Employee();
+        employee.setPayFrequency(frequency);
+        employee.setTaxCreditsAnnual(credits != null ? new BigDecimal(credits) : null);
+        TaxCalculationResponse expected = taxCalculationService.calculateAllTaxes(employee, new BigDecimal(grossPay), 2025);
+
+        assertEquals(index, line.get("index").asInt());
+        assertEquals(id, line.get("id").asText());
+        assertEquals(0, expected.getGrossPay().compareTo(line.get("grossPay").decimalValue()));
+        assertEquals(0, expected.getPaye().compareTo(line.get("paye").decimalValue()));
+        assertEquals(0, expected.getPrsi().compareTo(line.get("prsi").decimalValue()));
+        assertEquals(0, expected.getUsc().compareTo(line.get("usc").decimalValue()));
+        assertEquals(0, expected.getNetPay().compareTo(line.get("netPay").decimalValue()));
+    }
+
+    /**
+     * NDJSON input generated on the fly, so the test itself holds no more than one record.
+     */
+    private static final class GeneratedRecords extends InputStream {
+
+        private final int records;
+        private int next;
+        private byte[] current = new byte[0];
+        private int position;
+
+        GeneratedRecords(int records) {
+            this.records = records;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (next == records) {
+                    return -1;
+                }
+                String frequency = next % 2 == 0 ? "MONTHLY" : "WEEKLY";
+                current = ("{\"id\":\"" + next + "\",\"grossPay\":" + (next % 10_000) + ".25,\"taxCreditsAnnual\":4000,"
+                        + "\"payFrequency\":\"" + frequency + "\"}\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                next++;
+            }
+            return current[position++];
+        }
+    }
+
+    /**
+     * Output that only counts lines.
+     */
+    private static final class CountingLines extends OutputStream {
+
+        private int lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+}
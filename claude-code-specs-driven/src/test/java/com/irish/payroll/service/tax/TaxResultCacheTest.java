@@ -0,0 +1,125 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.dto.response.TaxCalculationResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.PayFrequency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for TaxResultCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaxResultCacheTest {
+
+    private static final TaxRates RATES_2025 = new TaxRates(1L, 2025, null, null, null, null, null);
+
+    private static final TaxRates RATES_2024 = new TaxRates(1L, 2024, null, null, null, null, null);
+
+    @Mock
+    private TaxCalculationService taxCalculationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaxResultCache taxResultCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taxResultCache = new TaxResultCache();
+        ReflectionTestUtils.setField(taxResultCache, "taxCalculationService", taxCalculationService);
+        ReflectionTestUtils.setField(taxResultCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(taxResultCache, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(taxResultCache, "maxEntries", 100L);
+        taxResultCache.init();
+
+        lenient().when(taxCalculationService.calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any(TaxRates.class)))
+                .thenAnswer(invocation -> {
+                    BigDecimal grossPay = invocation.getArgument(1);
+                    BigDecimal paye = grossPay.multiply(new BigDecimal("0.20")).setScale(2, RoundingMode.HALF_UP);
+                    return new TaxCalculationResponse(grossPay, paye, BigDecimal.ZERO, BigDecimal.ZERO,
+                            invocation.<Employee>getArgument(0).getTaxCreditsAnnual(), grossPay.subtract(paye));
+                });
+    }
+
+    @Test
+    void testIdenticalInputsAreCalculatedOnce() {
+        TaxCalculationResponse first = taxResultCache.calculateAllTaxes(
+                employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+        TaxCalculationResponse second = taxResultCache.calculateAllTaxes(
+                employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+
+        verify(taxCalculationService, times(1)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any(TaxRates.class));
+        assertEquals(new BigDecimal("600.00"), second.getPaye());
+        assertEquals(first.getNetPay(), second.getNetPay());
+        assertNotSame(first, second);
+        assertEquals(1, taxResultCache.size());
+    }
+
+    @Test
+    void testEachInputIsPartOfTheKey() {
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.01"), RATES_2025);
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "350.00"), new BigDecimal("3000.00"), RATES_2025);
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.WEEKLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2024);
+        // A different scale could change the scale of the returned amounts
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.0"), RATES_2025);
+
+        verify(taxCalculationService, times(6)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any(TaxRates.class));
+    }
+
+    @Test
+    void testSnapshotChangeRecalculates() {
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"),
+                new TaxRates(2L, 2025, null, null, null, null, null));
+
+        verify(taxCalculationService, times(2)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any(TaxRates.class));
+    }
+
+    @Test
+    void testInvalidateAllDropsResults() {
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+
+        taxResultCache.invalidateAll();
+        taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+
+        verify(taxCalculationService, times(2)).calculateAllTaxes(any(Employee.class), any(BigDecimal.class), any(TaxRates.class));
+    }
+
+    @Test
+    void testHitRatioAndSizeArePublished() {
+        for (int i = 0; i < 4; i++) {
+            taxResultCache.calculateAllTaxes(employee(PayFrequency.MONTHLY, "300.00"), new BigDecimal("3000.00"), RATES_2025);
+        }
+
+        assertEquals(0.75, meterRegistry.get("payroll.tax.results.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(3.0, meterRegistry.get("cache.gets").tag("cache", TaxResultCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", TaxResultCache.CACHE_NAME)
+                .gauge().value());
+    }
+
+    private static Employee employee(PayFrequency frequency, String taxCreditsAnnual) {
+        Employee employee = new Employee();
+        employee.setPayFrequency(frequency);
+        employee.setTaxCreditsAnnual(new BigDecimal(taxCreditsAnnual));
+        return employee;
+    }
+}
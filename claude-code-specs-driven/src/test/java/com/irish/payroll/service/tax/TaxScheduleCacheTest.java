@@ -0,0 +1,181 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.Payroll;
+import com.irish.payroll.entity.TaxConfigSnapshot;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxSnapshotStatus;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+import com.irish.payroll.repository.TaxConfigSnapshotRepository;
+import com.irish.payroll.repository.TaxConfigurationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for compiled tax schedules and the snapshot cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaxScheduleCacheTest {
+
+    @Mock
+    private TaxConfigurationRepository taxConfigRepository;
+
+    @Mock
+    private TaxConfigSnapshotRepository snapshotRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaxScheduleCache taxScheduleCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taxScheduleCache = new TaxScheduleCache();
+        ReflectionTestUtils.setField(taxScheduleCache, "taxConfigRepository", taxConfigRepository);
+        ReflectionTestUtils.setField(taxScheduleCache, "snapshotRepository", snapshotRepository);
+        ReflectionTestUtils.setField(taxScheduleCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(taxScheduleCache, "maxEntries", 16L);
+        taxScheduleCache.init();
+    }
+
+    @Test
+    void testActive_LoadsActiveSnapshotOnce() {
+        when(snapshotRepository.findByStatus(TaxSnapshotStatus.ACTIVE)).thenReturn(Optional.of(snapshot(1L)));
+        when(snapshotRepository.findByVersion(1L)).thenReturn(Optional.of(snapshot(1L)));
+        when(taxConfigRepository.findSnapshotTaxBands(1L)).thenReturn(payeBands());
+
+        TaxRates first = taxScheduleCache.rates(2025);
+        TaxRates second = taxScheduleCache.rates(2025);
+
+        assertSame(first, second);
+        assertEquals(1L, taxScheduleCache.getActiveVersion());
+        verify(taxConfigRepository, times(1)).findSnapshotTaxBands(1L);
+        verify(snapshotRepository, times(1)).findByStatus(TaxSnapshotStatus.ACTIVE);
+    }
+
+    @Test
+    void testRefresh_SwapsToNewlyActivatedSnapshot() {
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, payeBands()));
+        assertEquals(new BigDecimal("11600.00"), taxScheduleCache.rates(2025).getPaye().apply(new BigDecimal("50000")));
+
+        List<TaxConfiguration> widened = payeBands();
+        widened.get(0).setIncomeUpper(new BigDecimal("44000"));
+        widened.get(1).setIncomeLower(new BigDecimal("44000"));
+        when(snapshotRepository.findByStatus(TaxSnapshotStatus.ACTIVE)).thenReturn(Optional.of(snapshot(2L)));
+        when(snapshotRepository.findByVersion(2L)).thenReturn(Optional.of(snapshot(2L)));
+        when(taxConfigRepository.findSnapshotTaxBands(2L)).thenReturn(widened);
+        taxScheduleCache.refreshActive();
+
+        assertEquals(2L, taxScheduleCache.getActiveVersion());
+        assertEquals(new BigDecimal("11200.00"), taxScheduleCache.rates(2025).getPaye().apply(new BigDecimal("50000")));
+    }
+
+    @Test
+    void testRates_PinnedPayrollKeepsItsSnapshot() {
+        List<TaxConfiguration> widened = payeBands();
+        widened.get(0).setIncomeUpper(new BigDecimal("44000"));
+        widened.get(1).setIncomeLower(new BigDecimal("44000"));
+        taxScheduleCache.publish(TaxSnapshot.compile(2L, widened));
+        when(snapshotRepository.findByVersion(1L)).thenReturn(Optional.of(snapshot(1L)));
+        when(taxConfigRepository.findSnapshotTaxBands(1L)).thenReturn(payeBands());
+
+        Payroll pinned = new Payroll();
+        pinned.setTaxConfigVersion(1L);
+        pinned.setPaymentDate(LocalDate.of(2025, 3, 31));
+        TaxRates first = taxScheduleCache.rates(pinned, 2025);
+        TaxRates second = taxScheduleCache.rates(pinned, 2025);
+
+        assertSame(first, second);
+        assertEquals(1L, first.getSnapshotVersion());
+        assertEquals(new BigDecimal("11600.00"), first.getPaye().apply(new BigDecimal("50000")));
+        verify(taxConfigRepository, times(1)).findSnapshotTaxBands(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "taxSnapshots").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "taxSnapshots").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testGet_MissingSnapshotIsNotCached() {
+        when(snapshotRepository.findByVersion(9L)).thenReturn(Optional.empty());
+
+        TaxCalculationException ex = assertThrows(TaxCalculationException.class, () -> taxScheduleCache.get(9L));
+        assertEquals("Tax configuration snapshot 9 not found", ex.getMessage());
+        assertThrows(TaxCalculationException.class, () -> taxScheduleCache.get(9L));
+        verify(snapshotRepository, times(2)).findByVersion(9L);
+    }
+
+    @Test
+    void testActive_NoActiveSnapshot() {
+        when(snapshotRepository.findByStatus(TaxSnapshotStatus.ACTIVE)).thenReturn(Optional.empty());
+
+        TaxCalculationException ex = assertThrows(TaxCalculationException.class, () -> taxScheduleCache.rates(2025));
+        assertEquals("No active tax configuration snapshot", ex.getMessage());
+    }
+
+    @Test
+    void testRates_MissingTaxTypeFailsWhenUsed() {
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, payeBands()));
+
+        TaxRates rates = taxScheduleCache.rates(2025);
+
+        TaxCalculationException ex = assertThrows(TaxCalculationException.class, rates::getUsc);
+        assertEquals("No USC tax configuration found for year 2025", ex.getMessage());
+    }
+
+    @Test
+    void testCompile_SortsBandsAndTreatsMissingUpperAsUnbounded() {
+        List<TaxConfiguration> bands = payeBands();
+        bands.get(1).setIncomeUpper(null);
+
+        TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.PAYE, List.of(bands.get(1), bands.get(0)));
+
+        assertEquals(2, schedule.getBandCount());
+        assertEquals(new BigDecimal("42000"), schedule.getWidth(0));
+        assertNull(schedule.getWidth(1));
+        // (42000 * 0.20) + (2000000 - 42000) * 0.40
+        assertEquals(new BigDecimal("791600.00"), schedule.apply(new BigDecimal("2000000")));
+    }
+
+    private static TaxConfigSnapshot snapshot(long version) {
+        TaxConfigSnapshot snapshot = new TaxConfigSnapshot();
+        snapshot.setVersion(version);
+        snapshot.setStatus(TaxSnapshotStatus.ACTIVE);
+        return snapshot;
+    }
+
+    private static List<TaxConfiguration> payeBands() {
+        return new ArrayList<>(List.of(
+                band("Standard Rate", "0", "42000", "0.20"),
+                band("Higher Rate", "42000", "999999999", "0.40")));
+    }
+
+    private static TaxConfiguration band(String name, String lower, String upper, String rate) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(2025);
+        band.setTaxType(TaxType.PAYE);
+        band.setBandName(name);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(new BigDecimal(upper));
+        band.setRate(new BigDecimal(rate));
+        band.setIsActive(true);
+        band.setEffectiveFrom(LocalDate.of(2025, 1, 1));
+        return band;
+    }
+}
@@ -0,0 +1,161 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for prefix-sum tax schedules.
+ */
+class TaxScheduleTest {
+
+    private final List<TaxConfiguration> uscBands = List.of(
+            band("Band 1", "0", "12012", "0.005"),
+            band("Band 2", "12012", "25760", "0.02"),
+            band("Band 3", "25760", "70044", "0.04"),
+            band("Band 4", "70044", "999999999", "0.08"));
+
+    @Test
+    void testApply_MatchesBandByBandCalculation() {
+        TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.USC, uscBands);
+
+        for (long cents = 0; cents <= 12_000_000; cents += 337) {
+            BigDecimal income = BigDecimal.valueOf(cents, 2);
+            assertEquals(bandByBand(uscBands, income), schedule.apply(income), "income " + income);
+            assertEquals(bandByBand(uscBands, income).movePointRight(2).longValueExact(), schedule.applyCents(cents));
+        }
+    }
+
+    @Test
+    void testApply_ManyRandomBracketsMatchBandByBandCalculation() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 20; trial++) {
+            List<TaxConfiguration> bands = new ArrayList<>();
+            long lower = 0;
+            int count = 5 + random.nextInt(200);
+            for (int i = 0; i < count; i++) {
+                long upper = lower + random.nextInt(500_000);
+                BigDecimal rate = BigDecimal.valueOf(random.nextInt(6_000), 4);
+                bands.add(band("B" + i, BigDecimal.valueOf(lower, 2).toPlainString(),
+                        i == count - 1 && random.nextBoolean() ? null : BigDecimal.valueOf(upper, 2).toPlainString(),
+                        rate.toPlainString()));
+                lower = upper;
+            }
+            Collections.shuffle(bands, random);
+            TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.USC, bands);
+            List<TaxConfiguration> sorted = bands.stream()
+                    .sorted((a, b) -> a.getIncomeLower().compareTo(b.getIncomeLower())).toList();
+
+            for (int i = 0; i < 2_000; i++) {
+                long cents = (long) (random.nextDouble() * (lower + 1_000_000));
+                BigDecimal income = BigDecimal.valueOf(cents, 2);
+                BigDecimal expected = bandByBand(sorted, income);
+                assertEquals(expected, schedule.apply(income), "income " + income);
+                assertEquals(expected.movePointRight(2).longValueExact(), schedule.applyCents(cents), "income " + income);
+            }
+        }
+    }
+
+    @Test
+    void testMarginalAndEffectiveRates() {
+        TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.USC, uscBands);
+
+        assertEquals(new BigDecimal("0.005"), schedule.marginalRate(BigDecimal.ZERO));
+        assertEquals(new BigDecimal("0.005"), schedule.marginalRate(new BigDecimal("12011.99")));
+        assertEquals(new BigDecimal("0.02"), schedule.marginalRate(new BigDecimal("12012")));
+        assertEquals(new BigDecimal("0.08"), schedule.marginalRate(new BigDecimal("100000")));
+        assertEquals(BigDecimal.ZERO, schedule.marginalRate(new BigDecimal("999999999")));
+
+        // 12012 * 0.005 + 7988 * 0.02 = 60.06 + 159.76 = 219.82 on 20000
+        assertEquals(new BigDecimal("0.010991"), schedule.effectiveRate(new BigDecimal("20000")));
+        assertEquals(new BigDecimal("0.000000"), schedule.effectiveRate(BigDecimal.ZERO));
+        assertEquals(new BigDecimal("60.06"), schedule.getTaxBelow(1));
+        assertEquals(new BigDecimal("25760"), schedule.getBandStart(2));
+    }
+
+    @Test
+    void testPerPeriod_RoundsEachThresholdOnce() {
+        TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.USC, uscBands);
+
+        TaxSchedule weekly = schedule.perPeriod(PayFrequency.WEEKLY);
+        TaxSchedule fortnightly = schedule.perPeriod(PayFrequency.FORTNIGHTLY);
+        TaxSchedule monthly = schedule.perPeriod(PayFrequency.MONTHLY);
+
+        assertEquals(new BigDecimal("231.00"), weekly.getWidth(0));
+        assertEquals(new BigDecimal("264.38"), weekly.getWidth(1));
+        assertEquals(new BigDecimal("462.00"), fortnightly.getWidth(0));
+        assertEquals(new BigDecimal("1145.67"), monthly.getWidth(1));
+        assertEquals(new BigDecimal("2146.67"), monthly.getBandStart(2));
+        assertEquals(new BigDecimal("1347.00"), weekly.getBandStart(3));
+        assertEquals(schedule.getRate(3), monthly.getRate(3));
+        assertTrue(monthly.hasCentsForm());
+        // 1001 * 0.005 + 999 * 0.02 = 5.01 + 19.98
+        assertEquals(new BigDecimal("24.99"), monthly.apply(new BigDecimal("2000")));
+        assertEquals(2_499, monthly.applyCents(200_000));
+    }
+
+    @Test
+    void testPerPeriod_ThresholdsDoNotDriftWithRoundedWidths() {
+        TaxSchedule schedule = TaxSchedule.compile(2025, TaxType.PAYE, List.of(
+                band("Band 1", "0", "100", "0.10"),
+                band("Band 2", "100", "200", "0.20"),
+                band("Band 3", "200", "300", "0.30"),
+                band("Band 4", "300", null, "0.40")));
+
+        TaxSchedule weekly = schedule.perPeriod(PayFrequency.WEEKLY);
+
+        // 100 / 52, 200 / 52 and 300 / 52, not three widths of 1.92 ending at 5.76
+        assertEquals(new BigDecimal("1.92"), weekly.getBandStart(1));
+        assertEquals(new BigDecimal("3.85"), weekly.getBandStart(2));
+        assertEquals(new BigDecimal("5.77"), weekly.getBandStart(3));
+        assertEquals(new BigDecimal("1.93"), weekly.getWidth(1));
+        assertNull(weekly.getWidth(3));
+    }
+
+    @Test
+    void testCompile_RejectsInvertedBand() {
+        List<TaxConfiguration> bands = List.of(band("Broken", "100", "50", "0.20"));
+
+        assertThrows(TaxCalculationException.class, () -> TaxSchedule.compile(2025, TaxType.PAYE, bands));
+    }
+
+    /**
+     * The original band-by-band calculation the schedule replaces.
+     */
+    private static BigDecimal bandByBand(List<TaxConfiguration> bands, BigDecimal income) {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal remaining = income;
+        for (TaxConfiguration band : bands) {
+            if (remaining.compareTo(BigDecimal.ZERO) <= 0) {
+                break;
+            }
+            BigDecimal taxableInBand = band.getIncomeUpper() != null
+                    ? remaining.min(band.getIncomeUpper().subtract(band.getIncomeLower())) : remaining;
+            total = total.add(taxableInBand.multiply(band.getRate()).setScale(2, RoundingMode.HALF_UP));
+            remaining = remaining.subtract(taxableInBand);
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static TaxConfiguration band(String name, String lower, String upper, String rate) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(2025);
+        band.setTaxType(TaxType.USC);
+        band.setBandName(name);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal(rate));
+        return band;
+    }
+}
@@ -0,0 +1,182 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.dto.request.TaxBandRequest;
+import com.irish.payroll.dto.request.TaxSnapshotRequest;
+import com.irish.payroll.dto.response.TaxSnapshotResponse;
+import com.irish.payroll.entity.TaxConfigSnapshot;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxSnapshotStatus;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.PayrollProcessingException;
+import com.irish.payroll.mapper.TaxSnapshotMapperImpl;
+import com.irish.payroll.repository.TaxConfigSnapshotRepository;
+import com.irish.payroll.repository.TaxConfigurationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for staging and activating tax configuration snapshots.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaxSnapshotServiceTest {
+
+    @Mock
+    private TaxConfigSnapshotRepository snapshotRepository;
+
+    @Mock
+    private TaxConfigurationRepository taxConfigRepository;
+
+    @Mock
+    private TaxScheduleCache taxScheduleCache;
+
+    @Mock
+    private TaxResultCache taxResultCache;
+
+    @InjectMocks
+    private TaxSnapshotService taxSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taxSnapshotService, "taxSnapshotMapper", new TaxSnapshotMapperImpl());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testStage_StoresBandsUnderTheNextVersion() {
+        when(snapshotRepository.findMaxVersion()).thenReturn(3L);
+        when(snapshotRepository.save(any(TaxConfigSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taxConfigRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaxSnapshotResponse response = taxSnapshotService.stage(request(
+                bandRequest("Standard Rate", "0", "44000", LocalDate.of(2026, 1, 1), null),
+                bandRequest("Higher Rate", "44000", null, LocalDate.of(2026, 1, 1), null)));
+
+        assertEquals(4L, response.getVersion());
+        assertEquals(TaxSnapshotStatus.STAGED, response.getStatus());
+        assertEquals(2, response.getBands().size());
+        ArgumentCaptor<List<TaxConfiguration>> bands = ArgumentCaptor.forClass(List.class);
+        verify(taxConfigRepository).saveAll(bands.capture());
+        assertTrue(bands.getValue().stream().allMatch(band -> band.getSnapshotVersion() == 4L && band.getIsActive()));
+        // The next version is read only once the snapshot lock is held
+        InOrder lockThenRead = inOrder(snapshotRepository);
+        lockThenRead.verify(snapshotRepository).lockAll();
+        lockThenRead.verify(snapshotRepository).findMaxVersion();
+    }
+
+    @Test
+    void testStage_RejectsInconsistentBands() {
+        when(snapshotRepository.findMaxVersion()).thenReturn(1L);
+
+        PayrollProcessingException duplicate = assertThrows(PayrollProcessingException.class,
+                () -> taxSnapshotService.stage(request(
+                        bandRequest("Standard Rate", "0", "44000", LocalDate.of(2026, 1, 1), null),
+                        bandRequest("Standard Rate", "44000", null, LocalDate.of(2026, 1, 1), null))));
+        assertEquals("Duplicate PAYE band Standard Rate for year 2026", duplicate.getMessage());
+
+        PayrollProcessingException reversed = assertThrows(PayrollProcessingException.class,
+                () -> taxSnapshotService.stage(request(
+                        bandRequest("Standard Rate", "0", null, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 5, 31)))));
+        assertEquals("Tax band Standard Rate ends before it takes effect", reversed.getMessage());
+        verify(snapshotRepository, never()).save(any(TaxConfigSnapshot.class));
+    }
+
+    @Test
+    void testActivate_RetiresPreviousSnapshotAndPublishesAfterCommit() {
+        TaxConfigSnapshot current = snapshot(1L, TaxSnapshotStatus.ACTIVE);
+        TaxConfigSnapshot staged = snapshot(2L, TaxSnapshotStatus.STAGED);
+        when(snapshotRepository.lockAll()).thenReturn(List.of(current, staged));
+        when(taxConfigRepository.findSnapshotTaxBands(2L)).thenReturn(List.of(
+                band("Standard Rate", "0", "44000"),
+                band("Higher Rate", "44000", null)));
+
+        TaxSnapshotResponse response = taxSnapshotService.activate(2L);
+
+        assertEquals(TaxSnapshotStatus.ACTIVE, response.getStatus());
+        assertEquals(TaxSnapshotStatus.RETIRED, current.getStatus());
+        assertNotNull(staged.getActivatedDate());
+        verify(taxScheduleCache, never()).publish(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<TaxSnapshot> published = ArgumentCaptor.forClass(TaxSnapshot.class);
+        verify(taxScheduleCache).publish(published.capture());
+        assertEquals(2L, published.getValue().getVersion());
+        verify(taxResultCache).invalidateAll();
+    }
+
+    @Test
+    void testActivate_UnknownVersion() {
+        when(snapshotRepository.lockAll()).thenReturn(List.of(snapshot(1L, TaxSnapshotStatus.ACTIVE)));
+
+        assertThrows(PayrollProcessingException.class, () -> taxSnapshotService.activate(5L));
+    }
+
+    private static TaxSnapshotRequest request(TaxBandRequest... bands) {
+        TaxSnapshotRequest request = new TaxSnapshotRequest();
+        request.setDescription("Budget 2026");
+        request.setBands(List.of(bands));
+        return request;
+    }
+
+    private static TaxBandRequest bandRequest(String name, String lower, String upper, LocalDate effectiveFrom,
+                                              LocalDate effectiveTo) {
+        TaxBandRequest band = new TaxBandRequest();
+        band.setTaxYear(2026);
+        band.setTaxType(TaxType.PAYE);
+        band.setBandName(name);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal("0.20"));
+        band.setEffectiveFrom(effectiveFrom);
+        band.setEffectiveTo(effectiveTo);
+        return band;
+    }
+
+    private static TaxConfiguration band(String name, String lower, String upper) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setSnapshotVersion(2L);
+        band.setTaxYear(2026);
+        band.setTaxType(TaxType.PAYE);
+        band.setBandName(name);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal("0.20"));
+        band.setIsActive(true);
+        band.setEffectiveFrom(LocalDate.of(2026, 1, 1));
+        return band;
+    }
+
+    private static TaxConfigSnapshot snapshot(long version, TaxSnapshotStatus status) {
+        TaxConfigSnapshot snapshot = new TaxConfigSnapshot();
+        snapshot.setVersion(version);
+        snapshot.setStatus(status);
+        return snapshot;
+    }
+}
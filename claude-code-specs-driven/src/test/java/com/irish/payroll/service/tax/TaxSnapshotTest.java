@@ -0,0 +1,85 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import com.irish.payroll.exception.TaxCalculationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for resolving effective-dated rates from a compiled snapshot.
+ */
+class TaxSnapshotTest {
+
+    private static final BigDecimal GROSS = new BigDecimal("50000");
+
+    @Test
+    void testRates_MidYearChangeSplitsTheYear() {
+        TaxSnapshot snapshot = TaxSnapshot.compile(3L, List.of(
+                band("Standard Rate", "0", "42000", "0.20", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)),
+                band("Higher Rate", "42000", null, "0.40", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)),
+                band("Standard Rate H2", "0", "44000", "0.20", LocalDate.of(2025, 7, 1), null),
+                band("Higher Rate H2", "44000", null, "0.40", LocalDate.of(2025, 7, 1), null)));
+
+        TaxRates firstHalf = snapshot.rates(2025, LocalDate.of(2025, 6, 30));
+        TaxRates secondHalf = snapshot.rates(2025, LocalDate.of(2025, 7, 1));
+
+        assertEquals(3L, snapshot.getVersion());
+        assertEquals(new BigDecimal("11600.00"), firstHalf.getPaye().apply(GROSS));
+        assertEquals(LocalDate.of(2025, 6, 30), firstHalf.getEffectiveTo());
+        assertEquals(new BigDecimal("11200.00"), secondHalf.getPaye().apply(GROSS));
+        assertEquals(LocalDate.of(2025, 7, 1), secondHalf.getEffectiveFrom());
+        assertSame(firstHalf, snapshot.rates(2025, LocalDate.of(2025, 2, 1)));
+    }
+
+    @Test
+    void testRates_DatesOutsideTheYearResolveToItsNearestDay() {
+        TaxSnapshot snapshot = TaxSnapshot.compile(1L, List.of(
+                band("Standard Rate", "0", "42000", "0.20", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)),
+                band("Standard Rate H2", "0", "44000", "0.20", LocalDate.of(2025, 7, 1), null)));
+
+        assertSame(snapshot.rates(2025, LocalDate.of(2025, 1, 1)), snapshot.rates(2025, LocalDate.of(2024, 12, 20)));
+        assertSame(snapshot.rates(2025, LocalDate.of(2025, 12, 31)), snapshot.rates(2025, LocalDate.of(2026, 1, 5)));
+    }
+
+    @Test
+    void testRates_GapBetweenBandsIsAnError() {
+        TaxSnapshot snapshot = TaxSnapshot.compile(1L, List.of(
+                band("Standard Rate", "0", "42000", "0.20", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31)),
+                band("Standard Rate Q3", "0", "44000", "0.20", LocalDate.of(2025, 7, 1), null)));
+
+        TaxCalculationException ex = assertThrows(TaxCalculationException.class,
+                () -> snapshot.rates(2025, LocalDate.of(2025, 5, 15)));
+        assertEquals("No tax configuration in effect for year 2025 on 2025-05-15", ex.getMessage());
+    }
+
+    @Test
+    void testRates_MissingYearIsAnError() {
+        TaxSnapshot snapshot = TaxSnapshot.compile(1L, List.of(
+                band("Standard Rate", "0", "42000", "0.20", LocalDate.of(2025, 1, 1), null)));
+
+        TaxCalculationException ex = assertThrows(TaxCalculationException.class,
+                () -> snapshot.rates(2030, LocalDate.of(2030, 1, 31)));
+        assertEquals("No tax configuration found for year 2030", ex.getMessage());
+    }
+
+    private static TaxConfiguration band(String name, String lower, String upper, String rate,
+                                         LocalDate effectiveFrom, LocalDate effectiveTo) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxYear(2025);
+        band.setTaxType(TaxType.PAYE);
+        band.setBandName(name);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal(rate));
+        band.setIsActive(true);
+        band.setEffectiveFrom(effectiveFrom);
+        band.setEffectiveTo(effectiveTo);
+        return band;
+    }
+}
@@ -0,0 +1,105 @@
+package com.irish.payroll.service.tax;
+
+import com.irish.payroll.entity.ChargeBasis;
+import com.irish.payroll.entity.PayFrequency;
+import com.irish.payroll.entity.TaxConfiguration;
+import com.irish.payroll.entity.TaxType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tax bands and calculation services shared by the tax engine tests.
+ *
+ * 2025 has the standard PAYE, USC and PRSI bands. 2026 has a USC rate with
+ * more decimal places than the integer-cents form supports.
+ */
+final class TaxTestFixtures {
+
+    private TaxTestFixtures() {
+    }
+
+    /**
+     * Schedule cache with the fixture bands published as active snapshot 1.
+     */
+    static TaxScheduleCache taxScheduleCache() {
+        TaxScheduleCache taxScheduleCache = new TaxScheduleCache();
+        ReflectionTestUtils.setField(taxScheduleCache, "maxEntries", 16L);
+        taxScheduleCache.init();
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, bands()));
+        return taxScheduleCache;
+    }
+
+    /**
+     * Tax calculation service on the given engine, wired to real calculators reading the schedule cache.
+     */
+    static TaxCalculationService taxCalculationService(TaxEngine engine, TaxScheduleCache taxScheduleCache) {
+        PayeCalculationService payeService = new PayeCalculationService();
+        ReflectionTestUtils.setField(payeService, "taxScheduleCache", taxScheduleCache);
+        UscCalculationService uscService = new UscCalculationService();
+        ReflectionTestUtils.setField(uscService, "taxScheduleCache", taxScheduleCache);
+        PrsiCalculationService prsiService = new PrsiCalculationService();
+        ReflectionTestUtils.setField(prsiService, "taxScheduleCache", taxScheduleCache);
+
+        TaxCalculationService service = new TaxCalculationService();
+        ReflectionTestUtils.setField(service, "payeService", payeService);
+        ReflectionTestUtils.setField(service, "prsiService", prsiService);
+        ReflectionTestUtils.setField(service, "uscService", uscService);
+        ReflectionTestUtils.setField(service, "centsTaxCalculator", new CentsTaxCalculator());
+        ReflectionTestUtils.setField(service, "batchTaxCalculator", new BatchTaxCalculator());
+        ReflectionTestUtils.setField(service, "engine", engine);
+        ReflectionTestUtils.setField(service, "taxScheduleCache", taxScheduleCache);
+        return service;
+    }
+
+    static List<TaxConfiguration> bands() {
+        List<TaxConfiguration> bands = new ArrayList<>();
+        addBands(bands, 2025, List.of(
+                band(TaxType.PAYE, "0", "42000", "0.20"),
+                band(TaxType.PAYE, "42000", "999999999", "0.40")));
+        addBands(bands, 2025, List.of(
+                band(TaxType.USC, "0", "12012", "0.005"),
+                band(TaxType.USC, "12012", "25760", "0.02"),
+                band(TaxType.USC, "25760", "70044", "0.04"),
+                band(TaxType.USC, "70044", "999999999", "0.08")));
+        addBands(bands, 2025, List.of(
+                prsiBand(PayFrequency.WEEKLY, "352"),
+                prsiBand(PayFrequency.MONTHLY, "1526")));
+        addBands(bands, 2026, List.of(
+                band(TaxType.PAYE, "0", "44000", "0.20"),
+                band(TaxType.PAYE, "44000", null, "0.40")));
+        addBands(bands, 2026, List.of(
+                band(TaxType.USC, "0", "12012", "0.00525"),
+                band(TaxType.USC, "12012", null, "0.03")));
+        addBands(bands, 2026, List.of(
+                prsiBand(PayFrequency.WEEKLY, "352"),
+                prsiBand(PayFrequency.MONTHLY, "1526")));
+        return bands;
+    }
+
+    private static void addBands(List<TaxConfiguration> bands, int taxYear, List<TaxConfiguration> yearBands) {
+        yearBands.forEach(band -> band.setTaxYear(taxYear));
+        bands.addAll(yearBands);
+    }
+
+    private static TaxConfiguration band(TaxType type, String lower, String upper, String rate) {
+        TaxConfiguration band = new TaxConfiguration();
+        band.setTaxType(type);
+        band.setIncomeLower(new BigDecimal(lower));
+        band.setIncomeUpper(upper != null ? new BigDecimal(upper) : null);
+        band.setRate(new BigDecimal(rate));
+        band.setIsActive(true);
+        band.setEffectiveFrom(LocalDate.of(2025, 1, 1));
+        return band;
+    }
+
+    private static TaxConfiguration prsiBand(PayFrequency frequency, String threshold) {
+        TaxConfiguration band = band(TaxType.PRSI, threshold, null, "0.04");
+        band.setPayFrequency(frequency);
+        band.setChargeBasis(ChargeBasis.WHOLE_INCOME);
+        return band;
+    }
+}
@@ -1,14 +1,14 @@
 package com.irish.payroll.service.tax;
 
+import com.irish.payroll.entity.PayFrequency;
 import com.irish.payroll.entity.TaxConfiguration;
 import com.irish.payroll.entity.TaxType;
-import com.irish.payroll.repository.TaxConfigurationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,8 +16,6 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for USC Calculation Service.
@@ -25,8 +23,7 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class UscCalculationServiceTest {
 
-    @Mock
-    private TaxConfigurationRepository taxConfigRepository;
+    private TaxScheduleCache taxScheduleCache;
 
     @InjectMocks
     private UscCalculationService uscService;
@@ -35,6 +32,11 @@ class UscCalculationServiceTest {
 
     @BeforeEach
     void setUp() {
+        taxScheduleCache = new TaxScheduleCache();
+        ReflectionTestUtils.setField(taxScheduleCache, "maxEntries", 16L);
+        taxScheduleCache.init();
+        ReflectionTestUtils.setField(uscService, "taxScheduleCache", taxScheduleCache);
+
         // Create mock USC tax bands for 2025
         TaxConfiguration band1 = new TaxConfiguration();
         band1.setTaxYear(2025);
@@ -81,65 +83,67 @@ class UscCalculationServiceTest {
 
     @Test
     void testCalculateUsc_IncomeBand1Only() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.USC)))
-                .thenReturn(mockUscBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockUscBands));
 
-        BigDecimal grossPay = new BigDecimal("10000");
+        // Annual salary 10000 paid monthly: 833.33 a month
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("10000"));
 
-        // Expected: 10000 * 0.005 = 50.00
-        BigDecimal usc = uscService.calculateUsc(grossPay, 2025);
+        // Expected: 833.33 * 0.005 = 4.17
+        BigDecimal usc = uscService.calculateUsc(grossPay, PayFrequency.MONTHLY, 2025);
 
-        assertEquals(new BigDecimal("50.00"), usc);
+        assertEquals(new BigDecimal("4.17"), usc);
     }
 
     @Test
     void testCalculateUsc_IncomeBand1And2() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.USC)))
-                .thenReturn(mockUscBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockUscBands));
 
-        BigDecimal grossPay = new BigDecimal("20000");
+        // Annual salary 20000 paid monthly: 1666.67 a month
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("20000"));
 
-        // Expected: (12012 * 0.005) + (7988 * 0.02) = 60.06 + 159.76 = 219.82
-        BigDecimal usc = uscService.calculateUsc(grossPay, 2025);
+        // Monthly band 1 is 12012 / 12 = 1001
+        // Expected: (1001 * 0.005 = 5.01) + (665.67 * 0.02 = 13.31) = 18.32
+        BigDecimal usc = uscService.calculateUsc(grossPay, PayFrequency.MONTHLY, 2025);
 
-        assertEquals(new BigDecimal("219.82"), usc);
+        assertEquals(new BigDecimal("18.32"), usc);
     }
 
     @Test
     void testCalculateUsc_IncomeSpansAllBands() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.USC)))
-                .thenReturn(mockUscBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockUscBands));
 
-        BigDecimal grossPay = new BigDecimal("100000");
+        // Annual salary 100000 paid monthly: 8333.33 a month
+        BigDecimal grossPay = PayFrequency.MONTHLY.perPeriod(new BigDecimal("100000"));
 
-        // Expected:
-        // Band 1: 12012 * 0.005 = 60.06
-        // Band 2: 13748 * 0.02 = 274.96
-        // Band 3: 44284 * 0.04 = 1771.36
-        // Band 4: 29956 * 0.08 = 2396.48
-        // Total: 4502.86
-        BigDecimal usc = uscService.calculateUsc(grossPay, 2025);
+        // Expected, on the monthly bands:
+        // Band 1: 1001 * 0.005 = 5.01
+        // Band 2: 1145.67 * 0.02 = 22.91
+        // Band 3: 3690.33 * 0.04 = 147.61
+        // Band 4: 2496.33 * 0.08 = 199.71
+        // Total: 375.24
+        BigDecimal usc = uscService.calculateUsc(grossPay, PayFrequency.MONTHLY, 2025);
 
-        assertEquals(new BigDecimal("4502.86"), usc);
+        assertEquals(new BigDecimal("375.24"), usc);
     }
 
     @Test
     void testCalculateUsc_AtBand1Boundary() {
-        when(taxConfigRepository.findActiveTaxBands(eq(2025), eq(TaxType.USC)))
-                .thenReturn(mockUscBands);
+        taxScheduleCache.publish(TaxSnapshot.compile(1L, mockUscBands));
 
-        BigDecimal grossPay = new BigDecimal("12012");
+        // Annual salary 12012 paid weekly: 231 a week
+        BigDecimal grossPay = PayFrequency.WEEKLY.perPeriod(new BigDecimal("12012"));
 
-        // Expected: 12012 * 0.005 = 60.06
-        BigDecimal usc = uscService.calculateUsc(grossPay, 2025);
+        // Weekly band 1 is 12012 / 52 = 231
+        // Expected: 231 * 0.005 = 1.16
+        BigDecimal usc = uscService.calculateUsc(grossPay, PayFrequency.WEEKLY, 2025);
 
-        assertEquals(new BigDecimal("60.06"), usc);
+        assertEquals(new BigDecimal("1.16"), usc);
     }
 
     @Test
     void testCalculateUsc_ZeroIncome() {
         // Service returns early for zero income without calling repository
-        BigDecimal usc = uscService.calculateUsc(BigDecimal.ZERO, 2025);
+        BigDecimal usc = uscService.calculateUsc(BigDecimal.ZERO, PayFrequency.MONTHLY, 2025);
 
         assertEquals(0, usc.compareTo(BigDecimal.ZERO), "USC should be zero for zero income");
     }
@@ -147,7 +151,7 @@ class UscCalculationServiceTest {
     @Test
     void testCalculateUsc_NullIncome() {
         // Service returns early for null income without calling repository
-        BigDecimal usc = uscService.calculateUsc(null, 2025);
+        BigDecimal usc = uscService.calculateUsc(null, PayFrequency.MONTHLY, 2025);
 
         assertEquals(0, usc.compareTo(BigDecimal.ZERO), "USC should be zero for null income");
     }
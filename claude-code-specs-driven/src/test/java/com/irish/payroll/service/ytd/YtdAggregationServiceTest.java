@@ -0,0 +1,69 @@
+package com.irish.payroll.service.ytd;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.repository.PayslipRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for YTD Aggregation Service.
+ */
+@ExtendWith(MockitoExtension.class)
+class YtdAggregationServiceTest {
+
+    @Mock
+    private PayslipRepository payslipRepository;
+
+    @InjectMocks
+    private YtdAggregationService ytdService;
+
+    @Test
+    void testGetYtdTotals_MissingEmployeesDefaultToZero() {
+        UUID paid = UUID.randomUUID();
+        UUID unpaid = UUID.randomUUID();
+        LocalDate yearStart = LocalDate.of(2025, 1, 1);
+        when(payslipRepository.sumYtdByEmployees(List.of(paid, unpaid), yearStart, yearStart.plusYears(1)))
+                .thenReturn(List.of(new YtdTotals(paid, new BigDecimal("6000.00"), new BigDecimal("700.00"),
+                        new BigDecimal("240.00"), new BigDecimal("150.00"), new BigDecimal("4910.00"), 2L)));
+
+        Map<UUID, YtdTotals> totals = ytdService.getYtdTotals(List.of(paid, unpaid), 2025);
+
+        assertEquals(new BigDecimal("6000.00"), totals.get(paid).getGross());
+        assertEquals(new BigDecimal("4910.00"), totals.get(paid).getNet());
+        assertEquals(BigDecimal.ZERO, totals.get(unpaid).getGross());
+        assertEquals(BigDecimal.ZERO, totals.get(unpaid).getUsc());
+    }
+
+    @Test
+    void testGetYtdTotals_LargeRunIsSplitIntoBatches() {
+        List<UUID> employeeIds = new ArrayList<>();
+        for (int i = 0; i < YtdAggregationService.MAX_IDS_PER_QUERY * 2 + 1; i++) {
+            employeeIds.add(UUID.randomUUID());
+        }
+        when(payslipRepository.sumYtdByEmployees(anyList(), eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2026, 1, 1)))).thenReturn(List.of());
+
+        Map<UUID, YtdTotals> totals = ytdService.getYtdTotals(employeeIds, 2025);
+
+        assertEquals(employeeIds.size(), totals.size());
+        verify(payslipRepository, times(3)).sumYtdByEmployees(anyList(), eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2026, 1, 1)));
+    }
+}
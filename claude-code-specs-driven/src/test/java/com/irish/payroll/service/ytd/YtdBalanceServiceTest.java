@@ -0,0 +1,149 @@
+package com.irish.payroll.service.ytd;
+
+import com.irish.payroll.dto.projection.YtdTotals;
+import com.irish.payroll.dto.response.YtdBalanceRepairResponse;
+import com.irish.payroll.entity.Employee;
+import com.irish.payroll.entity.EmployeeYtdBalance;
+import com.irish.payroll.entity.Payslip;
+import com.irish.payroll.repository.EmployeeRepository;
+import com.irish.payroll.repository.EmployeeYtdBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for YTD Balance Service.
+ */
+@ExtendWith(MockitoExtension.class)
+class YtdBalanceServiceTest {
+
+    @Mock
+    private EmployeeYtdBalanceRepository balanceRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private YtdAggregationService ytdAggregationService;
+
+    @InjectMocks
+    private YtdBalanceService ytdBalanceService;
+
+    @Test
+    void testApplyPayslips_CreatesAndIncrementsBalances() {
+        Employee existing = employee();
+        Employee firstPay = employee();
+        EmployeeYtdBalance balance = new EmployeeYtdBalance(existing, 2025);
+        balance.addPayslip(payslip(existing, "3000.00"));
+        when(balanceRepository.findByEmployeeIdsAndTaxYear(anyList(), eq(2025))).thenReturn(List.of(balance));
+
+        ytdBalanceService.applyPayslips(List.of(payslip(existing, "3000.00"), payslip(firstPay, "2500.00")), 2025);
+
+        assertEquals(new BigDecimal("6000.00"), balance.getYtdGross());
+        assertEquals(2, balance.getPayslipCount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeeYtdBalance>> created = ArgumentCaptor.forClass(List.class);
+        verify(balanceRepository).saveAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        assertSame(firstPay, created.getValue().get(0).getEmployee());
+        assertEquals(new BigDecimal("2500.00"), created.getValue().get(0).getYtdGross());
+    }
+
+    @Test
+    void testGetBalances_MissingEmployeesDefaultToZero() {
+        Employee paid = employee();
+        UUID unpaid = UUID.randomUUID();
+        EmployeeYtdBalance balance = new EmployeeYtdBalance(paid, 2025);
+        balance.addPayslip(payslip(paid, "3000.00"));
+        when(balanceRepository.findByEmployeeIdsAndTaxYear(anyList(), eq(2025))).thenReturn(List.of(balance));
+
+        Map<UUID, YtdTotals> balances = ytdBalanceService.getBalances(List.of(paid.getId(), unpaid), 2025);
+
+        assertEquals(new BigDecimal("3000.00"), balances.get(paid.getId()).getGross());
+        assertEquals(BigDecimal.ZERO, balances.get(unpaid).getGross());
+    }
+
+    @Test
+    void testRepairBalances_RebuildsFromLedger() {
+        Employee drifted = employee();
+        Employee orphaned = employee();
+        UUID missing = UUID.randomUUID();
+
+        EmployeeYtdBalance driftedBalance = new EmployeeYtdBalance(drifted, 2025);
+        driftedBalance.addPayslip(payslip(drifted, "3000.00"));
+        EmployeeYtdBalance orphanedBalance = new EmployeeYtdBalance(orphaned, 2025);
+        orphanedBalance.addPayslip(payslip(orphaned, "1000.00"));
+        when(balanceRepository.findByTaxYear(2025)).thenReturn(List.of(driftedBalance, orphanedBalance));
+        when(ytdAggregationService.getAllYtdTotals(2025)).thenReturn(Map.of(
+                drifted.getId(), totals(drifted.getId(), "6000.00", 2),
+                missing, totals(missing, "2000.00", 1)));
+        when(employeeRepository.getReferenceById(missing)).thenReturn(new Employee());
+
+        YtdBalanceRepairResponse report = ytdBalanceService.repairBalances(2025);
+
+        assertEquals(2, report.getBalancesChecked());
+        assertEquals(2, report.getMismatched());
+        assertEquals(1, report.getMissing());
+        assertFalse(report.isConsistent());
+        assertEquals(new BigDecimal("6000.00"), driftedBalance.getYtdGross());
+        assertEquals(2, driftedBalance.getPayslipCount());
+        assertEquals(0, orphanedBalance.getYtdGross().compareTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    void testVerifyBalances_ConsistentLedgerReportsNoChanges() {
+        Employee employee = employee();
+        EmployeeYtdBalance balance = new EmployeeYtdBalance(employee, 2025);
+        balance.addPayslip(payslip(employee, "3000.00"));
+        when(balanceRepository.findByTaxYear(2025)).thenReturn(List.of(balance));
+        when(ytdAggregationService.getAllYtdTotals(2025))
+                .thenReturn(Map.of(employee.getId(), totals(employee.getId(), "3000.00", 1)));
+
+        YtdBalanceRepairResponse report = ytdBalanceService.verifyBalances(2025);
+
+        assertTrue(report.isConsistent());
+        assertFalse(report.isRepaired());
+    }
+
+    private static Employee employee() {
+        Employee employee = new Employee();
+        employee.setId(UUID.randomUUID());
+        return employee;
+    }
+
+    private static Payslip payslip(Employee employee, String gross) {
+        BigDecimal grossPay = new BigDecimal(gross);
+        Payslip payslip = new Payslip();
+        payslip.setEmployee(employee);
+        payslip.setGrossPay(grossPay);
+        payslip.setPayeDeduction(new BigDecimal("300.00"));
+        payslip.setPrsiDeduction(new BigDecimal("100.00"));
+        payslip.setUscDeduction(new BigDecimal("50.00"));
+        payslip.setNetPay(grossPay.subtract(new BigDecimal("450.00")));
+        return payslip;
+    }
+
+    private static YtdTotals totals(UUID employeeId, String gross, long count) {
+        BigDecimal grossPay = new BigDecimal(gross);
+        BigDecimal paye = new BigDecimal("300.00").multiply(BigDecimal.valueOf(count));
+        BigDecimal prsi = new BigDecimal("100.00").multiply(BigDecimal.valueOf(count));
+        BigDecimal usc = new BigDecimal("50.00").multiply(BigDecimal.valueOf(count));
+        return new YtdTotals(employeeId, grossPay, paye, prsi, usc,
+                grossPay.subtract(paye).subtract(prsi).subtract(usc), count);
+    }
+}